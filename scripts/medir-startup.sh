@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+############################################################
+# medir-startup.sh
+# Compara tempo de startup e RSS do jar tradicional, do jar com
+# AOT + CDS e (se houver GraalVM) da imagem nativa.
+#
+# Uso: ./scripts/medir-startup.sh [repeticoes]
+# Requer o MySQL do docker-compose no ar (docker-compose up mysql -d).
+#
+# Cada variante é construída pelo próprio script e copiada para
+# .startup/ (fora de target/, que o "mvn clean" da variante
+# seguinte apagaria):
+#   mvn clean package -DskipTests          -> .startup/plain/app.jar
+#   mvn clean package -DskipTests -Paot    -> .startup/aot/app.jar
+#   mvn -Pnative native:compile -DskipTests -> .startup/native/cliente-service
+# Artefatos existentes são reaproveitados; RECONSTRUIR=1 força o
+# build e NATIVE=0 pula a imagem nativa. As médias também vão para
+# .startup/resultados.txt, com data e commit de cada rodada.
+############################################################
+set -euo pipefail
+
+REPETICOES=${1:-5}
+PORTA=${PORTA:-8080}
+DIR=$(cd "$(dirname "$0")/.." && pwd)
+ARTEFATOS=${ARTEFATOS:-$DIR/.startup}
+
+construir() {
+    local variante=$1; shift
+    if [[ -f "$ARTEFATOS/$variante/app.jar" && -z "${RECONSTRUIR:-}" ]]; then
+        return
+    fi
+    (cd "$DIR" && mvn -q -B clean package -DskipTests "$@")
+    local jars=("$DIR"/target/cliente-service-*.jar)
+    mkdir -p "$ARTEFATOS/$variante"
+    cp "${jars[0]}" "$ARTEFATOS/$variante/app.jar"
+}
+
+construir_nativo() {
+    if [[ "${NATIVE:-1}" == "0" ]] || ! command -v native-image > /dev/null; then
+        return
+    fi
+    if [[ -x "$ARTEFATOS/native/cliente-service" && -z "${RECONSTRUIR:-}" ]]; then
+        return
+    fi
+    (cd "$DIR" && mvn -q -B clean -Pnative native:compile -DskipTests)
+    mkdir -p "$ARTEFATOS/native"
+    cp "$DIR/target/cliente-service" "$ARTEFATOS/native/cliente-service"
+}
+
+medir() {
+    local nome=$1; shift
+    local total_ms=0 total_rss=0
+    for _ in $(seq "$REPETICOES"); do
+        local inicio fim pid rss
+        inicio=$(date +%s%N)
+        "$@" --server.port="$PORTA" > /tmp/medir-startup.log 2>&1 &
+        pid=$!
+        until curl -sf "http://localhost:$PORTA/api/clientes/health" > /dev/null; do sleep 0.05; done
+        fim=$(date +%s%N)
+        rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+        kill "$pid"; wait "$pid" 2> /dev/null || true
+        total_ms=$(( total_ms + (fim - inicio) / 1000000 ))
+        total_rss=$(( total_rss + rss ))
+    done
+    printf "%-22s startup médio: %6d ms   RSS médio: %6d MB\n" "$nome" \
+        $(( total_ms / REPETICOES )) $(( total_rss / REPETICOES / 1024 )) | tee -a "$ARTEFATOS/resultados.txt"
+}
+
+construir plain
+construir aot -Paot
+construir_nativo
+
+mkdir -p "$ARTEFATOS"
+printf "# %s %s (%s repetições)\n" "$(date -Iseconds)" \
+    "$(git -C "$DIR" rev-parse --short HEAD 2> /dev/null || echo '?')" "$REPETICOES" >> "$ARTEFATOS/resultados.txt"
+
+medir "jar tradicional" java -jar "$ARTEFATOS/plain/app.jar"
+
+AOT_DIR=$(mktemp -d)
+java -Djarmode=tools -jar "$ARTEFATOS/aot/app.jar" extract --destination "$AOT_DIR" > /dev/null
+(cd "$AOT_DIR" && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh \
+    -Dspring.aot.enabled=true -jar app.jar > /dev/null 2>&1)
+medir "jar AOT + CDS" java -XX:SharedArchiveFile="$AOT_DIR/app.jsa" -Dspring.aot.enabled=true \
+    -jar "$AOT_DIR/app.jar"
+
+if [[ -x "$ARTEFATOS/native/cliente-service" ]]; then
+    medir "imagem nativa" "$ARTEFATOS/native/cliente-service"
+fi
@@ -1,9 +1,12 @@
 package com.github.juliherms.clienteService;
 
+import com.github.juliherms.clienteService.config.ClienteRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(ClienteRuntimeHints.class)
 public class ClienteServiceApplication {
 
 	public static void main(String[] args) {
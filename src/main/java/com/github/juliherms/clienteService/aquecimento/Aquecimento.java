@@ -0,0 +1,344 @@
+package com.github.juliherms.clienteService.aquecimento;
+
+import com.github.juliherms.clienteService.datasource.PerfilSql;
+import com.github.juliherms.clienteService.dto.CampoCliente;
+import com.github.juliherms.clienteService.repository.ClienteArquivoRepository;
+import com.github.juliherms.clienteService.repository.RepositorioClientes;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.juliherms.clienteService.web.SistemaOrigemFilter.SISTEMA_ORIGEM_HEADER;
+
+/**
+ * Aquecimento depois da subida, antes de a instância se declarar pronta ({@link AquecimentoHealthIndicator} no grupo
+ * {@code readiness}).
+ *
+ * <p>Em uma thread própria, iniciada depois dos demais ouvintes de {@link ApplicationReadyEvent} (filtro de CPFs,
+ * snapshot): enche os pools Hikari até o {@code minimumIdle}, executa uma vez as consultas de ID/CPF dos
+ * repositórios, busca pela API os {@code cliente.aquecimento.clientes-recentes} clientes alterados mais recentemente
+ * e repete {@code cliente.aquecimento.iteracoes} rodadas de requisições sintéticas de leitura contra o próprio
+ * servidor, para que filtros, controller, serialização e consultas já estejam compilados pelo JIT quando o tráfego
+ * chegar. Listagem e busca por nome são exercitadas só uma vez, pois percorrem a tabela.</p>
+ *
+ * <p>As requisições sintéticas levam no header {@value #AQUECIMENTO_HEADER} uma chave gerada a cada subida; o
+ * {@link AquecimentoFilter} as marca para que bulkheads e limite de concorrência não as contem, e ao final as
+ * estatísticas do perfil de SQL são zeradas, para não misturar o aquecimento com o tráfego real.</p>
+ *
+ * <p>O aquecimento nunca impede a instância de ficar pronta: uma falha ou o {@code cliente.aquecimento.tempo-maximo}
+ * encerram as etapas restantes e ficam nos detalhes do health.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "cliente.aquecimento.enabled", havingValue = "true", matchIfMissing = true)
+public class Aquecimento {
+
+    private static final Logger logger = LoggerFactory.getLogger(Aquecimento.class);
+
+    static final String SISTEMA_ORIGEM = "AQUECIMENTO";
+    static final String AQUECIMENTO_HEADER = "aquecimento";
+
+    private static final String CPF_INEXISTENTE = "00000000000";
+    private static final int TAMANHO_AMOSTRA = 20;
+
+    @Autowired
+    private RepositorioClientes clienteRepository;
+
+    @Autowired
+    private ClienteArquivoRepository clienteArquivoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectProvider<DataSource> dataSources;
+
+    @Autowired
+    private ObjectProvider<PerfilSql> perfilSql;
+
+    @Value("${cliente.aquecimento.iteracoes:2000}")
+    private int iteracoes;
+
+    @Value("${cliente.aquecimento.paralelismo:4}")
+    private int paralelismo;
+
+    @Value("${cliente.aquecimento.clientes-recentes:0}")
+    private int clientesRecentes;
+
+    @Value("${cliente.aquecimento.tempo-maximo:PT2M}")
+    private Duration tempoMaximo;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    private final String chave = UUID.randomUUID().toString();
+    private final AtomicBoolean iniciado = new AtomicBoolean();
+    private volatile boolean concluido;
+    private volatile String etapa;
+    private volatile String interrupcao;
+    private volatile long inicioNanos;
+    private volatile long duracaoMs;
+    private final AtomicLong requisicoes = new AtomicLong();
+
+    private volatile List<Amostra> amostra = List.of();
+
+    /**
+     * Etapa nomeada do aquecimento
+     */
+    record Etapa(String nome, Runnable acao) {
+    }
+
+    private record Amostra(long id, String cpf) {
+    }
+
+    /**
+     * O Spring Boot publica ACCEPTING_TRAFFIC depois de todos os ouvintes de {@link ApplicationReadyEvent}
+     */
+    @EventListener
+    public void iniciar(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() != ReadinessState.ACCEPTING_TRAFFIC || !iniciado.compareAndSet(false, true)) {
+            return;
+        }
+        // Sem servidor web (testes, execução como job), só as etapas de banco
+        Integer porta = event.getSource() instanceof WebServerApplicationContext web
+                ? web.getWebServer().getPort() : null;
+        Thread thread = new Thread(() -> executar(etapas(porta)), "aquecimento");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private List<Etapa> etapas(Integer porta) {
+        List<Etapa> etapas = new ArrayList<>();
+        etapas.add(new Etapa("conexoes", this::preencherPools));
+        etapas.add(new Etapa("consultas", this::exercitarConsultas));
+        if (porta != null && porta > 0) {
+            RestClient api = RestClient.builder()
+                    .baseUrl("http://localhost:" + porta + contextPath + "/api/clientes")
+                    .defaultHeader(SISTEMA_ORIGEM_HEADER, SISTEMA_ORIGEM)
+                    .defaultHeader(AQUECIMENTO_HEADER, chave)
+                    .build();
+            if (clientesRecentes > 0) {
+                etapas.add(new Etapa("clientes-recentes", () -> carregarRecentes(api)));
+            }
+            etapas.add(new Etapa("requisicoes", () -> exercitarApi(api)));
+        }
+        return etapas;
+    }
+
+    void executar(List<Etapa> etapas) {
+        inicioNanos = System.nanoTime();
+        try {
+            for (Etapa proxima : etapas) {
+                if (tempoEsgotado()) {
+                    interrupcao = "tempo máximo atingido antes da etapa " + proxima.nome();
+                    logger.warn("Aquecimento: {}", interrupcao);
+                    break;
+                }
+                etapa = proxima.nome();
+                long inicioEtapa = System.currentTimeMillis();
+                proxima.acao().run();
+                logger.info("Aquecimento: etapa {} concluída em {} ms", proxima.nome(),
+                        System.currentTimeMillis() - inicioEtapa);
+            }
+        } catch (RuntimeException ex) {
+            interrupcao = "falha na etapa " + etapa + ": " + ex.getMessage();
+            logger.warn("Aquecimento interrompido na etapa {}; a instância fica pronta mesmo assim", etapa, ex);
+        } finally {
+            duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioNanos);
+            if (perfilSql != null) {
+                perfilSql.ifAvailable(PerfilSql::limpar);
+            }
+            etapa = null;
+            concluido = true;
+            logger.info("Aquecimento concluído em {} ms com {} requisições sintéticas", duracaoMs, requisicoes.get());
+        }
+    }
+
+    private boolean tempoEsgotado() {
+        return System.nanoTime() - inicioNanos >= tempoMaximo.toNanos();
+    }
+
+    /**
+     * Abre de uma vez as conexões que o pool manteria ociosas, em vez de esperar o preenchimento em segundo plano
+     */
+    private void preencherPools() {
+        Set<HikariDataSource> pools = Collections.newSetFromMap(new IdentityHashMap<>());
+        dataSources.orderedStream().forEach(dataSource -> {
+            try {
+                if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                    pools.add(dataSource.unwrap(HikariDataSource.class));
+                }
+            } catch (SQLException ex) {
+                logger.debug("DataSource sem pool Hikari acessível: {}", dataSource, ex);
+            }
+        });
+
+        for (HikariDataSource pool : pools) {
+            List<Connection> conexoes = new ArrayList<>();
+            try {
+                for (int i = 0; i < Math.max(1, pool.getMinimumIdle()) && !tempoEsgotado(); i++) {
+                    conexoes.add(pool.getConnection());
+                }
+            } catch (SQLException ex) {
+                logger.warn("Aquecimento: pool {} preenchido só com {} conexões", pool.getPoolName(), conexoes.size(),
+                        ex);
+            } finally {
+                for (Connection conexao : conexoes) {
+                    try {
+                        conexao.close();
+                    } catch (SQLException ex) {
+                        logger.debug("Falha ao devolver conexão do aquecimento", ex);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Executa uma vez as consultas por ID e CPF dos repositórios (plano de consulta do Hibernate, statements) e
+     * escolhe a amostra de clientes das requisições sintéticas
+     */
+    private void exercitarConsultas() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            List<CampoCliente> campos = List.of(CampoCliente.values());
+            clienteRepository.findById(0L);
+            clienteRepository.findByCpf(CPF_INEXISTENTE);
+            clienteRepository.existsByCpf(CPF_INEXISTENTE);
+            clienteRepository.findCpfsExistentes(List.of(CPF_INEXISTENTE));
+            clienteRepository.findProjetadoById(0L, campos);
+            clienteRepository.findProjetadoByCpf(CPF_INEXISTENTE, campos);
+            clienteRepository.findByScoreCreditoBetween(-2, -1);
+            clienteArquivoRepository.findAtivoById(0L);
+            clienteArquivoRepository.findAtivoByCpf(CPF_INEXISTENTE);
+            clienteArquivoRepository.existsAtivoByCpf(CPF_INEXISTENTE);
+        });
+
+        try {
+            amostra = jdbcTemplate.query("SELECT id, cpf FROM clientes WHERE removido_em IS NULL "
+                            + "ORDER BY updated_at DESC LIMIT ?",
+                    (rs, rowNum) -> new Amostra(rs.getLong("id"), rs.getString("cpf")),
+                    Math.max(TAMANHO_AMOSTRA, clientesRecentes));
+        } catch (DataAccessException ex) {
+            // Com sharding a tabela não está no DataSource principal: as requisições usam só chaves inexistentes
+            logger.debug("Aquecimento sem amostra de clientes", ex);
+        }
+    }
+
+    private void carregarRecentes(RestClient api) {
+        for (int i = 0; i < Math.min(clientesRecentes, amostra.size()) && !tempoEsgotado(); i++) {
+            get(api, "/{id}", amostra.get(i).id());
+        }
+    }
+
+    private void exercitarApi(RestClient api) {
+        get(api, "?page=0&size=20");
+        get(api, "/buscar?nome={nome}", SISTEMA_ORIGEM);
+
+        ExecutorService executor = Executors.newFixedThreadPool(paralelismo);
+        try {
+            List<CompletableFuture<Void>> tarefas = new ArrayList<>();
+            for (int t = 0; t < paralelismo; t++) {
+                int primeira = t;
+                tarefas.add(CompletableFuture.runAsync(() -> {
+                    for (int i = primeira; i < iteracoes && !tempoEsgotado(); i += paralelismo) {
+                        rodada(api, i);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(tarefas.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Uma rodada de leituras: cliente existente por ID, CPF e campos parciais, e os caminhos de não encontrado
+     */
+    private void rodada(RestClient api, int i) {
+        if (!amostra.isEmpty()) {
+            Amostra cliente = amostra.get(i % Math.min(TAMANHO_AMOSTRA, amostra.size()));
+            get(api, "/{id}", cliente.id());
+            get(api, "/cpf/{cpf}", cliente.cpf());
+            get(api, "/{id}?fields=id,nome,scoreCredito", cliente.id());
+        }
+        get(api, "/{id}", 0L);
+        get(api, "/cpf/{cpf}", CPF_INEXISTENTE);
+    }
+
+    private void get(RestClient api, String uri, Object... variaveis) {
+        // 404 e demais erros também são caminhos a aquecer
+        api.get().uri(uri, variaveis)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, (requisicao, resposta) -> {
+                })
+                .toBodilessEntity();
+        requisicoes.incrementAndGet();
+    }
+
+    /**
+     * Se o valor do header {@value #AQUECIMENTO_HEADER} é a chave desta instância e o aquecimento ainda está em
+     * andamento; depois dele o header não isenta mais nenhuma requisição
+     */
+    boolean sintetica(String valorHeader) {
+        return !concluido && chave.equals(valorHeader);
+    }
+
+    boolean concluido() {
+        return concluido;
+    }
+
+    Map<String, Object> detalhes() {
+        Map<String, Object> detalhes = new LinkedHashMap<>();
+        detalhes.put("concluido", concluido);
+        if (etapa != null) {
+            detalhes.put("etapa", etapa);
+        }
+        detalhes.put("requisicoes", requisicoes.get());
+        if (concluido) {
+            detalhes.put("duracaoMs", duracaoMs);
+        }
+        if (interrupcao != null) {
+            detalhes.put("interrupcao", interrupcao);
+        }
+        return detalhes;
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.juliherms.clienteService.aquecimento;
+
+import ch.qos.logback.classic.LoggerContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Marca as requisições sintéticas do {@link Aquecimento} com o atributo {@value #REQUISICAO_AQUECIMENTO}, que
+ * bulkheads e limite de concorrência consultam para deixá-las passar sem ocupar vagas nem ajustar o limite.
+ * Só vale o header com a chave gerada pela própria instância, e só enquanto o aquecimento está em andamento.
+ * Os logs abaixo de WARN dessas requisições são descartados ({@link SilencioAquecimento}).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "cliente.aquecimento.enabled", havingValue = "true", matchIfMissing = true)
+public class AquecimentoFilter extends OncePerRequestFilter {
+
+    public static final String REQUISICAO_AQUECIMENTO = "clienteService.aquecimento";
+
+    @Autowired
+    private Aquecimento aquecimento;
+
+    private final SilencioAquecimento silencio = new SilencioAquecimento();
+
+    @PostConstruct
+    void registrarSilencio() {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext contexto) {
+            silencio.setContext(contexto);
+            silencio.start();
+            contexto.addTurboFilter(silencio);
+        }
+    }
+
+    @PreDestroy
+    void removerSilencio() {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext contexto) {
+            contexto.getTurboFilterList().remove(silencio);
+        }
+        silencio.stop();
+    }
+
+    /**
+     * Se a requisição foi marcada como sintética do aquecimento
+     */
+    public static boolean deAquecimento(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(REQUISICAO_AQUECIMENTO));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return aquecimento.concluido();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!aquecimento.sintetica(request.getHeader(Aquecimento.AQUECIMENTO_HEADER))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        request.setAttribute(REQUISICAO_AQUECIMENTO, Boolean.TRUE);
+        SilencioAquecimento.ativar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SilencioAquecimento.desativar();
+        }
+    }
+}
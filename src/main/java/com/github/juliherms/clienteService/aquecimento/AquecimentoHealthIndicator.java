@@ -0,0 +1,26 @@
+package com.github.juliherms.clienteService.aquecimento;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health "aquecimento", incluído no grupo {@code readiness}: fora de serviço enquanto o {@link Aquecimento} está em
+ * andamento. Existe mesmo com o aquecimento desligado (sempre UP), para o grupo continuar válido.
+ */
+@Component
+public class AquecimentoHealthIndicator implements HealthIndicator {
+
+    @Autowired(required = false)
+    private Aquecimento aquecimento;
+
+    @Override
+    public Health health() {
+        if (aquecimento == null) {
+            return Health.up().withDetail("concluido", "desligado").build();
+        }
+        Health.Builder builder = aquecimento.concluido() ? Health.up() : Health.outOfService();
+        return builder.withDetails(aquecimento.detalhes()).build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.juliherms.clienteService.aquecimento;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+/**
+ * Descarta os logs abaixo de WARN emitidos na thread de uma requisição sintética do {@link Aquecimento}: cada um
+ * dos milhares de GETs com CPFs sintéticos escreveria as linhas INFO do controller e do serviço
+ */
+final class SilencioAquecimento extends TurboFilter {
+
+    private static final ThreadLocal<Boolean> ATIVO = new ThreadLocal<>();
+
+    static void ativar() {
+        ATIVO.set(Boolean.TRUE);
+    }
+
+    static void desativar() {
+        ATIVO.remove();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        return ATIVO.get() != null && !level.isGreaterOrEqual(Level.WARN) ? FilterReply.DENY : FilterReply.NEUTRAL;
+    }
+}
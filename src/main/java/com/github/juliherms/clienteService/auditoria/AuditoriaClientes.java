@@ -0,0 +1,244 @@
+package com.github.juliherms.clienteService.auditoria;
+
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.event.ClienteAlteradoEvent;
+import com.github.juliherms.clienteService.event.TipoAlteracao;
+import com.github.juliherms.clienteService.web.SistemaOrigemContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Trilha de auditoria das escritas de clientes com o {@code sistemaOrigem} de cada uma.
+ *
+ * <p>Após o commit, o evento é copiado para um {@link RingBufferAuditoria}; o caminho da requisição
+ * paga apenas essa publicação. Uma única thread drena o buffer e grava em lote na tabela
+ * {@code auditoria_clientes}. O sistema de origem é cortado no tamanho da coluna antes da publicação, e um lote
+ * recusado pelo banco é regravado registro a registro, de modo que um registro inválido descarta só a si mesmo.
+ * Registros descartados (buffer cheio ou falha persistente de gravação), pendentes e o atraso até a gravação são
+ * expostos como métricas.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "cliente.auditoria.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditoriaClientes implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditoriaClientes.class);
+
+    private static final String INSERT = "INSERT INTO auditoria_clientes "
+            + "(cliente_id, tipo, cpf, sistema_origem, ocorrido_em) VALUES (?, ?, ?, ?, ?)";
+    private static final int MAXIMO_TENTATIVAS = 5;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${cliente.auditoria.capacidade:16384}")
+    private int capacidade;
+
+    @Value("${cliente.auditoria.tamanho-lote:256}")
+    private int tamanhoLote;
+
+    @Value("${cliente.auditoria.espera-ociosa:10ms}")
+    private Duration esperaOciosa;
+
+    private RingBufferAuditoria anel;
+    private Thread consumidor;
+    private volatile boolean ativo;
+
+    private final AtomicLong gravados = new AtomicLong();
+    private final AtomicLong falhasGravacao = new AtomicLong();
+    private final AtomicLong descartadosNaGravacao = new AtomicLong();
+    private volatile long atrasoUltimoLoteMillis;
+
+    @PostConstruct
+    void iniciar() {
+        anel = new RingBufferAuditoria(capacidade);
+        ativo = true;
+        consumidor = new Thread(this::consumir, "auditoria-clientes");
+        consumidor.setDaemon(true);
+        consumidor.start();
+    }
+
+    @PreDestroy
+    void parar() throws InterruptedException {
+        ativo = false;
+        LockSupport.unpark(consumidor);
+        consumidor.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClienteAlterado(ClienteAlteradoEvent event) {
+        String cpf = event.cliente() == null ? null : event.cliente().cpf();
+        if (!anel.publicar(event.tipo(), event.id(), cpf, SistemaOrigemContext.paraGravacao(event.sistemaOrigem()),
+                System.currentTimeMillis())) {
+            logger.debug("Buffer de auditoria cheio, registro do cliente {} descartado", event.id());
+        }
+    }
+
+    /**
+     * Registra, na transação corrente e num único batch, a atualização de cada cliente de um lote. As atualizações em
+     * lote não publicam um ClienteAlteradoEvent por cliente e não passam pelo buffer.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarAtualizacoes(List<ClienteResponseDTO> clientes, String sistemaOrigem) {
+        Timestamp ocorridoEm = new Timestamp(System.currentTimeMillis());
+        String origem = SistemaOrigemContext.paraGravacao(sistemaOrigem);
+        jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, clientes.get(i).id());
+                ps.setString(2, TipoAlteracao.ATUALIZACAO.name());
+                ps.setString(3, clientes.get(i).cpf());
+                ps.setString(4, origem);
+                ps.setTimestamp(5, ocorridoEm);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return clientes.size();
+            }
+        });
+    }
+
+    private void consumir() {
+        RingBufferAuditoria.Lote lote = new RingBufferAuditoria.Lote(tamanhoLote);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        while (ativo || anel.pendentes() > 0) {
+            if (anel.drenar(lote, tamanhoLote) == 0) {
+                if (ativo) {
+                    LockSupport.parkNanos(esperaOciosa.toNanos());
+                }
+                continue;
+            }
+            try {
+                gravar(lote, transactionTemplate);
+            } finally {
+                lote.limpar();
+            }
+        }
+    }
+
+    private void gravar(RingBufferAuditoria.Lote lote, TransactionTemplate transactionTemplate) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT, setter(lote)));
+                gravados.addAndGet(lote.tamanho);
+                atrasoUltimoLoteMillis = System.currentTimeMillis() - lote.maisAntigo();
+                return;
+            } catch (DataIntegrityViolationException ex) {
+                falhasGravacao.incrementAndGet();
+                logger.warn("Lote de auditoria recusado pelo banco, gravando registro a registro: {}", ex.getMessage());
+                gravarIndividualmente(lote);
+                return;
+            } catch (RuntimeException ex) {
+                falhasGravacao.incrementAndGet();
+                if (tentativa >= MAXIMO_TENTATIVAS || !ativo) {
+                    logger.error("Falha ao gravar lote de {} registros de auditoria, gravando registro a registro: {}",
+                            lote.tamanho, ex.getMessage(), ex);
+                    gravarIndividualmente(lote);
+                    return;
+                }
+                logger.warn("Falha ao gravar lote de auditoria (tentativa {}): {}", tentativa, ex.getMessage());
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100L * tentativa));
+            }
+        }
+    }
+
+    /**
+     * Grava cada registro do lote isoladamente e descarta só os que falharem
+     */
+    private void gravarIndividualmente(RingBufferAuditoria.Lote lote) {
+        BatchPreparedStatementSetter setter = setter(lote);
+        for (int i = 0; i < lote.tamanho; i++) {
+            int registro = i;
+            try {
+                jdbcTemplate.update(INSERT, ps -> setter.setValues(ps, registro));
+                gravados.incrementAndGet();
+            } catch (DataAccessException ex) {
+                descartadosNaGravacao.incrementAndGet();
+                logger.error("Registro de auditoria do cliente {} descartado: {}", lote.clienteIds[i], ex.getMessage());
+            }
+        }
+        atrasoUltimoLoteMillis = System.currentTimeMillis() - lote.maisAntigo();
+    }
+
+    private static BatchPreparedStatementSetter setter(RingBufferAuditoria.Lote lote) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, lote.clienteIds[i]);
+                ps.setString(2, lote.tipos[i].name());
+                ps.setString(3, lote.cpfs[i]);
+                ps.setString(4, lote.sistemasOrigem[i]);
+                ps.setTimestamp(5, new Timestamp(lote.ocorridoEm[i]));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return lote.tamanho;
+            }
+        };
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cliente.auditoria.pendentes", this, auditoria -> auditoria.anel.pendentes())
+                .description("Registros de auditoria publicados e ainda não gravados")
+                .register(registry);
+        Gauge.builder("cliente.auditoria.atraso", this, auditoria -> auditoria.atrasoUltimoLoteMillis)
+                .description("Tempo entre o commit e a gravação do registro mais antigo do último lote")
+                .baseUnit("milliseconds")
+                .register(registry);
+        FunctionCounter.builder("cliente.auditoria.gravados", gravados, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("cliente.auditoria.descartados", this, auditoria -> auditoria.anel.descartados())
+                .tag("motivo", "buffer-cheio")
+                .description("Registros de auditoria perdidos")
+                .register(registry);
+        FunctionCounter.builder("cliente.auditoria.descartados", descartadosNaGravacao, AtomicLong::get)
+                .tag("motivo", "falha-gravacao")
+                .register(registry);
+        FunctionCounter.builder("cliente.auditoria.falhas", falhasGravacao, AtomicLong::get)
+                .description("Tentativas de gravação de lote que falharam")
+                .register(registry);
+    }
+
+    long pendentes() {
+        return anel.pendentes();
+    }
+
+    long gravados() {
+        return gravados.get();
+    }
+}
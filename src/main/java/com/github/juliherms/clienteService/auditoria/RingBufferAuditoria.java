@@ -0,0 +1,160 @@
+package com.github.juliherms.clienteService.auditoria;
+
+import com.github.juliherms.clienteService.event.TipoAlteracao;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Buffer circular pré-alocado, sem locks, para vários produtores e um único consumidor.
+ *
+ * <p>Cada posição tem um número de sequência (esquema de Vyukov): o produtor reserva a posição com um
+ * CAS na cauda, preenche os campos e publica a sequência; o consumidor só lê posições publicadas e as
+ * devolve aos produtores avançando a sequência em uma volta. Com o buffer cheio o registro é descartado
+ * em vez de bloquear quem publica.</p>
+ */
+final class RingBufferAuditoria {
+
+    private final int capacidade;
+    private final int mascara;
+    private final AtomicLongArray sequencias;
+
+    private final TipoAlteracao[] tipos;
+    private final long[] clienteIds;
+    private final String[] cpfs;
+    private final String[] sistemasOrigem;
+    private final long[] ocorridoEm;
+
+    private final AtomicLong cauda = new AtomicLong();
+    private volatile long cabeca;
+    private final AtomicLong descartados = new AtomicLong();
+
+    RingBufferAuditoria(int capacidadeMinima) {
+        this.capacidade = Integer.highestOneBit(Math.max(2, capacidadeMinima - 1)) << 1;
+        this.mascara = capacidade - 1;
+        this.sequencias = new AtomicLongArray(capacidade);
+        for (int i = 0; i < capacidade; i++) {
+            sequencias.set(i, i);
+        }
+        this.tipos = new TipoAlteracao[capacidade];
+        this.clienteIds = new long[capacidade];
+        this.cpfs = new String[capacidade];
+        this.sistemasOrigem = new String[capacidade];
+        this.ocorridoEm = new long[capacidade];
+    }
+
+    /**
+     * Publica um registro. Retorna {@code false} (e contabiliza o descarte) quando o buffer está cheio.
+     */
+    boolean publicar(TipoAlteracao tipo, long clienteId, String cpf, String sistemaOrigem, long ocorridoEmMillis) {
+        long posicao = cauda.get();
+        while (true) {
+            int indice = (int) (posicao & mascara);
+            long diferenca = sequencias.get(indice) - posicao;
+            if (diferenca == 0) {
+                if (cauda.compareAndSet(posicao, posicao + 1)) {
+                    tipos[indice] = tipo;
+                    clienteIds[indice] = clienteId;
+                    cpfs[indice] = cpf;
+                    sistemasOrigem[indice] = sistemaOrigem;
+                    ocorridoEm[indice] = ocorridoEmMillis;
+                    // A escrita volátil da sequência publica os campos acima para o consumidor
+                    sequencias.set(indice, posicao + 1);
+                    return true;
+                }
+                posicao = cauda.get();
+            } else if (diferenca < 0) {
+                descartados.incrementAndGet();
+                return false;
+            } else {
+                posicao = cauda.get();
+            }
+        }
+    }
+
+    /**
+     * Copia até {@code maximo} registros publicados para o lote. Deve ser chamado sempre pela mesma thread.
+     */
+    int drenar(Lote lote, int maximo) {
+        long posicao = cabeca;
+        int lidos = 0;
+        while (lidos < maximo && lote.tamanho < lote.capacidade()) {
+            int indice = (int) (posicao & mascara);
+            if (sequencias.get(indice) != posicao + 1) {
+                break;
+            }
+            lote.adicionar(tipos[indice], clienteIds[indice], cpfs[indice], sistemasOrigem[indice], ocorridoEm[indice]);
+            cpfs[indice] = null;
+            sistemasOrigem[indice] = null;
+            sequencias.set(indice, posicao + capacidade);
+            posicao++;
+            lidos++;
+        }
+        cabeca = posicao;
+        return lidos;
+    }
+
+    int capacidade() {
+        return capacidade;
+    }
+
+    /**
+     * Registros publicados e ainda não drenados
+     */
+    long pendentes() {
+        return Math.max(0, cauda.get() - cabeca);
+    }
+
+    long descartados() {
+        return descartados.get();
+    }
+
+    /**
+     * Lote reutilizável do consumidor, em arrays paralelos para não alocar por registro
+     */
+    static final class Lote {
+
+        final TipoAlteracao[] tipos;
+        final long[] clienteIds;
+        final String[] cpfs;
+        final String[] sistemasOrigem;
+        final long[] ocorridoEm;
+        int tamanho;
+
+        Lote(int capacidade) {
+            this.tipos = new TipoAlteracao[capacidade];
+            this.clienteIds = new long[capacidade];
+            this.cpfs = new String[capacidade];
+            this.sistemasOrigem = new String[capacidade];
+            this.ocorridoEm = new long[capacidade];
+        }
+
+        int capacidade() {
+            return tipos.length;
+        }
+
+        void adicionar(TipoAlteracao tipo, long clienteId, String cpf, String sistemaOrigem, long ocorridoEmMillis) {
+            tipos[tamanho] = tipo;
+            clienteIds[tamanho] = clienteId;
+            cpfs[tamanho] = cpf;
+            sistemasOrigem[tamanho] = sistemaOrigem;
+            ocorridoEm[tamanho] = ocorridoEmMillis;
+            tamanho++;
+        }
+
+        long maisAntigo() {
+            long minimo = Long.MAX_VALUE;
+            for (int i = 0; i < tamanho; i++) {
+                minimo = Math.min(minimo, ocorridoEm[i]);
+            }
+            return minimo;
+        }
+
+        void limpar() {
+            Arrays.fill(cpfs, 0, tamanho, null);
+            Arrays.fill(sistemasOrigem, 0, tamanho, null);
+            tamanho = 0;
+        }
+    }
+}
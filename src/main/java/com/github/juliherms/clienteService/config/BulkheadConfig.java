@@ -0,0 +1,73 @@
+package com.github.juliherms.clienteService.config;
+
+import com.github.juliherms.clienteService.datasource.DataSourceComCota;
+import com.github.juliherms.clienteService.web.CompartimentosOrigem;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Bulkheads por sistema de origem: cria os {@link CompartimentosOrigem} a partir de
+ * {@code cliente.bulkhead.padrao.*} e {@code cliente.bulkhead.origens.<ORIGEM>.*} e embrulha o DataSource
+ * principal em um {@link DataSourceComCota} para aplicar a cota de conexões de cada origem. Sem configuração, o
+ * padrão é proporcional a {@code server.tomcat.threads.max} e ao {@code maximum-pool-size} do Hikari, e a
+ * inicialização falha se a soma das cotas passar deles. Desligado com {@code cliente.bulkhead.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cliente.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadConfig {
+
+    private static final String DATA_SOURCE = "dataSource";
+    private static final int THREADS_TOMCAT = 200;
+    private static final int POOL_HIKARI = 10;
+
+    @Bean
+    public CompartimentosOrigem compartimentosOrigem(Environment environment) {
+        Binder binder = Binder.get(environment);
+        int threadsServidor = binder.bind("server.tomcat.threads.max", Integer.class).orElse(THREADS_TOMCAT);
+        int conexoesPool = conexoesPool(binder);
+        CompartimentosOrigem.Limites proporcionais =
+                CompartimentosOrigem.Limites.proporcionais(threadsServidor, conexoesPool);
+        CompartimentosOrigem.Limites padrao = binder
+                .bind("cliente.bulkhead.padrao", CompartimentosOrigem.Limites.class)
+                .map(limites -> limites.completar(proporcionais))
+                .orElse(proporcionais);
+        Map<String, CompartimentosOrigem.Limites> origens = binder
+                .bind("cliente.bulkhead.origens",
+                        Bindable.mapOf(String.class, CompartimentosOrigem.Limites.class))
+                .orElse(Map.of());
+        CompartimentosOrigem compartimentos = new CompartimentosOrigem(padrao, origens);
+        compartimentos.validar(threadsServidor, conexoesPool);
+        return compartimentos;
+    }
+
+    /**
+     * Tamanho do pool que a cota divide: o da primária quando há roteamento de leitura, senão o do Hikari padrão
+     */
+    private static int conexoesPool(Binder binder) {
+        boolean roteamento = binder.bind("cliente.datasource.roteamento.enabled", Boolean.class).orElse(false);
+        String propriedade = roteamento
+                ? "cliente.datasource.primaria.maximum-pool-size"
+                : "spring.datasource.hikari.maximum-pool-size";
+        return binder.bind(propriedade, Integer.class).orElse(POOL_HIKARI);
+    }
+
+    @Bean
+    static BeanPostProcessor cotaConexoesDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && DATA_SOURCE.equals(beanName)
+                        ? new DataSourceComCota(dataSource)
+                        : bean;
+            }
+        };
+    }
+}
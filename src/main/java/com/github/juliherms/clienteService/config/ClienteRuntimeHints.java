@@ -0,0 +1,40 @@
+package com.github.juliherms.clienteService.config;
+
+import com.github.juliherms.clienteService.dto.ClienteRequestDTO;
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.dto.ErrorResponseDTO;
+import com.github.juliherms.clienteService.entity.Cliente;
+import com.github.juliherms.clienteService.event.ClienteAlteradoEvent;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Hints de reflexão e recursos para o processamento AOT e a imagem nativa:
+ * records serializados pelo Jackson, a entidade JPA e as migrations do Flyway.
+ */
+public class ClienteRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> TIPOS_REFLEXAO = List.of(
+            ClienteRequestDTO.class,
+            ClienteResponseDTO.class,
+            ErrorResponseDTO.class,
+            ClienteAlteradoEvent.class,
+            Cliente.class
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> tipo : TIPOS_REFLEXAO) {
+            hints.reflection().registerType(tipo,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+
+        hints.resources().registerPattern("db/migration/*.sql");
+    }
+}
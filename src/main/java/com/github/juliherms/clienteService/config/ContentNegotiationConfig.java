@@ -0,0 +1,39 @@
+package com.github.juliherms.clienteService.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.juliherms.clienteService.web.ClienteJsonHttpMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Representações binárias (CBOR e Smile) negociadas pelo header Accept.
+ *
+ * <p>Os conversores usam o mesmo {@link Jackson2ObjectMapperBuilder} do JSON, então respeitam as mesmas
+ * anotações dos DTOs. O JSON continua sendo o padrão quando o cliente não pede outro formato; para os DTOs
+ * de cliente ele é produzido pelo {@link ClienteJsonHttpMessageConverter}, com a mesma saída do Jackson.</p>
+ */
+@Configuration
+public class ContentNegotiationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "cliente.json.codec-rapido.enabled", havingValue = "true", matchIfMissing = true)
+    public ClienteJsonHttpMessageConverter clienteJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new ClienteJsonHttpMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.juliherms.clienteService.config;
+
+import com.github.juliherms.clienteService.datasource.EscritasRecentes;
+import com.github.juliherms.clienteService.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configura pools Hikari separados para primária e réplica e o DataSource roteado
+ * usado pelo JPA. Ativado com {@code cliente.datasource.roteamento.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cliente.datasource.roteamento.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("cliente.datasource.primaria")
+    public HikariDataSource primariaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("primaria");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("cliente.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public EscritasRecentes escritasRecentes(
+            @Value("${cliente.datasource.roteamento.tolerancia-atraso-replica:2s}") Duration toleranciaAtrasoReplica) {
+        return new EscritasRecentes(toleranciaAtrasoReplica);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primariaDataSource") DataSource primaria,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 EscritasRecentes escritasRecentes) {
+        ReadWriteRoutingDataSource roteador = new ReadWriteRoutingDataSource(primaria, replica, escritasRecentes);
+        roteador.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteador);
+    }
+}
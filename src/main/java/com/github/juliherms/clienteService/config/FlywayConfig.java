@@ -0,0 +1,30 @@
+package com.github.juliherms.clienteService.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class FlywayConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlywayConfig.class);
+
+    /**
+     * Executa as migrations normalmente, exceto na execução de treino do arquivo CDS
+     * ({@code spring.context.exit=onRefresh}), que roda no build da imagem sem acesso ao banco.
+     * A decisão é tomada em tempo de execução para continuar valendo com o contexto gerado pelo AOT.
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+        return flyway -> {
+            if ("onRefresh".equals(environment.getProperty("spring.context.exit"))) {
+                logger.info("Execução de treino CDS: migrations do Flyway ignoradas");
+                return;
+            }
+            flyway.migrate();
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.juliherms.clienteService.config;
+
+import com.github.juliherms.clienteService.invalidacao.JdbcTransporteInvalidacao;
+import com.github.juliherms.clienteService.invalidacao.MemoriaTransporteInvalidacao;
+import com.github.juliherms.clienteService.invalidacao.TransporteInvalidacao;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Escolhe o {@link TransporteInvalidacao} do barramento de invalidação com {@code cliente.invalidacao.transporte}:
+ * {@code jdbc} (tabela no banco compartilhado, padrão) ou {@code memoria} (uma única instância).
+ */
+@Configuration
+@ConditionalOnExpression("${cliente.invalidacao.enabled:false} and !${cliente.sharding.enabled:false}")
+public class InvalidacaoConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "cliente.invalidacao.transporte", havingValue = "jdbc", matchIfMissing = true)
+    public TransporteInvalidacao jdbcTransporteInvalidacao(JdbcTemplate jdbcTemplate) {
+        return new JdbcTransporteInvalidacao(jdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cliente.invalidacao.transporte", havingValue = "memoria")
+    public TransporteInvalidacao memoriaTransporteInvalidacao() {
+        return new MemoriaTransporteInvalidacao();
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.juliherms.clienteService.config;
+
+import com.github.juliherms.clienteService.controller.ClienteController;
+import com.github.juliherms.clienteService.jfr.EventosJfrPostProcessor;
+import com.github.juliherms.clienteService.jfr.GravacaoJfrEndpoint;
+import com.github.juliherms.clienteService.service.ClienteService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Perfil sob demanda com o JDK Flight Recorder: registra o endpoint {@link GravacaoJfrEndpoint} e emite eventos
+ * JFR em cada chamada ao {@code ClienteController} e ao {@code ClienteService}. Desligado por padrão
+ * ({@code cliente.jfr.enabled=true} liga): o endpoint não tem autenticação e deve ficar na porta de management,
+ * fora do alcance dos consumidores, além de constar em {@code management.endpoints.web.exposure.include}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cliente.jfr.enabled", havingValue = "true")
+public class JfrConfig {
+
+    @Bean
+    public GravacaoJfrEndpoint gravacaoJfrEndpoint(@Value("${cliente.jfr.duracao-padrao:30s}") Duration duracaoPadrao,
+                                                   @Value("${cliente.jfr.duracao-maxima:5m}") Duration duracaoMaxima) {
+        return new GravacaoJfrEndpoint(duracaoPadrao, duracaoMaxima);
+    }
+
+    @Bean
+    static EventosJfrPostProcessor eventosJfr() {
+        return new EventosJfrPostProcessor(ClienteController.class, ClienteService.class);
+    }
+}
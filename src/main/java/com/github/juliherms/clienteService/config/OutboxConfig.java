@@ -0,0 +1,44 @@
+package com.github.juliherms.clienteService.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.juliherms.clienteService.outbox.ArquivoOutboxSink;
+import com.github.juliherms.clienteService.outbox.MemoriaOutboxSink;
+import com.github.juliherms.clienteService.outbox.OutboxSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Escolhe o {@link OutboxSink} usado pelo relay com {@code cliente.outbox.sink}: {@code arquivo} (NDJSON) ou
+ * {@code memoria}. Não há sink padrão: os eventos carregam os dados pessoais do cliente, então o destino precisa
+ * ser escolhido explicitamente, e a inicialização falha com o outbox ligado e sem sink. Integrações com um
+ * broker entram como outra implementação de OutboxSink.
+ */
+@Configuration
+@ConditionalOnExpression("${cliente.outbox.enabled:false} and !${cliente.sharding.enabled:false}")
+public class OutboxConfig {
+
+    public OutboxConfig(@Value("${cliente.outbox.sink:}") String sink) {
+        if (sink.isBlank()) {
+            throw new IllegalStateException(
+                    "cliente.outbox.sink deve ser configurado (arquivo ou memoria) com cliente.outbox.enabled=true");
+        }
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cliente.outbox.sink", havingValue = "arquivo")
+    public OutboxSink arquivoOutboxSink(@Value("${cliente.outbox.arquivo:outbox-clientes.ndjson}") Path arquivo,
+                                        ObjectMapper objectMapper) {
+        return new ArquivoOutboxSink(arquivo, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cliente.outbox.sink", havingValue = "memoria")
+    public MemoriaOutboxSink memoriaOutboxSink() {
+        return new MemoriaOutboxSink();
+    }
+}
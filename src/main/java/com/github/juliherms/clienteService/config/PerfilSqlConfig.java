@@ -0,0 +1,86 @@
+package com.github.juliherms.clienteService.config;
+
+import com.github.juliherms.clienteService.datasource.DataSourcePerfilado;
+import com.github.juliherms.clienteService.datasource.PerfilSql;
+import com.github.juliherms.clienteService.datasource.PerfilSqlEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Perfil de comandos SQL: embrulha o DataSource principal em um {@link DataSourcePerfilado} e marca as
+ * chamadas aos repositórios Spring Data para que cada comando seja atribuído ao método que o originou.
+ * Desligado por padrão, pois mede todo comando do pool principal; ligado com {@code cliente.perfil-sql.enabled=true}.
+ *
+ * <p>Só o bean {@code dataSource} é embrulhado: com roteamento, os pools de primária e réplica ficam atrás
+ * dele e seriam contados em dobro. Os pools dos shards não são beans e ficam fora do perfil.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "cliente.perfil-sql.enabled", havingValue = "true")
+public class PerfilSqlConfig {
+
+    private static final String DATA_SOURCE = "dataSource";
+
+    @Bean
+    public PerfilSql perfilSql(@Value("${cliente.perfil-sql.maximo-entradas:500}") int maximoEntradas,
+                               @Value("${cliente.perfil-sql.limiar-lento:500ms}") Duration limiarLento) {
+        return new PerfilSql(maximoEntradas, limiarLento);
+    }
+
+    @Bean
+    public PerfilSqlEndpoint perfilSqlEndpoint(PerfilSql perfilSql, MeterRegistry registry) {
+        return new PerfilSqlEndpoint(perfilSql, registry);
+    }
+
+    @Bean
+    static BeanPostProcessor perfilSqlDataSource(ObjectProvider<PerfilSql> perfilSql) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && DATA_SOURCE.equals(beanName)
+                        ? new DataSourcePerfilado(dataSource, perfilSql.getObject())
+                        : bean;
+            }
+        };
+    }
+
+    /**
+     * Registra em cada repositório Spring Data um interceptor que define a origem ("Interface.metodo") durante
+     * a chamada. Repositórios com JdbcTemplate são identificados pela pilha de chamadas no próprio PerfilSql.
+     */
+    @Bean
+    static BeanPostProcessor perfilSqlRepositorios(ObjectProvider<PerfilSql> perfilSql) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, informacao) -> proxyFactory.addAdvice(origem(perfilSql,
+                                    informacao.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor origem(ObjectProvider<PerfilSql> perfilSql, String repositorio) {
+        return invocation -> {
+            PerfilSql perfil = perfilSql.getObject();
+            String anterior = perfil.definirOrigem(repositorio + "." + invocation.getMethod().getName());
+            try {
+                return invocation.proceed();
+            } finally {
+                perfil.restaurarOrigem(anterior);
+            }
+        };
+    }
+}
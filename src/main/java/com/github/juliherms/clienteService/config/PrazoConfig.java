@@ -0,0 +1,33 @@
+package com.github.juliherms.clienteService.config;
+
+import com.github.juliherms.clienteService.datasource.DataSourceComPrazo;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Embrulha o DataSource principal em um {@link DataSourceComPrazo} para que o prazo da requisição (header
+ * prazoMs) vire query timeout e impeça obter conexões depois de esgotado. Desligado com
+ * {@code cliente.prazo.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cliente.prazo.enabled", havingValue = "true", matchIfMissing = true)
+public class PrazoConfig {
+
+    private static final String DATA_SOURCE = "dataSource";
+
+    @Bean
+    static BeanPostProcessor prazoDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && DATA_SOURCE.equals(beanName)
+                        ? new DataSourceComPrazo(dataSource)
+                        : bean;
+            }
+        };
+    }
+}
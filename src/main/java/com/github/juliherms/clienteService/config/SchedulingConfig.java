@@ -0,0 +1,12 @@
+package com.github.juliherms.clienteService.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas agendadas (reconstrução de filtros, rotinas em segundo plano)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
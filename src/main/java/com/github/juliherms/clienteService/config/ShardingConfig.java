@@ -0,0 +1,61 @@
+package com.github.juliherms.clienteService.config;
+
+import com.github.juliherms.clienteService.datasource.ClienteShards;
+import com.github.juliherms.clienteService.repository.ShardedClienteRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Distribui os clientes entre os DataSources de {@code cliente.sharding.shards[n].*} pelo hash do CPF.
+ * Ativado com {@code cliente.sharding.enabled=true}; cada shard recebe as migrations do Flyway na subida
+ * e o {@link ShardedClienteRepository} passa a ser o RepositorioClientes injetado nos serviços.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cliente.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfig.class);
+
+    @Bean
+    public ClienteShards clienteShards(Environment environment) {
+        List<HikariDataSource> dataSources = new ArrayList<>();
+        Binder.get(environment)
+                .bind("cliente.sharding.shards", Bindable.listOf(HikariDataSource.class))
+                .orElseThrow(() -> new IllegalStateException("Nenhum shard configurado em cliente.sharding.shards"))
+                .forEach(dataSources::add);
+
+        for (int shard = 0; shard < dataSources.size(); shard++) {
+            dataSources.get(shard).setPoolName("shard-" + shard);
+        }
+        ClienteShards shards = new ClienteShards(dataSources);
+
+        // Mesma regra do FlywayConfig: a execução de treino do CDS não tem acesso aos bancos
+        if ("onRefresh".equals(environment.getProperty("spring.context.exit"))) {
+            logger.info("Execução de treino CDS: migrations dos shards ignoradas");
+        } else {
+            shards.migrar(environment.getProperty("spring.flyway.locations", String[].class,
+                    new String[] {"classpath:db/migration"}));
+        }
+        return shards;
+    }
+
+    @Bean
+    @Primary
+    public ShardedClienteRepository shardedClienteRepository(
+            ClienteShards clienteShards,
+            @Value("${cliente.sharding.maximo-linhas-paginacao:10000}") long maximoLinhasPaginacao) {
+        return new ShardedClienteRepository(clienteShards, maximoLinhasPaginacao);
+    }
+}
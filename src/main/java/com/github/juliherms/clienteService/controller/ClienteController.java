@@ -1,8 +1,12 @@
 package com.github.juliherms.clienteService.controller;
 
+import com.github.juliherms.clienteService.dto.CampoCliente;
 import com.github.juliherms.clienteService.dto.ClienteRequestDTO;
 import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.dto.ResultadoAtualizacaoScoresDTO;
 import com.github.juliherms.clienteService.exception.MissingHeaderException;
+import com.github.juliherms.clienteService.service.AtualizadorScores;
+import com.github.juliherms.clienteService.service.CadastroEmLoteWriter;
 import com.github.juliherms.clienteService.service.ClienteService;
 import org.springframework.data.domain.Page;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -19,7 +23,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/clientes")
@@ -28,10 +35,19 @@ public class ClienteController {
 
     private static final Logger logger = LoggerFactory.getLogger(ClienteController.class);
     private static final String SISTEMA_ORIGEM_HEADER = "sistemaOrigem";
+    private static final String FIELDS_PARAM = "fields";
+    private static final String TEXT_CSV = "text/csv";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
 
     @Autowired
     private ClienteService clienteService;
 
+    @Autowired(required = false)
+    private CadastroEmLoteWriter cadastroEmLoteWriter;
+
+    @Autowired
+    private AtualizadorScores atualizadorScores;
+
     /**
      * Cadastra um novo cliente
      */
@@ -39,7 +55,9 @@ public class ClienteController {
     public ResponseEntity<ClienteResponseDTO> cadastrarCliente(@Valid @RequestBody ClienteRequestDTO clienteRequest) {
         logger.info("Recebida requisição para cadastrar cliente");
 
-        ClienteResponseDTO clienteResponse = clienteService.cadastrarCliente(clienteRequest);
+        ClienteResponseDTO clienteResponse = cadastroEmLoteWriter != null
+                ? cadastroEmLoteWriter.cadastrar(clienteRequest)
+                : clienteService.cadastrarCliente(clienteRequest);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(clienteResponse);
     }
@@ -112,6 +130,70 @@ public class ClienteController {
         return ResponseEntity.ok(clientes);
     }
 
+    /**
+     * Busca cliente por CPF retornando apenas os campos de {@code fields} - Requer header sistemaOrigem
+     */
+    @GetMapping(value = "/cpf/{cpf}", params = FIELDS_PARAM)
+    public ResponseEntity<Map<String, Object>> buscarPorCpf(
+            @PathVariable String cpf,
+            @RequestParam(FIELDS_PARAM) String fields,
+            @RequestHeader(value = SISTEMA_ORIGEM_HEADER, required = false) String sistemaOrigem) {
+
+        validarSistemaOrigem(sistemaOrigem);
+
+        logger.info("Recebida requisição para buscar campos {} do cliente por CPF: {} do sistema: {}", fields, cpf, sistemaOrigem);
+
+        return ResponseEntity.ok(clienteService.buscarPorCpf(cpf, CampoCliente.parse(fields)));
+    }
+
+    /**
+     * Busca cliente por ID retornando apenas os campos de {@code fields} - Requer header sistemaOrigem
+     */
+    @GetMapping(value = "/{id}", params = FIELDS_PARAM)
+    public ResponseEntity<Map<String, Object>> buscarPorId(
+            @PathVariable Long id,
+            @RequestParam(FIELDS_PARAM) String fields,
+            @RequestHeader(value = SISTEMA_ORIGEM_HEADER, required = false) String sistemaOrigem) {
+
+        validarSistemaOrigem(sistemaOrigem);
+
+        logger.info("Recebida requisição para buscar campos {} do cliente por ID: {} do sistema: {}", fields, id, sistemaOrigem);
+
+        return ResponseEntity.ok(clienteService.buscarPorId(id, CampoCliente.parse(fields)));
+    }
+
+    /**
+     * Lista clientes com paginação retornando apenas os campos de {@code fields} - Requer header sistemaOrigem
+     */
+    @GetMapping(params = FIELDS_PARAM)
+    public ResponseEntity<Page<Map<String, Object>>> listarClientes(
+            @PageableDefault(size = 20) Pageable pageable,
+            @RequestParam(FIELDS_PARAM) String fields,
+            @RequestHeader(value = SISTEMA_ORIGEM_HEADER, required = false) String sistemaOrigem) {
+
+        validarSistemaOrigem(sistemaOrigem);
+
+        logger.info("Recebida requisição para listar campos {} dos clientes do sistema: {}", fields, sistemaOrigem);
+
+        return ResponseEntity.ok(clienteService.listarClientes(pageable, CampoCliente.parse(fields)));
+    }
+
+    /**
+     * Busca clientes por nome retornando apenas os campos de {@code fields} - Requer header sistemaOrigem
+     */
+    @GetMapping(value = "/buscar", params = FIELDS_PARAM)
+    public ResponseEntity<List<Map<String, Object>>> buscarPorNome(
+            @RequestParam String nome,
+            @RequestParam(FIELDS_PARAM) String fields,
+            @RequestHeader(value = SISTEMA_ORIGEM_HEADER, required = false) String sistemaOrigem) {
+
+        validarSistemaOrigem(sistemaOrigem);
+
+        logger.info("Recebida requisição para buscar campos {} dos clientes por nome: {} do sistema: {}", fields, nome, sistemaOrigem);
+
+        return ResponseEntity.ok(clienteService.buscarPorNome(nome, CampoCliente.parse(fields)));
+    }
+
     /**
      * Atualiza dados do cliente
      */
@@ -127,6 +209,26 @@ public class ClienteController {
         return ResponseEntity.ok(clienteResponse);
     }
 
+    /**
+     * Atualiza scores de crédito em lote a partir de um CSV com linhas {@code cpf,scoreCredito}
+     */
+    @PostMapping(value = "/scores", consumes = TEXT_CSV)
+    public ResponseEntity<ResultadoAtualizacaoScoresDTO> atualizarScoresCsv(InputStream corpo) throws IOException {
+        logger.info("Recebida requisição para atualizar scores em lote (CSV)");
+
+        return ResponseEntity.ok(atualizadorScores.atualizarCsv(corpo));
+    }
+
+    /**
+     * Atualiza scores de crédito em lote a partir de NDJSON com objetos {@code {"cpf", "scoreCredito"}}
+     */
+    @PostMapping(value = "/scores", consumes = APPLICATION_NDJSON)
+    public ResponseEntity<ResultadoAtualizacaoScoresDTO> atualizarScoresNdjson(InputStream corpo) throws IOException {
+        logger.info("Recebida requisição para atualizar scores em lote (NDJSON)");
+
+        return ResponseEntity.ok(atualizadorScores.atualizarNdjson(corpo));
+    }
+
     /**
      * Remove cliente por ID
      */
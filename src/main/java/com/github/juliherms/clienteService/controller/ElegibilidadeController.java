@@ -0,0 +1,59 @@
+package com.github.juliherms.clienteService.controller;
+
+import com.github.juliherms.clienteService.dto.ElegibilidadeRequestDTO;
+import com.github.juliherms.clienteService.dto.ResultadoElegibilidadeDTO;
+import com.github.juliherms.clienteService.elegibilidade.MotorElegibilidade;
+import com.github.juliherms.clienteService.exception.MissingHeaderException;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Avaliação de regras de elegibilidade de campanhas sobre a base colunar de clientes ({@link MotorElegibilidade}).
+ * Só existe com {@code cliente.elegibilidade.enabled=true}.
+ */
+@RestController
+@RequestMapping("/api/clientes/elegibilidade")
+@CrossOrigin(origins = "*")
+@ConditionalOnExpression("${cliente.elegibilidade.enabled:false} and !${cliente.sharding.enabled:false}")
+public class ElegibilidadeController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ElegibilidadeController.class);
+    private static final String SISTEMA_ORIGEM_HEADER = "sistemaOrigem";
+    private static final int LIMITE_PADRAO = 1000;
+
+    @Autowired
+    private MotorElegibilidade motorElegibilidade;
+
+    /**
+     * Conta os clientes elegíveis pela regra e, opcionalmente, lista seus IDs - Requer header sistemaOrigem
+     */
+    @PostMapping
+    public ResponseEntity<ResultadoElegibilidadeDTO> avaliar(
+            @Valid @RequestBody ElegibilidadeRequestDTO elegibilidadeRequest,
+            @RequestHeader(value = SISTEMA_ORIGEM_HEADER, required = false) String sistemaOrigem) {
+
+        if (sistemaOrigem == null || sistemaOrigem.trim().isEmpty()) {
+            throw new MissingHeaderException("Header 'sistemaOrigem' é obrigatório para operações de consulta");
+        }
+
+        logger.info("Recebida requisição para avaliar regra de elegibilidade '{}' do sistema: {}",
+                elegibilidadeRequest.regra(), sistemaOrigem);
+
+        ResultadoElegibilidadeDTO resultado = motorElegibilidade.avaliar(
+                elegibilidadeRequest.regra(),
+                Boolean.TRUE.equals(elegibilidadeRequest.incluirIds()),
+                elegibilidadeRequest.limite() != null ? elegibilidadeRequest.limite() : LIMITE_PADRAO);
+
+        return ResponseEntity.ok(resultado);
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.juliherms.clienteService.datasource;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Conjunto fixo de DataSources entre os quais os clientes são distribuídos pelo hash do CPF.
+ *
+ * <p>Os IDs expostos carregam o shard nos bits altos ({@code shard << 48 | idLocal}), de modo que
+ * uma busca por ID vai direto ao shard certo. Com até 32 shards os IDs continuam abaixo de 2^53 e
+ * seguros para clientes JavaScript; o shard 0 mantém os IDs locais inalterados.</p>
+ *
+ * <p>A quantidade de shards faz parte da função de roteamento: alterá-la exige redistribuir os dados.</p>
+ */
+public class ClienteShards implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClienteShards.class);
+
+    public static final int MAXIMO_SHARDS = 32;
+    static final int BITS_ID_LOCAL = 48;
+    private static final long MASCARA_ID_LOCAL = (1L << BITS_ID_LOCAL) - 1;
+
+    private final List<DataSource> dataSources;
+
+    public ClienteShards(List<? extends DataSource> dataSources) {
+        if (dataSources.isEmpty() || dataSources.size() > MAXIMO_SHARDS) {
+            throw new IllegalArgumentException(
+                    "Quantidade de shards deve estar entre 1 e " + MAXIMO_SHARDS + ": " + dataSources.size());
+        }
+        this.dataSources = List.copyOf(dataSources);
+    }
+
+    public int quantidade() {
+        return dataSources.size();
+    }
+
+    public DataSource dataSource(int shard) {
+        return dataSources.get(shard);
+    }
+
+    /**
+     * Shard responsável pelo CPF. Usa o hashCode da String, que é estável entre JVMs, com uma
+     * mistura final para espalhar CPFs de prefixo comum.
+     */
+    public int shardDoCpf(String cpf) {
+        int h = cpf.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, dataSources.size());
+    }
+
+    public long codificarId(int shard, long idLocal) {
+        return ((long) shard << BITS_ID_LOCAL) | idLocal;
+    }
+
+    /**
+     * Shard codificado no ID, ou -1 quando o ID não pertence a nenhum shard configurado
+     */
+    public int shardDoId(long id) {
+        long shard = id >>> BITS_ID_LOCAL;
+        return id <= 0 || shard >= dataSources.size() ? -1 : (int) shard;
+    }
+
+    public long idLocal(long id) {
+        return id & MASCARA_ID_LOCAL;
+    }
+
+    /**
+     * Aplica as mesmas migrations do Flyway em cada shard
+     */
+    public void migrar(String... locations) {
+        for (int shard = 0; shard < dataSources.size(); shard++) {
+            int aplicadas = Flyway.configure()
+                    .dataSource(dataSources.get(shard))
+                    .locations(locations)
+                    .baselineOnMigrate(true)
+                    .load()
+                    .migrate()
+                    .migrationsExecuted;
+            logger.info("Shard {}: {} migrations aplicadas", shard, aplicadas);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
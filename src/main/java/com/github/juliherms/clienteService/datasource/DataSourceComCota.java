@@ -0,0 +1,100 @@
+package com.github.juliherms.clienteService.datasource;
+
+import com.github.juliherms.clienteService.exception.CotaConexoesEsgotadaException;
+import com.github.juliherms.clienteService.web.Compartimento;
+import com.github.juliherms.clienteService.web.CompartimentoContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource que limita as conexões do pool ocupadas por cada sistema de origem ({@link CompartimentoContext}).
+ *
+ * <p>A vaga da cota é reservada antes de pedir a conexão ao pool e devolvida no primeiro {@code close()}, de modo
+ * que uma origem com a cota esgotada espera (ou falha com {@link CotaConexoesEsgotadaException}) sem tirar
+ * conexões das demais. Fora de requisições HTTP, como nas tarefas agendadas, nada muda.</p>
+ */
+public class DataSourceComCota extends DelegatingDataSource {
+
+    public DataSourceComCota(DataSource alvo) {
+        super(alvo);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Compartimento compartimento = reservar();
+        if (compartimento == null) {
+            return super.getConnection();
+        }
+        return comCota(compartimento, () -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Compartimento compartimento = reservar();
+        if (compartimento == null) {
+            return super.getConnection(username, password);
+        }
+        return comCota(compartimento, () -> super.getConnection(username, password));
+    }
+
+    private static Compartimento reservar() throws SQLException {
+        Compartimento compartimento = CompartimentoContext.get();
+        if (compartimento == null) {
+            return null;
+        }
+        try {
+            if (!compartimento.obterConexao()) {
+                throw new CotaConexoesEsgotadaException(
+                        "Cota de conexões do sistema de origem " + compartimento.origem() + " esgotada");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompido aguardando a cota de conexões", ex);
+        }
+        return compartimento;
+    }
+
+    private static Connection comCota(Compartimento compartimento, Obtencao obtencao) throws SQLException {
+        Connection connection;
+        try {
+            connection = obtencao.obter();
+        } catch (SQLException | RuntimeException ex) {
+            compartimento.devolverConexao();
+            throw ex;
+        }
+        AtomicBoolean devolvida = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(DataSourceComCota.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (instancia, metodo, argumentos) -> {
+                    if (metodo.getName().equals("close")) {
+                        try {
+                            return invocar(connection, metodo, argumentos);
+                        } finally {
+                            if (devolvida.compareAndSet(false, true)) {
+                                compartimento.devolverConexao();
+                            }
+                        }
+                    }
+                    return invocar(connection, metodo, argumentos);
+                });
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Obtencao {
+        Connection obter() throws SQLException;
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.juliherms.clienteService.datasource;
+
+import com.github.juliherms.clienteService.web.PrazoContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataSource que aplica o prazo da requisição ({@link PrazoContext}) ao JDBC.
+ *
+ * <p>Com o prazo esgotado, a conexão nem é obtida do pool e o comando nem é enviado ao banco
+ * ({@link com.github.juliherms.clienteService.exception.PrazoExpiradoException}). Antes de cada
+ * {@code execute*}, o tempo restante vira o query timeout do statement, arredondado para cima em segundos,
+ * que é a resolução do JDBC; um timeout menor já definido (por exemplo, o da transação) é mantido. Sem prazo
+ * na thread nada muda.</p>
+ */
+public class DataSourceComPrazo extends DelegatingDataSource {
+
+    public DataSourceComPrazo(DataSource alvo) {
+        super(alvo);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        PrazoContext.verificar();
+        return comPrazo(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        PrazoContext.verificar();
+        return comPrazo(super.getConnection(username, password));
+    }
+
+    private static Connection comPrazo(Connection connection) {
+        return proxy(Connection.class, (instancia, metodo, argumentos) -> {
+            Object resultado = invocar(connection, metodo, argumentos);
+            if (resultado instanceof Statement statement && Statement.class.isAssignableFrom(metodo.getReturnType())) {
+                return proxy(metodo.getReturnType(), (instanciaStatement, metodoStatement, argumentosStatement) -> {
+                    if (metodoStatement.getName().startsWith("execute") && PrazoContext.ativo()) {
+                        aplicarPrazo(statement);
+                    }
+                    return invocar(statement, metodoStatement, argumentosStatement);
+                });
+            }
+            return resultado;
+        });
+    }
+
+    private static void aplicarPrazo(Statement statement) throws SQLException {
+        PrazoContext.verificar();
+        long restanteMs = TimeUnit.NANOSECONDS.toMillis(PrazoContext.restanteNanos());
+        int segundos = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (restanteMs + 999) / 1000));
+        int atual = statement.getQueryTimeout();
+        if (atual == 0 || segundos < atual) {
+            statement.setQueryTimeout(segundos);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(DataSourceComPrazo.class.getClassLoader(), new Class<?>[] {tipo}, handler);
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
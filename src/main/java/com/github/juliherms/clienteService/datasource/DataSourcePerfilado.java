@@ -0,0 +1,154 @@
+package com.github.juliherms.clienteService.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource que mede cada comando executado e contabiliza no {@link PerfilSql}.
+ *
+ * <p>Conexões, statements e result sets são embrulhados por proxies dinâmicos: o tempo é o da chamada
+ * {@code execute*} no driver, as linhas são as afetadas (atualizações e batches) ou as percorridas com
+ * {@code next()} até o ResultSet terminar ou ser fechado. Por estender {@link DelegatingDataSource}, o pool
+ * original continua visível para as métricas do Hikari.</p>
+ */
+public class DataSourcePerfilado extends DelegatingDataSource {
+
+    private final PerfilSql perfil;
+
+    public DataSourcePerfilado(DataSource alvo, PerfilSql perfil) {
+        super(alvo);
+        this.perfil = perfil;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return perfilar(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return perfilar(super.getConnection(username, password));
+    }
+
+    private Connection perfilar(Connection connection) {
+        return proxy(Connection.class, (instancia, metodo, argumentos) -> {
+            Object resultado = invocar(connection, metodo, argumentos);
+            if (resultado instanceof Statement statement && Statement.class.isAssignableFrom(metodo.getReturnType())) {
+                String sql = argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String texto
+                        ? texto
+                        : null;
+                return proxy(metodo.getReturnType(), new ComandoPerfilado(statement, sql));
+            }
+            return resultado;
+        });
+    }
+
+    /**
+     * Statement medido. Em PreparedStatement o SQL vem do {@code prepare*}; em Statement simples, do
+     * próprio {@code execute*} ou do último {@code addBatch}.
+     */
+    private final class ComandoPerfilado implements InvocationHandler {
+
+        private final Statement alvo;
+        private String sql;
+        private PerfilSql.Estatistica ultimaExecucao;
+
+        ComandoPerfilado(Statement alvo, String sql) {
+            this.alvo = alvo;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            String nome = metodo.getName();
+            String sqlDaChamada = argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String texto
+                    ? texto
+                    : null;
+
+            if (nome.equals("addBatch") && sqlDaChamada != null) {
+                sql = sqlDaChamada;
+            }
+            if (!nome.startsWith("execute") || (sqlDaChamada == null && sql == null)) {
+                Object resultado = invocar(alvo, metodo, argumentos);
+                if (nome.equals("getResultSet") && resultado instanceof ResultSet resultSet && ultimaExecucao != null) {
+                    return perfilar(resultSet, ultimaExecucao);
+                }
+                return resultado;
+            }
+
+            String comando = sqlDaChamada != null ? sqlDaChamada : sql;
+            long inicio = System.nanoTime();
+            Object resultado;
+            try {
+                resultado = invocar(alvo, metodo, argumentos);
+            } catch (Throwable ex) {
+                perfil.registrar(comando, System.nanoTime() - inicio, 0, true);
+                throw ex;
+            }
+            ultimaExecucao = perfil.registrar(comando, System.nanoTime() - inicio, linhasAfetadas(resultado), false);
+            return resultado instanceof ResultSet resultSet ? perfilar(resultSet, ultimaExecucao) : resultado;
+        }
+    }
+
+    private static long linhasAfetadas(Object resultado) {
+        if (resultado instanceof Integer linhas) {
+            return linhas;
+        }
+        if (resultado instanceof Long linhas) {
+            return linhas;
+        }
+        long total = 0;
+        if (resultado instanceof int[] linhas) {
+            for (int afetadas : linhas) {
+                total += Math.max(0, afetadas);
+            }
+        } else if (resultado instanceof long[] linhas) {
+            for (long afetadas : linhas) {
+                total += Math.max(0, afetadas);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Conta as linhas lidas e as soma à estatística uma única vez, no fim do ResultSet ou no close
+     */
+    private static ResultSet perfilar(ResultSet resultSet, PerfilSql.Estatistica estatistica) {
+        long[] lidas = {0};
+        boolean[] somado = {false};
+        return proxy(ResultSet.class, (instancia, metodo, argumentos) -> {
+            Object resultado = invocar(resultSet, metodo, argumentos);
+            String nome = metodo.getName();
+            boolean fim = nome.equals("close") || (nome.equals("next") && Boolean.FALSE.equals(resultado));
+            if (nome.equals("next") && Boolean.TRUE.equals(resultado)) {
+                lidas[0]++;
+            } else if (fim && !somado[0]) {
+                somado[0] = true;
+                estatistica.somarLinhas(lidas[0]);
+            }
+            return resultado;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(DataSourcePerfilado.class.getClassLoader(), new Class<?>[] {tipo}, handler);
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.juliherms.clienteService.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra o instante da última escrita confirmada de cada sistema de origem, para garantir
+ * read-your-writes: enquanto a janela de tolerância de atraso da réplica não expira,
+ * as leituras daquela origem continuam indo para a primária.
+ */
+public class EscritasRecentes {
+
+    private static final int LIMITE_ORIGENS_ANTES_DA_LIMPEZA = 10_000;
+
+    private final long janelaNanos;
+    private final Map<String, Long> ultimaEscrita = new ConcurrentHashMap<>();
+
+    public EscritasRecentes(Duration toleranciaAtrasoReplica) {
+        this.janelaNanos = toleranciaAtrasoReplica.toNanos();
+    }
+
+    public void registrarEscrita(String sistemaOrigem) {
+        if (sistemaOrigem == null || janelaNanos <= 0) {
+            return;
+        }
+        long agora = System.nanoTime();
+        ultimaEscrita.put(sistemaOrigem, agora);
+
+        if (ultimaEscrita.size() > LIMITE_ORIGENS_ANTES_DA_LIMPEZA) {
+            ultimaEscrita.values().removeIf(instante -> agora - instante > janelaNanos);
+        }
+    }
+
+    public boolean escreveuRecentemente(String sistemaOrigem) {
+        if (sistemaOrigem == null) {
+            return false;
+        }
+        Long instante = ultimaEscrita.get(sistemaOrigem);
+        return instante != null && System.nanoTime() - instante <= janelaNanos;
+    }
+}
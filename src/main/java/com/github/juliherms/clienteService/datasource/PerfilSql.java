@@ -0,0 +1,231 @@
+package com.github.juliherms.clienteService.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estatísticas por comando SQL normalizado (impressão digital) e por método que o originou.
+ *
+ * <p>A impressão digital troca literais por {@code ?} e colapsa listas de {@code IN}, então CPFs e outros
+ * valores nunca ficam guardados e consultas que só diferem nos parâmetros somam na mesma entrada. A memória
+ * é limitada: acima de {@code maximoEntradas} combinações, os comandos novos somam em uma entrada única
+ * "(outros)". Comandos acima de {@code limiarLento} também são registrados em log.</p>
+ */
+public class PerfilSql {
+
+    private static final Logger logger = LoggerFactory.getLogger(PerfilSql.class);
+
+    static final String OUTROS = "(outros)";
+    static final String ORIGEM_DESCONHECIDA = "(desconhecida)";
+
+    private static final int TAMANHO_MAXIMO_SQL = 1_000;
+    private static final String PACOTE_APLICACAO = "com.github.juliherms.clienteService.";
+    private static final String PACOTE_DATASOURCE = PACOTE_APLICACAO + "datasource.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final int maximoEntradas;
+    private final long limiarLentoNanos;
+    private final Map<Chave, Estatistica> estatisticas = new ConcurrentHashMap<>();
+    private final ThreadLocal<String> origemAtual = new ThreadLocal<>();
+
+    public PerfilSql(int maximoEntradas, Duration limiarLento) {
+        this.maximoEntradas = maximoEntradas;
+        this.limiarLentoNanos = limiarLento.toNanos();
+    }
+
+    /**
+     * Comando agregado: impressão digital, origem e totais
+     */
+    public record Entrada(String sql, String origem, long execucoes, double tempoTotalMs, double tempoMedioMs,
+                          double tempoMaximoMs, long linhas, long erros) {}
+
+    /**
+     * Ordenações aceitas pelo relatório
+     */
+    public enum Ordem {
+        TEMPO(Comparator.comparingDouble(Entrada::tempoTotalMs)),
+        MEDIA(Comparator.comparingDouble(Entrada::tempoMedioMs)),
+        MAXIMO(Comparator.comparingDouble(Entrada::tempoMaximoMs)),
+        EXECUCOES(Comparator.comparingLong(Entrada::execucoes));
+
+        private final Comparator<Entrada> comparador;
+
+        Ordem(Comparator<Entrada> comparador) {
+            this.comparador = comparador.reversed();
+        }
+    }
+
+    /**
+     * Define o método de repositório em execução na thread; retorna o anterior para ser restaurado
+     */
+    public String definirOrigem(String origem) {
+        String anterior = origemAtual.get();
+        origemAtual.set(origem);
+        return anterior;
+    }
+
+    public void restaurarOrigem(String anterior) {
+        if (anterior == null) {
+            origemAtual.remove();
+        } else {
+            origemAtual.set(anterior);
+        }
+    }
+
+    /**
+     * Contabiliza uma execução. {@code linhas} são as afetadas, quando conhecidas; as lidas de um ResultSet
+     * são somadas depois pela entrada retornada.
+     */
+    Estatistica registrar(String sql, long nanos, long linhas, boolean erro) {
+        String origem = origem();
+        String impressaoDigital = impressaoDigital(sql);
+        Chave chave = new Chave(impressaoDigital, origem);
+
+        Estatistica estatistica = estatisticas.get(chave);
+        if (estatistica == null) {
+            if (estatisticas.size() >= maximoEntradas) {
+                chave = new Chave(OUTROS, OUTROS);
+            }
+            estatistica = estatisticas.computeIfAbsent(chave, ignorada -> new Estatistica());
+        }
+        estatistica.registrar(nanos, linhas, erro);
+
+        if (nanos >= limiarLentoNanos) {
+            logger.warn("Comando SQL lento ({} ms) em {}: {}", TimeUnit.NANOSECONDS.toMillis(nanos), origem,
+                    impressaoDigital);
+        }
+        return estatistica;
+    }
+
+    public List<Entrada> relatorio(int top, Ordem ordem) {
+        return estatisticas.entrySet().stream()
+                .map(entrada -> entrada.getValue().entrada(entrada.getKey()))
+                .sorted(ordem.comparador)
+                .limit(top)
+                .toList();
+    }
+
+    public int entradas() {
+        return estatisticas.size();
+    }
+
+    public void limpar() {
+        estatisticas.clear();
+    }
+
+    /**
+     * Método de repositório marcado na thread ou, para repositórios com JdbcTemplate, o primeiro método da
+     * aplicação na pilha de chamadas
+     */
+    String origem() {
+        String origem = origemAtual.get();
+        if (origem != null) {
+            return origem;
+        }
+        Optional<StackWalker.StackFrame> chamador = STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(PACOTE_APLICACAO)
+                        && !frame.getClassName().startsWith(PACOTE_DATASOURCE)
+                        && !frame.getClassName().contains("$$"))
+                .findFirst());
+        return chamador
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName())
+                .orElse(ORIGEM_DESCONHECIDA);
+    }
+
+    /**
+     * Normaliza o SQL: literais de texto e números viram {@code ?}, espaços são colapsados e listas
+     * {@code (?, ?, ...)} viram {@code (?...)}
+     */
+    static String impressaoDigital(String sql) {
+        StringBuilder normalizado = new StringBuilder(Math.min(sql.length(), TAMANHO_MAXIMO_SQL));
+        int i = 0;
+        while (i < sql.length() && normalizado.length() < TAMANHO_MAXIMO_SQL) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i++;
+                while (i < sql.length()) {
+                    if (sql.charAt(i) == '\'' && (i + 1 >= sql.length() || sql.charAt(i + 1) != '\'')) {
+                        break;
+                    }
+                    i += sql.charAt(i) == '\'' ? 2 : 1;
+                }
+                normalizado.append('?');
+                i++;
+            } else if (Character.isDigit(c) && (normalizado.isEmpty() || !parteDeIdentificador(ultimo(normalizado)))) {
+                while (i < sql.length() && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                normalizado.append('?');
+            } else if (Character.isWhitespace(c)) {
+                while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (!normalizado.isEmpty() && ultimo(normalizado) != ' ') {
+                    normalizado.append(' ');
+                }
+            } else {
+                normalizado.append(c);
+                i++;
+            }
+        }
+        return colapsarListas(normalizado.toString().strip());
+    }
+
+    private static String colapsarListas(String sql) {
+        return sql.replaceAll("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)", "(?...)");
+    }
+
+    private static char ultimo(StringBuilder texto) {
+        return texto.charAt(texto.length() - 1);
+    }
+
+    private static boolean parteDeIdentificador(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private record Chave(String sql, String origem) {}
+
+    static final class Estatistica {
+
+        final LongAdder execucoes = new LongAdder();
+        final LongAdder nanosTotais = new LongAdder();
+        final AtomicLong nanosMaximo = new AtomicLong();
+        final LongAdder linhas = new LongAdder();
+        final LongAdder erros = new LongAdder();
+
+        void somarLinhas(long lidas) {
+            linhas.add(lidas);
+        }
+
+        void registrar(long nanos, long linhasAfetadas, boolean erro) {
+            execucoes.increment();
+            nanosTotais.add(nanos);
+            nanosMaximo.accumulateAndGet(nanos, Math::max);
+            if (linhasAfetadas > 0) {
+                linhas.add(linhasAfetadas);
+            }
+            if (erro) {
+                erros.increment();
+            }
+        }
+
+        Entrada entrada(Chave chave) {
+            long quantidade = execucoes.sum();
+            double totalMs = nanosTotais.sum() / 1_000_000.0;
+            return new Entrada(chave.sql(), chave.origem(), quantidade, totalMs,
+                    quantidade == 0 ? 0.0 : totalMs / quantidade, nanosMaximo.get() / 1_000_000.0,
+                    linhas.sum(), erros.sum());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.juliherms.clienteService.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Endpoint {@code /actuator/sqlprofiler}: os comandos SQL mais caros ou mais frequentes do {@link PerfilSql},
+ * com os tempos de aquisição e de uso de conexão de cada pool Hikari. DELETE zera as estatísticas.
+ */
+@Endpoint(id = "sqlprofiler")
+public class PerfilSqlEndpoint {
+
+    private static final int TOP_PADRAO = 20;
+
+    private final PerfilSql perfil;
+    private final MeterRegistry registry;
+
+    public PerfilSqlEndpoint(PerfilSql perfil, MeterRegistry registry) {
+        this.perfil = perfil;
+        this.registry = registry;
+    }
+
+    public record Relatorio(int entradas, List<PerfilSql.Entrada> comandos, List<Pool> pools) {}
+
+    /**
+     * Tempos de um pool: aquisição (espera por uma conexão) e uso (do empréstimo à devolução)
+     */
+    public record Pool(String nome, long aquisicoes, double aquisicaoMediaMs, double aquisicaoMaximaMs,
+                       long usos, double usoMedioMs, double usoMaximoMs) {}
+
+    @ReadOperation
+    public Relatorio relatorio(@OptionalParameter Integer top, @OptionalParameter String ordem) {
+        return new Relatorio(perfil.entradas(), perfil.relatorio(top(top), ordem(ordem)), pools());
+    }
+
+    @DeleteOperation
+    public void limpar() {
+        perfil.limpar();
+    }
+
+    private static int top(Integer top) {
+        if (top == null) {
+            return TOP_PADRAO;
+        }
+        if (top < 1) {
+            throw new InvalidEndpointRequestException("Top inválido: " + top, "top deve ser maior que zero");
+        }
+        return top;
+    }
+
+    private static PerfilSql.Ordem ordem(String ordem) {
+        if (ordem == null) {
+            return PerfilSql.Ordem.TEMPO;
+        }
+        try {
+            return PerfilSql.Ordem.valueOf(ordem.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidEndpointRequestException("Ordem inválida: " + ordem,
+                    "ordem deve ser tempo, media, maximo ou execucoes");
+        }
+    }
+
+    private List<Pool> pools() {
+        Map<String, Timer> aquisicoes = porPool("hikaricp.connections.acquire");
+        Map<String, Timer> usos = porPool("hikaricp.connections.usage");
+
+        List<Pool> pools = new ArrayList<>();
+        aquisicoes.forEach((nome, aquisicao) -> {
+            Timer uso = usos.get(nome);
+            pools.add(new Pool(nome, aquisicao.count(), aquisicao.mean(TimeUnit.MILLISECONDS),
+                    aquisicao.max(TimeUnit.MILLISECONDS), uso == null ? 0 : uso.count(),
+                    uso == null ? 0.0 : uso.mean(TimeUnit.MILLISECONDS),
+                    uso == null ? 0.0 : uso.max(TimeUnit.MILLISECONDS)));
+        });
+        return pools;
+    }
+
+    private Map<String, Timer> porPool(String metrica) {
+        Map<String, Timer> timers = new TreeMap<>();
+        for (Timer timer : registry.find(metrica).timers()) {
+            String pool = timer.getId().getTag("pool");
+            if (pool != null) {
+                timers.put(pool, timer);
+            }
+        }
+        return timers;
+    }
+}
@@ -0,0 +1,153 @@
+package com.github.juliherms.clienteService.datasource;
+
+import com.github.juliherms.clienteService.web.SistemaOrigemContext;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Roteia transações {@code readOnly} para o pool da réplica e as demais para a primária.
+ *
+ * <p>Deve ser envolvido por um {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * pois o flag readOnly só é exposto depois que o gerenciador de transações inicia a transação.</p>
+ *
+ * <p>A origem só passa a ler da primária (read-your-writes) quando uma conexão dela executa de fato um INSERT,
+ * UPDATE, DELETE, MERGE ou REPLACE, após o commit da transação (ou na hora, sem transação). Leituras fora de
+ * transação ou em transações sem readOnly também vão à primária, mas não prendem a origem a ela.</p>
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino { PRIMARIA, REPLICA }
+
+    private static final Pattern ESCRITA =
+            Pattern.compile("^\\s*(INSERT|UPDATE|DELETE|MERGE|REPLACE)\\b", Pattern.CASE_INSENSITIVE);
+
+    private final EscritasRecentes escritasRecentes;
+
+    public ReadWriteRoutingDataSource(DataSource primaria, DataSource replica, EscritasRecentes escritasRecentes) {
+        this.escritasRecentes = escritasRecentes;
+        setTargetDataSources(Map.of(Destino.PRIMARIA, primaria, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primaria);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Destino.PRIMARIA;
+        }
+
+        // Read-your-writes: a origem que acabou de escrever ainda lê da primária
+        if (escritasRecentes.escreveuRecentemente(SistemaOrigemContext.get())) {
+            return Destino.PRIMARIA;
+        }
+
+        return Destino.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return registrandoEscritas(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return registrandoEscritas(super.getConnection(username, password));
+    }
+
+    private Connection registrandoEscritas(Connection connection) {
+        String sistemaOrigem = SistemaOrigemContext.get();
+        if (sistemaOrigem == null || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return connection;
+        }
+        AtomicBoolean registrada = new AtomicBoolean();
+        return proxy(Connection.class, (instancia, metodo, argumentos) -> {
+            Object resultado = invocar(connection, metodo, argumentos);
+            if (resultado instanceof Statement statement && Statement.class.isAssignableFrom(metodo.getReturnType())) {
+                return proxy(metodo.getReturnType(),
+                        new ComandoRegistrado(statement, texto(argumentos), sistemaOrigem, registrada));
+            }
+            return resultado;
+        });
+    }
+
+    /**
+     * Statement que registra a escrita da origem na primeira execução de um comando de escrita da conexão. Em
+     * PreparedStatement o SQL vem do {@code prepare*}; em Statement simples, do próprio {@code execute*} ou dos
+     * {@code addBatch}.
+     */
+    private final class ComandoRegistrado implements InvocationHandler {
+
+        private final Statement alvo;
+        private final String sistemaOrigem;
+        private final AtomicBoolean registrada;
+        private boolean escrita;
+
+        ComandoRegistrado(Statement alvo, String sql, String sistemaOrigem, AtomicBoolean registrada) {
+            this.alvo = alvo;
+            this.escrita = escrita(sql);
+            this.sistemaOrigem = sistemaOrigem;
+            this.registrada = registrada;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            String nome = metodo.getName();
+            boolean escritaDaChamada = escrita(texto(argumentos));
+            if (nome.equals("addBatch") && escritaDaChamada) {
+                escrita = true;
+            }
+            Object resultado = invocar(alvo, metodo, argumentos);
+            if (nome.startsWith("execute") && (escrita || escritaDaChamada) && registrada.compareAndSet(false, true)) {
+                registrarEscrita(sistemaOrigem);
+            }
+            return resultado;
+        }
+    }
+
+    private void registrarEscrita(String sistemaOrigem) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    escritasRecentes.registrarEscrita(sistemaOrigem);
+                }
+            });
+        } else {
+            escritasRecentes.registrarEscrita(sistemaOrigem);
+        }
+    }
+
+    private static boolean escrita(String sql) {
+        return sql != null && ESCRITA.matcher(sql).find();
+    }
+
+    private static String texto(Object[] argumentos) {
+        return argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String texto ? texto : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(ReadWriteRoutingDataSource.class.getClassLoader(), new Class<?>[] {tipo},
+                handler);
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.juliherms.clienteService.dto;
+
+import com.github.juliherms.clienteService.exception.CampoInvalidoException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Campos de Cliente que podem ser selecionados com o parâmetro {@code fields}.
+ * O nome exposto na API é o mesmo atributo da entidade.
+ */
+public enum CampoCliente {
+
+    ID("id"),
+    CPF("cpf"),
+    NOME("nome"),
+    DATA_NASCIMENTO("dataNascimento"),
+    RENDA_MENSAL("rendaMensal"),
+    SCORE_CREDITO("scoreCredito"),
+    APOSENTADO("aposentado"),
+    PROFISSAO("profissao");
+
+    private final String atributo;
+
+    CampoCliente(String atributo) {
+        this.atributo = atributo;
+    }
+
+    public String atributo() {
+        return atributo;
+    }
+
+    /**
+     * Converte a lista separada por vírgulas (ex.: {@code id,nome,scoreCredito}) mantendo a ordem informada
+     */
+    public static List<CampoCliente> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            throw new CampoInvalidoException("Parâmetro 'fields' deve informar ao menos um campo");
+        }
+
+        Set<CampoCliente> campos = new LinkedHashSet<>();
+        for (String nome : fields.split(",")) {
+            String atributo = nome.trim();
+            if (atributo.isEmpty()) {
+                continue;
+            }
+            campos.add(Arrays.stream(values())
+                    .filter(campo -> campo.atributo.equals(atributo))
+                    .findFirst()
+                    .orElseThrow(() -> new CampoInvalidoException("Campo inválido em 'fields': " + atributo
+                            + ". Campos permitidos: " + Arrays.stream(values())
+                            .map(CampoCliente::atributo)
+                            .collect(Collectors.joining(", ")))));
+        }
+
+        if (campos.isEmpty()) {
+            throw new CampoInvalidoException("Parâmetro 'fields' deve informar ao menos um campo");
+        }
+        return new ArrayList<>(campos);
+    }
+}
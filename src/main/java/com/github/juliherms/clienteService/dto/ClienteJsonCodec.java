@@ -0,0 +1,632 @@
+package com.github.juliherms.clienteService.dto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+
+/**
+ * Codificação e decodificação JSON (UTF-8) escritas à mão para {@link ClienteResponseDTO} e
+ * {@link ClienteRequestDTO}, sem reflexão e direto sobre os bytes.
+ *
+ * <p>A saída é byte a byte igual à do Jackson com a configuração padrão do Spring Boot: campos na ordem do
+ * record, nulos incluídos, datas {@code yyyy-MM-dd} e valores monetários no formato de
+ * {@link BigDecimal#toString()}. Datas são escritas dígito a dígito (o {@code DateTimeFormatter} só é usado
+ * para anos fora de 0000-9999) e a renda, quando cabe em um {@code long} com até duas casas, como inteiro
+ * escalado.</p>
+ *
+ * <p>A leitura cobre o formato que a API documenta. Qualquer coisa fora dele (campos desconhecidos, coerções
+ * de tipo, notação científica, JSON inválido) faz {@link #decodificar(byte[])} retornar {@code null}, e quem
+ * chama deve recorrer ao Jackson, que produz o mesmo resultado ou o mesmo erro de antes.</p>
+ */
+public final class ClienteJsonCodec {
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] CAMPO_ID = campo("id", true);
+    private static final byte[] CAMPO_CPF = campo("cpf", false);
+    private static final byte[] CAMPO_NOME = campo("nome", false);
+    private static final byte[] CAMPO_DATA_NASCIMENTO = campo("dataNascimento", false);
+    private static final byte[] CAMPO_RENDA_MENSAL = campo("rendaMensal", false);
+    private static final byte[] CAMPO_SCORE_CREDITO = campo("scoreCredito", false);
+    private static final byte[] CAMPO_APOSENTADO = campo("aposentado", false);
+    private static final byte[] CAMPO_PROFISSAO = campo("profissao", false);
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int MAXIMO_DIGITOS_LONG = 18;
+    private static final long[] POTENCIAS_DE_DEZ = {1L, 10L, 100L};
+
+    private ClienteJsonCodec() {
+    }
+
+    public static void codificar(ClienteResponseDTO cliente, OutputStream saida) throws IOException {
+        Escritor escritor = new Escritor(saida);
+        escritor.cliente(cliente);
+        escritor.descarregar();
+    }
+
+    public static void codificar(Collection<ClienteResponseDTO> clientes, OutputStream saida) throws IOException {
+        Escritor escritor = new Escritor(saida);
+        escritor.escrever((byte) '[');
+        boolean primeiro = true;
+        for (ClienteResponseDTO cliente : clientes) {
+            if (!primeiro) {
+                escritor.escrever((byte) ',');
+            }
+            escritor.cliente(cliente);
+            primeiro = false;
+        }
+        escritor.escrever((byte) ']');
+        escritor.descarregar();
+    }
+
+    /**
+     * Decodifica um ClienteRequestDTO, ou retorna {@code null} se o JSON sair do formato coberto
+     */
+    public static ClienteRequestDTO decodificar(byte[] json) {
+        return new Leitor(json).requisicao();
+    }
+
+    private static byte[] campo(String nome, boolean primeiro) {
+        return ((primeiro ? "{\"" : ",\"") + nome + "\":").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Saída com buffer fixo, descarregado no OutputStream quando enche
+     */
+    private static final class Escritor {
+
+        private final OutputStream saida;
+        private final byte[] buffer = new byte[8192];
+        private int posicao;
+
+        Escritor(OutputStream saida) {
+            this.saida = saida;
+        }
+
+        void cliente(ClienteResponseDTO cliente) throws IOException {
+            if (cliente == null) {
+                escrever(NULL);
+                return;
+            }
+            escrever(CAMPO_ID);
+            numero(cliente.id());
+            escrever(CAMPO_CPF);
+            texto(cliente.cpf());
+            escrever(CAMPO_NOME);
+            texto(cliente.nome());
+            escrever(CAMPO_DATA_NASCIMENTO);
+            data(cliente.dataNascimento());
+            escrever(CAMPO_RENDA_MENSAL);
+            dinheiro(cliente.rendaMensal());
+            escrever(CAMPO_SCORE_CREDITO);
+            numero(cliente.scoreCredito());
+            escrever(CAMPO_APOSENTADO);
+            escrever(cliente.aposentado() == null ? NULL : cliente.aposentado() ? TRUE : FALSE);
+            escrever(CAMPO_PROFISSAO);
+            texto(cliente.profissao());
+            escrever((byte) '}');
+        }
+
+        private void numero(Number valor) throws IOException {
+            if (valor == null) {
+                escrever(NULL);
+            } else {
+                inteiro(valor.longValue());
+            }
+        }
+
+        private void inteiro(long valor) throws IOException {
+            if (valor == Long.MIN_VALUE) {
+                escrever(Long.toString(valor).getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+            garantir(20);
+            if (valor < 0) {
+                buffer[posicao++] = '-';
+                valor = -valor;
+            }
+            int digitos = digitos(valor);
+            int fim = posicao + digitos;
+            for (int i = fim - 1; i >= posicao; i--) {
+                buffer[i] = (byte) ('0' + valor % 10);
+                valor /= 10;
+            }
+            posicao = fim;
+        }
+
+        /**
+         * Mesmo texto de {@link BigDecimal#toString()}: com escala de 0 a 2 e até 18 dígitos, o valor é
+         * tratado como inteiro escalado; fora disso, usa o próprio toString
+         */
+        private void dinheiro(BigDecimal valor) throws IOException {
+            if (valor == null) {
+                escrever(NULL);
+                return;
+            }
+            int escala = valor.scale();
+            if (escala < 0 || escala >= POTENCIAS_DE_DEZ.length || valor.precision() > MAXIMO_DIGITOS_LONG) {
+                escrever(valor.toString().getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+            long escalado = valor.unscaledValue().longValue();
+            if (escala == 0) {
+                inteiro(escalado);
+                return;
+            }
+            if (escalado < 0) {
+                escrever((byte) '-');
+                escalado = -escalado;
+            }
+            long potencia = POTENCIAS_DE_DEZ[escala];
+            inteiro(escalado / potencia);
+            escrever((byte) '.');
+            long fracao = escalado % potencia;
+            garantir(escala);
+            for (int i = posicao + escala - 1; i >= posicao; i--) {
+                buffer[i] = (byte) ('0' + fracao % 10);
+                fracao /= 10;
+            }
+            posicao += escala;
+        }
+
+        private void data(LocalDate data) throws IOException {
+            if (data == null) {
+                escrever(NULL);
+                return;
+            }
+            int ano = data.getYear();
+            if (ano < 0 || ano > 9999) {
+                texto(FORMATO_DATA.format(data));
+                return;
+            }
+            garantir(12);
+            buffer[posicao++] = '"';
+            buffer[posicao++] = (byte) ('0' + ano / 1000);
+            buffer[posicao++] = (byte) ('0' + ano / 100 % 10);
+            buffer[posicao++] = (byte) ('0' + ano / 10 % 10);
+            buffer[posicao++] = (byte) ('0' + ano % 10);
+            buffer[posicao++] = '-';
+            buffer[posicao++] = (byte) ('0' + data.getMonthValue() / 10);
+            buffer[posicao++] = (byte) ('0' + data.getMonthValue() % 10);
+            buffer[posicao++] = '-';
+            buffer[posicao++] = (byte) ('0' + data.getDayOfMonth() / 10);
+            buffer[posicao++] = (byte) ('0' + data.getDayOfMonth() % 10);
+            buffer[posicao++] = '"';
+        }
+
+        /**
+         * String em UTF-8 com os mesmos escapes do Jackson: aspas, barra invertida, {@code \b \t \n \f \r} e
+         * {@code \\u00XX} para os demais caracteres de controle
+         */
+        private void texto(String texto) throws IOException {
+            if (texto == null) {
+                escrever(NULL);
+                return;
+            }
+            escrever((byte) '"');
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                garantir(6);
+                if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                    buffer[posicao++] = (byte) c;
+                } else if (c < 0x80) {
+                    escape(c);
+                } else if (c < 0x800) {
+                    buffer[posicao++] = (byte) (0xC0 | (c >> 6));
+                    buffer[posicao++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < texto.length()
+                        && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, texto.charAt(++i));
+                    buffer[posicao++] = (byte) (0xF0 | (codePoint >> 18));
+                    buffer[posicao++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    buffer[posicao++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    buffer[posicao++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    buffer[posicao++] = '?';
+                } else {
+                    buffer[posicao++] = (byte) (0xE0 | (c >> 12));
+                    buffer[posicao++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buffer[posicao++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            escrever((byte) '"');
+        }
+
+        private void escape(char c) {
+            buffer[posicao++] = '\\';
+            switch (c) {
+                case '"' -> buffer[posicao++] = '"';
+                case '\\' -> buffer[posicao++] = '\\';
+                case '\b' -> buffer[posicao++] = 'b';
+                case '\t' -> buffer[posicao++] = 't';
+                case '\n' -> buffer[posicao++] = 'n';
+                case '\f' -> buffer[posicao++] = 'f';
+                case '\r' -> buffer[posicao++] = 'r';
+                default -> {
+                    buffer[posicao++] = 'u';
+                    buffer[posicao++] = '0';
+                    buffer[posicao++] = '0';
+                    buffer[posicao++] = HEX[c >> 4];
+                    buffer[posicao++] = HEX[c & 0xF];
+                }
+            }
+        }
+
+        void escrever(byte b) throws IOException {
+            garantir(1);
+            buffer[posicao++] = b;
+        }
+
+        private void escrever(byte[] bytes) throws IOException {
+            garantir(bytes.length);
+            System.arraycopy(bytes, 0, buffer, posicao, bytes.length);
+            posicao += bytes.length;
+        }
+
+        private void garantir(int bytes) throws IOException {
+            if (posicao + bytes > buffer.length) {
+                descarregar();
+            }
+        }
+
+        void descarregar() throws IOException {
+            saida.write(buffer, 0, posicao);
+            posicao = 0;
+        }
+
+        private static int digitos(long valor) {
+            int digitos = 1;
+            while (valor >= 10) {
+                valor /= 10;
+                digitos++;
+            }
+            return digitos;
+        }
+    }
+
+    /**
+     * Leitor de um único objeto ClienteRequestDTO. Os métodos retornam {@code false} (ou {@code null}) ao
+     * encontrar algo fora do formato coberto, e a leitura inteira é abandonada.
+     */
+    private static final class Leitor {
+
+        private final byte[] json;
+        private int posicao;
+
+        private String cpf;
+        private String nome;
+        private LocalDate dataNascimento;
+        private BigDecimal rendaMensal;
+        private Integer scoreCredito;
+        private Boolean aposentado;
+        private String profissao;
+
+        Leitor(byte[] json) {
+            this.json = json;
+        }
+
+        ClienteRequestDTO requisicao() {
+            espacos();
+            if (!consumir('{')) {
+                return null;
+            }
+            espacos();
+            if (!consumir('}')) {
+                do {
+                    espacos();
+                    String campo = texto();
+                    espacos();
+                    if (campo == null || !consumir(':')) {
+                        return null;
+                    }
+                    espacos();
+                    if (!valor(campo)) {
+                        return null;
+                    }
+                    espacos();
+                } while (consumir(','));
+                if (!consumir('}')) {
+                    return null;
+                }
+            }
+            espacos();
+            if (posicao != json.length) {
+                return null;
+            }
+            return new ClienteRequestDTO(cpf, nome, dataNascimento, rendaMensal, scoreCredito, aposentado, profissao);
+        }
+
+        private boolean valor(String campo) {
+            boolean nulo = literal(NULL);
+            switch (campo) {
+                case "cpf" -> {
+                    cpf = nulo ? null : texto();
+                    return nulo || cpf != null;
+                }
+                case "nome" -> {
+                    nome = nulo ? null : texto();
+                    return nulo || nome != null;
+                }
+                case "profissao" -> {
+                    profissao = nulo ? null : texto();
+                    return nulo || profissao != null;
+                }
+                case "dataNascimento" -> {
+                    dataNascimento = nulo ? null : data();
+                    return nulo || dataNascimento != null;
+                }
+                case "rendaMensal" -> {
+                    rendaMensal = nulo ? null : dinheiro();
+                    return nulo || rendaMensal != null;
+                }
+                case "scoreCredito" -> {
+                    scoreCredito = nulo ? null : inteiro();
+                    return nulo || scoreCredito != null;
+                }
+                case "aposentado" -> {
+                    aposentado = nulo ? null : literal(TRUE) ? Boolean.TRUE : literal(FALSE) ? Boolean.FALSE : null;
+                    return nulo || aposentado != null;
+                }
+                default -> {
+                    return false;
+                }
+            }
+        }
+
+        private String texto() {
+            if (!consumir('"')) {
+                return null;
+            }
+            int inicio = posicao;
+            boolean ascii = true;
+            while (posicao < json.length) {
+                int b = json[posicao] & 0xFF;
+                if (b == '"') {
+                    String texto = ascii
+                            ? new String(json, inicio, posicao - inicio, StandardCharsets.ISO_8859_1)
+                            : utf8(inicio, posicao);
+                    posicao++;
+                    return texto;
+                }
+                if (b == '\\') {
+                    return textoComEscapes(inicio);
+                }
+                if (b < 0x20) {
+                    return null;
+                }
+                ascii &= b < 0x80;
+                posicao++;
+            }
+            return null;
+        }
+
+        private String textoComEscapes(int inicio) {
+            StringBuilder texto = new StringBuilder(posicao - inicio + 16);
+            int trecho = inicio;
+            while (posicao < json.length) {
+                int b = json[posicao] & 0xFF;
+                if (b == '"' || b == '\\') {
+                    String anterior = utf8(trecho, posicao);
+                    if (anterior == null) {
+                        return null;
+                    }
+                    texto.append(anterior);
+                    posicao++;
+                    if (b == '"') {
+                        return texto.toString();
+                    }
+                    if (posicao >= json.length) {
+                        return null;
+                    }
+                    switch (json[posicao++]) {
+                        case '"' -> texto.append('"');
+                        case '\\' -> texto.append('\\');
+                        case '/' -> texto.append('/');
+                        case 'b' -> texto.append('\b');
+                        case 'f' -> texto.append('\f');
+                        case 'n' -> texto.append('\n');
+                        case 'r' -> texto.append('\r');
+                        case 't' -> texto.append('\t');
+                        case 'u' -> {
+                            int codigo = hex4();
+                            if (codigo < 0) {
+                                return null;
+                            }
+                            texto.append((char) codigo);
+                        }
+                        default -> {
+                            return null;
+                        }
+                    }
+                    trecho = posicao;
+                } else if (b < 0x20) {
+                    return null;
+                } else {
+                    posicao++;
+                }
+            }
+            return null;
+        }
+
+        private int hex4() {
+            if (posicao + 4 > json.length) {
+                return -1;
+            }
+            int codigo = 0;
+            for (int i = 0; i < 4; i++) {
+                int digito = Character.digit(json[posicao++], 16);
+                if (digito < 0) {
+                    return -1;
+                }
+                codigo = codigo << 4 | digito;
+            }
+            return codigo;
+        }
+
+        /**
+         * Decodifica o trecho validando o UTF-8; sequências inválidas fazem a leitura cair para o Jackson
+         */
+        private String utf8(int inicio, int fim) {
+            for (int i = inicio; i < fim; ) {
+                int b = json[i] & 0xFF;
+                if (b < 0x80) {
+                    i++;
+                    continue;
+                }
+                int continuacoes = b >= 0xC2 && b < 0xE0 ? 1 : b >= 0xE0 && b < 0xF0 ? 2 : b >= 0xF0 && b < 0xF5 ? 3 : -1;
+                if (continuacoes < 0 || i + continuacoes >= fim) {
+                    return null;
+                }
+                for (int j = 1; j <= continuacoes; j++) {
+                    if ((json[i + j] & 0xC0) != 0x80) {
+                        return null;
+                    }
+                }
+                // Formas longas, surrogates codificados e valores acima de U+10FFFF
+                int segundo = json[i + 1] & 0xFF;
+                if ((b == 0xE0 && segundo < 0xA0) || (b == 0xED && segundo >= 0xA0)
+                        || (b == 0xF0 && segundo < 0x90) || (b == 0xF4 && segundo >= 0x90)) {
+                    return null;
+                }
+                i += continuacoes + 1;
+            }
+            return new String(json, inicio, fim - inicio, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Data no formato yyyy-MM-dd, entre aspas
+         */
+        private LocalDate data() {
+            if (posicao + 12 > json.length || json[posicao] != '"' || json[posicao + 5] != '-'
+                    || json[posicao + 8] != '-' || json[posicao + 11] != '"') {
+                return null;
+            }
+            int ano = digitos(posicao + 1, 4);
+            int mes = digitos(posicao + 6, 2);
+            int dia = digitos(posicao + 9, 2);
+            if (ano < 0 || mes < 0 || dia < 0) {
+                return null;
+            }
+            try {
+                LocalDate data = LocalDate.of(ano, mes, dia);
+                posicao += 12;
+                return data;
+            } catch (DateTimeException ex) {
+                return null;
+            }
+        }
+
+        private int digitos(int inicio, int quantidade) {
+            int valor = 0;
+            for (int i = inicio; i < inicio + quantidade; i++) {
+                int digito = json[i] - '0';
+                if (digito < 0 || digito > 9) {
+                    return -1;
+                }
+                valor = valor * 10 + digito;
+            }
+            return valor;
+        }
+
+        /**
+         * Número decimal sem expoente e com até 18 dígitos, lido como inteiro escalado
+         */
+        private BigDecimal dinheiro() {
+            int inicio = posicao;
+            boolean negativo = consumir('-');
+            long escalado = 0;
+            int digitos = 0;
+            int escala = -1;
+            while (posicao < json.length) {
+                byte b = json[posicao];
+                if (b >= '0' && b <= '9') {
+                    escalado = escalado * 10 + (b - '0');
+                    digitos++;
+                    if (escala >= 0) {
+                        escala++;
+                    }
+                } else if (b == '.' && escala < 0 && digitos > 0) {
+                    escala = 0;
+                } else {
+                    break;
+                }
+                posicao++;
+            }
+            if (digitos == 0 || digitos > MAXIMO_DIGITOS_LONG || escala == 0 || !numeroBemFormado(inicio, negativo)
+                    || terminaEmExpoente()) {
+                return null;
+            }
+            return BigDecimal.valueOf(negativo ? -escalado : escalado, Math.max(escala, 0));
+        }
+
+        private Integer inteiro() {
+            int inicio = posicao;
+            boolean negativo = consumir('-');
+            long valor = 0;
+            int digitos = 0;
+            while (posicao < json.length && json[posicao] >= '0' && json[posicao] <= '9' && digitos <= 10) {
+                valor = valor * 10 + (json[posicao++] - '0');
+                digitos++;
+            }
+            valor = negativo ? -valor : valor;
+            if (digitos == 0 || valor < Integer.MIN_VALUE || valor > Integer.MAX_VALUE
+                    || !numeroBemFormado(inicio, negativo) || terminaEmExpoente()
+                    || (posicao < json.length && json[posicao] == '.')) {
+                return null;
+            }
+            return (int) valor;
+        }
+
+        /**
+         * Zeros à esquerda não são JSON válido (o Jackson recusa por padrão)
+         */
+        private boolean numeroBemFormado(int inicio, boolean negativo) {
+            int primeiro = inicio + (negativo ? 1 : 0);
+            return !(json[primeiro] == '0' && primeiro + 1 < json.length
+                    && json[primeiro + 1] >= '0' && json[primeiro + 1] <= '9');
+        }
+
+        private boolean terminaEmExpoente() {
+            return posicao < json.length && (json[posicao] == 'e' || json[posicao] == 'E');
+        }
+
+        private boolean literal(byte[] literal) {
+            if (posicao + literal.length > json.length) {
+                return false;
+            }
+            for (int i = 0; i < literal.length; i++) {
+                if (json[posicao + i] != literal[i]) {
+                    return false;
+                }
+            }
+            posicao += literal.length;
+            return true;
+        }
+
+        private boolean consumir(char esperado) {
+            if (posicao < json.length && json[posicao] == esperado) {
+                posicao++;
+                return true;
+            }
+            return false;
+        }
+
+        private void espacos() {
+            while (posicao < json.length) {
+                byte b = json[posicao];
+                if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                    return;
+                }
+                posicao++;
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.juliherms.clienteService.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO de requisição para avaliação de uma regra de elegibilidade
+ */
+public record ElegibilidadeRequestDTO(
+
+        @NotBlank(message = "Regra é obrigatória")
+        @Size(max = 4000, message = "Regra deve ter no máximo 4000 caracteres")
+        String regra,
+
+        Boolean incluirIds,
+
+        @Min(value = 1, message = "Limite deve ser no mínimo 1")
+        Integer limite
+
+) {}
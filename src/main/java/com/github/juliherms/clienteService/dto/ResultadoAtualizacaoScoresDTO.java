@@ -0,0 +1,14 @@
+package com.github.juliherms.clienteService.dto;
+
+import java.util.List;
+
+/**
+ * Resumo da atualização de scores em lote: registros lidos, clientes atualizados, CPFs sem cliente
+ * e números das linhas que não puderam ser interpretadas
+ */
+public record ResultadoAtualizacaoScoresDTO(
+        long recebidos,
+        long atualizados,
+        List<String> cpfsNaoEncontrados,
+        List<Long> linhasInvalidas
+) {}
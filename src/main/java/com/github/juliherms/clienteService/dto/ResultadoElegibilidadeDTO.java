@@ -0,0 +1,15 @@
+package com.github.juliherms.clienteService.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Resultado de uma regra de elegibilidade: quantidade de clientes elegíveis, os IDs quando pedidos (limitados),
+ * o momento da carga da base avaliada e a duração da avaliação
+ */
+public record ResultadoElegibilidadeDTO(
+        long elegiveis,
+        List<Long> ids,
+        Instant baseCarregadaEm,
+        long duracaoMicros
+) {}
@@ -0,0 +1,297 @@
+package com.github.juliherms.clienteService.elegibilidade;
+
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Cópia colunar dos clientes ativos em arrays primitivos: ID, score, renda em centavos, data de nascimento em
+ * dias desde 1970, aposentadoria e atividade em bitsets e profissão codificada por dicionário.
+ *
+ * <p>Cada instância é uma visão com {@link #tamanho} linhas sobre arrays que podem ser compartilhados com a visão
+ * seguinte: as alterações (feitas por uma única thread de escrita) devolvem uma visão nova, que quem escreve
+ * publica em um campo volátil. Uma linha nunca muda depois de publicada: cadastros e atualizações preenchem uma
+ * linha nova no fim, além do {@code tamanho} das visões já publicadas, e só então desligam a linha anterior do
+ * cliente no bitset de ativos. Uma avaliação concorrente vê, portanto, cada cliente inteiro na versão antiga ou na
+ * nova; no máximo deixa de contar um cliente alterado durante ela, o que não importa para contagens de campanha.
+ * Cada atualização ocupa uma linha até a próxima recarga.</p>
+ *
+ * <p>As linhas carregadas do banco vêm ordenadas por ID e são localizadas por busca binária; as gravadas depois
+ * da carga ficam em um mapa, até a próxima recarga.</p>
+ */
+final class BaseColunar {
+
+    /**
+     * Linhas por bloco de avaliação paralela (múltiplo de 64, para os blocos não dividirem palavras dos bitsets)
+     */
+    static final int BLOCO = 1 << 16;
+
+    static final short SEM_PROFISSAO = -1;
+
+    private final long[] ids;
+    private final short[] scores;
+    private final long[] rendas;
+    private final int[] nascimentos;
+    private final short[] profissoes;
+    private final long[] aposentados;
+    private final long[] ativos;
+    private final int tamanho;
+    private final int carregadas;
+    private final Dicionario dicionario;
+    private final Map<Long, Integer> anexadas;
+    private final long carregadaEm;
+
+    private BaseColunar(long[] ids, short[] scores, long[] rendas, int[] nascimentos, short[] profissoes,
+                        long[] aposentados, long[] ativos, int tamanho, int carregadas, Dicionario dicionario,
+                        Map<Long, Integer> anexadas, long carregadaEm) {
+        this.ids = ids;
+        this.scores = scores;
+        this.rendas = rendas;
+        this.nascimentos = nascimentos;
+        this.profissoes = profissoes;
+        this.aposentados = aposentados;
+        this.ativos = ativos;
+        this.tamanho = tamanho;
+        this.carregadas = carregadas;
+        this.dicionario = dicionario;
+        this.anexadas = anexadas;
+        this.carregadaEm = carregadaEm;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    long carregadaEm() {
+        return carregadaEm;
+    }
+
+    long bytes() {
+        return ids.length * 8L + scores.length * 2L + rendas.length * 8L + nascimentos.length * 4L
+                + profissoes.length * 2L + aposentados.length * 8L + ativos.length * 8L;
+    }
+
+    long id(int linha) {
+        return ids[linha];
+    }
+
+    short score(int linha) {
+        return scores[linha];
+    }
+
+    long renda(int linha) {
+        return rendas[linha];
+    }
+
+    int nascimento(int linha) {
+        return nascimentos[linha];
+    }
+
+    short profissao(int linha) {
+        return profissoes[linha];
+    }
+
+    long palavraAposentados(int palavra) {
+        return aposentados[palavra];
+    }
+
+    /**
+     * Marca, por código do dicionário, as profissões aceitas
+     */
+    boolean[] profissoes(Predicate<String> aceita) {
+        int quantidade = dicionario.quantidade;
+        String[] valores = dicionario.valores;
+        boolean[] codigos = new boolean[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            codigos[i] = aceita.test(valores[i]);
+        }
+        return codigos;
+    }
+
+    /**
+     * Avalia o filtro em blocos paralelos e devolve o bitset das linhas ativas que o satisfazem
+     */
+    long[] avaliar(Filtro filtro, ForkJoinPool pool) {
+        long[] resultado = new long[palavras(tamanho)];
+        int blocos = (tamanho + BLOCO - 1) / BLOCO;
+        Runnable avaliacao = () -> IntStream.range(0, blocos).parallel().forEach(bloco -> {
+            int inicio = bloco * BLOCO;
+            int fim = Math.min(tamanho, inicio + BLOCO);
+            long[] saida = new long[palavras(fim - inicio)];
+            filtro.avaliar(this, inicio, fim, saida);
+            int primeira = inicio >>> 6;
+            for (int i = 0; i < saida.length; i++) {
+                resultado[primeira + i] = saida[i] & ativos[primeira + i];
+            }
+        });
+        pool.submit(avaliacao).join();
+        // Bits depois da última linha (ativos pode ser maior que a visão)
+        if ((tamanho & 63) != 0) {
+            resultado[resultado.length - 1] &= (1L << (tamanho & 63)) - 1;
+        }
+        return resultado;
+    }
+
+    static int palavras(int linhas) {
+        return (linhas + 63) >>> 6;
+    }
+
+    /**
+     * Grava (inclui ou substitui) o cliente em uma linha nova, devolvendo a visão que passa a valer
+     */
+    BaseColunar gravar(ClienteResponseDTO cliente) {
+        int anterior = linha(cliente.id());
+        BaseColunar base = tamanho < ids.length ? this : ampliada();
+        int linha = base.tamanho;
+        base.preencher(linha, cliente);
+        base.ids[linha] = cliente.id();
+        base.ativos[linha >>> 6] |= 1L << linha;
+        if (anterior >= 0) {
+            base.ativos[anterior >>> 6] &= ~(1L << anterior);
+        }
+        base.anexadas.put(cliente.id(), linha);
+        return new BaseColunar(base.ids, base.scores, base.rendas, base.nascimentos, base.profissoes,
+                base.aposentados, base.ativos, linha + 1, carregadas, dicionario, anexadas, carregadaEm);
+    }
+
+    void remover(long id) {
+        int linha = linha(id);
+        if (linha >= 0) {
+            ativos[linha >>> 6] &= ~(1L << linha);
+        }
+    }
+
+    /**
+     * Linha atual do cliente: a última gravada depois da carga ou, se não houver, a carregada do banco
+     */
+    private int linha(long id) {
+        Integer anexada = anexadas.get(id);
+        if (anexada != null) {
+            return anexada;
+        }
+        int linha = Arrays.binarySearch(ids, 0, carregadas, id);
+        return linha >= 0 ? linha : -1;
+    }
+
+    private void preencher(int linha, ClienteResponseDTO cliente) {
+        scores[linha] = (short) cliente.scoreCredito().intValue();
+        rendas[linha] = centavos(cliente.rendaMensal());
+        nascimentos[linha] = (int) cliente.dataNascimento().toEpochDay();
+        profissoes[linha] = dicionario.codigo(cliente.profissao());
+        if (Boolean.TRUE.equals(cliente.aposentado())) {
+            aposentados[linha >>> 6] |= 1L << linha;
+        } else {
+            aposentados[linha >>> 6] &= ~(1L << linha);
+        }
+    }
+
+    private BaseColunar ampliada() {
+        int capacidade = Math.max(64, ids.length + (ids.length >> 1));
+        return new BaseColunar(Arrays.copyOf(ids, capacidade), Arrays.copyOf(scores, capacidade),
+                Arrays.copyOf(rendas, capacidade), Arrays.copyOf(nascimentos, capacidade),
+                Arrays.copyOf(profissoes, capacidade), Arrays.copyOf(aposentados, palavras(capacidade)),
+                Arrays.copyOf(ativos, palavras(capacidade)), tamanho, carregadas, dicionario, anexadas, carregadaEm);
+    }
+
+    static long centavos(BigDecimal valor) {
+        return valor.movePointRight(2).longValue();
+    }
+
+    /**
+     * Monta a base durante a carga; as linhas devem chegar em ordem crescente de ID
+     */
+    static final class Construtor {
+
+        private long[] ids;
+        private short[] scores;
+        private long[] rendas;
+        private int[] nascimentos;
+        private short[] profissoes;
+        private long[] aposentados;
+        private int tamanho;
+        private final Dicionario dicionario = new Dicionario();
+
+        Construtor(int capacidade) {
+            int inicial = Math.max(64, capacidade);
+            ids = new long[inicial];
+            scores = new short[inicial];
+            rendas = new long[inicial];
+            nascimentos = new int[inicial];
+            profissoes = new short[inicial];
+            aposentados = new long[palavras(inicial)];
+        }
+
+        void adicionar(long id, int score, BigDecimal renda, LocalDate nascimento, boolean aposentado,
+                       String profissao) {
+            if (tamanho == ids.length) {
+                int capacidade = ids.length + (ids.length >> 1);
+                ids = Arrays.copyOf(ids, capacidade);
+                scores = Arrays.copyOf(scores, capacidade);
+                rendas = Arrays.copyOf(rendas, capacidade);
+                nascimentos = Arrays.copyOf(nascimentos, capacidade);
+                profissoes = Arrays.copyOf(profissoes, capacidade);
+                aposentados = Arrays.copyOf(aposentados, palavras(capacidade));
+            }
+            int linha = tamanho++;
+            ids[linha] = id;
+            scores[linha] = (short) score;
+            rendas[linha] = centavos(renda);
+            nascimentos[linha] = (int) nascimento.toEpochDay();
+            profissoes[linha] = dicionario.codigo(profissao);
+            if (aposentado) {
+                aposentados[linha >>> 6] |= 1L << linha;
+            }
+        }
+
+        /**
+         * @param folga linhas reservadas para cadastros até a próxima recarga
+         */
+        BaseColunar construir(long carregadaEm, int folga) {
+            int capacidade = Math.max(ids.length, tamanho + folga);
+            long[] ativos = new long[palavras(capacidade)];
+            for (int linha = 0; linha < tamanho; linha++) {
+                ativos[linha >>> 6] |= 1L << linha;
+            }
+            return new BaseColunar(Arrays.copyOf(ids, capacidade), Arrays.copyOf(scores, capacidade),
+                    Arrays.copyOf(rendas, capacidade), Arrays.copyOf(nascimentos, capacidade),
+                    Arrays.copyOf(profissoes, capacidade), Arrays.copyOf(aposentados, palavras(capacidade)), ativos,
+                    tamanho, tamanho, dicionario, new HashMap<>(), carregadaEm);
+        }
+    }
+
+    /**
+     * Profissões distintas; o código é a posição. Só cresce, e só pela thread de escrita, que grava o valor antes
+     * de publicar a quantidade.
+     */
+    private static final class Dicionario {
+
+        private final Map<String, Short> codigos = new HashMap<>();
+        private volatile String[] valores = new String[16];
+        private volatile int quantidade;
+
+        short codigo(String profissao) {
+            Short codigo = codigos.get(profissao);
+            if (codigo != null) {
+                return codigo;
+            }
+            if (quantidade > Short.MAX_VALUE) {
+                return SEM_PROFISSAO;
+            }
+            if (quantidade == valores.length) {
+                valores = Arrays.copyOf(valores, valores.length * 2);
+            }
+            codigo = (short) quantidade;
+            valores[codigo] = profissao;
+            quantidade = codigo + 1;
+            codigos.put(profissao, codigo);
+            return codigo;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.github.juliherms.clienteService.elegibilidade;
+
+/**
+ * Expressão compilada de uma regra de elegibilidade, avaliada sobre um bloco de linhas da {@link BaseColunar}.
+ *
+ * <p>{@link #avaliar} preenche {@code saida} com um bit por linha de {@code inicio} (múltiplo de 64) até
+ * {@code fim}; bits depois de {@code fim} ficam zerados. As folhas varrem uma coluna cada e os conectivos combinam
+ * os bitsets palavra a palavra.</p>
+ */
+sealed interface Filtro {
+
+    void avaliar(BaseColunar base, int inicio, int fim, long[] saida);
+
+    record E(Filtro esquerda, Filtro direita) implements Filtro {
+        @Override
+        public void avaliar(BaseColunar base, int inicio, int fim, long[] saida) {
+            esquerda.avaliar(base, inicio, fim, saida);
+            if (vazio(saida)) {
+                return;
+            }
+            long[] outra = new long[saida.length];
+            direita.avaliar(base, inicio, fim, outra);
+            for (int i = 0; i < saida.length; i++) {
+                saida[i] &= outra[i];
+            }
+        }
+    }
+
+    record Ou(Filtro esquerda, Filtro direita) implements Filtro {
+        @Override
+        public void avaliar(BaseColunar base, int inicio, int fim, long[] saida) {
+            esquerda.avaliar(base, inicio, fim, saida);
+            long[] outra = new long[saida.length];
+            direita.avaliar(base, inicio, fim, outra);
+            for (int i = 0; i < saida.length; i++) {
+                saida[i] |= outra[i];
+            }
+        }
+    }
+
+    record Nao(Filtro filtro) implements Filtro {
+        @Override
+        public void avaliar(BaseColunar base, int inicio, int fim, long[] saida) {
+            filtro.avaliar(base, inicio, fim, saida);
+            for (int i = 0; i < saida.length; i++) {
+                saida[i] = ~saida[i];
+            }
+            limparSobra(fim - inicio, saida);
+        }
+    }
+
+    record FaixaScore(int minimo, int maximo) implements Filtro {
+        @Override
+        public void avaliar(BaseColunar base, int inicio, int fim, long[] saida) {
+            for (int palavra = 0, linha = inicio; linha < fim; palavra++) {
+                int limite = Math.min(fim, linha + 64);
+                long bits = 0;
+                for (int bit = 0; linha < limite; bit++, linha++) {
+                    int score = base.score(linha);
+                    bits |= (score >= minimo & score <= maximo ? 1L : 0L) << bit;
+                }
+                saida[palavra] = bits;
+            }
+        }
+    }
+
+    /**
+     * Renda em centavos
+     */
+    record FaixaRenda(long minimo, long maximo) implements Filtro {
+        @Override
+        public void avaliar(BaseColunar base, int inicio, int fim, long[] saida) {
+            for (int palavra = 0, linha = inicio; linha < fim; palavra++) {
+                int limite = Math.min(fim, linha + 64);
+                long bits = 0;
+                for (int bit = 0; linha < limite; bit++, linha++) {
+                    long renda = base.renda(linha);
+                    bits |= (renda >= minimo & renda <= maximo ? 1L : 0L) << bit;
+                }
+                saida[palavra] = bits;
+            }
+        }
+    }
+
+    /**
+     * Data de nascimento em dias desde 1970; faixas de idade são convertidas para ela na compilação
+     */
+    record FaixaNascimento(int minimo, int maximo) implements Filtro {
+        @Override
+        public void avaliar(BaseColunar base, int inicio, int fim, long[] saida) {
+            for (int palavra = 0, linha = inicio; linha < fim; palavra++) {
+                int limite = Math.min(fim, linha + 64);
+                long bits = 0;
+                for (int bit = 0; linha < limite; bit++, linha++) {
+                    int nascimento = base.nascimento(linha);
+                    bits |= (nascimento >= minimo & nascimento <= maximo ? 1L : 0L) << bit;
+                }
+                saida[palavra] = bits;
+            }
+        }
+    }
+
+    record Aposentado(boolean valor) implements Filtro {
+        @Override
+        public void avaliar(BaseColunar base, int inicio, int fim, long[] saida) {
+            int primeira = inicio >>> 6;
+            for (int i = 0; i < saida.length; i++) {
+                long bits = base.palavraAposentados(primeira + i);
+                saida[i] = valor ? bits : ~bits;
+            }
+            limparSobra(fim - inicio, saida);
+        }
+    }
+
+    /**
+     * Profissão pelo código do dicionário; {@code aceitas[codigo]} diz se o código satisfaz a regra
+     */
+    record Profissao(boolean[] aceitas) implements Filtro {
+        @Override
+        public void avaliar(BaseColunar base, int inicio, int fim, long[] saida) {
+            for (int palavra = 0, linha = inicio; linha < fim; palavra++) {
+                int limite = Math.min(fim, linha + 64);
+                long bits = 0;
+                for (int bit = 0; linha < limite; bit++, linha++) {
+                    int codigo = base.profissao(linha);
+                    // Códigos novos, incluídos depois da compilação da regra, não são aceitos
+                    bits |= (codigo >= 0 && codigo < aceitas.length && aceitas[codigo] ? 1L : 0L) << bit;
+                }
+                saida[palavra] = bits;
+            }
+        }
+    }
+
+    private static boolean vazio(long[] bits) {
+        for (long palavra : bits) {
+            if (palavra != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void limparSobra(int linhas, long[] saida) {
+        if ((linhas & 63) != 0) {
+            saida[saida.length - 1] &= (1L << (linhas & 63)) - 1;
+        }
+    }
+}
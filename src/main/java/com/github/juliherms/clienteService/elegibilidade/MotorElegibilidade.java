@@ -0,0 +1,295 @@
+package com.github.juliherms.clienteService.elegibilidade;
+
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.dto.ResultadoElegibilidadeDTO;
+import com.github.juliherms.clienteService.event.ClienteAlteradoEvent;
+import com.github.juliherms.clienteService.event.ClienteInvalidadoEvent;
+import com.github.juliherms.clienteService.event.TipoAlteracao;
+import com.github.juliherms.clienteService.exception.ElegibilidadeIndisponivelException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Motor de elegibilidade para campanhas de crédito: avalia regras como
+ * {@code score >= 700 e renda >= 5000 e nao aposentado e idade entre 25 e 55} ({@link RegraElegibilidade}) sobre
+ * uma cópia colunar de todos os clientes ativos ({@link BaseColunar}), sem consultar o banco.
+ *
+ * <p>A base é carregada na subida e recarregada a cada {@code cliente.elegibilidade.intervalo-recarga}, o que traz
+ * as escritas de outras instâncias e as atualizações de score em lote; cadastros, atualizações e remoções
+ * confirmados nesta instância entram na hora, e os de outras instâncias assim que o barramento de invalidação os
+ * avisa (o cliente é relido do banco). Alterações durante uma recarga são reaplicadas sobre a base nova antes
+ * de ela ser publicada. A avaliação divide as linhas em blocos processados em paralelo em um pool próprio
+ * ({@code cliente.elegibilidade.paralelismo}, padrão: um por núcleo).</p>
+ */
+@Component
+@ConditionalOnExpression("${cliente.elegibilidade.enabled:false} and !${cliente.sharding.enabled:false}")
+public class MotorElegibilidade implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(MotorElegibilidade.class);
+
+    private static final int TENTATIVAS_RELEITURA = 3;
+
+    private static final String SELECT_CLIENTES = "SELECT id, data_nascimento, renda_mensal, score_credito, "
+            + "aposentado, profissao FROM clientes WHERE removido_em IS NULL ORDER BY id";
+
+    private static final String SELECT_CLIENTE = "SELECT id, cpf, nome, data_nascimento, renda_mensal, score_credito, "
+            + "aposentado, profissao FROM clientes WHERE id = ? AND removido_em IS NULL";
+
+    private static final RowMapper<ClienteResponseDTO> CLIENTE_MAPPER = (rs, rowNum) -> new ClienteResponseDTO(
+            rs.getLong("id"),
+            rs.getString("cpf"),
+            rs.getString("nome"),
+            rs.getObject("data_nascimento", LocalDate.class),
+            rs.getBigDecimal("renda_mensal"),
+            rs.getInt("score_credito"),
+            rs.getBoolean("aposentado"),
+            rs.getString("profissao"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${cliente.elegibilidade.paralelismo:0}")
+    private int paralelismo;
+
+    @Value("${cliente.elegibilidade.limite-ids:100000}")
+    private int limiteIds;
+
+    @Value("${cliente.elegibilidade.tamanho-leitura:1000}")
+    private int tamanhoLeitura;
+
+    private ForkJoinPool pool;
+    private volatile BaseColunar atual;
+    private volatile Timer tempoAvaliacao;
+
+    // Protegidos por "escrita"; a versão só muda sob o lock, mas é lida fora dele
+    private final Object escrita = new Object();
+    private List<ClienteAlteradoEvent> alteradosNaCarga;
+    private volatile long versao;
+
+    @PostConstruct
+    void iniciarPool() {
+        pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void encerrarPool() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Conta os clientes ativos que satisfazem a regra e, com {@code incluirIds}, devolve até {@code limite} IDs
+     * em ordem de carga (crescente, exceto pelos cadastrados ou alterados desde a última recarga, que vêm no fim)
+     */
+    public ResultadoElegibilidadeDTO avaliar(String regra, boolean incluirIds, int limite) {
+        BaseColunar base = atual;
+        if (base == null) {
+            throw new ElegibilidadeIndisponivelException("Base de elegibilidade ainda não carregada");
+        }
+        long inicio = System.nanoTime();
+        long[] bits = base.avaliar(RegraElegibilidade.compilar(regra, base, LocalDate.now()), pool);
+
+        long elegiveis = 0;
+        for (long palavra : bits) {
+            elegiveis += Long.bitCount(palavra);
+        }
+        List<Long> ids = null;
+        if (incluirIds) {
+            int maximo = (int) Math.min(elegiveis, Math.min(limite, limiteIds));
+            ids = new ArrayList<>(maximo);
+            for (int palavra = 0; palavra < bits.length && ids.size() < maximo; palavra++) {
+                long restantes = bits[palavra];
+                while (restantes != 0 && ids.size() < maximo) {
+                    ids.add(base.id((palavra << 6) + Long.numberOfTrailingZeros(restantes)));
+                    restantes &= restantes - 1;
+                }
+            }
+        }
+
+        long duracao = System.nanoTime() - inicio;
+        Timer timer = tempoAvaliacao;
+        if (timer != null) {
+            timer.record(duracao, TimeUnit.NANOSECONDS);
+        }
+        return new ResultadoElegibilidadeDTO(elegiveis, ids, Instant.ofEpochMilli(base.carregadaEm()),
+                TimeUnit.NANOSECONDS.toMicros(duracao));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClienteAlterado(ClienteAlteradoEvent event) {
+        synchronized (escrita) {
+            registrar(event);
+        }
+    }
+
+    /**
+     * Cliente alterado por outra instância: relido do banco e gravado (ou removido, se não estiver mais ativo).
+     * A leitura acontece fora do lock de escrita, para não segurar as alterações locais durante a consulta; se
+     * alguma alteração foi registrada enquanto isso (a versão mudou), a leitura pode ser anterior a ela e é
+     * refeita. Depois de {@value #TENTATIVAS_RELEITURA} tentativas, a última leitura é feita sob o lock.
+     */
+    @EventListener
+    public void onClienteInvalidado(ClienteInvalidadoEvent event) {
+        if (event.completa()) {
+            recarregar();
+            return;
+        }
+        for (int tentativa = 0; tentativa < TENTATIVAS_RELEITURA; tentativa++) {
+            long lida = versao;
+            ClienteAlteradoEvent alteracao = reler(event.id());
+            synchronized (escrita) {
+                if (versao == lida) {
+                    registrar(alteracao);
+                    return;
+                }
+            }
+        }
+        synchronized (escrita) {
+            registrar(reler(event.id()));
+        }
+    }
+
+    private ClienteAlteradoEvent reler(Long id) {
+        List<ClienteResponseDTO> clientes = jdbcTemplate.query(SELECT_CLIENTE, CLIENTE_MAPPER, id);
+        return clientes.isEmpty()
+                ? ClienteAlteradoEvent.remocao(id, null)
+                : ClienteAlteradoEvent.atualizacao(clientes.get(0), null);
+    }
+
+    private void registrar(ClienteAlteradoEvent event) {
+        versao++;
+        if (alteradosNaCarga != null) {
+            alteradosNaCarga.add(event);
+        }
+        if (atual != null) {
+            atual = aplicar(atual, event);
+        }
+    }
+
+    private static BaseColunar aplicar(BaseColunar base, ClienteAlteradoEvent event) {
+        if (event.tipo() == TipoAlteracao.REMOCAO) {
+            base.remover(event.id());
+            return base;
+        }
+        return base.gravar(event.cliente());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        recarregar();
+    }
+
+    @Scheduled(fixedDelayString = "${cliente.elegibilidade.intervalo-recarga:PT15M}",
+            initialDelayString = "${cliente.elegibilidade.intervalo-recarga:PT15M}")
+    public synchronized void recarregar() {
+        // Uma carga por vez: a descarga do barramento de invalidação também recarrega, em outra thread
+        long inicio = System.currentTimeMillis();
+        try {
+            synchronized (escrita) {
+                alteradosNaCarga = new ArrayList<>();
+            }
+            Long quantidade = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM clientes WHERE removido_em IS NULL",
+                    Long.class);
+            BaseColunar.Construtor construtor = new BaseColunar.Construtor(
+                    (int) Math.min(Integer.MAX_VALUE - 8, quantidade == null ? 0 : quantidade));
+
+            // Lê da primária (transação de escrita), como o snapshot de clientes
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_CLIENTES,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(tamanhoLeitura);
+                return statement;
+            }, (RowCallbackHandler) rs -> construtor.adicionar(
+                    rs.getLong("id"),
+                    rs.getInt("score_credito"),
+                    rs.getBigDecimal("renda_mensal"),
+                    rs.getObject("data_nascimento", LocalDate.class),
+                    rs.getBoolean("aposentado"),
+                    rs.getString("profissao"))));
+
+            BaseColunar nova = construtor.construir(inicio, 1024);
+            synchronized (escrita) {
+                for (ClienteAlteradoEvent event : alteradosNaCarga) {
+                    nova = aplicar(nova, event);
+                }
+                atual = nova;
+                alteradosNaCarga = null;
+                versao++;
+            }
+            logger.info("Base de elegibilidade carregada com {} clientes ({} KB) em {} ms", nova.tamanho(),
+                    nova.bytes() / 1024, System.currentTimeMillis() - inicio);
+        } catch (RuntimeException ex) {
+            synchronized (escrita) {
+                alteradosNaCarga = null;
+            }
+            logger.error("Falha ao carregar a base de elegibilidade; as avaliações seguem {}",
+                    atual == null ? "indisponíveis" : "na base anterior", ex);
+        }
+    }
+
+    int registros() {
+        BaseColunar base = atual;
+        return base == null ? 0 : base.tamanho();
+    }
+
+    long tamanhoBytes() {
+        BaseColunar base = atual;
+        return base == null ? 0 : base.bytes();
+    }
+
+    double idadeSegundos() {
+        BaseColunar base = atual;
+        return base == null ? Double.NaN
+                : Duration.ofMillis(System.currentTimeMillis() - base.carregadaEm()).toSeconds();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cliente.elegibilidade.registros", this, MotorElegibilidade::registros)
+                .description("Linhas da base colunar de elegibilidade")
+                .register(registry);
+        Gauge.builder("cliente.elegibilidade.bytes", this, MotorElegibilidade::tamanhoBytes)
+                .description("Memória ocupada pelas colunas da base de elegibilidade")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("cliente.elegibilidade.idade", this, MotorElegibilidade::idadeSegundos)
+                .description("Tempo desde a última carga da base de elegibilidade")
+                .baseUnit("seconds")
+                .register(registry);
+        tempoAvaliacao = Timer.builder("cliente.elegibilidade.avaliacao")
+                .description("Duração da avaliação de regras de elegibilidade")
+                .register(registry);
+    }
+}
@@ -0,0 +1,307 @@
+package com.github.juliherms.clienteService.elegibilidade;
+
+import com.github.juliherms.clienteService.exception.CampoInvalidoException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Compila o texto de uma regra de elegibilidade em um {@link Filtro}.
+ *
+ * <pre>
+ * score &gt;= 700 e renda &gt;= 5000 e nao aposentado e idade entre 25 e 55
+ * (profissao em ('Médico', 'Dentista') ou renda &gt; 20000) e score &gt; 600
+ * </pre>
+ *
+ * <p>Campos: {@code score}, {@code renda} (reais, até centavos), {@code idade} (anos completos na data de
+ * referência), {@code aposentado} e {@code profissao} (texto entre aspas simples, sem diferenciar maiúsculas de
+ * minúsculas). Comparações: {@code = != > >= < <=}, {@code entre a e b} (inclusivo) e {@code em (...)}.
+ * Conectivos: {@code e}, {@code ou}, {@code nao} e parênteses, também em inglês ({@code and}, {@code or},
+ * {@code not}, {@code between}, {@code in}). Regras inválidas geram {@link CampoInvalidoException}.</p>
+ */
+final class RegraElegibilidade {
+
+    private static final int MAXIMO_TOKENS = 1_000;
+    private static final int IDADE_MAXIMA = 200;
+
+    private final List<String> tokens;
+    private final BaseColunar base;
+    private final LocalDate hoje;
+    private int posicao;
+
+    private RegraElegibilidade(List<String> tokens, BaseColunar base, LocalDate hoje) {
+        this.tokens = tokens;
+        this.base = base;
+        this.hoje = hoje;
+    }
+
+    static Filtro compilar(String regra, BaseColunar base, LocalDate hoje) {
+        if (regra == null || regra.isBlank()) {
+            throw new CampoInvalidoException("Regra de elegibilidade vazia");
+        }
+        RegraElegibilidade compilador = new RegraElegibilidade(tokens(regra), base, hoje);
+        Filtro filtro = compilador.ou();
+        if (compilador.posicao < compilador.tokens.size()) {
+            throw compilador.erro("fim da regra esperado");
+        }
+        return filtro;
+    }
+
+    private Filtro ou() {
+        Filtro filtro = e();
+        while (aceitar("ou", "or", "||")) {
+            filtro = new Filtro.Ou(filtro, e());
+        }
+        return filtro;
+    }
+
+    private Filtro e() {
+        Filtro filtro = nao();
+        while (aceitar("e", "and", "&&")) {
+            filtro = new Filtro.E(filtro, nao());
+        }
+        return filtro;
+    }
+
+    private Filtro nao() {
+        if (aceitar("nao", "não", "not", "!")) {
+            return new Filtro.Nao(nao());
+        }
+        if (aceitar("(")) {
+            Filtro filtro = ou();
+            exigir(")");
+            return filtro;
+        }
+        return comparacao();
+    }
+
+    private Filtro comparacao() {
+        String campo = proximo("campo");
+        return switch (campo.toLowerCase(Locale.ROOT)) {
+            case "score", "scorecredito" -> numerica(Campo.SCORE);
+            case "renda", "rendamensal" -> numerica(Campo.RENDA);
+            case "idade" -> numerica(Campo.IDADE);
+            case "aposentado" -> aposentado();
+            case "profissao", "profissão" -> profissao();
+            default -> throw erro("campo desconhecido '" + campo + "'");
+        };
+    }
+
+    private enum Campo { SCORE, RENDA, IDADE }
+
+    private Filtro numerica(Campo campo) {
+        if (aceitar("entre", "between")) {
+            BigDecimal minimo = numero(campo);
+            exigirUm("e", "and");
+            BigDecimal maximo = numero(campo);
+            return faixa(campo, teto(minimo), piso(maximo));
+        }
+        String operador = proximo("operador");
+        BigDecimal valor = numero(campo);
+        return switch (operador) {
+            case ">=" -> faixa(campo, teto(valor), Long.MAX_VALUE);
+            case ">" -> faixa(campo, piso(valor) + 1, Long.MAX_VALUE);
+            case "<=" -> faixa(campo, Long.MIN_VALUE, piso(valor));
+            case "<" -> faixa(campo, Long.MIN_VALUE, teto(valor) - 1);
+            case "=", "==" -> faixa(campo, teto(valor), piso(valor));
+            case "!=", "<>" -> new Filtro.Nao(faixa(campo, teto(valor), piso(valor)));
+            default -> throw erro("operador inválido '" + operador + "'");
+        };
+    }
+
+    private BigDecimal numero(Campo campo) {
+        String texto = proximo("número");
+        BigDecimal valor;
+        try {
+            valor = new BigDecimal(texto);
+        } catch (NumberFormatException ex) {
+            throw erro("número inválido '" + texto + "'");
+        }
+        if (campo != Campo.RENDA && valor.stripTrailingZeros().scale() > 0) {
+            throw erro(campo.name().toLowerCase(Locale.ROOT) + " deve ser inteiro");
+        }
+        // Renda comparada em centavos
+        return campo == Campo.RENDA ? valor.movePointRight(2) : valor;
+    }
+
+    private static long teto(BigDecimal valor) {
+        return saturar(valor.setScale(0, RoundingMode.CEILING));
+    }
+
+    private static long piso(BigDecimal valor) {
+        return saturar(valor.setScale(0, RoundingMode.FLOOR));
+    }
+
+    private static long saturar(BigDecimal inteiro) {
+        if (inteiro.compareTo(BigDecimal.valueOf(Long.MAX_VALUE / 2)) > 0) {
+            return Long.MAX_VALUE / 2;
+        }
+        if (inteiro.compareTo(BigDecimal.valueOf(Long.MIN_VALUE / 2)) < 0) {
+            return Long.MIN_VALUE / 2;
+        }
+        return inteiro.longValue();
+    }
+
+    private Filtro faixa(Campo campo, long minimo, long maximo) {
+        return switch (campo) {
+            case SCORE -> new Filtro.FaixaScore(limitar(minimo), limitar(maximo));
+            case RENDA -> new Filtro.FaixaRenda(minimo, maximo);
+            // Idade de a até b anos: nascido depois de hoje - (b + 1) anos e até hoje - a anos
+            case IDADE -> new Filtro.FaixaNascimento(
+                    maximo >= IDADE_MAXIMA ? Integer.MIN_VALUE
+                            : (int) hoje.minusYears(Math.max(-1, maximo) + 1).toEpochDay() + 1,
+                    minimo <= 0 ? Integer.MAX_VALUE
+                            : (int) hoje.minusYears(Math.min(minimo, IDADE_MAXIMA + 1)).toEpochDay());
+        };
+    }
+
+    private static int limitar(long valor) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, valor));
+    }
+
+    private Filtro aposentado() {
+        if (aceitar("=", "==")) {
+            return new Filtro.Aposentado(booleano());
+        }
+        if (aceitar("!=", "<>")) {
+            return new Filtro.Aposentado(!booleano());
+        }
+        return new Filtro.Aposentado(true);
+    }
+
+    private boolean booleano() {
+        String valor = proximo("true ou false").toLowerCase(Locale.ROOT);
+        return switch (valor) {
+            case "true", "verdadeiro" -> true;
+            case "false", "falso" -> false;
+            default -> throw erro("valor lógico inválido '" + valor + "'");
+        };
+    }
+
+    private Filtro profissao() {
+        Set<String> valores = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        boolean negada = false;
+        if (aceitar("em", "in")) {
+            exigir("(");
+            do {
+                valores.add(texto());
+            } while (aceitar(","));
+            exigir(")");
+        } else {
+            String operador = proximo("operador");
+            if (operador.equals("!=") || operador.equals("<>")) {
+                negada = true;
+            } else if (!operador.equals("=") && !operador.equals("==")) {
+                throw erro("operador inválido para profissao '" + operador + "'");
+            }
+            valores.add(texto());
+        }
+        Filtro filtro = new Filtro.Profissao(base.profissoes(valores::contains));
+        return negada ? new Filtro.Nao(filtro) : filtro;
+    }
+
+    private String texto() {
+        String token = proximo("texto entre aspas simples");
+        if (token.length() < 2 || token.charAt(0) != '\'') {
+            throw erro("texto entre aspas simples esperado");
+        }
+        return token.substring(1, token.length() - 1).replace("''", "'");
+    }
+
+    private boolean aceitar(String... alternativas) {
+        if (posicao >= tokens.size()) {
+            return false;
+        }
+        String token = tokens.get(posicao);
+        for (String alternativa : alternativas) {
+            if (token.equalsIgnoreCase(alternativa)) {
+                posicao++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void exigir(String token) {
+        exigirUm(token);
+    }
+
+    private void exigirUm(String... alternativas) {
+        if (!aceitar(alternativas)) {
+            throw erro("'" + alternativas[0] + "' esperado");
+        }
+    }
+
+    private String proximo(String esperado) {
+        if (posicao >= tokens.size()) {
+            throw new CampoInvalidoException("Regra de elegibilidade incompleta: " + esperado + " esperado no final");
+        }
+        return tokens.get(posicao++);
+    }
+
+    private CampoInvalidoException erro(String motivo) {
+        int indice = Math.min(posicao, tokens.size()) - 1;
+        String perto = indice >= 0 ? " perto de '" + tokens.get(indice) + "'" : "";
+        return new CampoInvalidoException("Regra de elegibilidade inválida: " + motivo + perto);
+    }
+
+    private static List<String> tokens(String regra) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < regra.length()) {
+            char c = regra.charAt(i);
+            int inicio = i;
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            if (c == '\'') {
+                i = fimDoTexto(regra, i + 1);
+            } else if (Character.isLetter(c)) {
+                while (i < regra.length() && (Character.isLetterOrDigit(regra.charAt(i)) || regra.charAt(i) == '_')) {
+                    i++;
+                }
+            } else if (Character.isDigit(c) || c == '-' || c == '.') {
+                i++;
+                while (i < regra.length() && (Character.isDigit(regra.charAt(i)) || regra.charAt(i) == '.')) {
+                    i++;
+                }
+            } else if (regra.startsWith(">=", i) || regra.startsWith("<=", i) || regra.startsWith("!=", i)
+                    || regra.startsWith("<>", i) || regra.startsWith("==", i) || regra.startsWith("&&", i)
+                    || regra.startsWith("||", i)) {
+                i += 2;
+            } else if ("<>=!(),".indexOf(c) >= 0) {
+                i++;
+            } else {
+                throw new CampoInvalidoException("Regra de elegibilidade inválida: caractere '" + c + "'");
+            }
+            tokens.add(regra.substring(inicio, i));
+            if (tokens.size() > MAXIMO_TOKENS) {
+                throw new CampoInvalidoException("Regra de elegibilidade muito longa");
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Posição logo depois da aspa que fecha o texto; aspas duplicadas ({@code ''}) fazem parte dele
+     */
+    private static int fimDoTexto(String regra, int i) {
+        while (i < regra.length()) {
+            if (regra.charAt(i) != '\'') {
+                i++;
+            } else if (i + 1 < regra.length() && regra.charAt(i + 1) == '\'') {
+                i += 2;
+            } else {
+                return i + 1;
+            }
+        }
+        throw new CampoInvalidoException("Regra de elegibilidade inválida: aspas não fechadas");
+    }
+}
@@ -6,6 +6,8 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Past;
 import jakarta.validation.constraints.PositiveOrZero;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.validator.constraints.br.CPF;
 
 import java.math.BigDecimal;
@@ -14,6 +16,9 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "clientes")
+// Remoção lógica: o CPF vai para cpf_removido para liberar a constraint única até o arquivamento
+@SQLDelete(sql = "UPDATE clientes SET removido_em = CURRENT_TIMESTAMP, cpf_removido = cpf, cpf = NULL WHERE id = ?")
+@SQLRestriction("removido_em IS NULL")
 public class Cliente {
 
     @Id
@@ -22,7 +27,7 @@ public class Cliente {
 
     @CPF
     @NotBlank(message = "CPF é obrigatório")
-    @Column(unique = true, nullable = false, length = 11)
+    @Column(unique = true, length = 11)
     private String cpf;
 
     @NotBlank(message = "Nome é obrigatório")
@@ -0,0 +1,27 @@
+package com.github.juliherms.clienteService.event;
+
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+
+/**
+ * Evento publicado a cada cadastro, atualização ou remoção de cliente.
+ * Em remoções, {@code cliente} é nulo.
+ */
+public record ClienteAlteradoEvent(
+        TipoAlteracao tipo,
+        Long id,
+        ClienteResponseDTO cliente,
+        String sistemaOrigem
+) {
+
+    public static ClienteAlteradoEvent cadastro(ClienteResponseDTO cliente, String sistemaOrigem) {
+        return new ClienteAlteradoEvent(TipoAlteracao.CADASTRO, cliente.id(), cliente, sistemaOrigem);
+    }
+
+    public static ClienteAlteradoEvent atualizacao(ClienteResponseDTO cliente, String sistemaOrigem) {
+        return new ClienteAlteradoEvent(TipoAlteracao.ATUALIZACAO, cliente.id(), cliente, sistemaOrigem);
+    }
+
+    public static ClienteAlteradoEvent remocao(Long id, String sistemaOrigem) {
+        return new ClienteAlteradoEvent(TipoAlteracao.REMOCAO, id, null, sistemaOrigem);
+    }
+}
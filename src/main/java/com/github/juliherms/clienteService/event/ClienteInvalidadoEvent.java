@@ -0,0 +1,20 @@
+package com.github.juliherms.clienteService.event;
+
+/**
+ * Alteração de cliente feita por outra instância, recebida pelo barramento de invalidação. Os caches locais
+ * descartam ou releem o cliente; com {@code id} nulo, descartam tudo e recarregam do banco.
+ */
+public record ClienteInvalidadoEvent(
+        Long id,
+        String cpf,
+        TipoAlteracao tipo
+) {
+
+    public static ClienteInvalidadoEvent todos() {
+        return new ClienteInvalidadoEvent(null, null, null);
+    }
+
+    public boolean completa() {
+        return id == null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.github.juliherms.clienteService.event;
+
+/**
+ * Tipos de alteração de cliente publicados pelo ClienteService
+ */
+public enum TipoAlteracao {
+    CADASTRO,
+    ATUALIZACAO,
+    REMOCAO
+}
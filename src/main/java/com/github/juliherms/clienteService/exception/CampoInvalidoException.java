@@ -0,0 +1,12 @@
+package com.github.juliherms.clienteService.exception;
+
+public class CampoInvalidoException extends RuntimeException {
+
+    public CampoInvalidoException(String message) {
+        super(message);
+    }
+
+    public CampoInvalidoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package com.github.juliherms.clienteService.exception;
+
+public class CotaConexoesEsgotadaException extends RuntimeException {
+
+    public CotaConexoesEsgotadaException(String message) {
+        super(message);
+    }
+}
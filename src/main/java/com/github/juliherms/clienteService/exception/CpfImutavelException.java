@@ -0,0 +1,8 @@
+package com.github.juliherms.clienteService.exception;
+
+public class CpfImutavelException extends RuntimeException {
+
+    public CpfImutavelException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.github.juliherms.clienteService.exception;
+
+public class ElegibilidadeIndisponivelException extends RuntimeException {
+
+    public ElegibilidadeIndisponivelException(String message) {
+        super(message);
+    }
+}
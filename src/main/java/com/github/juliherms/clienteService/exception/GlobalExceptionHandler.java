@@ -3,8 +3,12 @@ package com.github.juliherms.clienteService.exception;
 import com.github.juliherms.clienteService.dto.ErrorResponseDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -14,6 +18,10 @@ import org.springframework.web.context.request.WebRequest;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Respostas de erro da API REST; o status de cada exceção de negócio vem do {@link StatusErro}, o mesmo usado
+ * pela API gRPC
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -26,16 +34,17 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponseDTO> handleClienteNotFoundException(
             ClienteNotFoundException ex, WebRequest request) {
 
+        HttpStatus status = StatusErro.CLIENTE_NAO_ENCONTRADO.http();
         logger.error("Cliente não encontrado: {}", ex.getMessage());
 
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(
                 ex.getMessage(),
-                HttpStatus.NOT_FOUND.value(),
-                "Not Found",
+                status.value(),
+                status.getReasonPhrase(),
                 request.getDescription(false).replace("uri=", "")
         );
 
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        return ResponseEntity.status(status).body(errorResponse);
     }
 
     /**
@@ -45,16 +54,37 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponseDTO> handleDuplicateCpfException(
             DuplicateCpfException ex, WebRequest request) {
 
+        HttpStatus status = StatusErro.CPF_DUPLICADO.http();
         logger.error("CPF duplicado: {}", ex.getMessage());
 
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(
                 ex.getMessage(),
-                HttpStatus.CONFLICT.value(),
-                "Conflict",
+                status.value(),
+                status.getReasonPhrase(),
                 request.getDescription(false).replace("uri=", "")
         );
 
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+
+    /**
+     * Trata cliente arquivado restaurado, ou com o CPF cadastrado, por outra requisição durante a atualização
+     */
+    @ExceptionHandler(RestauracaoConcorrenteException.class)
+    public ResponseEntity<ErrorResponseDTO> handleRestauracaoConcorrenteException(
+            RestauracaoConcorrenteException ex, WebRequest request) {
+
+        HttpStatus status = StatusErro.RESTAURACAO_CONCORRENTE.http();
+        logger.warn("Restauração concorrente: {}", ex.getMessage());
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                ex.getMessage(),
+                status.value(),
+                status.getReasonPhrase(),
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return ResponseEntity.status(status).body(errorResponse);
     }
 
     /**
@@ -64,16 +94,158 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponseDTO> handleMissingHeaderException(
             MissingHeaderException ex, WebRequest request) {
 
+        HttpStatus status = StatusErro.HEADER_AUSENTE.http();
         logger.error("Header obrigatório ausente: {}", ex.getMessage());
 
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(
                 ex.getMessage(),
-                HttpStatus.BAD_REQUEST.value(),
-                "Bad Request",
+                status.value(),
+                status.getReasonPhrase(),
                 request.getDescription(false).replace("uri=", "")
         );
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+
+    /**
+     * Trata exceção de campo inválido no parâmetro fields
+     */
+    @ExceptionHandler(CampoInvalidoException.class)
+    public ResponseEntity<ErrorResponseDTO> handleCampoInvalidoException(
+            CampoInvalidoException ex, WebRequest request) {
+
+        HttpStatus status = StatusErro.CAMPO_INVALIDO.http();
+        logger.error("Campo inválido: {}", ex.getMessage());
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                ex.getMessage(),
+                status.value(),
+                status.getReasonPhrase(),
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+
+    /**
+     * Trata página além da janela de paginação entre shards
+     */
+    @ExceptionHandler(PaginaForaDoLimiteException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePaginaForaDoLimiteException(
+            PaginaForaDoLimiteException ex, WebRequest request) {
+
+        HttpStatus status = StatusErro.PAGINA_FORA_DO_LIMITE.http();
+        logger.warn("Página fora do limite: {}", ex.getMessage());
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                ex.getMessage(),
+                status.value(),
+                status.getReasonPhrase(),
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+
+    /**
+     * Trata alteração de CPF com sharding: o CPF define o shard e, portanto, o ID do cliente
+     */
+    @ExceptionHandler(CpfImutavelException.class)
+    public ResponseEntity<ErrorResponseDTO> handleCpfImutavelException(
+            CpfImutavelException ex, WebRequest request) {
+
+        HttpStatus status = StatusErro.CPF_IMUTAVEL.http();
+        logger.warn("Alteração de CPF recusada: {}", ex.getMessage());
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                ex.getMessage(),
+                status.value(),
+                status.getReasonPhrase(),
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+
+    /**
+     * Trata avaliação de elegibilidade antes da primeira carga da base colunar
+     */
+    @ExceptionHandler(ElegibilidadeIndisponivelException.class)
+    public ResponseEntity<ErrorResponseDTO> handleElegibilidadeIndisponivelException(
+            ElegibilidadeIndisponivelException ex, WebRequest request) {
+
+        HttpStatus status = StatusErro.ELEGIBILIDADE_INDISPONIVEL.http();
+        logger.warn("Elegibilidade indisponível: {}", ex.getMessage());
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                ex.getMessage(),
+                status.value(),
+                status.getReasonPhrase(),
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(errorResponse);
+    }
+
+    /**
+     * Trata a cota de conexões do sistema de origem esgotada (bulkhead por sistemaOrigem)
+     */
+    @ExceptionHandler(CotaConexoesEsgotadaException.class)
+    public ResponseEntity<ErrorResponseDTO> handleCotaConexoesEsgotadaException(
+            CotaConexoesEsgotadaException ex, WebRequest request) {
+
+        HttpStatus status = StatusErro.COTA_CONEXOES_ESGOTADA.http();
+        logger.warn("Cota de conexões esgotada: {}", ex.getMessage());
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "Limite de requisições do sistema de origem atingido, tente novamente em instantes",
+                status.value(),
+                status.getReasonPhrase(),
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    /**
+     * Trata prazo da requisição (header prazoMs) esgotado antes ou durante o acesso ao banco
+     */
+    @ExceptionHandler({PrazoExpiradoException.class, QueryTimeoutException.class})
+    public ResponseEntity<ErrorResponseDTO> handlePrazoExpiradoException(
+            RuntimeException ex, WebRequest request) {
+
+        HttpStatus status = StatusErro.de(ex).orElse(StatusErro.PRAZO_EXPIRADO).http();
+        logger.warn("Prazo esgotado: {}", ex.getMessage());
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "Prazo da requisição esgotado",
+                status.value(),
+                status.getReasonPhrase(),
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+
+    /**
+     * Trata falha ao iniciar transação; quando a causa é o prazo ou a cota de conexões esgotados ao obter a
+     * conexão, responde como eles
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponseDTO> handleCannotCreateTransactionException(
+            CannotCreateTransactionException ex, WebRequest request) {
+
+        if (NestedExceptionUtils.getRootCause(ex) instanceof PrazoExpiradoException prazoExpirado) {
+            return handlePrazoExpiradoException(prazoExpirado, request);
+        }
+        if (NestedExceptionUtils.getRootCause(ex) instanceof CotaConexoesEsgotadaException cotaEsgotada) {
+            return handleCotaConexoesEsgotadaException(cotaEsgotada, request);
+        }
+        return handleGenericException(ex, request);
     }
 
     /**
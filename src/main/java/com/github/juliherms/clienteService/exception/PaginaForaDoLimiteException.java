@@ -0,0 +1,8 @@
+package com.github.juliherms.clienteService.exception;
+
+public class PaginaForaDoLimiteException extends RuntimeException {
+
+    public PaginaForaDoLimiteException(String message) {
+        super(message);
+    }
+}
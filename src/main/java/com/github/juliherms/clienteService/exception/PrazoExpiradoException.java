@@ -0,0 +1,8 @@
+package com.github.juliherms.clienteService.exception;
+
+public class PrazoExpiradoException extends RuntimeException {
+
+    public PrazoExpiradoException(String message) {
+        super(message);
+    }
+}
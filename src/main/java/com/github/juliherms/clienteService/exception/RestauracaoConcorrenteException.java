@@ -0,0 +1,8 @@
+package com.github.juliherms.clienteService.exception;
+
+public class RestauracaoConcorrenteException extends RuntimeException {
+
+    public RestauracaoConcorrenteException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
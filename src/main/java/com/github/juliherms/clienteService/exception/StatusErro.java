@@ -0,0 +1,69 @@
+package com.github.juliherms.clienteService.exception;
+
+import io.grpc.Status;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.Optional;
+
+/**
+ * Tabela única de exceções de negócio para status HTTP e gRPC, usada pelo {@link GlobalExceptionHandler} e pelo
+ * tradutor de erros do serviço gRPC, para que as duas APIs respondam do mesmo jeito ao mesmo erro.
+ */
+public enum StatusErro {
+
+    CLIENTE_NAO_ENCONTRADO(ClienteNotFoundException.class, HttpStatus.NOT_FOUND, Status.Code.NOT_FOUND),
+    CPF_DUPLICADO(DuplicateCpfException.class, HttpStatus.CONFLICT, Status.Code.ALREADY_EXISTS),
+    RESTAURACAO_CONCORRENTE(RestauracaoConcorrenteException.class, HttpStatus.CONFLICT, Status.Code.ABORTED),
+    HEADER_AUSENTE(MissingHeaderException.class, HttpStatus.BAD_REQUEST, Status.Code.INVALID_ARGUMENT),
+    CAMPO_INVALIDO(CampoInvalidoException.class, HttpStatus.BAD_REQUEST, Status.Code.INVALID_ARGUMENT),
+    PAGINA_FORA_DO_LIMITE(PaginaForaDoLimiteException.class, HttpStatus.BAD_REQUEST, Status.Code.INVALID_ARGUMENT),
+    CPF_IMUTAVEL(CpfImutavelException.class, HttpStatus.UNPROCESSABLE_ENTITY, Status.Code.FAILED_PRECONDITION),
+    ELEGIBILIDADE_INDISPONIVEL(ElegibilidadeIndisponivelException.class, HttpStatus.SERVICE_UNAVAILABLE,
+            Status.Code.UNAVAILABLE),
+    COTA_CONEXOES_ESGOTADA(CotaConexoesEsgotadaException.class, HttpStatus.TOO_MANY_REQUESTS,
+            Status.Code.RESOURCE_EXHAUSTED),
+    PRAZO_EXPIRADO(PrazoExpiradoException.class, HttpStatus.GATEWAY_TIMEOUT, Status.Code.DEADLINE_EXCEEDED),
+    CONSULTA_EXPIRADA(QueryTimeoutException.class, HttpStatus.GATEWAY_TIMEOUT, Status.Code.DEADLINE_EXCEEDED);
+
+    private final Class<? extends Throwable> excecao;
+    private final HttpStatus http;
+    private final Status.Code grpc;
+
+    StatusErro(Class<? extends Throwable> excecao, HttpStatus http, Status.Code grpc) {
+        this.excecao = excecao;
+        this.http = http;
+        this.grpc = grpc;
+    }
+
+    public Class<? extends Throwable> excecao() {
+        return excecao;
+    }
+
+    public HttpStatus http() {
+        return http;
+    }
+
+    public Status.Code grpc() {
+        return grpc;
+    }
+
+    /**
+     * Entrada da exceção; a falha ao iniciar transação é classificada pela causa (prazo ou cota de conexões
+     * esgotados ao obter a conexão)
+     */
+    public static Optional<StatusErro> de(Throwable ex) {
+        Throwable alvo = ex instanceof CannotCreateTransactionException ? NestedExceptionUtils.getRootCause(ex) : ex;
+        if (alvo == null) {
+            return Optional.empty();
+        }
+        for (StatusErro status : values()) {
+            if (status.excecao.isInstance(alvo)) {
+                return Optional.of(status);
+            }
+        }
+        return Optional.empty();
+    }
+}
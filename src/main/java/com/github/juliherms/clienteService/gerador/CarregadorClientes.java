@@ -0,0 +1,199 @@
+package com.github.juliherms.clienteService.gerador;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.github.juliherms.clienteService.dto.ClienteRequestDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Carga em massa de clientes sintéticos ({@link GeradorClientes}) direto na tabela {@code clientes}, pelo caminho
+ * mais rápido do banco.
+ *
+ * <ul>
+ *     <li>H2: CSV temporário lido com {@code INSERT ... SELECT FROM CSVREAD}, em um único comando (o arquivo
+ *     precisa estar acessível ao banco, o que vale para o H2 embarcado);</li>
+ *     <li>MySQL com {@code cliente.gerador.mysql.load-data=true}: CSV temporário com
+ *     {@code LOAD DATA LOCAL INFILE}, que exige {@code allowLoadLocalInfile=true} na URL e {@code local_infile}
+ *     ligado no servidor;</li>
+ *     <li>demais casos: {@code INSERT} de várias linhas por comando, um commit por lote.</li>
+ * </ul>
+ *
+ * <p>A carga não passa pelo JPA nem publica eventos: outbox, auditoria, filtro de CPFs e snapshot não veem os
+ * clientes carregados até a próxima reconstrução de cada um. Só existe no profile {@code gerador}, como o
+ * {@link GeradorClientesRunner}.</p>
+ */
+@Component
+@Profile("gerador")
+public class CarregadorClientes {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarregadorClientes.class);
+
+    private static final String COLUNAS = "cpf, nome, data_nascimento, renda_mensal, score_credito, aposentado, profissao";
+
+    public enum Metodo { CSVREAD, LOAD_DATA, INSERT_MULTIPLO }
+
+    public record Resultado(Metodo metodo, int linhas, Duration duracao) {
+
+        public long linhasPorSegundo() {
+            return duracao.isZero() ? linhas : linhas * 1_000L / Math.max(1, duracao.toMillis());
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${cliente.gerador.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    @Value("${cliente.gerador.mysql.load-data:false}")
+    private boolean mysqlLoadData;
+
+    /**
+     * Gera e insere {@code quantidade} clientes
+     */
+    public Resultado carregar(GeradorClientes gerador, int quantidade) {
+        Metodo metodo = metodo();
+        long inicio = System.nanoTime();
+        switch (metodo) {
+            case CSVREAD -> carregarCsv(gerador, quantidade,
+                    arquivo -> "INSERT INTO clientes (" + COLUNAS + ") SELECT " + COLUNAS
+                            + " FROM CSVREAD('" + caminhoSql(arquivo) + "', NULL, 'charset=UTF-8')");
+            case LOAD_DATA -> carregarCsv(gerador, quantidade,
+                    arquivo -> "LOAD DATA LOCAL INFILE '" + caminhoSql(arquivo) + "' INTO TABLE clientes"
+                            + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY ',' LINES TERMINATED BY '\\n'"
+                            + " IGNORE 1 LINES (cpf, nome, data_nascimento, renda_mensal, score_credito, @aposentado,"
+                            + " profissao) SET aposentado = (@aposentado = 'TRUE')");
+            case INSERT_MULTIPLO -> inserirEmLotes(gerador, quantidade);
+        }
+        Resultado resultado = new Resultado(metodo, quantidade, Duration.ofNanos(System.nanoTime() - inicio));
+        logger.info("{} clientes carregados via {} em {} ms ({} linhas/s)", quantidade, metodo,
+                resultado.duracao().toMillis(), resultado.linhasPorSegundo());
+        return resultado;
+    }
+
+    /**
+     * Grava {@code quantidade} clientes em NDJSON, um corpo de {@code POST /api/clientes} por linha
+     */
+    public void gravarNdjson(GeradorClientes gerador, int quantidade, Path arquivo) {
+        try (OutputStream saida = Files.newOutputStream(arquivo);
+             SequenceWriter escritor = objectMapper.writer().withRootValueSeparator("\n").writeValues(saida)) {
+            for (int i = 0; i < quantidade; i++) {
+                escritor.write(gerador.proximo());
+            }
+            escritor.flush();
+            saida.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao gravar " + arquivo, ex);
+        }
+        logger.info("{} clientes gravados em {}", quantidade, arquivo);
+    }
+
+    Metodo metodo() {
+        String banco = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        String produto = banco == null ? "" : banco.toLowerCase(Locale.ROOT);
+        if (produto.contains("h2")) {
+            return Metodo.CSVREAD;
+        }
+        return produto.contains("mysql") && mysqlLoadData ? Metodo.LOAD_DATA : Metodo.INSERT_MULTIPLO;
+    }
+
+    private interface ComandoCsv {
+        String sql(Path arquivo);
+    }
+
+    private void carregarCsv(GeradorClientes gerador, int quantidade, ComandoCsv comando) {
+        Path arquivo = null;
+        try {
+            arquivo = Files.createTempFile("clientes-", ".csv");
+            // Nomes e profissões do gerador não têm vírgulas, aspas nem quebras de linha: o CSV dispensa escape
+            try (BufferedWriter escritor = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+                escritor.write(COLUNAS.replace(" ", "").toUpperCase(Locale.ROOT));
+                escritor.write('\n');
+                for (int i = 0; i < quantidade; i++) {
+                    ClienteRequestDTO cliente = gerador.proximo();
+                    escritor.write(cliente.cpf());
+                    escritor.write(',');
+                    escritor.write(cliente.nome());
+                    escritor.write(',');
+                    escritor.write(cliente.dataNascimento().toString());
+                    escritor.write(',');
+                    escritor.write(cliente.rendaMensal().toPlainString());
+                    escritor.write(',');
+                    escritor.write(Integer.toString(cliente.scoreCredito()));
+                    escritor.write(',');
+                    escritor.write(cliente.aposentado() ? "TRUE" : "FALSE");
+                    escritor.write(',');
+                    escritor.write(cliente.profissao());
+                    escritor.write('\n');
+                }
+            }
+            jdbcTemplate.execute(comando.sql(arquivo));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao gerar o CSV de carga", ex);
+        } finally {
+            if (arquivo != null) {
+                try {
+                    Files.deleteIfExists(arquivo);
+                } catch (IOException ex) {
+                    logger.warn("Não foi possível remover {}: {}", arquivo, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private void inserirEmLotes(GeradorClientes gerador, int quantidade) {
+        String sqlLoteCheio = insertMultiplo(tamanhoLote);
+        List<Object> parametros = new ArrayList<>(tamanhoLote * 7);
+        for (int inseridos = 0; inseridos < quantidade; ) {
+            int linhas = Math.min(tamanhoLote, quantidade - inseridos);
+            parametros.clear();
+            for (int i = 0; i < linhas; i++) {
+                ClienteRequestDTO cliente = gerador.proximo();
+                parametros.add(cliente.cpf());
+                parametros.add(cliente.nome());
+                parametros.add(cliente.dataNascimento());
+                parametros.add(cliente.rendaMensal());
+                parametros.add(cliente.scoreCredito());
+                parametros.add(cliente.aposentado());
+                parametros.add(cliente.profissao());
+            }
+            jdbcTemplate.update(linhas == tamanhoLote ? sqlLoteCheio : insertMultiplo(linhas), parametros.toArray());
+            inseridos += linhas;
+        }
+    }
+
+    private static String insertMultiplo(int linhas) {
+        StringBuilder sql = new StringBuilder("INSERT INTO clientes (").append(COLUNAS).append(") VALUES ");
+        for (int i = 0; i < linhas; i++) {
+            sql.append(i == 0 ? "" : ",").append("(?,?,?,?,?,?,?)");
+        }
+        return sql.toString();
+    }
+
+    private static String caminhoSql(Path arquivo) {
+        return arquivo.toAbsolutePath().toString().replace("\\", "/").replace("'", "''");
+    }
+}
@@ -0,0 +1,171 @@
+package com.github.juliherms.clienteService.gerador;
+
+import com.github.juliherms.clienteService.dto.ClienteRequestDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Gera clientes sintéticos e válidos para benchmarks e testes de carga: CPFs com dígitos verificadores corretos,
+ * nomes e profissões brasileiros e distribuições plausíveis de idade, renda e score.
+ *
+ * <p>A sequência é determinística pela semente. O CPF da posição {@code n} vem de uma permutação afim do espaço de
+ * nove dígitos ({@code a·n + c mod 10^9}, com {@code a} primo com 10), de modo que posições diferentes nunca
+ * repetem CPF: com a mesma semente, faixas disjuntas de {@code inicio} podem ser carregadas no mesmo banco.</p>
+ */
+public final class GeradorClientes {
+
+    private static final long ESPACO_CPF = 1_000_000_000L;
+    private static final long MULTIPLICADOR_CPF = 387_420_489L; // 3^18, primo com 10^9
+
+    private static final String[] PRENOMES = {
+            "Ana", "Maria", "Francisca", "Antônia", "Adriana", "Juliana", "Márcia", "Fernanda", "Patrícia", "Aline",
+            "Sandra", "Camila", "Amanda", "Bruna", "Jéssica", "Letícia", "Júlia", "Luciana", "Vanessa", "Mariana",
+            "Gabriela", "Beatriz", "Larissa", "Rafaela", "Raimunda", "Helena", "Alice", "Valentina", "Lívia", "Sofia",
+            "José", "João", "Antônio", "Francisco", "Carlos", "Paulo", "Pedro", "Lucas", "Luiz", "Marcos",
+            "Luís", "Gabriel", "Rafael", "Daniel", "Marcelo", "Bruno", "Eduardo", "Felipe", "Raimundo", "Rodrigo",
+            "Manoel", "Mateus", "André", "Fernando", "Fábio", "Leonardo", "Gustavo", "Guilherme", "Thiago", "Miguel"
+    };
+
+    private static final String[] SOBRENOMES = {
+            "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira", "Lima", "Gomes",
+            "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes", "Soares", "Fernandes", "Vieira", "Barbosa",
+            "Rocha", "Dias", "Nascimento", "Andrade", "Moreira", "Nunes", "Marques", "Machado", "Mendes", "Freitas",
+            "Cardoso", "Ramos", "Gonçalves", "Santana", "Teixeira", "Araújo", "Cavalcanti", "Monteiro", "Moura",
+            "Correia", "Pinto", "Campos", "Batista", "Barros", "Melo", "Azevedo", "Castro", "Cunha", "Farias", "Borges"
+    };
+
+    // Profissões repetidas aparecem com frequência proporcional
+    private static final String[] PROFISSOES = {
+            "Vendedor", "Vendedor", "Vendedor", "Auxiliar Administrativo", "Auxiliar Administrativo", "Motorista",
+            "Motorista", "Professor", "Professor", "Enfermeiro", "Técnico de Enfermagem", "Pedreiro", "Pedreiro",
+            "Cozinheiro", "Atendente", "Atendente", "Recepcionista", "Operador de Caixa", "Operador de Caixa",
+            "Analista de Sistemas", "Desenvolvedor de Software", "Engenheiro Civil", "Contador", "Advogado",
+            "Médico", "Dentista", "Farmacêutico", "Eletricista", "Mecânico", "Cabeleireiro", "Agricultor",
+            "Agricultor", "Servidor Público", "Empresário", "Autônomo", "Autônomo", "Estudante", "Estudante"
+    };
+
+    private static final double MEDIANA_RENDA = 2_800.0;
+    private static final double DESVIO_LOG_RENDA = 0.8;
+    private static final double RENDA_MAXIMA = 99_999_999.99;
+
+    private final SplittableRandom random;
+    private final long deslocamentoCpf;
+    private final LocalDate dataReferencia;
+    private long posicao;
+
+    /**
+     * @param semente        semente da sequência (mesma semente, mesmos clientes)
+     * @param inicio         posição inicial, para continuar uma carga anterior sem repetir CPFs
+     * @param dataReferencia data usada para calcular idades
+     */
+    public GeradorClientes(long semente, long inicio, LocalDate dataReferencia) {
+        this.random = new SplittableRandom(semente ^ inicio * 0x9E3779B97F4A7C15L);
+        this.deslocamentoCpf = Math.floorMod(semente * 0x9E3779B97F4A7C15L, ESPACO_CPF);
+        this.dataReferencia = dataReferencia;
+        this.posicao = inicio;
+    }
+
+    public ClienteRequestDTO proximo() {
+        String cpf = proximoCpf();
+
+        int idade = idade();
+        LocalDate dataNascimento = dataReferencia.minusYears(idade).minusDays(random.nextInt(365));
+        boolean aposentado = random.nextDouble() < probabilidadeAposentadoria(idade);
+        BigDecimal rendaMensal = renda(idade, aposentado);
+        int scoreCredito = score(rendaMensal);
+        String profissao = idade < 24 && random.nextInt(3) == 0 ? "Estudante" : sortear(PROFISSOES);
+
+        return new ClienteRequestDTO(cpf, nome(), dataNascimento, rendaMensal, scoreCredito, aposentado, profissao);
+    }
+
+    /**
+     * Posição do próximo cliente; passada como {@code inicio} continua a sequência sem repetir CPFs
+     */
+    public long posicao() {
+        return posicao;
+    }
+
+    private String proximoCpf() {
+        while (true) {
+            long base = Math.floorMod(MULTIPLICADOR_CPF * posicao++ + deslocamentoCpf, ESPACO_CPF);
+            String cpf = cpf(base);
+            if (!digitosRepetidos(cpf)) {
+                return cpf;
+            }
+        }
+    }
+
+    /**
+     * CPF completo a partir dos nove primeiros dígitos
+     */
+    static String cpf(long base) {
+        char[] digitos = new char[11];
+        long restante = base;
+        for (int i = 8; i >= 0; i--) {
+            digitos[i] = (char) ('0' + restante % 10);
+            restante /= 10;
+        }
+        digitos[9] = digitoVerificador(digitos, 9);
+        digitos[10] = digitoVerificador(digitos, 10);
+        return new String(digitos);
+    }
+
+    private static char digitoVerificador(char[] digitos, int quantidade) {
+        int soma = 0;
+        for (int i = 0; i < quantidade; i++) {
+            soma += (digitos[i] - '0') * (quantidade + 1 - i);
+        }
+        int resto = soma * 10 % 11;
+        return (char) ('0' + (resto == 10 ? 0 : resto));
+    }
+
+    // 000.000.000-00, 111.111.111-11 etc. passam no cálculo mas não são CPFs válidos
+    private static boolean digitosRepetidos(String cpf) {
+        for (int i = 1; i < cpf.length(); i++) {
+            if (cpf.charAt(i) != cpf.charAt(0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String nome() {
+        String nome = sortear(PRENOMES) + " " + sortear(SOBRENOMES);
+        return random.nextInt(10) < 7 ? nome + " " + sortear(SOBRENOMES) : nome;
+    }
+
+    // Entre 18 e 95 anos, com mais adultos jovens que idosos
+    private int idade() {
+        return 18 + (int) (78 * Math.pow(random.nextDouble(), 1.7));
+    }
+
+    private static double probabilidadeAposentadoria(int idade) {
+        if (idade >= 65) {
+            return 0.85;
+        }
+        return idade >= 55 ? 0.25 : 0.01;
+    }
+
+    // Log-normal em torno da mediana, com uma parcela sem renda
+    private BigDecimal renda(int idade, boolean aposentado) {
+        if (!aposentado && random.nextInt(100) < 4) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        double mediana = aposentado ? MEDIANA_RENDA * 0.7 : MEDIANA_RENDA * Math.min(1.6, 0.6 + idade / 50.0);
+        double renda = Math.min(RENDA_MAXIMA, mediana * Math.exp(DESVIO_LOG_RENDA * random.nextGaussian()));
+        return BigDecimal.valueOf(Math.round(renda * 100), 2);
+    }
+
+    // Normal em torno de 600, deslocada pela renda e limitada a 0..1000
+    private int score(BigDecimal rendaMensal) {
+        double renda = Math.max(100.0, rendaMensal.doubleValue());
+        double media = 600 + 60 * Math.log(renda / MEDIANA_RENDA);
+        return (int) Math.max(0, Math.min(1000, Math.round(media + 150 * random.nextGaussian())));
+    }
+
+    private String sortear(String[] valores) {
+        return valores[random.nextInt(valores.length)];
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.juliherms.clienteService.gerador;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Execução do gerador de massa de dados (perfil {@code gerador}): carrega {@code cliente.gerador.quantidade}
+ * clientes sintéticos no banco configurado e/ou os grava em NDJSON, e encerra a aplicação.
+ *
+ * <pre>
+ * java -jar cliente-service.jar --spring.profiles.active=gerador --cliente.gerador.quantidade=5000000
+ * </pre>
+ */
+@Component
+@Profile("gerador")
+public class GeradorClientesRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeradorClientesRunner.class);
+
+    @Autowired
+    private CarregadorClientes carregadorClientes;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${cliente.gerador.quantidade:1000000}")
+    private int quantidade;
+
+    @Value("${cliente.gerador.semente:42}")
+    private long semente;
+
+    @Value("${cliente.gerador.inicio:0}")
+    private long inicio;
+
+    @Value("${cliente.gerador.carregar:true}")
+    private boolean carregar;
+
+    @Value("${cliente.gerador.ndjson:}")
+    private String ndjson;
+
+    @Value("${cliente.sharding.enabled:false}")
+    private boolean sharding;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int codigo = 0;
+        try {
+            gerar();
+        } catch (RuntimeException ex) {
+            logger.error("Falha ao gerar a massa de dados: {}", ex.getMessage(), ex);
+            codigo = 1;
+        }
+        int saida = codigo;
+        System.exit(SpringApplication.exit(applicationContext, () -> saida));
+    }
+
+    private void gerar() {
+        if (carregar && sharding) {
+            throw new IllegalStateException("Carga em massa não suporta cliente.sharding.enabled=true");
+        }
+        LocalDate hoje = LocalDate.now();
+        // Mesma semente e início nas duas saídas: o NDJSON descreve exatamente os clientes carregados
+        GeradorClientes gerador = new GeradorClientes(semente, inicio, hoje);
+        if (carregar) {
+            carregadorClientes.carregar(gerador, quantidade);
+        }
+        if (!ndjson.isBlank()) {
+            gerador = new GeradorClientes(semente, inicio, hoje);
+            carregadorClientes.gravarNdjson(gerador, quantidade, Path.of(ndjson));
+        }
+        logger.info("Massa gerada com semente {}; para continuar sem repetir CPFs use cliente.gerador.inicio={}",
+                semente, gerador.posicao());
+    }
+}
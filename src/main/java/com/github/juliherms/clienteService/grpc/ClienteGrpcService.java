@@ -0,0 +1,208 @@
+package com.github.juliherms.clienteService.grpc;
+
+import com.github.juliherms.clienteService.dto.ClienteRequestDTO;
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.exception.MissingHeaderException;
+import com.github.juliherms.clienteService.grpc.proto.AtualizarRequest;
+import com.github.juliherms.clienteService.grpc.proto.BuscarPorCpfRequest;
+import com.github.juliherms.clienteService.grpc.proto.BuscarPorCpfResponse;
+import com.github.juliherms.clienteService.grpc.proto.BuscarPorIdRequest;
+import com.github.juliherms.clienteService.grpc.proto.BuscarPorNomeRequest;
+import com.github.juliherms.clienteService.grpc.proto.Cliente;
+import com.github.juliherms.clienteService.grpc.proto.ClienteRequest;
+import com.github.juliherms.clienteService.grpc.proto.ClientesGrpc;
+import com.github.juliherms.clienteService.grpc.proto.Erro;
+import com.github.juliherms.clienteService.grpc.proto.ListarRequest;
+import com.github.juliherms.clienteService.grpc.proto.RemoverRequest;
+import com.github.juliherms.clienteService.grpc.proto.RemoverResponse;
+import com.github.juliherms.clienteService.service.CadastroEmLoteWriter;
+import com.github.juliherms.clienteService.service.ClienteService;
+import com.github.juliherms.clienteService.web.SistemaOrigemContext;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Serviço gRPC que expõe as operações do {@link ClienteService} ao lado do ClienteController,
+ * com a mesma validação, o mesmo header obrigatório nas consultas e o mesmo mapeamento de erros.
+ */
+@GrpcService
+public class ClienteGrpcService extends ClientesGrpc.ClientesImplBase {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClienteGrpcService.class);
+    private static final int TAMANHO_PAGINA_PADRAO = 100;
+    private static final int TAMANHO_PAGINA_MAXIMO = 1_000;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired(required = false)
+    private CadastroEmLoteWriter cadastroEmLoteWriter;
+
+    @Override
+    public void cadastrar(ClienteRequest request, StreamObserver<Cliente> responseObserver) {
+        unario(responseObserver, () -> {
+            ClienteRequestDTO clienteRequest = validar(ClienteProtoMapper.toRequestDTO(request));
+            ClienteResponseDTO cliente = cadastroEmLoteWriter != null
+                    ? cadastroEmLoteWriter.cadastrar(clienteRequest)
+                    : clienteService.cadastrarCliente(clienteRequest);
+            return ClienteProtoMapper.toProto(cliente);
+        });
+    }
+
+    @Override
+    public void buscarPorId(BuscarPorIdRequest request, StreamObserver<Cliente> responseObserver) {
+        unario(responseObserver, () -> {
+            validarSistemaOrigem();
+            return ClienteProtoMapper.toProto(clienteService.buscarPorId(request.getId()));
+        });
+    }
+
+    @Override
+    public StreamObserver<BuscarPorCpfRequest> buscarPorCpf(StreamObserver<BuscarPorCpfResponse> responseObserver) {
+        String sistemaOrigem = SistemaOrigemServerInterceptor.SISTEMA_ORIGEM.get();
+
+        if (sistemaOrigem == null || sistemaOrigem.isBlank()) {
+            responseObserver.onError(GrpcErrorMapper.toException(new MissingHeaderException(
+                    "Header 'sistemaOrigem' é obrigatório para operações de consulta")));
+            return new StreamObserver<>() {
+                @Override public void onNext(BuscarPorCpfRequest value) {}
+                @Override public void onError(Throwable t) {}
+                @Override public void onCompleted() {}
+            };
+        }
+
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(BuscarPorCpfRequest request) {
+                BuscarPorCpfResponse.Builder response = BuscarPorCpfResponse.newBuilder().setCpf(request.getCpf());
+                SistemaOrigemContext.set(sistemaOrigem);
+                try {
+                    response.setCliente(ClienteProtoMapper.toProto(clienteService.buscarPorCpf(request.getCpf())));
+                } catch (RuntimeException ex) {
+                    Status status = GrpcErrorMapper.toStatus(ex);
+                    response.setErro(Erro.newBuilder()
+                            .setCodigo(status.getCode().value())
+                            .setMensagem(status.getDescription() == null ? "" : status.getDescription()));
+                } finally {
+                    SistemaOrigemContext.clear();
+                }
+                responseObserver.onNext(response.build());
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                logger.debug("Stream BuscarPorCpf encerrado pelo cliente: {}", t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    @Override
+    public void buscarPorNome(BuscarPorNomeRequest request, StreamObserver<Cliente> responseObserver) {
+        stream(responseObserver, () -> {
+            validarSistemaOrigem();
+            for (ClienteResponseDTO cliente : clienteService.buscarPorNome(request.getNome())) {
+                if (cancelado(responseObserver)) {
+                    return;
+                }
+                responseObserver.onNext(ClienteProtoMapper.toProto(cliente));
+            }
+        });
+    }
+
+    @Override
+    public void listar(ListarRequest request, StreamObserver<Cliente> responseObserver) {
+        stream(responseObserver, () -> {
+            validarSistemaOrigem();
+            int tamanhoPagina = request.getTamanhoPagina() <= 0
+                    ? TAMANHO_PAGINA_PADRAO
+                    : Math.min(request.getTamanhoPagina(), TAMANHO_PAGINA_MAXIMO);
+
+            long ultimoId = 0;
+            List<ClienteResponseDTO> clientes;
+            do {
+                clientes = clienteService.listarClientesAposId(ultimoId, tamanhoPagina);
+                for (ClienteResponseDTO cliente : clientes) {
+                    if (cancelado(responseObserver)) {
+                        return;
+                    }
+                    responseObserver.onNext(ClienteProtoMapper.toProto(cliente));
+                    ultimoId = cliente.id();
+                }
+            } while (clientes.size() == tamanhoPagina);
+        });
+    }
+
+    @Override
+    public void atualizar(AtualizarRequest request, StreamObserver<Cliente> responseObserver) {
+        unario(responseObserver, () -> {
+            ClienteRequestDTO clienteRequest = validar(ClienteProtoMapper.toRequestDTO(request.getCliente()));
+            return ClienteProtoMapper.toProto(clienteService.atualizarCliente(request.getId(), clienteRequest));
+        });
+    }
+
+    @Override
+    public void remover(RemoverRequest request, StreamObserver<RemoverResponse> responseObserver) {
+        unario(responseObserver, () -> {
+            clienteService.removerCliente(request.getId());
+            return RemoverResponse.getDefaultInstance();
+        });
+    }
+
+    private <T> void unario(StreamObserver<T> responseObserver, Supplier<T> operacao) {
+        stream(responseObserver, () -> responseObserver.onNext(operacao.get()));
+    }
+
+    /**
+     * Executa a operação com o sistemaOrigem da chamada no contexto e traduz exceções em status gRPC
+     */
+    private <T> void stream(StreamObserver<T> responseObserver, Runnable operacao) {
+        SistemaOrigemContext.set(SistemaOrigemServerInterceptor.SISTEMA_ORIGEM.get());
+        try {
+            operacao.run();
+            responseObserver.onCompleted();
+        } catch (RuntimeException ex) {
+            responseObserver.onError(GrpcErrorMapper.toException(ex));
+        } finally {
+            SistemaOrigemContext.clear();
+        }
+    }
+
+    private void validarSistemaOrigem() {
+        String sistemaOrigem = SistemaOrigemContext.get();
+        if (sistemaOrigem == null || sistemaOrigem.isBlank()) {
+            throw new MissingHeaderException("Header 'sistemaOrigem' é obrigatório para operações de consulta");
+        }
+    }
+
+    private ClienteRequestDTO validar(ClienteRequestDTO clienteRequest) {
+        Set<ConstraintViolation<ClienteRequestDTO>> violacoes = validator.validate(clienteRequest);
+        if (!violacoes.isEmpty()) {
+            throw new ConstraintViolationException("Erro de validação nos dados fornecidos", violacoes);
+        }
+        return clienteRequest;
+    }
+
+    private static boolean cancelado(StreamObserver<?> responseObserver) {
+        return responseObserver instanceof ServerCallStreamObserver<?> serverObserver && serverObserver.isCancelled();
+    }
+}
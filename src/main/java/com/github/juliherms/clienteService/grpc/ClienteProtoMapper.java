@@ -0,0 +1,45 @@
+package com.github.juliherms.clienteService.grpc;
+
+import com.github.juliherms.clienteService.dto.ClienteRequestDTO;
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.grpc.proto.Cliente;
+import com.github.juliherms.clienteService.grpc.proto.ClienteRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Conversões entre as mensagens protobuf e os DTOs do ClienteService
+ */
+final class ClienteProtoMapper {
+
+    private ClienteProtoMapper() {}
+
+    static Cliente toProto(ClienteResponseDTO dto) {
+        return Cliente.newBuilder()
+                .setId(dto.id())
+                .setCpf(dto.cpf())
+                .setNome(dto.nome())
+                .setDataNascimentoEpochDay((int) dto.dataNascimento().toEpochDay())
+                .setRendaMensalCentavos(dto.rendaMensal().movePointRight(2).longValueExact())
+                .setScoreCredito(dto.scoreCredito())
+                .setAposentado(Boolean.TRUE.equals(dto.aposentado()))
+                .setProfissao(dto.profissao())
+                .build();
+    }
+
+    /**
+     * Campos ausentes viram null, e a validação do DTO os recusa como na API REST
+     */
+    static ClienteRequestDTO toRequestDTO(ClienteRequest request) {
+        return new ClienteRequestDTO(
+                request.getCpf(),
+                request.getNome(),
+                request.hasDataNascimentoEpochDay() ? LocalDate.ofEpochDay(request.getDataNascimentoEpochDay()) : null,
+                request.hasRendaMensalCentavos() ? BigDecimal.valueOf(request.getRendaMensalCentavos(), 2) : null,
+                request.hasScoreCredito() ? request.getScoreCredito() : null,
+                request.hasAposentado() ? request.getAposentado() : null,
+                request.getProfissao()
+        );
+    }
+}
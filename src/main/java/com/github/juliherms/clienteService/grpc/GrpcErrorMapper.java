@@ -0,0 +1,41 @@
+package com.github.juliherms.clienteService.grpc;
+
+import com.github.juliherms.clienteService.exception.StatusErro;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import jakarta.validation.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+
+/**
+ * Traduz exceções em status gRPC pela mesma tabela ({@link StatusErro}) do GlobalExceptionHandler
+ */
+final class GrpcErrorMapper {
+
+    private static final Logger logger = LoggerFactory.getLogger(GrpcErrorMapper.class);
+
+    private GrpcErrorMapper() {}
+
+    static Status toStatus(Throwable ex) {
+        Optional<StatusErro> statusErro = StatusErro.de(ex);
+        if (statusErro.isPresent()) {
+            return Status.fromCode(statusErro.get().grpc()).withDescription(ex.getMessage());
+        }
+        // Erros de entrada próprios da API gRPC (validação do ClienteRequest montado a partir da mensagem)
+        if (ex instanceof ConstraintViolationException || ex instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(ex.getMessage());
+        }
+        if (ex instanceof StatusRuntimeException statusException) {
+            return statusException.getStatus();
+        }
+
+        logger.error("Erro interno do servidor: {}", ex.getMessage(), ex);
+        return Status.INTERNAL.withDescription("Erro interno do servidor");
+    }
+
+    static StatusRuntimeException toException(Throwable ex) {
+        return toStatus(ex).asRuntimeException();
+    }
+}
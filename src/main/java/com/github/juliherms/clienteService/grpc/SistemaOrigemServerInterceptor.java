@@ -0,0 +1,29 @@
+package com.github.juliherms.clienteService.grpc;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+
+/**
+ * Equivalente gRPC do SistemaOrigemFilter: expõe o metadata sistemaOrigem no {@link Context} da chamada
+ */
+@GrpcGlobalServerInterceptor
+public class SistemaOrigemServerInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> SISTEMA_ORIGEM_METADATA =
+            Metadata.Key.of("sistemaOrigem", Metadata.ASCII_STRING_MARSHALLER);
+
+    static final Context.Key<String> SISTEMA_ORIGEM = Context.key("sistemaOrigem");
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+
+        Context context = Context.current().withValue(SISTEMA_ORIGEM, headers.get(SISTEMA_ORIGEM_METADATA));
+        return Contexts.interceptCall(context, call, headers, next);
+    }
+}
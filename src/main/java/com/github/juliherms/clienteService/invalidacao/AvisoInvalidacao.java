@@ -0,0 +1,37 @@
+package com.github.juliherms.clienteService.invalidacao;
+
+import com.github.juliherms.clienteService.event.TipoAlteracao;
+
+import java.time.Instant;
+
+/**
+ * Aviso de que um cliente mudou, publicado pela instância que fez a escrita. Sem {@code clienteId}, pede a
+ * descarga completa dos caches (alterações em massa que não identificam os clientes).
+ *
+ * @param sequencia posição no transporte; zero antes da publicação
+ */
+public record AvisoInvalidacao(
+        long sequencia,
+        Long clienteId,
+        String cpf,
+        TipoAlteracao tipo,
+        String instancia,
+        Instant criadoEm
+) {
+
+    public static AvisoInvalidacao cliente(Long clienteId, String cpf, TipoAlteracao tipo, String instancia) {
+        return new AvisoInvalidacao(0, clienteId, cpf, tipo, instancia, Instant.now());
+    }
+
+    public static AvisoInvalidacao descarga(String instancia) {
+        return new AvisoInvalidacao(0, null, null, null, instancia, Instant.now());
+    }
+
+    public boolean descarga() {
+        return clienteId == null;
+    }
+
+    AvisoInvalidacao comSequencia(long sequencia) {
+        return new AvisoInvalidacao(sequencia, clienteId, cpf, tipo, instancia, criadoEm);
+    }
+}
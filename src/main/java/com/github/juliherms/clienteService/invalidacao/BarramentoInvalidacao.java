@@ -0,0 +1,364 @@
+package com.github.juliherms.clienteService.invalidacao;
+
+import com.github.juliherms.clienteService.entity.Cliente;
+import com.github.juliherms.clienteService.event.ClienteAlteradoEvent;
+import com.github.juliherms.clienteService.event.ClienteInvalidadoEvent;
+import com.github.juliherms.clienteService.event.TipoAlteracao;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Barramento de invalidação entre instâncias: cada escrita confirmada vira um {@link AvisoInvalidacao} no
+ * {@link TransporteInvalidacao}, publicado na mesma transação, e cada instância lê os avisos das outras a cada
+ * {@code intervalo}, republicando-os localmente como {@link ClienteInvalidadoEvent} para os caches (snapshot,
+ * filtro de CPFs, base de elegibilidade). Os avisos da própria instância são ignorados, pois os caches locais já
+ * receberam o ClienteAlteradoEvent. Scores atualizados em lote geram um aviso por cliente, publicados em batch.
+ *
+ * <p>IDs de transações ainda abertas podem ser confirmados fora de ordem. Como aplicar um aviso só descarta ou relê
+ * o cliente, a ordem não importa: a leitura segue adiante, e as sequências que faltaram são relidas a cada sondagem
+ * e aplicadas quando aparecerem. A idade de um buraco é medida pelo relógio desta instância, desde que ele foi
+ * visto. Um buraco que não se fecha em {@code estabilizacao} e está acima da primeira sequência guardada é de uma
+ * transação desfeita, pois o expurgo só remove prefixos da sequência, e é descartado. Abaixo dela o aviso pode ter
+ * sido confirmado e expurgado antes de ser lido, e os caches são descarregados por completo. O mesmo acontece
+ * quando um cache falha ao aplicar um aviso e quando outra instância pede a descarga. Uma transação de escrita
+ * aberta por mais que {@code estabilizacao} é tomada por desfeita. As descargas rodam em uma
+ * thread própria, uma por vez, e pedidos feitos durante uma descarga resultam em apenas mais uma.</p>
+ *
+ * <p>O atraso até a aplicação é medido em {@code cliente.invalidacao.atraso}, a partir do relógio da instância que
+ * publicou o aviso.</p>
+ */
+@Component
+@ConditionalOnExpression("${cliente.invalidacao.enabled:false} and !${cliente.sharding.enabled:false}")
+public class BarramentoInvalidacao implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(BarramentoInvalidacao.class);
+
+    enum Motivo { BURACO, FALHA, AVISO }
+
+    // Acima disso, um buraco novo (instância muito atrasada) descarrega os caches em vez de ser acompanhado
+    private static final int MAXIMO_BURACOS = 10_000;
+
+    @Autowired
+    private TransporteInvalidacao transporte;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${cliente.invalidacao.instancia:}")
+    private String instancia;
+
+    @Value("${cliente.invalidacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${cliente.invalidacao.estabilizacao:1m}")
+    private Duration estabilizacao;
+
+    @Value("${cliente.invalidacao.retencao:1h}")
+    private Duration retencao;
+
+    private ExecutorService descargas;
+    private final AtomicBoolean descargaPendente = new AtomicBoolean();
+
+    // Só a thread de sondagem altera depois da subida; -1 enquanto a leitura inicial não der certo
+    private volatile long ultimaSequencia = -1;
+    private volatile boolean iniciado;
+
+    // Sequências ausentes abaixo de ultimaSequencia -> instante (relógio local) em que o buraco foi visto. Só a
+    // thread de sondagem acessa
+    private final Map<Long, Long> buracos = new LinkedHashMap<>();
+
+    private final AtomicLong publicados = new AtomicLong();
+    private final AtomicLong aplicados = new AtomicLong();
+    private final AtomicLong desfeitos = new AtomicLong();
+    private final Map<Motivo, AtomicLong> descargasPorMotivo = new EnumMap<>(Motivo.class);
+
+    {
+        for (Motivo motivo : Motivo.values()) {
+            descargasPorMotivo.put(motivo, new AtomicLong());
+        }
+    }
+
+    private volatile Timer atraso;
+
+    @PostConstruct
+    void iniciarDescargas() {
+        if (instancia == null || instancia.isBlank()) {
+            instancia = UUID.randomUUID().toString();
+        }
+        descargas = Executors.newSingleThreadExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "invalidacao-descarga");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void parar() {
+        descargas.shutdownNow();
+    }
+
+    /**
+     * Parte da última sequência publicada. Roda antes das cargas iniciais dos caches, para que os avisos
+     * confirmados durante elas sejam aplicados depois.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void iniciar() {
+        try {
+            ultimaSequencia = transporte.ultimaSequencia();
+            logger.info("Barramento de invalidação iniciado como {} a partir da sequência {}", instancia,
+                    ultimaSequencia);
+        } catch (RuntimeException ex) {
+            logger.warn("Falha ao ler a sequência inicial do barramento de invalidação; nova tentativa na "
+                    + "próxima sondagem", ex);
+        }
+        iniciado = true;
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onClienteAlterado(ClienteAlteradoEvent event) {
+        String cpf = event.cliente() == null ? null : event.cliente().cpf();
+        transporte.publicar(AvisoInvalidacao.cliente(event.id(), cpf, event.tipo(), instancia));
+        publicados.incrementAndGet();
+    }
+
+    /**
+     * Avisa as outras instâncias de clientes atualizados fora do ClienteService (scores em lote), junto com a
+     * transação corrente e em um único batch
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publicarAtualizacoes(List<Cliente> clientes) {
+        List<AvisoInvalidacao> avisos = new ArrayList<>(clientes.size());
+        for (Cliente cliente : clientes) {
+            avisos.add(AvisoInvalidacao.cliente(cliente.getId(), cliente.getCpf(), TipoAlteracao.ATUALIZACAO,
+                    instancia));
+        }
+        transporte.publicar(avisos);
+        publicados.addAndGet(avisos.size());
+    }
+
+    /**
+     * Pede às outras instâncias a descarga completa dos caches, junto com a transação corrente (alterações em
+     * massa que não identificam os clientes alterados)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publicarDescarga() {
+        transporte.publicar(AvisoInvalidacao.descarga(instancia));
+        publicados.incrementAndGet();
+    }
+
+    /**
+     * Aplica os avisos novos das outras instâncias. Retorna a quantidade de avisos lidos.
+     */
+    @Scheduled(fixedDelayString = "${cliente.invalidacao.intervalo:PT0.5S}",
+            initialDelayString = "${cliente.invalidacao.intervalo:PT0.5S}")
+    public int sondar() {
+        if (!iniciado) {
+            return 0;
+        }
+        if (ultimaSequencia < 0) {
+            // A sequência inicial não foi lida na subida: o que foi publicado desde então se perdeu
+            ultimaSequencia = transporte.ultimaSequencia();
+            descarregar(Motivo.FALHA);
+            return 0;
+        }
+
+        int total = reverBuracos();
+        while (true) {
+            List<AvisoInvalidacao> avisos = transporte.ler(ultimaSequencia, tamanhoLote);
+            long agora = System.currentTimeMillis();
+            for (AvisoInvalidacao aviso : avisos) {
+                registrarBuraco(ultimaSequencia + 1, aviso.sequencia() - 1, agora);
+                aplicarDeOutraInstancia(aviso);
+                ultimaSequencia = aviso.sequencia();
+            }
+            total += avisos.size();
+            if (avisos.size() < tamanhoLote) {
+                return total;
+            }
+        }
+    }
+
+    private void registrarBuraco(long de, long ate, long agora) {
+        if (ate < de) {
+            return;
+        }
+        if (ate - de + 1 > MAXIMO_BURACOS - buracos.size()) {
+            logger.warn("Avisos de invalidação {} a {} ausentes; descarregando os caches", de, ate);
+            descarregar(Motivo.BURACO);
+            return;
+        }
+        for (long sequencia = de; sequencia <= ate; sequencia++) {
+            buracos.put(sequencia, agora);
+        }
+    }
+
+    /**
+     * Aplica os avisos confirmados depois que a leitura passou por eles e desiste dos buracos com mais de
+     * {@code estabilizacao}: os de transações desfeitas são só descartados, e os que podem ter sido expurgados
+     * descarregam os caches
+     */
+    private int reverBuracos() {
+        if (buracos.isEmpty()) {
+            return 0;
+        }
+        List<AvisoInvalidacao> atrasados = transporte.ler(buracos.keySet());
+        for (AvisoInvalidacao aviso : atrasados) {
+            buracos.remove(aviso.sequencia());
+            aplicarDeOutraInstancia(aviso);
+        }
+        long vistosAntesDe = System.currentTimeMillis() - estabilizacao.toMillis();
+        List<Long> estabilizados = new ArrayList<>();
+        buracos.forEach((sequencia, visto) -> {
+            if (visto < vistosAntesDe) {
+                estabilizados.add(sequencia);
+            }
+        });
+        if (estabilizados.isEmpty()) {
+            return atrasados.size();
+        }
+        // Lida depois da releitura: um aviso confirmado acima dela ainda estaria na tabela
+        long primeiraSequencia = transporte.primeiraSequencia();
+        int perdidos = 0;
+        for (Long sequencia : estabilizados) {
+            buracos.remove(sequencia);
+            if (sequencia < primeiraSequencia) {
+                perdidos++;
+            }
+        }
+        desfeitos.addAndGet(estabilizados.size() - perdidos);
+        if (perdidos > 0) {
+            logger.warn("{} avisos de invalidação ausentes há mais de {} e possivelmente expurgados; descarregando "
+                    + "os caches", perdidos, estabilizacao);
+            descarregar(Motivo.BURACO);
+        }
+        return atrasados.size();
+    }
+
+    private void aplicarDeOutraInstancia(AvisoInvalidacao aviso) {
+        if (!instancia.equals(aviso.instancia())) {
+            aplicar(aviso);
+        }
+    }
+
+    private void aplicar(AvisoInvalidacao aviso) {
+        if (aviso.descarga()) {
+            descarregar(Motivo.AVISO);
+        } else {
+            try {
+                eventPublisher.publishEvent(new ClienteInvalidadoEvent(aviso.clienteId(), aviso.cpf(), aviso.tipo()));
+            } catch (RuntimeException ex) {
+                logger.warn("Falha ao aplicar a invalidação do cliente {}; descarregando os caches",
+                        aviso.clienteId(), ex);
+                descarregar(Motivo.FALHA);
+            }
+        }
+        aplicados.incrementAndGet();
+        Timer timer = atraso;
+        if (timer != null) {
+            timer.record(Math.max(0, System.currentTimeMillis() - aviso.criadoEm().toEpochMilli()),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void descarregar(Motivo motivo) {
+        descargasPorMotivo.get(motivo).incrementAndGet();
+        if (!descargaPendente.compareAndSet(false, true)) {
+            return;
+        }
+        descargas.execute(() -> {
+            descargaPendente.set(false);
+            long inicio = System.currentTimeMillis();
+            try {
+                eventPublisher.publishEvent(ClienteInvalidadoEvent.todos());
+                logger.info("Caches descarregados ({}) em {} ms", motivo.name().toLowerCase(Locale.ROOT),
+                        System.currentTimeMillis() - inicio);
+            } catch (RuntimeException ex) {
+                logger.error("Falha ao descarregar os caches", ex);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${cliente.invalidacao.intervalo-expurgo:PT1M}",
+            initialDelayString = "${cliente.invalidacao.intervalo-expurgo:PT1M}")
+    public void expurgar() {
+        int expurgados = transporte.expurgar(Instant.now().minus(retencao));
+        if (expurgados > 0) {
+            logger.debug("{} avisos de invalidação expurgados", expurgados);
+        }
+    }
+
+    String instancia() {
+        return instancia;
+    }
+
+    int buracos() {
+        return buracos.size();
+    }
+
+    long desfeitos() {
+        return desfeitos.get();
+    }
+
+    long descargas(Motivo motivo) {
+        return descargasPorMotivo.get(motivo).get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cliente.invalidacao.avisos", publicados, AtomicLong::get)
+                .tag("resultado", "publicado")
+                .register(registry);
+        FunctionCounter.builder("cliente.invalidacao.avisos", aplicados, AtomicLong::get)
+                .tag("resultado", "aplicado")
+                .register(registry);
+        FunctionCounter.builder("cliente.invalidacao.avisos", desfeitos, AtomicLong::get)
+                .tag("resultado", "desfeito")
+                .description("Avisos publicados por esta instância, avisos de outras instâncias aplicados aqui e "
+                        + "sequências descartadas por transação desfeita")
+                .register(registry);
+        descargasPorMotivo.forEach((motivo, contador) ->
+                FunctionCounter.builder("cliente.invalidacao.descargas", contador, AtomicLong::get)
+                        .tag("motivo", motivo.name().toLowerCase(Locale.ROOT))
+                        .description("Descargas completas dos caches por buraco na sequência, falha ou pedido")
+                        .register(registry));
+        atraso = Timer.builder("cliente.invalidacao.atraso")
+                .description("Tempo entre a publicação de um aviso por outra instância e a sua aplicação aqui")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+}
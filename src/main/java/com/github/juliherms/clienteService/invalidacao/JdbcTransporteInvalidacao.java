@@ -0,0 +1,109 @@
+package com.github.juliherms.clienteService.invalidacao;
+
+import com.github.juliherms.clienteService.event.TipoAlteracao;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Transporte pela tabela {@code invalidacao_clientes} do banco compartilhado: a publicação é um INSERT na
+ * transação da escrita, e cada instância lê as linhas com ID maior que o último aplicado.
+ */
+public class JdbcTransporteInvalidacao implements TransporteInvalidacao {
+
+    private static final String INSERT = "INSERT INTO invalidacao_clientes "
+            + "(cliente_id, cpf, tipo, instancia, criado_em) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SELECT = "SELECT id, cliente_id, cpf, tipo, instancia, criado_em "
+            + "FROM invalidacao_clientes ";
+
+    private static final int MAXIMO_IN = 1000;
+
+    private static final RowMapper<AvisoInvalidacao> AVISO_MAPPER = (rs, rowNum) -> {
+        long clienteId = rs.getLong("cliente_id");
+        String tipo = rs.getString("tipo");
+        return new AvisoInvalidacao(
+                rs.getLong("id"),
+                rs.wasNull() ? null : clienteId,
+                rs.getString("cpf"),
+                tipo == null ? null : TipoAlteracao.valueOf(tipo),
+                rs.getString("instancia"),
+                rs.getTimestamp("criado_em").toInstant());
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcTransporteInvalidacao(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void publicar(AvisoInvalidacao aviso) {
+        jdbcTemplate.update(INSERT, aviso.clienteId(), aviso.cpf(), aviso.tipo() == null ? null : aviso.tipo().name(),
+                aviso.instancia(), Timestamp.from(aviso.criadoEm()));
+    }
+
+    @Override
+    public void publicar(List<AvisoInvalidacao> avisos) {
+        jdbcTemplate.batchUpdate(INSERT, avisos, avisos.size(), (ps, aviso) -> {
+            ps.setObject(1, aviso.clienteId());
+            ps.setString(2, aviso.cpf());
+            ps.setString(3, aviso.tipo() == null ? null : aviso.tipo().name());
+            ps.setString(4, aviso.instancia());
+            ps.setTimestamp(5, Timestamp.from(aviso.criadoEm()));
+        });
+    }
+
+    @Override
+    public List<AvisoInvalidacao> ler(long aposSequencia, int limite) {
+        return jdbcTemplate.query(SELECT + "WHERE id > ? ORDER BY id LIMIT ?", AVISO_MAPPER, aposSequencia, limite);
+    }
+
+    @Override
+    public List<AvisoInvalidacao> ler(Collection<Long> sequencias) {
+        List<AvisoInvalidacao> lidos = new ArrayList<>();
+        List<Long> restantes = new ArrayList<>(sequencias);
+        for (int inicio = 0; inicio < restantes.size(); inicio += MAXIMO_IN) {
+            List<Long> parte = restantes.subList(inicio, Math.min(restantes.size(), inicio + MAXIMO_IN));
+            lidos.addAll(jdbcTemplate.query(SELECT + "WHERE id IN ("
+                    + String.join(", ", Collections.nCopies(parte.size(), "?")) + ") ORDER BY id",
+                    AVISO_MAPPER, parte.toArray()));
+        }
+        return lidos;
+    }
+
+    @Override
+    public long ultimaSequencia() {
+        Long ultima = jdbcTemplate.queryForObject("SELECT MAX(id) FROM invalidacao_clientes", Long.class);
+        return ultima == null ? 0 : ultima;
+    }
+
+    @Override
+    public long primeiraSequencia() {
+        Long primeira = jdbcTemplate.queryForObject("SELECT MIN(id) FROM invalidacao_clientes", Long.class);
+        return primeira == null ? 0 : primeira;
+    }
+
+    /**
+     * Remove pelo ID, até o aviso mais novo anterior a {@code antesDe}: os relógios das instâncias não seguem a
+     * ordem da sequência, e apagar só pelo {@code criado_em} deixaria buracos acima da primeira sequência
+     */
+    @Override
+    public int expurgar(Instant antesDe) {
+        Long corte = jdbcTemplate.queryForObject("SELECT MAX(id) FROM invalidacao_clientes WHERE criado_em < ?",
+                Long.class, Timestamp.from(antesDe));
+        if (corte == null) {
+            return 0;
+        }
+        // O último aviso fica: com a tabela vazia, uma instância que subisse leria sequência zero e tomaria o
+        // próximo ID do AUTO_INCREMENT por um buraco
+        return jdbcTemplate.update("DELETE FROM invalidacao_clientes WHERE id <= ? AND id < ?", corte,
+                ultimaSequencia());
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.juliherms.clienteService.invalidacao;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Transporte em memória, para testes e para uma única instância: só os barramentos do mesmo processo leem os
+ * avisos. Avisos publicados dentro de uma transação entram no commit, então a sequência não tem buracos.
+ */
+public class MemoriaTransporteInvalidacao implements TransporteInvalidacao {
+
+    private final List<AvisoInvalidacao> avisos = new ArrayList<>();
+    private long sequencia;
+
+    @Override
+    public void publicar(AvisoInvalidacao aviso) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            anexar(aviso);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                anexar(aviso);
+            }
+        });
+    }
+
+    private synchronized void anexar(AvisoInvalidacao aviso) {
+        avisos.add(aviso.comSequencia(++sequencia));
+    }
+
+    @Override
+    public synchronized List<AvisoInvalidacao> ler(long aposSequencia, int limite) {
+        List<AvisoInvalidacao> lidos = new ArrayList<>();
+        for (AvisoInvalidacao aviso : avisos) {
+            if (aviso.sequencia() > aposSequencia && lidos.size() < limite) {
+                lidos.add(aviso);
+            }
+        }
+        return lidos;
+    }
+
+    @Override
+    public synchronized List<AvisoInvalidacao> ler(Collection<Long> sequencias) {
+        List<AvisoInvalidacao> lidos = new ArrayList<>();
+        for (AvisoInvalidacao aviso : avisos) {
+            if (sequencias.contains(aviso.sequencia())) {
+                lidos.add(aviso);
+            }
+        }
+        return lidos;
+    }
+
+    @Override
+    public synchronized long ultimaSequencia() {
+        return sequencia;
+    }
+
+    @Override
+    public synchronized long primeiraSequencia() {
+        return avisos.isEmpty() ? 0 : avisos.get(0).sequencia();
+    }
+
+    @Override
+    public synchronized int expurgar(Instant antesDe) {
+        long corte = 0;
+        for (AvisoInvalidacao aviso : avisos) {
+            if (aviso.criadoEm().isBefore(antesDe)) {
+                corte = aviso.sequencia();
+            }
+        }
+        long ate = corte;
+        int antes = avisos.size();
+        avisos.removeIf(aviso -> aviso.sequencia() <= ate && aviso.sequencia() < sequencia);
+        return antes - avisos.size();
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.juliherms.clienteService.invalidacao;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Meio pelo qual os avisos de invalidação chegam a todas as instâncias, lido pelo {@link BarramentoInvalidacao}.
+ *
+ * <p>A sequência é crescente e, salvo transações desfeitas ou avisos expurgados, contínua: o barramento relê as
+ * sequências que faltam por um tempo. O expurgo remove sempre um prefixo da sequência, então um buraco acima da
+ * {@link #primeiraSequencia()} que não se fecha é de uma transação desfeita, e só os de baixo podem ser avisos
+ * perdidos. Integrações com um broker entram como outra implementação.</p>
+ */
+public interface TransporteInvalidacao {
+
+    /**
+     * Publica o aviso junto com a transação corrente, se houver: as outras instâncias só o veem se ela for
+     * confirmada
+     */
+    void publicar(AvisoInvalidacao aviso);
+
+    /**
+     * Publica vários avisos junto com a transação corrente, na ordem da lista
+     */
+    default void publicar(List<AvisoInvalidacao> avisos) {
+        avisos.forEach(this::publicar);
+    }
+
+    /**
+     * Até {@code limite} avisos com sequência maior que {@code aposSequencia}, em ordem
+     */
+    List<AvisoInvalidacao> ler(long aposSequencia, int limite);
+
+    /**
+     * Os avisos, dentre as sequências informadas, que já foram confirmados, em ordem
+     */
+    List<AvisoInvalidacao> ler(Collection<Long> sequencias);
+
+    /**
+     * Maior sequência publicada, ou zero
+     */
+    long ultimaSequencia();
+
+    /**
+     * Menor sequência guardada, ou zero: as sequências abaixo dela podem ter sido expurgadas
+     */
+    long primeiraSequencia();
+
+    /**
+     * Remove os avisos até o mais novo anterior a {@code antesDe}, sempre mantendo o último, e devolve quantos
+     * removeu. Os removidos são sempre um prefixo da sequência.
+     */
+    int expurgar(Instant antesDe);
+}
@@ -0,0 +1,29 @@
+package com.github.juliherms.clienteService.jfr;
+
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * Aplica o {@link InterceptadorJfr} aos métodos públicos das classes informadas. Beans que já são proxies (como o
+ * {@code ClienteService}, transacional) recebem o interceptor antes dos demais, para que o evento inclua o commit.
+ */
+public class EventosJfrPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    public EventosJfrPostProcessor(Class<?>... classes) {
+        Set<Class<?>> interceptadas = Set.of(classes);
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getDeclaringClass() != Object.class;
+            }
+        };
+        pointcut.setClassFilter(interceptadas::contains);
+        this.advisor = new DefaultPointcutAdvisor(pointcut, new InterceptadorJfr());
+        this.beforeExistingAdvisors = true;
+        setProxyTargetClass(true);
+    }
+}
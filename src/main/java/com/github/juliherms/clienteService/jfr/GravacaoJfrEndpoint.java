@@ -0,0 +1,154 @@
+package com.github.juliherms.clienteService.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Endpoint {@code /actuator/jfr}: grava o JDK Flight Recorder por {@code segundos} (limitado a
+ * {@code duracaoMaxima}), com os {@link OperacaoClienteEvent} ligados, e devolve o arquivo {@code .jfr}. Uma
+ * gravação por vez; enquanto ela dura, novas chamadas recebem 429.
+ *
+ * <p>A requisição fica presa durante a gravação. A gravação também tem duração própria, um pouco maior, para
+ * parar sozinha mesmo que a thread da requisição não chegue a encerrá-la.</p>
+ *
+ * <p>As variáveis de ambiente e as propriedades de sistema da JVM (credenciais do banco, entre outras) ficam fora
+ * do arquivo, mesmo que a configuração escolhida as grave.</p>
+ */
+@WebEndpoint(id = "jfr")
+public class GravacaoJfrEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(GravacaoJfrEndpoint.class);
+
+    private static final Set<String> CONFIGURACOES = Set.of("default", "profile");
+    private static final Duration MARGEM = Duration.ofSeconds(30);
+    private static final List<String> EVENTOS_SENSIVEIS = List.of("jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty");
+
+    private final Duration duracaoPadrao;
+    private final Duration duracaoMaxima;
+    private final AtomicBoolean gravando = new AtomicBoolean();
+
+    public GravacaoJfrEndpoint(Duration duracaoPadrao, Duration duracaoMaxima) {
+        this.duracaoPadrao = duracaoPadrao;
+        this.duracaoMaxima = duracaoMaxima;
+    }
+
+    /**
+     * @param segundos     duração da gravação (padrão {@code cliente.jfr.duracao-padrao})
+     * @param configuracao {@code profile} (padrão, amostragem mais fina) ou {@code default} (menor overhead)
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> gravar(@OptionalParameter Integer segundos,
+                                                @OptionalParameter String configuracao) throws IOException {
+        Duration duracao = duracao(segundos);
+        Configuration jfc = configuracao(configuracao == null ? "profile" : configuracao);
+        if (!FlightRecorder.isAvailable()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        }
+        if (!gravando.compareAndSet(false, true)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+        try {
+            return new WebEndpointResponse<>(gravar(duracao, jfc), WebEndpointResponse.STATUS_OK);
+        } finally {
+            gravando.set(false);
+        }
+    }
+
+    private Resource gravar(Duration duracao, Configuration jfc) throws IOException {
+        Path arquivo = Files.createTempFile("cliente-service-", ".jfr");
+        try (Recording recording = new Recording(jfc)) {
+            recording.setName("cliente-service-actuator");
+            recording.enable(OperacaoClienteEvent.class);
+            EVENTOS_SENSIVEIS.forEach(recording::disable);
+            recording.setDuration(duracao.plus(MARGEM));
+            recording.start();
+            logger.info("Gravação JFR iniciada ({}, {} s)", jfc.getName(), duracao.toSeconds());
+            try {
+                Thread.sleep(duracao.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            recording.stop();
+            recording.dump(arquivo);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(arquivo);
+            throw ex;
+        }
+        logger.info("Gravação JFR concluída: {} bytes", Files.size(arquivo));
+        return new ArquivoTemporario(arquivo);
+    }
+
+    private Duration duracao(Integer segundos) {
+        if (segundos == null) {
+            return duracaoPadrao;
+        }
+        if (segundos < 1 || segundos > duracaoMaxima.toSeconds()) {
+            throw new InvalidEndpointRequestException("Duração inválida: " + segundos,
+                    "segundos deve estar entre 1 e " + duracaoMaxima.toSeconds());
+        }
+        return Duration.ofSeconds(segundos);
+    }
+
+    private static Configuration configuracao(String nome) {
+        if (!CONFIGURACOES.contains(nome)) {
+            throw new InvalidEndpointRequestException("Configuração inválida: " + nome,
+                    "configuracao deve ser profile ou default");
+        }
+        try {
+            return Configuration.getConfiguration(nome);
+        } catch (IOException | ParseException ex) {
+            throw new IllegalStateException("Configuração JFR " + nome + " indisponível", ex);
+        }
+    }
+
+    /**
+     * Arquivo da gravação, apagado assim que a resposta termina de lê-lo
+     */
+    private static final class ArquivoTemporario extends FileSystemResource {
+
+        ArquivoTemporario(Path arquivo) {
+            super(arquivo);
+            arquivo.toFile().deleteOnExit();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(getFile().toPath(), StandardOpenOption.DELETE_ON_CLOSE);
+        }
+
+        @Override
+        public ReadableByteChannel readableChannel() throws IOException {
+            return Files.newByteChannel(getFile().toPath(), StandardOpenOption.READ,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+        }
+
+        @Override
+        public boolean isFile() {
+            // Impede que a resposta use o arquivo direto (zero-copy) sem passar pelo stream que o apaga
+            return false;
+        }
+    }
+}
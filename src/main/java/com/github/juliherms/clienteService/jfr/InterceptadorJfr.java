@@ -0,0 +1,87 @@
+package com.github.juliherms.clienteService.jfr;
+
+import com.github.juliherms.clienteService.dto.ResultadoAtualizacaoScoresDTO;
+import com.github.juliherms.clienteService.web.SistemaOrigemContext;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Emite um {@link OperacaoClienteEvent} por chamada interceptada. Sem gravação JFR ativa o evento está desligado
+ * e a chamada segue direto, sem custo além da checagem.
+ */
+public class InterceptadorJfr implements MethodInterceptor {
+
+    static final String SUCESSO = "sucesso";
+
+    private record Operacao(String camada, String nome) {}
+
+    private final Map<Method, Operacao> operacoes = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        OperacaoClienteEvent evento = new OperacaoClienteEvent();
+        if (!evento.isEnabled()) {
+            return invocation.proceed();
+        }
+        evento.begin();
+        Object retorno;
+        try {
+            retorno = invocation.proceed();
+        } catch (Throwable ex) {
+            registrar(evento, invocation.getMethod(), 0, ex.getClass().getSimpleName());
+            throw ex;
+        }
+        registrar(evento, invocation.getMethod(), linhas(retorno), SUCESSO);
+        return retorno;
+    }
+
+    private void registrar(OperacaoClienteEvent evento, Method metodo, long linhas, String resultado) {
+        evento.end();
+        if (evento.shouldCommit()) {
+            Operacao operacao = operacoes.computeIfAbsent(metodo, InterceptadorJfr::operacao);
+            evento.camada = operacao.camada();
+            evento.operacao = operacao.nome();
+            evento.sistemaOrigem = SistemaOrigemContext.get();
+            evento.linhas = linhas;
+            evento.resultado = resultado;
+            evento.commit();
+        }
+    }
+
+    private static Operacao operacao(Method metodo) {
+        Class<?> classe = metodo.getDeclaringClass();
+        String camada = AnnotatedElementUtils.hasAnnotation(classe, Controller.class) ? "controller" : "service";
+        return new Operacao(camada, classe.getSimpleName() + "." + metodo.getName());
+    }
+
+    /**
+     * Clientes devolvidos (listas e páginas pelo tamanho, um cliente ou projeção como 1) ou alterados
+     */
+    static long linhas(Object retorno) {
+        if (retorno instanceof ResponseEntity<?> resposta) {
+            return linhas(resposta.getBody());
+        }
+        if (retorno == null) {
+            return 0;
+        }
+        if (retorno instanceof Page<?> pagina) {
+            return pagina.getNumberOfElements();
+        }
+        if (retorno instanceof Collection<?> colecao) {
+            return colecao.size();
+        }
+        if (retorno instanceof ResultadoAtualizacaoScoresDTO resultado) {
+            return resultado.atualizados();
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.juliherms.clienteService.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma chamada a um método de {@code ClienteController} ou {@code ClienteService}, com a duração,
+ * o sistema de origem e o resultado. Sem pilha de chamadas: a atribuição de CPU fica com as amostras de execução
+ * da própria gravação, cruzadas pelo intervalo e pela thread do evento.
+ */
+@Name(OperacaoClienteEvent.NOME)
+@Label("Operação de cliente")
+@Category({"Cliente API"})
+@Description("Chamada a um método do controller ou do serviço de clientes")
+@StackTrace(false)
+class OperacaoClienteEvent extends Event {
+
+    static final String NOME = "com.github.juliherms.clienteService.Operacao";
+
+    @Label("Camada")
+    @Description("controller ou service")
+    String camada;
+
+    @Label("Operação")
+    @Description("Classe.metodo chamado")
+    String operacao;
+
+    @Label("Sistema de origem")
+    String sistemaOrigem;
+
+    @Label("Linhas")
+    @Description("Clientes devolvidos ou alterados pela chamada")
+    long linhas;
+
+    @Label("Resultado")
+    @Description("sucesso ou o nome da exceção lançada")
+    String resultado;
+}
@@ -0,0 +1,49 @@
+package com.github.juliherms.clienteService.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sink que acrescenta cada evento como uma linha JSON (NDJSON) ao arquivo configurado
+ */
+public class ArquivoOutboxSink implements OutboxSink {
+
+    private final Path arquivo;
+    private final ObjectMapper objectMapper;
+
+    public ArquivoOutboxSink(Path arquivo, ObjectMapper objectMapper) {
+        this.arquivo = arquivo;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void entregar(List<EventoOutbox> eventos) {
+        try (Writer writer = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (EventoOutbox evento : eventos) {
+                ObjectNode linha = objectMapper.createObjectNode()
+                        .put("id", evento.id())
+                        .put("clienteId", evento.clienteId())
+                        .put("tipo", evento.tipo().name())
+                        .put("sistemaOrigem", evento.sistemaOrigem())
+                        .put("criadoEm", evento.criadoEm().toString());
+                if (evento.payload() != null) {
+                    linha.set("cliente", objectMapper.readTree(evento.payload()));
+                }
+                writer.write(objectMapper.writeValueAsString(linha));
+                writer.write('\n');
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao gravar eventos do outbox em " + arquivo, ex);
+        }
+    }
+}
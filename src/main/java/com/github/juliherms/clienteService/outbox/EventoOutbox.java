@@ -0,0 +1,18 @@
+package com.github.juliherms.clienteService.outbox;
+
+import com.github.juliherms.clienteService.event.TipoAlteracao;
+
+import java.time.Instant;
+
+/**
+ * Alteração de cliente gravada no outbox. {@code payload} é o ClienteResponseDTO em JSON, nulo em remoções.
+ * O {@code id} cresce com a ordem de gravação e serve para o consumidor descartar reentregas.
+ */
+public record EventoOutbox(
+        long id,
+        long clienteId,
+        TipoAlteracao tipo,
+        String sistemaOrigem,
+        String payload,
+        Instant criadoEm
+) {}
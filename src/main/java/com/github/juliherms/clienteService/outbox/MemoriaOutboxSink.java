@@ -0,0 +1,27 @@
+package com.github.juliherms.clienteService.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Sink em memória, para testes e para consumidores no mesmo processo
+ */
+public class MemoriaOutboxSink implements OutboxSink {
+
+    private final Queue<EventoOutbox> entregues = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void entregar(List<EventoOutbox> eventos) {
+        entregues.addAll(eventos);
+    }
+
+    public List<EventoOutbox> entregues() {
+        return new ArrayList<>(entregues);
+    }
+
+    public void limpar() {
+        entregues.clear();
+    }
+}
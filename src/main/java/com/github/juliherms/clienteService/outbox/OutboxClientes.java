@@ -0,0 +1,96 @@
+package com.github.juliherms.clienteService.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.event.ClienteAlteradoEvent;
+import com.github.juliherms.clienteService.event.TipoAlteracao;
+import com.github.juliherms.clienteService.web.SistemaOrigemContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Grava cada {@link ClienteAlteradoEvent} em {@code outbox_clientes} na mesma transação da escrita do
+ * cliente: o evento só existe se a alteração for confirmada, e nenhuma alteração confirmada fica sem evento.
+ * Não roda com sharding, cujas escritas não participam da transação do banco principal.
+ *
+ * <p>O ID do evento só é gerado com a linha do cliente travada pela transação. O JPA adia o UPDATE até o commit,
+ * então o evento individual trava a linha antes de inserir; a atualização em lote já gravou os scores por JDBC.
+ * Assim, duas transações que alteram o mesmo cliente geram os IDs na ordem em que confirmam, e um ID ainda não
+ * confirmado nunca fica abaixo de um evento já visível do mesmo cliente, o que o {@link RelayOutbox} usa para
+ * entregar cada cliente em ordem mesmo passando por buracos na sequência.</p>
+ */
+@Component
+@ConditionalOnExpression("${cliente.outbox.enabled:false} and !${cliente.sharding.enabled:false}")
+public class OutboxClientes {
+
+    private static final String INSERT = "INSERT INTO outbox_clientes "
+            + "(cliente_id, tipo, sistema_origem, payload, criado_em) VALUES (?, ?, ?, ?, ?)";
+
+    // Arquivados não estão em clientes: a remoção já travou a linha em clientes_arquivo com o UPDATE
+    private static final String TRAVAR_CLIENTE = "SELECT id FROM clientes WHERE id = ? FOR UPDATE";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onClienteAlterado(ClienteAlteradoEvent event) {
+        jdbcTemplate.queryForList(TRAVAR_CLIENTE, Long.class, event.id());
+        jdbcTemplate.update(INSERT, event.id(), event.tipo().name(),
+                SistemaOrigemContext.paraGravacao(event.sistemaOrigem()), payload(event),
+                new Timestamp(System.currentTimeMillis()));
+    }
+
+    /**
+     * Um evento de atualização por cliente, num único batch. Usado pelas atualizações em lote, que não publicam um
+     * ClienteAlteradoEvent por cliente.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarAtualizacoes(List<ClienteResponseDTO> clientes, String sistemaOrigem) {
+        Timestamp criadoEm = new Timestamp(System.currentTimeMillis());
+        String origem = SistemaOrigemContext.paraGravacao(sistemaOrigem);
+        List<String> payloads = clientes.stream().map(this::payload).toList();
+        jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, clientes.get(i).id());
+                ps.setString(2, TipoAlteracao.ATUALIZACAO.name());
+                ps.setString(3, origem);
+                ps.setString(4, payloads.get(i));
+                ps.setTimestamp(5, criadoEm);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return clientes.size();
+            }
+        });
+    }
+
+    private String payload(ClienteAlteradoEvent event) {
+        return event.cliente() == null ? null : payload(event.cliente());
+    }
+
+    private String payload(ClienteResponseDTO cliente) {
+        try {
+            return objectMapper.writeValueAsString(cliente);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Falha ao serializar o cliente " + cliente.id() + " para o outbox", ex);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.github.juliherms.clienteService.outbox;
+
+import java.util.List;
+
+/**
+ * Destino das alterações drenadas do outbox pelo {@link RelayOutbox}.
+ *
+ * <p>Cada chamada recebe, na ordem de gravação, eventos de um mesmo grupo de clientes; chamadas de grupos
+ * diferentes acontecem em paralelo, então a implementação deve ser thread-safe. Lançar uma exceção faz
+ * o lote inteiro ser reentregue no próximo ciclo (entrega pelo menos uma vez).</p>
+ */
+public interface OutboxSink {
+
+    void entregar(List<EventoOutbox> eventos);
+}
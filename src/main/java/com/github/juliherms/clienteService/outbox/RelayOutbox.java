@@ -0,0 +1,306 @@
+package com.github.juliherms.clienteService.outbox;
+
+import com.github.juliherms.clienteService.event.TipoAlteracao;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drena {@code outbox_clientes} em lotes e entrega os eventos ao {@link OutboxSink}.
+ *
+ * <p>Cada lote é lido após o checkpoint do relay. Só uma instância entrega por vez: ela reserva o checkpoint por
+ * {@code reserva} em uma transação curta e entrega fora dela, sem segurar a trava da linha enquanto o sink
+ * responde. Os eventos são divididos em {@code paralelismo} faixas pelo ID do cliente e as faixas são
+ * entregues em paralelo, cada uma na ordem de gravação, o que preserva a ordem por cliente. O checkpoint
+ * avança até o último evento antes da primeira faixa que falhou; eventos posteriores de outras faixas são
+ * reentregues no próximo ciclo.</p>
+ *
+ * <p>IDs gerados por transações ainda abertas podem ser confirmados fora de ordem. Por isso um buraco na
+ * sequência de IDs interrompe o lote até que o evento seguinte tenha mais de {@code estabilizacao}; depois
+ * disso o checkpoint passa pelo buraco. Nenhum evento é pulado: cada entrega marca {@code entregue_em}, e cada
+ * lote também relê os eventos abaixo do checkpoint ainda não entregues, confirmados depois da janela, e os
+ * entrega antes dos novos da mesma faixa. Passar pelo buraco não inverte a ordem de um cliente: o
+ * {@link OutboxClientes} gera o ID com a linha do cliente travada, então enquanto um evento do cliente não é
+ * confirmado nenhum evento posterior dele pode ser gravado, e o que fica atrás do buraco é sempre de outros
+ * clientes. Eventos não entregues nunca são expurgados.</p>
+ */
+@Component
+@ConditionalOnExpression("${cliente.outbox.enabled:false} and !${cliente.sharding.enabled:false}")
+public class RelayOutbox implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelayOutbox.class);
+
+    static final String RELAY = "clientes";
+
+    private static final RowMapper<EventoOutbox> EVENTO_MAPPER = (rs, rowNum) -> new EventoOutbox(
+            rs.getLong("id"),
+            rs.getLong("cliente_id"),
+            TipoAlteracao.valueOf(rs.getString("tipo")),
+            rs.getString("sistema_origem"),
+            rs.getString("payload"),
+            rs.getTimestamp("criado_em").toInstant());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OutboxSink sink;
+
+    @Value("${cliente.outbox.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${cliente.outbox.paralelismo:4}")
+    private int paralelismo;
+
+    @Value("${cliente.outbox.estabilizacao:5s}")
+    private Duration estabilizacao;
+
+    @Value("${cliente.outbox.retencao:7d}")
+    private Duration retencao;
+
+    @Value("${cliente.outbox.reserva:60s}")
+    private Duration reserva;
+
+    private ExecutorService executor;
+
+    private final AtomicLong entregues = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private volatile long atrasoUltimoLoteMillis;
+
+    @PostConstruct
+    void iniciar() {
+        AtomicInteger contador = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(paralelismo, tarefa -> {
+            Thread thread = new Thread(tarefa, "outbox-relay-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void parar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Entrega lotes até esvaziar o outbox ou encontrar uma falha. Retorna a quantidade de eventos confirmados.
+     */
+    @Scheduled(fixedDelayString = "${cliente.outbox.intervalo:PT1S}",
+            initialDelayString = "${cliente.outbox.intervalo:PT1S}")
+    public int drenar() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        int total = 0;
+        while (true) {
+            int lote = drenarLote(transactionTemplate);
+            total += lote;
+            if (lote < tamanhoLote) {
+                break;
+            }
+        }
+
+        Timestamp limite = new Timestamp(System.currentTimeMillis() - retencao.toMillis());
+        int expurgados = jdbcTemplate.update(
+                "DELETE FROM outbox_clientes WHERE criado_em < ? AND entregue_em IS NOT NULL", limite);
+        if (expurgados > 0) {
+            logger.debug("{} eventos entregues expurgados do outbox", expurgados);
+        }
+        return total;
+    }
+
+    private int drenarLote(TransactionTemplate transactionTemplate) {
+        String reserva = UUID.randomUUID().toString();
+        Long checkpoint = transactionTemplate.execute(status -> reservar(reserva));
+        if (checkpoint == null) {
+            return 0;
+        }
+
+        boolean liberada = false;
+        try {
+            List<EventoOutbox> atrasados = jdbcTemplate.query(
+                    "SELECT id, cliente_id, tipo, sistema_origem, payload, criado_em FROM outbox_clientes "
+                            + "WHERE id <= ? AND entregue_em IS NULL ORDER BY id LIMIT ?",
+                    EVENTO_MAPPER, checkpoint, tamanhoLote);
+            List<EventoOutbox> novos = estaveis(jdbcTemplate.query(
+                    "SELECT id, cliente_id, tipo, sistema_origem, payload, criado_em FROM outbox_clientes "
+                            + "WHERE id > ? ORDER BY id LIMIT ?", EVENTO_MAPPER, checkpoint, tamanhoLote), checkpoint);
+            if (atrasados.isEmpty() && novos.isEmpty()) {
+                return 0;
+            }
+
+            boolean[] falhou = entregar(atrasados, novos);
+
+            List<Long> confirmados = new ArrayList<>();
+            for (EventoOutbox evento : atrasados) {
+                if (!falhou[faixa(evento)]) {
+                    confirmados.add(evento.id());
+                }
+            }
+            long novoCheckpoint = checkpoint;
+            for (EventoOutbox evento : novos) {
+                if (falhou[faixa(evento)]) {
+                    break;
+                }
+                novoCheckpoint = evento.id();
+                confirmados.add(evento.id());
+            }
+            if (confirmados.isEmpty()) {
+                return 0;
+            }
+
+            long checkpointConfirmado = novoCheckpoint;
+            transactionTemplate.executeWithoutResult(status -> confirmar(confirmados, checkpointConfirmado, reserva));
+            liberada = true;
+            entregues.addAndGet(confirmados.size());
+            EventoOutbox maisAntigo = atrasados.isEmpty() ? novos.get(0) : atrasados.get(0);
+            atrasoUltimoLoteMillis = System.currentTimeMillis() - maisAntigo.criadoEm().toEpochMilli();
+            return confirmados.size();
+        } finally {
+            if (!liberada) {
+                jdbcTemplate.update("UPDATE outbox_checkpoint SET reserva = NULL, reservado_ate = NULL "
+                        + "WHERE relay = ? AND reserva = ?", RELAY, reserva);
+            }
+        }
+    }
+
+    /**
+     * Reserva o relay por {@code reserva} e retorna o checkpoint, ou {@code null} se outra instância tem uma
+     * reserva ainda válida. A linha do checkpoint só fica travada durante esta transação curta, não durante a
+     * entrega; uma instância que passe do prazo da reserva perde a vez e seus eventos podem ser reentregues.
+     */
+    private Long reservar(String reserva) {
+        long agora = System.currentTimeMillis();
+        Long checkpoint = jdbcTemplate.queryForObject(
+                "SELECT ultimo_id, reservado_ate FROM outbox_checkpoint WHERE relay = ? FOR UPDATE",
+                (rs, rowNum) -> {
+                    Timestamp reservadoAte = rs.getTimestamp("reservado_ate");
+                    return reservadoAte != null && reservadoAte.getTime() > agora ? null : rs.getLong("ultimo_id");
+                }, RELAY);
+        if (checkpoint != null) {
+            jdbcTemplate.update("UPDATE outbox_checkpoint SET reserva = ?, reservado_ate = ? WHERE relay = ?",
+                    reserva, new Timestamp(agora + this.reserva.toMillis()), RELAY);
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Entrega as faixas em paralelo e retorna, por faixa, se a entrega falhou
+     */
+    private boolean[] entregar(List<EventoOutbox> atrasados, List<EventoOutbox> novos) {
+        List<List<EventoOutbox>> faixas = new ArrayList<>(paralelismo);
+        for (int i = 0; i < paralelismo; i++) {
+            faixas.add(new ArrayList<>());
+        }
+        for (EventoOutbox evento : atrasados) {
+            faixas.get(faixa(evento)).add(evento);
+        }
+        for (EventoOutbox evento : novos) {
+            faixas.get(faixa(evento)).add(evento);
+        }
+
+        List<Future<?>> entregas = new ArrayList<>(paralelismo);
+        for (List<EventoOutbox> faixa : faixas) {
+            entregas.add(faixa.isEmpty() ? null : executor.submit(() -> sink.entregar(faixa)));
+        }
+
+        boolean[] falhou = new boolean[paralelismo];
+        for (int i = 0; i < paralelismo; i++) {
+            if (entregas.get(i) == null) {
+                continue;
+            }
+            try {
+                entregas.get(i).get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                falhou[i] = true;
+            } catch (ExecutionException ex) {
+                falhas.incrementAndGet();
+                falhou[i] = true;
+                logger.warn("Falha ao entregar {} eventos do outbox: {}", faixas.get(i).size(),
+                        ex.getCause().getMessage());
+            }
+        }
+        return falhou;
+    }
+
+    private int faixa(EventoOutbox evento) {
+        return Math.floorMod(Long.hashCode(evento.clienteId()), paralelismo);
+    }
+
+    /**
+     * Marca os eventos entregues e avança o checkpoint, se a reserva ainda é desta entrega
+     */
+    private void confirmar(List<Long> entregues, long novoCheckpoint, String reserva) {
+        Timestamp agora = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate("UPDATE outbox_clientes SET entregue_em = ? WHERE id = ?", entregues,
+                entregues.size(), (ps, id) -> {
+                    ps.setTimestamp(1, agora);
+                    ps.setLong(2, id);
+                });
+        int atualizados = jdbcTemplate.update("UPDATE outbox_checkpoint SET ultimo_id = ?, atualizado_em = ?, "
+                + "reserva = NULL, reservado_ate = NULL WHERE relay = ? AND reserva = ?",
+                novoCheckpoint, agora, RELAY, reserva);
+        if (atualizados == 0) {
+            logger.warn("Reserva do relay do outbox expirou durante a entrega; checkpoint mantido");
+        }
+    }
+
+    /**
+     * Corta o lote no primeiro buraco de IDs cujo evento seguinte ainda está dentro da janela de estabilização
+     */
+    private List<EventoOutbox> estaveis(List<EventoOutbox> eventos, long checkpoint) {
+        long recentesDesde = System.currentTimeMillis() - estabilizacao.toMillis();
+        long esperado = checkpoint + 1;
+        for (int i = 0; i < eventos.size(); i++) {
+            EventoOutbox evento = eventos.get(i);
+            if (evento.id() != esperado && evento.criadoEm().toEpochMilli() > recentesDesde) {
+                return eventos.subList(0, i);
+            }
+            esperado = evento.id() + 1;
+        }
+        return eventos;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cliente.outbox.entregues", entregues, AtomicLong::get)
+                .description("Eventos do outbox entregues e confirmados no checkpoint")
+                .register(registry);
+        FunctionCounter.builder("cliente.outbox.falhas", falhas, AtomicLong::get)
+                .description("Entregas de faixa que falharam e serão repetidas")
+                .register(registry);
+        Gauge.builder("cliente.outbox.atraso", this, relay -> relay.atrasoUltimoLoteMillis)
+                .description("Idade do evento mais antigo do último lote entregue")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+}
@@ -0,0 +1,199 @@
+package com.github.juliherms.clienteService.repository;
+
+import com.github.juliherms.clienteService.entity.Cliente;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Acesso à tabela {@code clientes_arquivo}, que recebe os clientes inativos e os removidos logicamente.
+ *
+ * <p>Clientes arquivados sem {@code removido_em} continuam existindo para a API: as buscas por ID e CPF
+ * recorrem a esta tabela quando não os encontram em {@code clientes}. As operações participam da
+ * transação corrente.</p>
+ */
+@Repository
+public class ClienteArquivoRepository {
+
+    private static final String COLUNAS = "id, cpf, nome, data_nascimento, renda_mensal, score_credito, aposentado, profissao";
+
+    private static final String CONDICAO_ARQUIVAVEL = "(removido_em IS NOT NULL OR updated_at < ?)";
+
+    private static final RowMapper<Cliente> CLIENTE_ROW_MAPPER = (rs, rowNum) -> {
+        Cliente cliente = new Cliente(
+                rs.getString("cpf"),
+                rs.getString("nome"),
+                rs.getObject("data_nascimento", LocalDate.class),
+                rs.getObject("renda_mensal", BigDecimal.class),
+                rs.getInt("score_credito"),
+                rs.getBoolean("aposentado"),
+                rs.getString("profissao"));
+        cliente.setId(rs.getLong("id"));
+        return cliente;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Busca cliente arquivado (e não removido) por ID
+     */
+    public Optional<Cliente> findAtivoById(Long id) {
+        return jdbcTemplate.query("SELECT " + COLUNAS + " FROM clientes_arquivo WHERE id = ? AND removido_em IS NULL",
+                CLIENTE_ROW_MAPPER, id).stream().findFirst();
+    }
+
+    /**
+     * Busca cliente arquivado (e não removido) por CPF
+     */
+    public Optional<Cliente> findAtivoByCpf(String cpf) {
+        return jdbcTemplate.query("SELECT " + COLUNAS + " FROM clientes_arquivo WHERE cpf = ? AND removido_em IS NULL",
+                CLIENTE_ROW_MAPPER, cpf).stream().findFirst();
+    }
+
+    /**
+     * Verifica se o CPF pertence a um cliente arquivado e não removido
+     */
+    public boolean existsAtivoByCpf(String cpf) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM clientes_arquivo WHERE cpf = ? AND removido_em IS NULL",
+                Integer.class, cpf).isEmpty();
+    }
+
+    /**
+     * Retorna, dentre os CPFs informados, os de clientes arquivados e não removidos
+     */
+    public List<String> findCpfsAtivosExistentes(Collection<String> cpfs) {
+        if (cpfs.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList("SELECT cpf FROM clientes_arquivo WHERE removido_em IS NULL AND cpf IN ("
+                + marcadores(cpfs.size()) + ")", String.class, cpfs.toArray());
+    }
+
+    /**
+     * Busca os clientes arquivados e não removidos com os CPFs informados
+     */
+    public List<Cliente> findAtivosByCpfIn(Collection<String> cpfs) {
+        if (cpfs.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("SELECT " + COLUNAS + " FROM clientes_arquivo WHERE removido_em IS NULL AND cpf IN ("
+                + marcadores(cpfs.size()) + ")", CLIENTE_ROW_MAPPER, cpfs.toArray());
+    }
+
+    public long countAtivos() {
+        Long quantidade = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM clientes_arquivo WHERE removido_em IS NULL", Long.class);
+        return quantidade == null ? 0 : quantidade;
+    }
+
+    /**
+     * Percorre os CPFs de clientes arquivados e não removidos (o Stream deve ser fechado)
+     */
+    public Stream<String> streamCpfsAtivos() {
+        return jdbcTemplate.queryForStream("SELECT cpf FROM clientes_arquivo WHERE removido_em IS NULL",
+                SingleColumnRowMapper.newInstance(String.class));
+    }
+
+    /**
+     * Remove logicamente um cliente arquivado. Retorna {@code false} se não havia cliente ativo com o ID.
+     */
+    public boolean remover(Long id) {
+        return jdbcTemplate.update("UPDATE clientes_arquivo SET removido_em = CURRENT_TIMESTAMP "
+                + "WHERE id = ? AND removido_em IS NULL", id) == 1;
+    }
+
+    /**
+     * Atualiza o score de clientes arquivados e não removidos pelo CPF, no mesmo formato de
+     * {@link ClienteRepositoryCustom#atualizarScores(long[], int[], int)}
+     */
+    public int[] atualizarScores(long[] cpfs, int[] scores, int quantidade) {
+        return jdbcTemplate.batchUpdate("UPDATE clientes_arquivo SET score_credito = ? WHERE cpf = ? AND removido_em IS NULL",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setInt(1, scores[i]);
+                        ps.setString(2, ClienteRepositoryCustom.cpf(cpfs[i]));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return quantidade;
+                    }
+                });
+    }
+
+    /**
+     * Devolve um cliente arquivado à tabela {@code clientes}, mantendo o ID. Retorna {@code false}
+     * se não havia cliente ativo com o ID no arquivo.
+     *
+     * <p>Se outra transação restaurou o cliente antes, lança {@link ConcurrencyFailureException}; se o CPF foi
+     * cadastrado de novo nesse meio-tempo, o INSERT falha com {@link DataIntegrityViolationException}.</p>
+     */
+    public boolean restaurar(Long id) {
+        int restaurados = jdbcTemplate.update("INSERT INTO clientes (" + COLUNAS + ", created_at) "
+                + "SELECT " + COLUNAS + ", created_at FROM clientes_arquivo WHERE id = ? AND removido_em IS NULL", id);
+        if (restaurados == 0) {
+            // Leitura com bloqueio: enxerga a restauração já confirmada por outra transação, que a leitura
+            // consistente da transação corrente pode não ver
+            if (!jdbcTemplate.queryForList("SELECT id FROM clientes WHERE id = ? AND removido_em IS NULL FOR UPDATE",
+                    Long.class, id).isEmpty()) {
+                throw new ConcurrencyFailureException("Cliente " + id + " restaurado por outra transação");
+            }
+            return false;
+        }
+        jdbcTemplate.update("DELETE FROM clientes_arquivo WHERE id = ?", id);
+        return true;
+    }
+
+    /**
+     * IDs de clientes removidos logicamente ou sem alteração desde {@code inativosDesde}
+     */
+    public List<Long> findIdsArquivaveis(LocalDateTime inativosDesde, int limite) {
+        return jdbcTemplate.queryForList("SELECT id FROM clientes WHERE " + CONDICAO_ARQUIVAVEL
+                + " ORDER BY id LIMIT " + limite, Long.class, inativosDesde);
+    }
+
+    /**
+     * Move os clientes informados para o arquivo. As linhas são bloqueadas e a condição de arquivamento
+     * reavaliada para não arquivar clientes alterados depois da seleção. Deve ser chamado dentro de uma transação.
+     */
+    public int arquivar(List<Long> ids, LocalDateTime inativosDesde) {
+        List<Object> parametros = new ArrayList<>(ids);
+        parametros.add(inativosDesde);
+        List<Long> bloqueados = jdbcTemplate.queryForList("SELECT id FROM clientes WHERE id IN ("
+                + marcadores(ids.size()) + ") AND " + CONDICAO_ARQUIVAVEL + " FOR UPDATE", Long.class, parametros.toArray());
+        if (bloqueados.isEmpty()) {
+            return 0;
+        }
+
+        String emBloqueados = " WHERE id IN (" + marcadores(bloqueados.size()) + ")";
+        jdbcTemplate.update("INSERT INTO clientes_arquivo (" + COLUNAS + ", created_at, updated_at, removido_em) "
+                + "SELECT id, COALESCE(cpf, cpf_removido), nome, data_nascimento, renda_mensal, score_credito, "
+                + "aposentado, profissao, created_at, updated_at, removido_em FROM clientes" + emBloqueados,
+                bloqueados.toArray());
+        jdbcTemplate.update("DELETE FROM clientes" + emBloqueados, bloqueados.toArray());
+        return bloqueados.size();
+    }
+
+    private static String marcadores(int quantidade) {
+        return String.join(", ", Collections.nCopies(quantidade, "?"));
+    }
+}
@@ -1,34 +1,63 @@
 package com.github.juliherms.clienteService.repository;
 
 import com.github.juliherms.clienteService.entity.Cliente;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ClienteRepository  extends JpaRepository<Cliente, Long> {
+/**
+ * Implementação JPA do {@link RepositorioClientes}
+ */
+public interface ClienteRepository  extends JpaRepository<Cliente, Long>, RepositorioClientes, ClienteRepositoryCustom {
+
+    /**
+     * Clientes com ID maior que o informado, em ordem de ID (paginação por chave, sem OFFSET)
+     */
+    @Override
+    List<Cliente> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite);
 
     /**
      * Busca cliente por CPF
      */
+    @Override
     Optional<Cliente> findByCpf(String cpf);
 
     /**
      * Verifica se existe cliente com o CPF informado
      */
+    @Override
     boolean existsByCpf(String cpf);
 
+    /**
+     * Retorna, dentre os CPFs informados, os que já estão cadastrados
+     */
+    @Override
+    @Query("SELECT c.cpf FROM Cliente c WHERE c.cpf IN :cpfs")
+    List<String> findCpfsExistentes(@Param("cpfs") Collection<String> cpfs);
+
+    /**
+     * Busca os clientes com os CPFs informados
+     */
+    @Override
+    List<Cliente> findByCpfIn(Collection<String> cpfs);
+
     /**
      * Busca clientes por nome (case insensitive)
      */
+    @Override
     @Query("SELECT c FROM Cliente c WHERE UPPER(c.nome) LIKE UPPER(CONCAT('%', :nome, '%'))")
     List<Cliente> findByNomeContainingIgnoreCase(@Param("nome") String nome);
 
     /**
      * Busca clientes por faixa de score de crédito
      */
+    @Override
     List<Cliente> findByScoreCreditoBetween(Integer scoreMin, Integer scoreMax);
 
     /**
@@ -40,6 +69,13 @@ public interface ClienteRepository  extends JpaRepository<Cliente, Long> {
      * Busca clientes por profissão
      */
     List<Cliente> findByProfissaoContainingIgnoreCase(String profissao);
+
+    /**
+     * Percorre todos os CPFs cadastrados (exige transação ativa)
+     */
+    @Override
+    @Query("SELECT c.cpf FROM Cliente c")
+    Stream<String> streamAllCpfs();
 }
 
 
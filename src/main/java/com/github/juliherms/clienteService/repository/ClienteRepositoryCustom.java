@@ -0,0 +1,54 @@
+package com.github.juliherms.clienteService.repository;
+
+import com.github.juliherms.clienteService.dto.CampoCliente;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Consultas com projeção dinâmica (só as colunas dos campos pedidos entram no SELECT) e atualizações em lote
+ */
+public interface ClienteRepositoryCustom {
+
+    /**
+     * Busca os campos informados do cliente pelo ID
+     */
+    Optional<Map<String, Object>> findProjetadoById(Long id, List<CampoCliente> campos);
+
+    /**
+     * Busca os campos informados do cliente pelo CPF
+     */
+    Optional<Map<String, Object>> findProjetadoByCpf(String cpf, List<CampoCliente> campos);
+
+    /**
+     * Lista os campos informados de todos os clientes com paginação
+     */
+    Page<Map<String, Object>> findAllProjetado(Pageable pageable, List<CampoCliente> campos);
+
+    /**
+     * Busca os campos informados dos clientes por nome (case insensitive)
+     */
+    List<Map<String, Object>> findProjetadoByNome(String nome, List<CampoCliente> campos);
+
+    /**
+     * Atualiza o score dos clientes pelo CPF com um único batch JDBC. Os CPFs chegam como números de 11 dígitos
+     * em arrays primitivos; {@code quantidade} indica quantas posições são válidas. Retorna, por posição, as
+     * linhas afetadas (0 para CPF inexistente). Deve ser chamado dentro de uma transação.
+     */
+    int[] atualizarScores(long[] cpfs, int[] scores, int quantidade);
+
+    /**
+     * CPF numérico como texto de 11 dígitos, com os zeros à esquerda
+     */
+    static String cpf(long numero) {
+        char[] digitos = new char[11];
+        for (int i = digitos.length - 1; i >= 0; i--) {
+            digitos[i] = (char) ('0' + numero % 10);
+            numero /= 10;
+        }
+        return new String(digitos);
+    }
+}
@@ -0,0 +1,128 @@
+package com.github.juliherms.clienteService.repository;
+
+import com.github.juliherms.clienteService.dto.CampoCliente;
+import com.github.juliherms.clienteService.entity.Cliente;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.sql.PreparedStatement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Implementação das consultas projetadas com Criteria API (SELECT apenas das colunas pedidas) e das
+ * atualizações em lote via JDBC
+ */
+public class ClienteRepositoryImpl implements ClienteRepositoryCustom {
+
+    private static final String ATUALIZACAO_SCORE = "UPDATE clientes SET score_credito = ? WHERE cpf = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int[] atualizarScores(long[] cpfs, int[] scores, int quantidade) {
+        // Vai direto ao JDBC da sessão: nenhuma entidade é carregada e o batch usa a conexão da transação
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(ATUALIZACAO_SCORE)) {
+                for (int i = 0; i < quantidade; i++) {
+                    ps.setInt(1, scores[i]);
+                    ps.setString(2, ClienteRepositoryCustom.cpf(cpfs[i]));
+                    ps.addBatch();
+                }
+                return ps.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findProjetadoById(Long id, List<CampoCliente> campos) {
+        return criarQuery(campos, (cb, root) -> cb.equal(root.get("id"), id), Pageable.unpaged())
+                .getResultStream()
+                .findFirst()
+                .map(tuple -> toMap(tuple, campos));
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findProjetadoByCpf(String cpf, List<CampoCliente> campos) {
+        return criarQuery(campos, (cb, root) -> cb.equal(root.get("cpf"), cpf), Pageable.unpaged())
+                .getResultStream()
+                .findFirst()
+                .map(tuple -> toMap(tuple, campos));
+    }
+
+    @Override
+    public Page<Map<String, Object>> findAllProjetado(Pageable pageable, List<CampoCliente> campos) {
+        TypedQuery<Tuple> query = criarQuery(campos, null, pageable);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> conteudo = query.getResultList().stream()
+                .map(tuple -> toMap(tuple, campos))
+                .toList();
+
+        if (pageable.isUnpaged() || (pageable.getOffset() == 0 && conteudo.size() < pageable.getPageSize())) {
+            return new PageImpl<>(conteudo, pageable, conteudo.size());
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> count = cb.createQuery(Long.class);
+        count.select(cb.count(count.from(Cliente.class)));
+        return new PageImpl<>(conteudo, pageable, entityManager.createQuery(count).getSingleResult());
+    }
+
+    @Override
+    public List<Map<String, Object>> findProjetadoByNome(String nome, List<CampoCliente> campos) {
+        return criarQuery(campos,
+                (cb, root) -> cb.like(cb.upper(root.<String>get("nome")), "%" + nome.toUpperCase() + "%"),
+                Pageable.unpaged())
+                .getResultList().stream()
+                .map(tuple -> toMap(tuple, campos))
+                .toList();
+    }
+
+    private TypedQuery<Tuple> criarQuery(List<CampoCliente> campos,
+                                         BiFunction<CriteriaBuilder, Root<Cliente>, Predicate> filtro,
+                                         Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Cliente> root = query.from(Cliente.class);
+
+        List<Selection<?>> colunas = campos.stream()
+                .<Selection<?>>map(campo -> root.get(campo.atributo()).alias(campo.atributo()))
+                .toList();
+        query.multiselect(colunas);
+
+        if (filtro != null) {
+            query.where(filtro.apply(cb, root));
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple, List<CampoCliente> campos) {
+        Map<String, Object> cliente = new LinkedHashMap<>(campos.size() * 2);
+        for (CampoCliente campo : campos) {
+            cliente.put(campo.atributo(), tuple.get(campo.atributo()));
+        }
+        return cliente;
+    }
+}
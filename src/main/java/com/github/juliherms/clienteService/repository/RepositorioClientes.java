@@ -0,0 +1,84 @@
+package com.github.juliherms.clienteService.repository;
+
+import com.github.juliherms.clienteService.entity.Cliente;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Operações sobre clientes usadas pelos serviços. Implementada pelo {@link ClienteRepository} (JPA) e, com sharding,
+ * pelo {@link ShardedClienteRepository}; os serviços dependem só desta interface.
+ */
+public interface RepositorioClientes extends ClienteRepositoryCustom {
+
+    /**
+     * Cadastra o cliente, ou atualiza quando ele já tem ID
+     */
+    <S extends Cliente> S save(S cliente);
+
+    /**
+     * Cadastra ou atualiza os clientes informados
+     */
+    <S extends Cliente> List<S> saveAll(Iterable<S> clientes);
+
+    /**
+     * Envia ao banco as escritas pendentes da transação
+     */
+    void flush();
+
+    /**
+     * Remove o cliente (remoção lógica)
+     */
+    void delete(Cliente cliente);
+
+    Optional<Cliente> findById(Long id);
+
+    long count();
+
+    Page<Cliente> findAll(Pageable pageable);
+
+    /**
+     * Clientes com ID maior que o informado, em ordem de ID (paginação por chave, sem OFFSET)
+     */
+    List<Cliente> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite);
+
+    /**
+     * Busca cliente por CPF
+     */
+    Optional<Cliente> findByCpf(String cpf);
+
+    /**
+     * Verifica se existe cliente com o CPF informado
+     */
+    boolean existsByCpf(String cpf);
+
+    /**
+     * Retorna, dentre os CPFs informados, os que já estão cadastrados
+     */
+    List<String> findCpfsExistentes(Collection<String> cpfs);
+
+    /**
+     * Busca os clientes com os CPFs informados
+     */
+    List<Cliente> findByCpfIn(Collection<String> cpfs);
+
+    /**
+     * Busca clientes por nome (case insensitive)
+     */
+    List<Cliente> findByNomeContainingIgnoreCase(String nome);
+
+    /**
+     * Busca clientes por faixa de score de crédito
+     */
+    List<Cliente> findByScoreCreditoBetween(Integer scoreMin, Integer scoreMax);
+
+    /**
+     * Percorre todos os CPFs cadastrados (exige transação ativa)
+     */
+    Stream<String> streamAllCpfs();
+}
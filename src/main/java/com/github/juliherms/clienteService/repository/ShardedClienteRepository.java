@@ -0,0 +1,768 @@
+package com.github.juliherms.clienteService.repository;
+
+import com.github.juliherms.clienteService.datasource.ClienteShards;
+import com.github.juliherms.clienteService.dto.CampoCliente;
+import com.github.juliherms.clienteService.entity.Cliente;
+import com.github.juliherms.clienteService.exception.CpfImutavelException;
+import com.github.juliherms.clienteService.exception.PaginaForaDoLimiteException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.JdbcUpdateAffectedIncorrectNumberOfRowsException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * {@link RepositorioClientes} distribuído entre os {@link ClienteShards}.
+ *
+ * <p>Operações por CPF vão ao shard do hash do CPF e operações por ID ao shard codificado no ID.
+ * Listagens e buscas consultam todos os shards em paralelo e juntam os resultados na ordem pedida
+ * (ou pelo ID, quando não há ordenação). As escritas participam da transação Spring em andamento
+ * (ver {@link #jdbc}). O CPF de um cliente existente não pode ser alterado, pois define o shard e
+ * portanto o ID. A remoção é lógica, como na entidade {@link Cliente}, e os removidos ficam nos
+ * shards (o arquivamento não roda com sharding).</p>
+ */
+public class ShardedClienteRepository implements RepositorioClientes, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedClienteRepository.class);
+
+    private record Coluna(String atributo, String nome, Class<?> tipo) {}
+
+    private static final List<Coluna> COLUNAS = List.of(
+            new Coluna("id", "id", Long.class),
+            new Coluna("cpf", "cpf", String.class),
+            new Coluna("nome", "nome", String.class),
+            new Coluna("dataNascimento", "data_nascimento", LocalDate.class),
+            new Coluna("rendaMensal", "renda_mensal", BigDecimal.class),
+            new Coluna("scoreCredito", "score_credito", Integer.class),
+            new Coluna("aposentado", "aposentado", Boolean.class),
+            new Coluna("profissao", "profissao", String.class)
+    );
+
+    private static final Map<String, Coluna> COLUNAS_POR_ATRIBUTO = COLUNAS.stream()
+            .collect(Collectors.toMap(Coluna::atributo, Function.identity()));
+
+    private static final Coluna ID = COLUNAS.get(0);
+
+    private static final String INSERT = "INSERT INTO clientes (cpf, nome, data_nascimento, renda_mensal, "
+            + "score_credito, aposentado, profissao) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE clientes SET nome = ?, data_nascimento = ?, renda_mensal = ?, "
+            + "score_credito = ?, aposentado = ?, profissao = ? WHERE id = ? AND cpf = ? AND removido_em IS NULL";
+    private static final String REMOCAO_LOGICA = "UPDATE clientes SET removido_em = CURRENT_TIMESTAMP, "
+            + "cpf_removido = cpf, cpf = NULL WHERE removido_em IS NULL";
+    private static final String DELETE = "DELETE FROM clientes WHERE id = ?";
+    private static final String ATUALIZACAO_SCORE = "UPDATE clientes SET score_credito = ? WHERE cpf = ?";
+
+    private final ClienteShards shards;
+    private final long maximoLinhasPaginacao;
+    private final List<JdbcTemplate> jdbcTemplates = new ArrayList<>();
+    private final List<TransactionTemplate> transacoes = new ArrayList<>();
+    private final ExecutorService executor;
+
+    public ShardedClienteRepository(ClienteShards shards, long maximoLinhasPaginacao) {
+        this.shards = shards;
+        this.maximoLinhasPaginacao = maximoLinhasPaginacao;
+        for (int shard = 0; shard < shards.quantidade(); shard++) {
+            jdbcTemplates.add(new JdbcTemplate(shards.dataSource(shard)));
+            transacoes.add(new TransactionTemplate(new DataSourceTransactionManager(shards.dataSource(shard))));
+        }
+        AtomicInteger sequencia = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(shards.quantidade(), tarefa -> {
+            Thread thread = new Thread(tarefa, "cliente-shard-" + sequencia.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    // ---------------------------------------------------------------- escrita
+
+    /**
+     * O CPF define o shard e o shard está codificado no ID: um cliente existente mantém o CPF, e com isso o ID
+     */
+    @Override
+    public <S extends Cliente> S save(S cliente) {
+        int destino = shards.shardDoCpf(cliente.getCpf());
+        if (cliente.getId() == null) {
+            cliente.setId(inserir(destino, cliente));
+            return cliente;
+        }
+
+        long id = cliente.getId();
+        int shard = shards.shardDoId(id);
+        if (shard < 0) {
+            throw new JdbcUpdateAffectedIncorrectNumberOfRowsException(UPDATE, 1, 0);
+        }
+        int alterados = jdbc(shard).update(UPDATE, parametrosAtualizacao(cliente, shards.idLocal(id)));
+        if (alterados != 1) {
+            if (existe(shard, "id = ?", shards.idLocal(id))) {
+                throw new CpfImutavelException("O CPF do cliente com ID " + id + " não pode ser alterado com sharding");
+            }
+            throw new JdbcUpdateAffectedIncorrectNumberOfRowsException(UPDATE, 1, alterados);
+        }
+        return cliente;
+    }
+
+    /**
+     * Novos clientes são gravados em lote, um batch por shard. Dentro de uma transação Spring os shards
+     * participam dela (ver {@link #jdbc}); fora, cada shard grava numa transação própria, em paralelo, e se
+     * algum falhar os lotes já confirmados nos outros são desfeitos antes de propagar o erro.
+     */
+    @Override
+    public <S extends Cliente> List<S> saveAll(Iterable<S> clientes) {
+        List<S> todos = new ArrayList<>();
+        List<S> existentes = new ArrayList<>();
+        Map<Integer, List<S>> novosPorShard = new TreeMap<>();
+        for (S cliente : clientes) {
+            todos.add(cliente);
+            if (cliente.getId() == null) {
+                novosPorShard.computeIfAbsent(shards.shardDoCpf(cliente.getCpf()), shard -> new ArrayList<>()).add(cliente);
+            } else {
+                existentes.add(cliente);
+            }
+        }
+
+        inserirEmLote(novosPorShard);
+        existentes.forEach(this::save);
+        return todos;
+    }
+
+    /**
+     * As escritas são enviadas imediatamente a cada shard; não há contexto de persistência a descarregar
+     */
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void delete(Cliente cliente) {
+        Long id = cliente.getId();
+        int shard = id == null ? -1 : shards.shardDoId(id);
+        if (shard >= 0) {
+            jdbc(shard).update(REMOCAO_LOGICA + " AND id = ?", shards.idLocal(id));
+        }
+    }
+
+    /**
+     * Agrupa as posições pelo shard do CPF e aplica um batch por shard (ver {@link #escreverEmShards})
+     */
+    @Override
+    public int[] atualizarScores(long[] cpfs, int[] scores, int quantidade) {
+        Map<Integer, List<Integer>> posicoesPorShard = IntStream.range(0, quantidade)
+                .boxed()
+                .collect(Collectors.groupingBy(i -> shards.shardDoCpf(ClienteRepositoryCustom.cpf(cpfs[i])),
+                        TreeMap::new, Collectors.toList()));
+
+        int[] linhas = new int[quantidade];
+        escreverEmShards(posicoesPorShard.keySet(), shard -> {
+            List<Integer> posicoes = posicoesPorShard.get(shard);
+            int[] afetadas = jdbc(shard).batchUpdate(
+                    ATUALIZACAO_SCORE, new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            int posicao = posicoes.get(i);
+                            ps.setInt(1, scores[posicao]);
+                            ps.setString(2, ClienteRepositoryCustom.cpf(cpfs[posicao]));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return posicoes.size();
+                        }
+                    });
+            for (int i = 0; i < posicoes.size(); i++) {
+                linhas[posicoes.get(i)] = afetadas[i];
+            }
+            return posicoes.size();
+        });
+        return linhas;
+    }
+
+    // ---------------------------------------------------------------- consultas por chave
+
+    @Override
+    public Optional<Cliente> findById(Long id) {
+        return buscarPorId(id, COLUNAS).map(ShardedClienteRepository::paraCliente);
+    }
+
+    @Override
+    public Optional<Cliente> findByCpf(String cpf) {
+        return buscarPorCpf(cpf, COLUNAS).map(ShardedClienteRepository::paraCliente);
+    }
+
+    @Override
+    public boolean existsByCpf(String cpf) {
+        return existe(shards.shardDoCpf(cpf), "cpf = ?", cpf);
+    }
+
+    @Override
+    public List<String> findCpfsExistentes(Collection<String> cpfs) {
+        Map<Integer, List<String>> porShard = new TreeMap<>();
+        for (String cpf : cpfs) {
+            porShard.computeIfAbsent(shards.shardDoCpf(cpf), shard -> new ArrayList<>()).add(cpf);
+        }
+        return emShards(porShard.keySet(), shard -> jdbc(shard).query(
+                "SELECT cpf FROM clientes WHERE cpf IN (" + marcadores(porShard.get(shard).size()) + ")",
+                SingleColumnRowMapper.newInstance(String.class),
+                porShard.get(shard).toArray()))
+                .stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    @Override
+    public List<Cliente> findByCpfIn(Collection<String> cpfs) {
+        Map<Integer, List<String>> porShard = new TreeMap<>();
+        for (String cpf : cpfs) {
+            porShard.computeIfAbsent(shards.shardDoCpf(cpf), shard -> new ArrayList<>()).add(cpf);
+        }
+        return paraClientes(juntar(emShards(porShard.keySet(), shard -> selecionar(shard, COLUNAS,
+                "cpf IN (" + marcadores(porShard.get(shard).size()) + ")", porShard.get(shard).toArray(),
+                Sort.unsorted(), -1)), Sort.unsorted()));
+    }
+
+    // ---------------------------------------------------------------- consultas em todos os shards
+
+    @Override
+    public long count() {
+        return emTodosOsShards(shard -> jdbc(shard).queryForObject("SELECT COUNT(*) FROM clientes WHERE removido_em IS NULL", Long.class))
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    @Override
+    public Page<Cliente> findAll(Pageable pageable) {
+        return paginar(pageable, COLUNAS).map(ShardedClienteRepository::paraCliente);
+    }
+
+    /**
+     * Os IDs levam o shard nos bits altos, então a ordem por ID percorre um shard de cada vez: a leitura continua
+     * no shard do ID informado e só passa aos seguintes enquanto faltarem linhas. Não há limite de paginação, pois
+     * cada shard lê no máximo {@code limite} linhas a partir do índice do ID.
+     */
+    @Override
+    public List<Cliente> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite) {
+        int primeiroShard = id <= 0 ? 0 : shards.shardDoId(id);
+        if (primeiroShard < 0) {
+            return List.of();
+        }
+        List<Map<String, Object>> linhas = new ArrayList<>();
+        for (int shard = primeiroShard; shard < shards.quantidade(); shard++) {
+            long aposIdLocal = shard == primeiroShard && id > 0 ? shards.idLocal(id) : 0;
+            long restantes = limite.isLimited() ? limite.max() - linhas.size() : -1;
+            if (restantes == 0) {
+                break;
+            }
+            linhas.addAll(selecionar(shard, COLUNAS, "id > ?", new Object[] {aposIdLocal}, Sort.unsorted(), restantes));
+        }
+        return paraClientes(linhas);
+    }
+
+    @Override
+    public List<Cliente> findByNomeContainingIgnoreCase(String nome) {
+        return paraClientes(buscarEmTodos(COLUNAS, "UPPER(nome) LIKE UPPER(?)", new Object[] {"%" + nome + "%"},
+                Sort.unsorted(), -1));
+    }
+
+    @Override
+    public List<Cliente> findByScoreCreditoBetween(Integer scoreMin, Integer scoreMax) {
+        return paraClientes(buscarEmTodos(COLUNAS, "score_credito BETWEEN ? AND ?", new Object[] {scoreMin, scoreMax},
+                Sort.unsorted(), -1));
+    }
+
+    /**
+     * Percorre os shards um de cada vez; a conexão de cada shard é liberada ao terminar o shard
+     */
+    @Override
+    public Stream<String> streamAllCpfs() {
+        return IntStream.range(0, shards.quantidade())
+                .boxed()
+                .flatMap(shard -> jdbc(shard).queryForStream("SELECT cpf FROM clientes WHERE removido_em IS NULL",
+                        SingleColumnRowMapper.newInstance(String.class)));
+    }
+
+    // ---------------------------------------------------------------- projeções
+
+    @Override
+    public Optional<Map<String, Object>> findProjetadoById(Long id, List<CampoCliente> campos) {
+        return buscarPorId(id, colunas(campos));
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findProjetadoByCpf(String cpf, List<CampoCliente> campos) {
+        return buscarPorCpf(cpf, colunas(campos));
+    }
+
+    @Override
+    public Page<Map<String, Object>> findAllProjetado(Pageable pageable, List<CampoCliente> campos) {
+        return paginar(pageable, colunas(campos)).map(linha -> projetar(linha, campos));
+    }
+
+    @Override
+    public List<Map<String, Object>> findProjetadoByNome(String nome, List<CampoCliente> campos) {
+        return buscarEmTodos(colunas(campos), "UPPER(nome) LIKE UPPER(?)", new Object[] {"%" + nome + "%"},
+                Sort.unsorted(), -1)
+                .stream()
+                .map(linha -> projetar(linha, campos))
+                .toList();
+    }
+
+    // ---------------------------------------------------------------- scatter-gather
+
+    private Optional<Map<String, Object>> buscarPorId(Long id, Collection<Coluna> colunas) {
+        int shard = shards.shardDoId(id);
+        if (shard < 0) {
+            return Optional.empty();
+        }
+        return selecionar(shard, colunas, "id = ?", new Object[] {shards.idLocal(id)}, Sort.unsorted(), -1)
+                .stream()
+                .findFirst();
+    }
+
+    private Optional<Map<String, Object>> buscarPorCpf(String cpf, Collection<Coluna> colunas) {
+        return selecionar(shards.shardDoCpf(cpf), colunas, "cpf = ?", new Object[] {cpf}, Sort.unsorted(), -1)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Cada shard devolve no máximo {@code offset + size} linhas já ordenadas, só com as colunas de ordenação e o
+     * ID; a página é recortada depois da junção e só as linhas dela são lidas por completo, no shard de cada uma.
+     * Páginas que terminam além de {@code maximoLinhasPaginacao} são recusadas. O total só é contado quando não
+     * pode ser deduzido da própria página.
+     */
+    private Page<Map<String, Object>> paginar(Pageable pageable, Collection<Coluna> colunas) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(buscarEmTodos(colunas, null, new Object[0], pageable.getSort(), -1));
+        }
+        long limite = pageable.getOffset() + pageable.getPageSize();
+        if (limite > maximoLinhasPaginacao) {
+            throw new PaginaForaDoLimiteException("A listagem com sharding alcança no máximo " + maximoLinhasPaginacao
+                    + " registros; refine a busca ou reduza a página");
+        }
+        List<Map<String, Object>> chaves = buscarEmTodos(List.of(), null, new Object[0], pageable.getSort(), limite);
+        int inicio = (int) Math.min(pageable.getOffset(), chaves.size());
+        List<Map<String, Object>> conteudo = completar(chaves.subList(inicio, chaves.size()), colunas);
+        return PageableExecutionUtils.getPage(conteudo, pageable, this::count);
+    }
+
+    /**
+     * Lê as colunas pedidas das linhas informadas, mantendo a ordem. Linhas removidas entre as duas leituras saem.
+     */
+    private List<Map<String, Object>> completar(List<Map<String, Object>> chaves, Collection<Coluna> colunas) {
+        Map<Integer, List<Long>> porShard = new TreeMap<>();
+        for (Map<String, Object> chave : chaves) {
+            long id = (Long) chave.get(ID.atributo());
+            porShard.computeIfAbsent(shards.shardDoId(id), shard -> new ArrayList<>()).add(shards.idLocal(id));
+        }
+        Set<Coluna> selecionadas = comColunasDeJuncao(colunas, Sort.unsorted());
+        Map<Object, Map<String, Object>> porId = new HashMap<>();
+        emShards(porShard.keySet(), shard -> selecionar(shard, selecionadas,
+                "id IN (" + marcadores(porShard.get(shard).size()) + ")", porShard.get(shard).toArray(),
+                Sort.unsorted(), -1))
+                .forEach(linhas -> linhas.forEach(linha -> porId.put(linha.get(ID.atributo()), linha)));
+        return chaves.stream()
+                .map(chave -> porId.get(chave.get(ID.atributo())))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<Map<String, Object>> buscarEmTodos(Collection<Coluna> colunas, String where, Object[] args,
+                                                    Sort sort, long limite) {
+        Set<Coluna> selecionadas = comColunasDeJuncao(colunas, sort);
+        List<List<Map<String, Object>>> porShard =
+                emTodosOsShards(shard -> selecionar(shard, selecionadas, where, args, sort, limite));
+
+        List<Map<String, Object>> linhas = juntar(porShard, sort);
+        return limite >= 0 && linhas.size() > limite ? linhas.subList(0, (int) limite) : linhas;
+    }
+
+    private List<Map<String, Object>> selecionar(int shard, Collection<Coluna> colunas, String where, Object[] args,
+                                                 Sort sort, long limite) {
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(colunas.stream().map(Coluna::nome).collect(Collectors.joining(", ")))
+                .append(" FROM clientes WHERE removido_em IS NULL");
+        if (where != null) {
+            sql.append(" AND (").append(where).append(")");
+        }
+        sql.append(" ORDER BY ");
+        for (Sort.Order order : sort) {
+            sql.append(coluna(order.getProperty()).nome()).append(order.isAscending() ? " ASC, " : " DESC, ");
+        }
+        sql.append("id");
+        if (limite >= 0) {
+            sql.append(" LIMIT ").append(limite);
+        }
+        return jdbc(shard).query(sql.toString(), (rs, numeroLinha) -> linha(rs, shard, colunas), args);
+    }
+
+    private Map<String, Object> linha(ResultSet rs, int shard, Collection<Coluna> colunas) throws SQLException {
+        Map<String, Object> linha = new LinkedHashMap<>(colunas.size() * 2);
+        for (Coluna coluna : colunas) {
+            Object valor = rs.getObject(coluna.nome(), coluna.tipo());
+            linha.put(coluna.atributo(), coluna == ID ? shards.codificarId(shard, (Long) valor) : valor);
+        }
+        return linha;
+    }
+
+    private static List<Map<String, Object>> juntar(List<List<Map<String, Object>>> porShard, Sort sort) {
+        List<Map<String, Object>> linhas = new ArrayList<>();
+        porShard.forEach(linhas::addAll);
+        linhas.sort(comparador(sort));
+        return linhas;
+    }
+
+    /**
+     * Mesma ordem do ORDER BY de cada shard, desempatando pelo ID. Textos são comparados sem
+     * diferenciar maiúsculas, como a collation padrão do MySQL.
+     */
+    private static Comparator<Map<String, Object>> comparador(Sort sort) {
+        Comparator<Map<String, Object>> comparador = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            String atributo = coluna(order.getProperty()).atributo();
+            Comparator<Map<String, Object>> porAtributo = (a, b) -> comparar(a.get(atributo), b.get(atributo));
+            comparador = comparador.thenComparing(order.isAscending() ? porAtributo : porAtributo.reversed());
+        }
+        return comparador.thenComparing(linha -> (Long) linha.get(ID.atributo()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int comparar(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        if (a instanceof String textoA && b instanceof String textoB) {
+            return String.CASE_INSENSITIVE_ORDER.compare(textoA, textoB);
+        }
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+
+    private <T> List<T> emTodosOsShards(IntFunction<T> operacao) {
+        return emShards(IntStream.range(0, shards.quantidade()).boxed().toList(), operacao);
+    }
+
+    private <T> List<T> emShards(Collection<Integer> alvos, IntFunction<T> operacao) {
+        if (alvos.size() <= 1) {
+            return alvos.stream().map(operacao::apply).toList();
+        }
+        List<CompletableFuture<T>> futuros = alvos.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> operacao.apply(shard), executor))
+                .toList();
+        try {
+            return futuros.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Escrita em vários shards. Dentro de uma transação Spring roda na thread da chamada, com cada shard participando
+     * da transação; fora dela, cada shard roda numa transação própria e os shards em paralelo.
+     */
+    private <T> List<T> escreverEmShards(Collection<Integer> alvos, IntFunction<T> operacao) {
+        if (emTransacao()) {
+            return alvos.stream().map(operacao::apply).toList();
+        }
+        return emShards(alvos, shard -> transacoes.get(shard).execute(status -> operacao.apply(shard)));
+    }
+
+    // ---------------------------------------------------------------- transação
+
+    private static boolean emTransacao() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    /**
+     * JdbcTemplate do shard. Dentro de uma transação Spring (a do serviço, gerenciada pelo JPA sobre o banco
+     * principal), a conexão do shard é aberta sem autocommit e associada a ela: o JdbcTemplate a reutiliza até o fim,
+     * o shard confirma no {@code beforeCommit} e desfaz quando a transação é desfeita. Chamadas nas threads do
+     * scatter-gather não têm transação e leem em autocommit.
+     *
+     * <p>A confirmação entre bancos não é atômica: se a transação principal falhar depois de o shard confirmar
+     * (ou um segundo shard falhar depois do primeiro), o que foi confirmado permanece.</p>
+     */
+    private JdbcTemplate jdbc(int shard) {
+        DataSource dataSource = shards.dataSource(shard);
+        if (emTransacao() && !TransactionSynchronizationManager.hasResource(dataSource)) {
+            participar(dataSource);
+        }
+        return jdbcTemplates.get(shard);
+    }
+
+    private static void participar(DataSource dataSource) {
+        Connection conexao;
+        try {
+            conexao = dataSource.getConnection();
+            conexao.setAutoCommit(false);
+        } catch (SQLException ex) {
+            throw new CannotGetJdbcConnectionException("Falha ao abrir a conexão do shard", ex);
+        }
+        ConnectionHolder holder = new ConnectionHolder(conexao);
+        holder.setSynchronizedWithTransaction(true);
+        TransactionSynchronizationManager.bindResource(dataSource, holder);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(dataSource);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(dataSource, holder);
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                try {
+                    conexao.commit();
+                } catch (SQLException ex) {
+                    throw new TransactionSystemException("Falha ao confirmar a transação do shard", ex);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+                try {
+                    if (status != STATUS_COMMITTED) {
+                        conexao.rollback();
+                    }
+                    conexao.setAutoCommit(true);
+                } catch (SQLException ex) {
+                    logger.warn("Falha ao desfazer a transação do shard: {}", ex.getMessage());
+                } finally {
+                    JdbcUtils.closeConnection(conexao);
+                }
+            }
+        });
+    }
+
+    // ---------------------------------------------------------------- gravação
+
+    private long inserir(int shard, Cliente cliente) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbc(shard).update(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT, new String[] {"id"});
+            preencher(ps, cliente);
+            return ps;
+        }, keyHolder);
+        return shards.codificarId(shard, idGerado(keyHolder.getKeys()));
+    }
+
+    private <S extends Cliente> void inserirEmLote(Map<Integer, List<S>> novosPorShard) {
+        Map<Integer, long[]> gravados = new TreeMap<>();
+        if (emTransacao()) {
+            // Uma falha desfaz todos os shards junto com a transação
+            novosPorShard.forEach((shard, lote) -> gravados.put(shard, inserirLote(shard, lote)));
+            atribuirIds(novosPorShard, gravados);
+            return;
+        }
+
+        Map<Integer, CompletableFuture<long[]>> futuros = new TreeMap<>();
+        novosPorShard.forEach((shard, lote) -> futuros.put(shard, CompletableFuture.supplyAsync(
+                () -> transacoes.get(shard).execute(status -> inserirLote(shard, lote)), executor)));
+
+        RuntimeException falha = null;
+        for (Map.Entry<Integer, CompletableFuture<long[]>> futuro : futuros.entrySet()) {
+            try {
+                gravados.put(futuro.getKey(), futuro.getValue().join());
+            } catch (CompletionException ex) {
+                falha = ex.getCause() instanceof RuntimeException causa ? causa : ex;
+            }
+        }
+
+        if (falha != null) {
+            gravados.forEach((shard, ids) -> {
+                for (long id : ids) {
+                    jdbcTemplates.get(shard).update(DELETE, shards.idLocal(id));
+                }
+            });
+            throw falha;
+        }
+        atribuirIds(novosPorShard, gravados);
+    }
+
+    private static <S extends Cliente> void atribuirIds(Map<Integer, List<S>> novosPorShard, Map<Integer, long[]> gravados) {
+        gravados.forEach((shard, ids) -> {
+            List<S> lote = novosPorShard.get(shard);
+            for (int i = 0; i < ids.length; i++) {
+                lote.get(i).setId(ids[i]);
+            }
+        });
+    }
+
+    private long[] inserirLote(int shard, List<? extends Cliente> lote) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbc(shard).batchUpdate(con -> con.prepareStatement(INSERT, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        preencher(ps, lote.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return lote.size();
+                    }
+                }, keyHolder);
+        return keyHolder.getKeyList().stream()
+                .mapToLong(chaves -> shards.codificarId(shard, idGerado(chaves)))
+                .toArray();
+    }
+
+    /**
+     * O MySQL devolve a chave como {@code GENERATED_KEY} e o H2 pelo nome da coluna
+     */
+    private static long idGerado(Map<String, Object> chaves) {
+        Object id = chaves.size() == 1 ? chaves.values().iterator().next() : chaves.get("id");
+        return ((Number) id).longValue();
+    }
+
+    private static void preencher(PreparedStatement ps, Cliente cliente) throws SQLException {
+        Object[] valores = parametros(cliente);
+        for (int i = 0; i < valores.length; i++) {
+            ps.setObject(i + 1, valores[i]);
+        }
+    }
+
+    private static Object[] parametros(Cliente cliente) {
+        return new Object[] {
+                cliente.getCpf(),
+                cliente.getNome(),
+                cliente.getDataNascimento(),
+                cliente.getRendaMensal(),
+                cliente.getScoreCredito(),
+                cliente.getAposentado(),
+                cliente.getProfissao()};
+    }
+
+    /**
+     * Parâmetros do UPDATE: os campos alteráveis, o ID local e o CPF, que precisa continuar o mesmo
+     */
+    private static Object[] parametrosAtualizacao(Cliente cliente, long idLocal) {
+        return new Object[] {
+                cliente.getNome(),
+                cliente.getDataNascimento(),
+                cliente.getRendaMensal(),
+                cliente.getScoreCredito(),
+                cliente.getAposentado(),
+                cliente.getProfissao(),
+                idLocal,
+                cliente.getCpf()};
+    }
+
+    // ---------------------------------------------------------------- conversões
+
+    private static Coluna coluna(String atributo) {
+        Coluna coluna = COLUNAS_POR_ATRIBUTO.get(atributo);
+        if (coluna == null) {
+            throw new IllegalArgumentException("Atributo de Cliente desconhecido: " + atributo);
+        }
+        return coluna;
+    }
+
+    private static List<Coluna> colunas(List<CampoCliente> campos) {
+        return campos.stream().map(campo -> coluna(campo.atributo())).toList();
+    }
+
+    /**
+     * Colunas pedidas mais as necessárias para juntar os shards na ordem certa (ordenação e ID)
+     */
+    private static Set<Coluna> comColunasDeJuncao(Collection<Coluna> colunas, Sort sort) {
+        Set<Coluna> selecionadas = new LinkedHashSet<>(colunas);
+        sort.forEach(order -> selecionadas.add(coluna(order.getProperty())));
+        selecionadas.add(ID);
+        return selecionadas;
+    }
+
+    private static Map<String, Object> projetar(Map<String, Object> linha, List<CampoCliente> campos) {
+        Map<String, Object> cliente = new LinkedHashMap<>(campos.size() * 2);
+        for (CampoCliente campo : campos) {
+            cliente.put(campo.atributo(), linha.get(campo.atributo()));
+        }
+        return cliente;
+    }
+
+    private static List<Cliente> paraClientes(List<Map<String, Object>> linhas) {
+        return linhas.stream().map(ShardedClienteRepository::paraCliente).toList();
+    }
+
+    private static Cliente paraCliente(Map<String, Object> linha) {
+        Cliente cliente = new Cliente(
+                (String) linha.get("cpf"),
+                (String) linha.get("nome"),
+                (LocalDate) linha.get("dataNascimento"),
+                (BigDecimal) linha.get("rendaMensal"),
+                (Integer) linha.get("scoreCredito"),
+                (Boolean) linha.get("aposentado"),
+                (String) linha.get("profissao"));
+        cliente.setId((Long) linha.get("id"));
+        return cliente;
+    }
+
+    private static String marcadores(int quantidade) {
+        return String.join(", ", Collections.nCopies(quantidade, "?"));
+    }
+
+    private boolean existe(int shard, String where, Object arg) {
+        return !jdbc(shard)
+                .query("SELECT 1 FROM clientes WHERE removido_em IS NULL AND " + where + " LIMIT 1", SingleColumnRowMapper.newInstance(Integer.class), arg)
+                .isEmpty();
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.juliherms.clienteService.service;
+
+import com.github.juliherms.clienteService.repository.ClienteArquivoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Move periodicamente para {@code clientes_arquivo} os clientes removidos logicamente e os que não são
+ * alterados há mais de {@code cliente.arquivamento.inatividade}, mantendo a tabela principal com o
+ * conjunto quente. Cada lote é uma transação curta. Não roda com sharding, cujas remoções ficam nos shards.
+ *
+ * <p>Desligado por padrão: a inatividade é medida por {@code updated_at}, não por acesso, e a listagem, a busca
+ * por nome e a contagem só percorrem a tabela principal, então um cliente consultado mas não alterado deixa de
+ * aparecer nelas ao ser arquivado.</p>
+ */
+@Component
+@ConditionalOnExpression("${cliente.arquivamento.enabled:false} and !${cliente.sharding.enabled:false}")
+public class ArquivadorClientes {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArquivadorClientes.class);
+
+    @Autowired
+    private ClienteArquivoRepository clienteArquivoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${cliente.arquivamento.inatividade:730d}")
+    private Duration inatividade;
+
+    @Value("${cliente.arquivamento.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${cliente.arquivamento.lotes-por-execucao:100}")
+    private int lotesPorExecucao;
+
+    @Scheduled(fixedDelayString = "${cliente.arquivamento.intervalo:PT10M}",
+            initialDelayString = "${cliente.arquivamento.intervalo:PT10M}")
+    public int arquivar() {
+        long inicio = System.currentTimeMillis();
+        LocalDateTime inativosDesde = LocalDateTime.now().minus(inatividade);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        int total = 0;
+        for (int lote = 0; lote < lotesPorExecucao; lote++) {
+            List<Long> ids = clienteArquivoRepository.findIdsArquivaveis(inativosDesde, tamanhoLote);
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer arquivados = transactionTemplate.execute(status -> clienteArquivoRepository.arquivar(ids, inativosDesde));
+            total += arquivados == null ? 0 : arquivados;
+            if (ids.size() < tamanhoLote) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            logger.info("{} clientes arquivados em {} ms", total, System.currentTimeMillis() - inicio);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,580 @@
+package com.github.juliherms.clienteService.service;
+
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Arquivo mapeado em memória com os clientes em registros de tamanho fixo e dois índices de endereçamento aberto
+ * (ID e CPF como long), todos fora do heap.
+ *
+ * <p>Layout: cabeçalho de {@value #TAMANHO_CABECALHO} bytes, {@code capacidade} registros de
+ * {@value #TAMANHO_REGISTRO} bytes e, para cada índice, {@code tamanhoTabela} chaves long seguidas de
+ * {@code tamanhoTabela} posições int (0 = vazia, -1 = removida, n = registro n - 1). Uma chave nunca muda de
+ * entrada, então a remoção deixa a entrada marcada e o espaço só volta quando o arquivo é reconstruído.</p>
+ *
+ * <p>Escritas devem ser serializadas pelo chamador. Leituras não bloqueiam: cada registro tem um contador de versão
+ * (ímpar durante a escrita) e a leitura é refeita quando ele muda; o índice publica a posição depois da chave, e o
+ * registro lido só vale se ainda tiver a chave procurada. Clientes que não cabem no formato (CPF fora do padrão de
+ * 11 dígitos, renda com mais de duas casas, nome ou profissão longos demais em UTF-8) simplesmente não entram.</p>
+ */
+final class ArquivoSnapshot {
+
+    static final int TAMANHO_CABECALHO = 64;
+    static final int TAMANHO_REGISTRO = 272;
+
+    private static final long MAGICO = 0x434c49534e415031L; // "CLISNAP1"
+    private static final int VERSAO_FORMATO = 1;
+
+    private static final int CAB_MAGICO = 0;
+    private static final int CAB_VERSAO = 8;
+    private static final int CAB_TAMANHO_REGISTRO = 12;
+    private static final int CAB_CAPACIDADE = 16;
+    private static final int CAB_TAMANHO_TABELA = 20;
+    private static final int CAB_ALTA = 24;
+    private static final int CAB_INTEGRO = 28;
+    private static final int CAB_CARREGADO_EM = 32;
+
+    private static final int REG_VERSAO = 0;
+    private static final int REG_ID = 8;
+    private static final int REG_CPF = 16;
+    private static final int REG_RENDA = 24;
+    private static final int REG_DATA = 32;
+    private static final int REG_SCORE = 36;
+    private static final int REG_APOSENTADO = 40;
+    private static final int REG_TAMANHO_NOME = 41;
+    private static final int REG_TAMANHO_PROFISSAO = 42;
+    private static final int REG_NOME = 48;
+    private static final int MAXIMO_NOME = 152;
+    private static final int REG_PROFISSAO = REG_NOME + MAXIMO_NOME;
+    private static final int MAXIMO_PROFISSAO = TAMANHO_REGISTRO - REG_PROFISSAO;
+
+    private static final int VAZIA = 0;
+    private static final int REMOVIDA = -1;
+    private static final long ID_LIVRE = 0;
+    private static final long CPF_LIVRE = -1;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private Path caminho;
+    private final FileChannel canal;
+    private final MappedByteBuffer buffer;
+    private final int capacidade;
+    private final int tamanhoTabela;
+    private final Indice porId;
+    private final Indice porCpf;
+
+    // Estado do escritor
+    private int alta;
+    private int[] livres = new int[16];
+    private int quantidadeLivres;
+    private volatile int registros;
+
+    private ArquivoSnapshot(Path caminho, FileChannel canal, MappedByteBuffer buffer, int capacidade,
+                            int tamanhoTabela) {
+        this.caminho = caminho;
+        this.canal = canal;
+        this.buffer = buffer;
+        this.capacidade = capacidade;
+        this.tamanhoTabela = tamanhoTabela;
+        int inicioIndices = TAMANHO_CABECALHO + capacidade * TAMANHO_REGISTRO;
+        int tamanhoIndice = tamanhoTabela * (Long.BYTES + Integer.BYTES);
+        this.porId = new Indice(inicioIndices);
+        this.porCpf = new Indice(inicioIndices + tamanhoIndice);
+    }
+
+    /**
+     * Cria (ou sobrescreve) o arquivo vazio para {@code capacidade} registros
+     */
+    static ArquivoSnapshot criar(Path caminho, int capacidade) throws IOException {
+        int tamanhoTabela = tamanhoTabela(capacidade);
+        long tamanho = tamanhoArquivo(capacidade, tamanhoTabela);
+        if (capacidade <= 0 || tamanho > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Capacidade do snapshot fora do limite de 2 GB: " + capacidade);
+        }
+
+        FileChannel canal = FileChannel.open(caminho, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanho);
+            buffer.order(ByteOrder.nativeOrder());
+            buffer.putLong(CAB_MAGICO, MAGICO);
+            buffer.putInt(CAB_VERSAO, VERSAO_FORMATO);
+            buffer.putInt(CAB_TAMANHO_REGISTRO, TAMANHO_REGISTRO);
+            buffer.putInt(CAB_CAPACIDADE, capacidade);
+            buffer.putInt(CAB_TAMANHO_TABELA, tamanhoTabela);
+            return new ArquivoSnapshot(caminho, canal, buffer, capacidade, tamanhoTabela);
+        } catch (IOException | RuntimeException ex) {
+            canal.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Reabre um arquivo fechado corretamente por {@link #fechar()}. Retorna {@code null} se o arquivo não existir,
+     * for de outro formato ou não tiver sido fechado (queda do processo no meio de uma escrita).
+     */
+    static ArquivoSnapshot abrir(Path caminho) throws IOException {
+        if (!Files.isRegularFile(caminho) || Files.size(caminho) < TAMANHO_CABECALHO
+                || Files.size(caminho) > Integer.MAX_VALUE) {
+            return null;
+        }
+
+        FileChannel canal = FileChannel.open(caminho, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, canal.size());
+            buffer.order(ByteOrder.nativeOrder());
+            int capacidade = buffer.getInt(CAB_CAPACIDADE);
+            int tamanhoTabela = buffer.getInt(CAB_TAMANHO_TABELA);
+            boolean valido = buffer.getLong(CAB_MAGICO) == MAGICO
+                    && buffer.getInt(CAB_VERSAO) == VERSAO_FORMATO
+                    && buffer.getInt(CAB_TAMANHO_REGISTRO) == TAMANHO_REGISTRO
+                    && buffer.getInt(CAB_INTEGRO) == 1
+                    && capacidade > 0
+                    && tamanhoTabela == tamanhoTabela(capacidade)
+                    && canal.size() == tamanhoArquivo(capacidade, tamanhoTabela)
+                    && buffer.getInt(CAB_ALTA) >= 0 && buffer.getInt(CAB_ALTA) <= capacidade;
+            if (!valido) {
+                canal.close();
+                return null;
+            }
+
+            ArquivoSnapshot arquivo = new ArquivoSnapshot(caminho, canal, buffer, capacidade, tamanhoTabela);
+            arquivo.reconstruirEstado();
+            // Até o próximo fechamento, uma queda deixa o arquivo inválido
+            buffer.putInt(CAB_INTEGRO, 0);
+            buffer.force();
+            return arquivo;
+        } catch (IOException | RuntimeException ex) {
+            canal.close();
+            throw ex;
+        }
+    }
+
+    private void reconstruirEstado() {
+        alta = buffer.getInt(CAB_ALTA);
+        int ocupados = 0;
+        for (int posicao = 0; posicao < alta; posicao++) {
+            if (buffer.getLong(base(posicao) + REG_ID) == ID_LIVRE) {
+                empilharLivre(posicao);
+            } else {
+                ocupados++;
+            }
+        }
+        registros = ocupados;
+        porId.contarUsadas();
+        porCpf.contarUsadas();
+    }
+
+    // Leitura (sem bloqueio)
+
+    ClienteResponseDTO buscarPorId(long id) {
+        int posicao = porId.registro(id);
+        return posicao < 0 ? null : ler(posicao, REG_ID, id);
+    }
+
+    ClienteResponseDTO buscarPorCpf(long cpf) {
+        int posicao = porCpf.registro(cpf);
+        return posicao < 0 ? null : ler(posicao, REG_CPF, cpf);
+    }
+
+    private ClienteResponseDTO ler(int posicao, int campoChave, long chave) {
+        int base = base(posicao);
+        byte[] nome = new byte[MAXIMO_NOME];
+        byte[] profissao = new byte[MAXIMO_PROFISSAO];
+        while (true) {
+            long versao = (long) LONGS.getAcquire(buffer, base + REG_VERSAO);
+            if ((versao & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            long valorChave = buffer.getLong(base + campoChave);
+            long id = buffer.getLong(base + REG_ID);
+            long cpf = buffer.getLong(base + REG_CPF);
+            long renda = buffer.getLong(base + REG_RENDA);
+            int data = buffer.getInt(base + REG_DATA);
+            int score = buffer.getInt(base + REG_SCORE);
+            boolean aposentado = buffer.get(base + REG_APOSENTADO) != 0;
+            // Uma leitura rasgada pode trazer tamanhos inválidos; a versão descarta o resultado em seguida
+            int tamanhoNome = Math.min(buffer.get(base + REG_TAMANHO_NOME) & 0xFF, MAXIMO_NOME);
+            int tamanhoProfissao = Math.min(buffer.get(base + REG_TAMANHO_PROFISSAO) & 0xFF, MAXIMO_PROFISSAO);
+            buffer.get(base + REG_NOME, nome, 0, tamanhoNome);
+            buffer.get(base + REG_PROFISSAO, profissao, 0, tamanhoProfissao);
+            VarHandle.loadLoadFence();
+            if ((long) LONGS.getOpaque(buffer, base + REG_VERSAO) != versao) {
+                continue;
+            }
+
+            if (valorChave != chave) {
+                // Registro liberado ou reaproveitado depois da consulta ao índice
+                return null;
+            }
+            return new ClienteResponseDTO(
+                    id,
+                    cpf(cpf),
+                    new String(nome, 0, tamanhoNome, StandardCharsets.UTF_8),
+                    LocalDate.ofEpochDay(data),
+                    BigDecimal.valueOf(renda, 2),
+                    score,
+                    aposentado,
+                    new String(profissao, 0, tamanhoProfissao, StandardCharsets.UTF_8));
+        }
+    }
+
+    // Escrita (serializada pelo chamador)
+
+    /**
+     * Insere ou substitui o cliente. Retorna {@code false} quando falta espaço (registros ou índice); nesse caso
+     * nada é alterado e o arquivo precisa ser copiado para um maior com {@link #copiarPara(ArquivoSnapshot)}.
+     */
+    boolean gravar(ClienteResponseDTO cliente) {
+        Registro registro = Registro.de(cliente);
+        if (registro == null) {
+            // Fora do formato: a versão anterior não pode continuar sendo servida
+            if (cliente.id() != null) {
+                remover(cliente.id());
+            }
+            return true;
+        }
+
+        int existente = porId.registro(registro.id());
+        long cpfAnterior = existente < 0 ? CPF_LIVRE : buffer.getLong(base(existente) + REG_CPF);
+        boolean cpfNovo = cpfAnterior != registro.cpf();
+        boolean semRegistro = existente < 0 && quantidadeLivres == 0 && alta == capacidade;
+        if (semRegistro || (existente < 0 && !porId.temEspaco()) || (cpfNovo && !porCpf.temEspaco())) {
+            return false;
+        }
+
+        // O CPF é único no banco: outro registro com o mesmo CPF está desatualizado
+        int ocupanteCpf = porCpf.registro(registro.cpf());
+        if (ocupanteCpf >= 0 && ocupanteCpf != existente) {
+            liberar(ocupanteCpf);
+        }
+
+        int posicao = existente >= 0 ? existente : alocar();
+        escrever(posicao, registro);
+        if (existente < 0) {
+            porId.associar(registro.id(), posicao);
+        }
+        if (cpfNovo) {
+            if (existente >= 0) {
+                porCpf.desassociar(cpfAnterior, posicao);
+            }
+            porCpf.associar(registro.cpf(), posicao);
+        }
+        return true;
+    }
+
+    void remover(long id) {
+        int posicao = porId.registro(id);
+        if (posicao >= 0) {
+            liberar(posicao);
+        }
+    }
+
+    /**
+     * Atualiza só o score do cliente com o CPF, se ele estiver no arquivo
+     */
+    void atualizarScore(long cpf, int score) {
+        int posicao = porCpf.registro(cpf);
+        if (posicao >= 0) {
+            int base = base(posicao);
+            iniciarEscrita(base);
+            buffer.putInt(base + REG_SCORE, score);
+            concluirEscrita(base);
+        }
+    }
+
+    /**
+     * Copia os registros ocupados para outro arquivo (maior ou sem as entradas removidas dos índices)
+     */
+    void copiarPara(ArquivoSnapshot destino) {
+        for (int posicao = 0; posicao < alta; posicao++) {
+            long id = buffer.getLong(base(posicao) + REG_ID);
+            if (id != ID_LIVRE) {
+                ClienteResponseDTO cliente = ler(posicao, REG_ID, id);
+                if (cliente != null && !destino.gravar(cliente)) {
+                    throw new IllegalStateException("Snapshot de destino sem espaço para a cópia");
+                }
+            }
+        }
+    }
+
+    private void liberar(int posicao) {
+        int base = base(posicao);
+        porId.desassociar(buffer.getLong(base + REG_ID), posicao);
+        porCpf.desassociar(buffer.getLong(base + REG_CPF), posicao);
+        iniciarEscrita(base);
+        buffer.putLong(base + REG_ID, ID_LIVRE);
+        buffer.putLong(base + REG_CPF, CPF_LIVRE);
+        concluirEscrita(base);
+        empilharLivre(posicao);
+        registros--;
+    }
+
+    private int alocar() {
+        registros++;
+        if (quantidadeLivres > 0) {
+            return livres[--quantidadeLivres];
+        }
+        buffer.putInt(CAB_ALTA, alta + 1);
+        return alta++;
+    }
+
+    private void empilharLivre(int posicao) {
+        if (quantidadeLivres == livres.length) {
+            livres = Arrays.copyOf(livres, livres.length * 2);
+        }
+        livres[quantidadeLivres++] = posicao;
+    }
+
+    private void escrever(int posicao, Registro registro) {
+        int base = base(posicao);
+        iniciarEscrita(base);
+        buffer.putLong(base + REG_ID, registro.id());
+        buffer.putLong(base + REG_CPF, registro.cpf());
+        buffer.putLong(base + REG_RENDA, registro.renda());
+        buffer.putInt(base + REG_DATA, registro.data());
+        buffer.putInt(base + REG_SCORE, registro.score());
+        buffer.put(base + REG_APOSENTADO, (byte) (registro.aposentado() ? 1 : 0));
+        buffer.put(base + REG_TAMANHO_NOME, (byte) registro.nome().length);
+        buffer.put(base + REG_TAMANHO_PROFISSAO, (byte) registro.profissao().length);
+        buffer.put(base + REG_NOME, registro.nome());
+        buffer.put(base + REG_PROFISSAO, registro.profissao());
+        concluirEscrita(base);
+    }
+
+    private void iniciarEscrita(int base) {
+        LONGS.setOpaque(buffer, base + REG_VERSAO, buffer.getLong(base + REG_VERSAO) + 1);
+        VarHandle.storeStoreFence();
+    }
+
+    private void concluirEscrita(int base) {
+        LONGS.setRelease(buffer, base + REG_VERSAO, buffer.getLong(base + REG_VERSAO) + 1);
+    }
+
+    // Ciclo de vida
+
+    void marcarCarga(long instante) {
+        buffer.putLong(CAB_CARREGADO_EM, instante);
+    }
+
+    long carregadoEm() {
+        return buffer.getLong(CAB_CARREGADO_EM);
+    }
+
+    /**
+     * Move o arquivo para o caminho definitivo. O mapeamento continua válido, inclusive para quem já o lê.
+     */
+    void mover(Path destino) throws IOException {
+        Files.move(caminho, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        caminho = destino;
+    }
+
+    /**
+     * Grava as páginas em disco e marca o arquivo como íntegro para a próxima subida
+     */
+    void fechar() throws IOException {
+        buffer.force();
+        buffer.putInt(CAB_INTEGRO, 1);
+        buffer.force();
+        canal.close();
+    }
+
+    /**
+     * Fecha sem marcar como íntegro. O mapeamento não é desfeito: leitores em andamento continuam válidos e a
+     * memória é devolvida quando o buffer for coletado.
+     */
+    void descartar() throws IOException {
+        canal.close();
+    }
+
+    Path caminho() {
+        return caminho;
+    }
+
+    int registros() {
+        return registros;
+    }
+
+    int capacidade() {
+        return capacidade;
+    }
+
+    long tamanhoBytes() {
+        return tamanhoArquivo(capacidade, tamanhoTabela);
+    }
+
+    // Auxiliares
+
+    private static int base(int posicao) {
+        return TAMANHO_CABECALHO + posicao * TAMANHO_REGISTRO;
+    }
+
+    /**
+     * Tabelas com pelo menos o dobro da capacidade, em potência de dois
+     */
+    private static int tamanhoTabela(int capacidade) {
+        return (int) Math.min(Integer.MAX_VALUE, Long.highestOneBit(Math.max(1, 2L * capacidade - 1)) << 1);
+    }
+
+    private static long tamanhoArquivo(int capacidade, int tamanhoTabela) {
+        return TAMANHO_CABECALHO + (long) capacidade * TAMANHO_REGISTRO
+                + 2L * tamanhoTabela * (Long.BYTES + Integer.BYTES);
+    }
+
+    /**
+     * CPF de exatamente 11 dígitos como long; qualquer outro texto retorna -1 e não é armazenado
+     */
+    static long chaveCpf(String cpf) {
+        if (cpf == null || cpf.length() != 11) {
+            return CPF_LIVRE;
+        }
+        long valor = 0;
+        for (int i = 0; i < 11; i++) {
+            char c = cpf.charAt(i);
+            if (c < '0' || c > '9') {
+                return CPF_LIVRE;
+            }
+            valor = valor * 10 + (c - '0');
+        }
+        return valor;
+    }
+
+    private static String cpf(long valor) {
+        char[] digitos = new char[11];
+        for (int i = 10; i >= 0; i--) {
+            digitos[i] = (char) ('0' + valor % 10);
+            valor /= 10;
+        }
+        return new String(digitos);
+    }
+
+    private static long misturar(long x) {
+        x = (x ^ (x >>> 33)) * 0xff51afd7ed558ccdL;
+        x = (x ^ (x >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return x ^ (x >>> 33);
+    }
+
+    /**
+     * Tabela de endereçamento aberto (sondagem linear) de chave long para posição de registro
+     */
+    private final class Indice {
+
+        private final int chaves;
+        private final int posicoes;
+        private int usadas;
+
+        Indice(int inicio) {
+            this.chaves = inicio;
+            this.posicoes = inicio + tamanhoTabela * Long.BYTES;
+        }
+
+        /**
+         * Posição do registro da chave, ou negativo se ausente ou removida
+         */
+        int registro(long chave) {
+            int entrada = entrada(chave);
+            return entrada < 0 ? -1 : (int) INTS.getAcquire(buffer, posicoes + entrada * Integer.BYTES) - 1;
+        }
+
+        /**
+         * Entrada da chave; sem ela, {@code -1 - entrada vazia} onde ela seria inserida
+         */
+        private int entrada(long chave) {
+            int mascara = tamanhoTabela - 1;
+            int entrada = (int) misturar(chave) & mascara;
+            for (int sondagens = 0; sondagens < tamanhoTabela; sondagens++) {
+                // A posição é publicada depois da chave: se não está vazia, a chave já é visível
+                if ((int) INTS.getAcquire(buffer, posicoes + entrada * Integer.BYTES) == VAZIA) {
+                    return -1 - entrada;
+                }
+                if (buffer.getLong(chaves + entrada * Long.BYTES) == chave) {
+                    return entrada;
+                }
+                entrada = (entrada + 1) & mascara;
+            }
+            return Integer.MIN_VALUE;
+        }
+
+        boolean temEspaco() {
+            // Ocupação máxima de 70%, contando as entradas removidas
+            return (usadas + 1) * 10L <= tamanhoTabela * 7L;
+        }
+
+        void associar(long chave, int posicao) {
+            int entrada = entrada(chave);
+            if (entrada < 0) {
+                entrada = -1 - entrada;
+                buffer.putLong(chaves + entrada * Long.BYTES, chave);
+                usadas++;
+            }
+            INTS.setRelease(buffer, posicoes + entrada * Integer.BYTES, posicao + 1);
+        }
+
+        void desassociar(long chave, int posicao) {
+            int entrada = entrada(chave);
+            if (entrada >= 0 && buffer.getInt(posicoes + entrada * Integer.BYTES) == posicao + 1) {
+                INTS.setRelease(buffer, posicoes + entrada * Integer.BYTES, REMOVIDA);
+            }
+        }
+
+        void contarUsadas() {
+            usadas = 0;
+            for (int entrada = 0; entrada < tamanhoTabela; entrada++) {
+                if (buffer.getInt(posicoes + entrada * Integer.BYTES) != VAZIA) {
+                    usadas++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Cliente já convertido para o formato do registro
+     */
+    private record Registro(long id, long cpf, long renda, int data, int score, boolean aposentado, byte[] nome,
+                            byte[] profissao) {
+
+        static Registro de(ClienteResponseDTO cliente) {
+            long cpf = chaveCpf(cliente.cpf());
+            if (cliente.id() == null || cliente.id() == ID_LIVRE || cpf == CPF_LIVRE || cliente.nome() == null
+                    || cliente.dataNascimento() == null || cliente.rendaMensal() == null
+                    || cliente.scoreCredito() == null || cliente.aposentado() == null || cliente.profissao() == null) {
+                return null;
+            }
+
+            BigInteger renda;
+            try {
+                // DECIMAL(10,2): com duas casas o valor lido daqui é o mesmo que viria do banco
+                renda = cliente.rendaMensal().setScale(2).unscaledValue();
+            } catch (ArithmeticException ex) {
+                return null;
+            }
+            long epochDay = cliente.dataNascimento().toEpochDay();
+            byte[] nome = cliente.nome().getBytes(StandardCharsets.UTF_8);
+            byte[] profissao = cliente.profissao().getBytes(StandardCharsets.UTF_8);
+            if (renda.bitLength() >= Long.SIZE || epochDay != (int) epochDay
+                    || nome.length > MAXIMO_NOME || profissao.length > MAXIMO_PROFISSAO) {
+                return null;
+            }
+
+            return new Registro(cliente.id(), cpf, renda.longValue(), (int) epochDay, cliente.scoreCredito(),
+                    cliente.aposentado(), nome, profissao);
+        }
+    }
+}
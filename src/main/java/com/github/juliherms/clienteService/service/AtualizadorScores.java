@@ -0,0 +1,311 @@
+package com.github.juliherms.clienteService.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.juliherms.clienteService.auditoria.AuditoriaClientes;
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.dto.ResultadoAtualizacaoScoresDTO;
+import com.github.juliherms.clienteService.entity.Cliente;
+import com.github.juliherms.clienteService.exception.CampoInvalidoException;
+import com.github.juliherms.clienteService.invalidacao.BarramentoInvalidacao;
+import com.github.juliherms.clienteService.outbox.OutboxClientes;
+import com.github.juliherms.clienteService.repository.ClienteArquivoRepository;
+import com.github.juliherms.clienteService.repository.ClienteRepositoryCustom;
+import com.github.juliherms.clienteService.repository.RepositorioClientes;
+import com.github.juliherms.clienteService.web.SistemaOrigemContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Atualização de scores de crédito em lote a partir de um fluxo de pares (CPF, score), em CSV
+ * ({@code cpf,scoreCredito} por linha, cabeçalho opcional) ou NDJSON ({@code {"cpf": ..., "scoreCredito": ...}}).
+ *
+ * <p>O fluxo é lido incrementalmente para arrays primitivos de {@code cliente.scores.tamanho-lote} posições;
+ * cada lote cheio vira um batch de {@code UPDATE ... WHERE cpf = ?} em transação própria, sem carregar
+ * entidades. CPFs sem cliente na tabela principal são tentados no arquivo e, se também não existirem lá,
+ * voltam no resultado. Um lote já confirmado não é desfeito por erro em um lote posterior.</p>
+ *
+ * <p>As atualizações não passam pelo ClienteService nem publicam um ClienteAlteradoEvent por cliente. Em vez disso,
+ * cada lote grava na sua transação, em batch, um evento de outbox e um registro de auditoria por cliente atualizado
+ * e, com o barramento de invalidação, um aviso por cliente da tabela principal para as outras instâncias. O
+ * snapshot de clientes, quando habilitado, recebe os scores de cada lote confirmado.</p>
+ */
+@Component
+public class AtualizadorScores {
+
+    private static final Logger logger = LoggerFactory.getLogger(AtualizadorScores.class);
+
+    private static final int SCORE_MINIMO = 0;
+    private static final int SCORE_MAXIMO = 1000;
+
+    @Autowired
+    private RepositorioClientes clienteRepository;
+
+    @Autowired
+    private ClienteArquivoRepository clienteArquivoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private SnapshotClientes snapshotClientes;
+
+    @Autowired(required = false)
+    private BarramentoInvalidacao barramentoInvalidacao;
+
+    @Autowired(required = false)
+    private OutboxClientes outboxClientes;
+
+    @Autowired(required = false)
+    private AuditoriaClientes auditoriaClientes;
+
+    @Value("${cliente.scores.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    /**
+     * Aplica os scores de um corpo CSV
+     */
+    public ResultadoAtualizacaoScoresDTO atualizarCsv(InputStream corpo) throws IOException {
+        Execucao execucao = new Execucao();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8));
+
+        String linha;
+        long numeroLinha = 0;
+        while ((linha = reader.readLine()) != null) {
+            numeroLinha++;
+            linha = linha.strip();
+            if (linha.isEmpty() || (numeroLinha == 1 && !Character.isDigit(linha.charAt(0)))) {
+                continue;
+            }
+            int separador = linha.indexOf(',');
+            long cpf = separador < 0 ? -1 : cpfNumerico(linha.substring(0, separador).strip());
+            int score = separador < 0 ? -1 : scoreNumerico(linha.substring(separador + 1).strip());
+            execucao.adicionar(cpf, score, numeroLinha);
+        }
+        return execucao.concluir();
+    }
+
+    /**
+     * Aplica os scores de um corpo NDJSON (um objeto por linha)
+     */
+    public ResultadoAtualizacaoScoresDTO atualizarNdjson(InputStream corpo) throws IOException {
+        Execucao execucao = new Execucao();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(corpo)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                long numeroLinha = parser.currentLocation().getLineNr();
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    execucao.adicionar(-1, -1, numeroLinha);
+                    continue;
+                }
+                long cpf = -1;
+                int score = -1;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String campo = parser.currentName();
+                    JsonToken valor = parser.nextToken();
+                    if ("cpf".equals(campo) && valor.isScalarValue()) {
+                        cpf = cpfNumerico(parser.getValueAsString());
+                    } else if ("scoreCredito".equals(campo) && valor == JsonToken.VALUE_NUMBER_INT) {
+                        score = scoreNumerico(parser.getText());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                execucao.adicionar(cpf, score, numeroLinha);
+            }
+        } catch (JsonParseException ex) {
+            throw new CampoInvalidoException("JSON malformado na linha " + ex.getLocation().getLineNr()
+                    + "; " + execucao.atualizados + " clientes de lotes anteriores já foram atualizados", ex);
+        }
+        return execucao.concluir();
+    }
+
+    /**
+     * CPF de 11 dígitos como número, ou -1 se o texto não for um CPF
+     */
+    private static long cpfNumerico(String texto) {
+        if (texto == null || texto.length() != 11) {
+            return -1;
+        }
+        long cpf = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            cpf = cpf * 10 + (c - '0');
+        }
+        return cpf;
+    }
+
+    private static int scoreNumerico(String texto) {
+        try {
+            int score = Integer.parseInt(texto);
+            return score < SCORE_MINIMO || score > SCORE_MAXIMO ? -1 : score;
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Estado de uma requisição: o lote corrente em arrays primitivos e os totais acumulados
+     */
+    private final class Execucao {
+
+        private final long[] cpfs = new long[tamanhoLote];
+        private final int[] scores = new int[tamanhoLote];
+        private int tamanho;
+
+        private final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        private final String sistemaOrigem = SistemaOrigemContext.get();
+        private final List<String> naoEncontrados = new ArrayList<>();
+        private final List<Long> linhasInvalidas = new ArrayList<>();
+        private final long inicio = System.currentTimeMillis();
+        private long recebidos;
+        private long atualizados;
+
+        void adicionar(long cpf, int score, long numeroLinha) {
+            recebidos++;
+            if (cpf < 0 || score < 0) {
+                linhasInvalidas.add(numeroLinha);
+                return;
+            }
+            cpfs[tamanho] = cpf;
+            scores[tamanho] = score;
+            if (++tamanho == tamanhoLote) {
+                aplicar();
+            }
+        }
+
+        ResultadoAtualizacaoScoresDTO concluir() {
+            if (tamanho > 0) {
+                aplicar();
+            }
+            logger.info("Atualização de scores: {} recebidos, {} atualizados, {} CPFs não encontrados, "
+                            + "{} linhas inválidas em {} ms", recebidos, atualizados, naoEncontrados.size(),
+                    linhasInvalidas.size(), System.currentTimeMillis() - inicio);
+            return new ResultadoAtualizacaoScoresDTO(recebidos, atualizados, naoEncontrados, linhasInvalidas);
+        }
+
+        private void aplicar() {
+            int[] linhas = transactionTemplate.execute(status -> {
+                int[] afetadas = clienteRepository.atualizarScores(cpfs, scores, tamanho);
+                List<String> naPrincipal = cpfsAtualizados(afetadas);
+                List<String> noArquivo = aplicarNoArquivo(afetadas);
+                registrarAlteracoes(naPrincipal, noArquivo);
+                return afetadas;
+            });
+
+            // SUCCESS_NO_INFO (-2) do driver conta como atualizado: só 0 indica CPF inexistente
+            for (int i = 0; i < tamanho; i++) {
+                if (linhas[i] == 0) {
+                    naoEncontrados.add(ClienteRepositoryCustom.cpf(cpfs[i]));
+                } else {
+                    atualizados++;
+                    if (snapshotClientes != null) {
+                        snapshotClientes.atualizarScore(cpfs[i], scores[i]);
+                    }
+                }
+            }
+            tamanho = 0;
+        }
+
+        private List<String> cpfsAtualizados(int[] afetadas) {
+            List<String> atualizados = new ArrayList<>(tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                if (afetadas[i] != 0) {
+                    atualizados.add(ClienteRepositoryCustom.cpf(cpfs[i]));
+                }
+            }
+            return atualizados;
+        }
+
+        /**
+         * Outbox e auditoria de todos os clientes atualizados; avisos de invalidação só para os da tabela principal
+         * (os arquivados não ficam em cache)
+         */
+        private void registrarAlteracoes(List<String> naPrincipal, List<String> noArquivo) {
+            if ((naPrincipal.isEmpty() && noArquivo.isEmpty())
+                    || (barramentoInvalidacao == null && outboxClientes == null && auditoriaClientes == null)) {
+                return;
+            }
+            List<Cliente> principais = naPrincipal.isEmpty() ? List.of() : clienteRepository.findByCpfIn(naPrincipal);
+            if (barramentoInvalidacao != null && !principais.isEmpty()) {
+                barramentoInvalidacao.publicarAtualizacoes(principais);
+            }
+            if (outboxClientes == null && auditoriaClientes == null) {
+                return;
+            }
+
+            List<ClienteResponseDTO> clientes = new ArrayList<>(naPrincipal.size() + noArquivo.size());
+            principais.forEach(cliente -> clientes.add(ClienteService.convertToResponseDTO(cliente)));
+            clienteArquivoRepository.findAtivosByCpfIn(noArquivo)
+                    .forEach(cliente -> clientes.add(ClienteService.convertToResponseDTO(cliente)));
+            if (clientes.isEmpty()) {
+                return;
+            }
+            if (outboxClientes != null) {
+                outboxClientes.registrarAtualizacoes(clientes, sistemaOrigem);
+            }
+            if (auditoriaClientes != null) {
+                auditoriaClientes.registrarAtualizacoes(clientes, sistemaOrigem);
+            }
+        }
+
+        /**
+         * Tenta no arquivo as posições sem cliente na tabela principal e devolve os CPFs atualizados lá
+         */
+        private List<String> aplicarNoArquivo(int[] afetadas) {
+            int faltantes = 0;
+            for (int i = 0; i < tamanho; i++) {
+                if (afetadas[i] == 0) {
+                    faltantes++;
+                }
+            }
+            if (faltantes == 0) {
+                return List.of();
+            }
+
+            long[] cpfsFaltantes = new long[faltantes];
+            int[] scoresFaltantes = new int[faltantes];
+            int[] posicoes = new int[faltantes];
+            for (int i = 0, j = 0; i < tamanho; i++) {
+                if (afetadas[i] == 0) {
+                    cpfsFaltantes[j] = cpfs[i];
+                    scoresFaltantes[j] = scores[i];
+                    posicoes[j++] = i;
+                }
+            }
+
+            int[] noArquivo = clienteArquivoRepository.atualizarScores(cpfsFaltantes, scoresFaltantes, faltantes);
+            List<String> atualizados = new ArrayList<>();
+            for (int j = 0; j < faltantes; j++) {
+                afetadas[posicoes[j]] = noArquivo[j];
+                if (noArquivo[j] != 0) {
+                    atualizados.add(ClienteRepositoryCustom.cpf(cpfsFaltantes[j]));
+                }
+            }
+            return atualizados;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.github.juliherms.clienteService.service;
+
+import com.github.juliherms.clienteService.datasource.EscritasRecentes;
+import com.github.juliherms.clienteService.dto.ClienteRequestDTO;
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.entity.Cliente;
+import com.github.juliherms.clienteService.event.ClienteAlteradoEvent;
+import com.github.juliherms.clienteService.exception.DuplicateCpfException;
+import com.github.juliherms.clienteService.exception.PrazoExpiradoException;
+import com.github.juliherms.clienteService.repository.ClienteArquivoRepository;
+import com.github.juliherms.clienteService.repository.RepositorioClientes;
+import com.github.juliherms.clienteService.web.PrazoContext;
+import com.github.juliherms.clienteService.web.SistemaOrigemContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group commit para cadastros: pedidos de chamadores concorrentes entram numa fila limitada e uma
+ * única thread os grava em micro-lotes, um commit por lote. Cada chamador recebe o próprio resultado
+ * ou o próprio erro de CPF duplicado.
+ *
+ * <p>Ativado com {@code cliente.cadastro.group-commit.enabled=true}. Com a fila cheia, o cadastro
+ * segue pelo caminho normal do {@link ClienteService}. O chamador espera no máximo {@code espera-resultado} (ou o
+ * próprio prazo); um pedido abandonado antes de entrar num lote não é gravado. No desligamento, os pedidos que
+ * o escritor não chegou a gravar falham em vez de deixar o chamador esperando.</p>
+ *
+ * <p>Como a escrita acontece na thread do escritor, o lote registra, depois do commit, a escrita de cada sistema
+ * de origem em {@link EscritasRecentes}, para que a leitura seguinte do chamador vá à primária.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "cliente.cadastro.group-commit.enabled", havingValue = "true")
+public class CadastroEmLoteWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CadastroEmLoteWriter.class);
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private RepositorioClientes clienteRepository;
+
+    @Autowired
+    private ClienteArquivoRepository clienteArquivoRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private CpfBloomFilter cpfBloomFilter;
+
+    @Autowired(required = false)
+    private EscritasRecentes escritasRecentes;
+
+    @Value("${cliente.arquivamento.consultar:${cliente.arquivamento.enabled:false}}")
+    private boolean consultarArquivo;
+
+    @Value("${cliente.cadastro.group-commit.tamanho-lote:64}")
+    private int tamanhoLote;
+
+    @Value("${cliente.cadastro.group-commit.espera-maxima:5ms}")
+    private Duration esperaMaxima;
+
+    @Value("${cliente.cadastro.group-commit.capacidade-fila:4096}")
+    private int capacidadeFila;
+
+    @Value("${cliente.cadastro.group-commit.espera-resultado:5s}")
+    private Duration esperaResultado;
+
+    private BlockingQueue<Pedido> fila;
+    private Thread escritor;
+    private volatile boolean ativo;
+
+    private record Pedido(ClienteRequestDTO request, String sistemaOrigem, CompletableFuture<ClienteResponseDTO> resultado) {}
+
+    @PostConstruct
+    void iniciar() {
+        fila = new ArrayBlockingQueue<>(capacidadeFila);
+        ativo = true;
+        escritor = new Thread(this::executar, "cadastro-group-commit");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    @PreDestroy
+    void parar() throws InterruptedException {
+        ativo = false;
+        escritor.interrupt();
+        escritor.join(TimeUnit.SECONDS.toMillis(5));
+
+        List<Pedido> pendentes = new ArrayList<>();
+        fila.drainTo(pendentes);
+        pendentes.forEach(pedido -> pedido.resultado().completeExceptionally(
+                new IllegalStateException("Cadastro em lote encerrado antes da gravação")));
+    }
+
+    /**
+     * Enfileira o cadastro e aguarda o commit do lote em que ele foi gravado
+     */
+    public ClienteResponseDTO cadastrar(ClienteRequestDTO clienteRequest) {
+        Pedido pedido = new Pedido(clienteRequest, SistemaOrigemContext.get(), new CompletableFuture<>());
+
+        if (!ativo || !fila.offer(pedido)) {
+            logger.debug("Fila de group commit cheia, cadastrando CPF {} diretamente", clienteRequest.cpf());
+            return clienteService.cadastrarCliente(clienteRequest);
+        }
+
+        long espera = Math.min(esperaResultado.toNanos(), PrazoContext.restanteNanos());
+        try {
+            return pedido.resultado().get(Math.max(0, espera), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            // Se ainda não entrou num lote, não será gravado; se já entrou, o commit pode acontecer mesmo assim
+            pedido.resultado().cancel(false);
+            throw new PrazoExpiradoException("Prazo esgotado aguardando o commit do cadastro em lote");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            pedido.resultado().cancel(false);
+            throw new IllegalStateException("Interrompido aguardando o cadastro em lote", ex);
+        }
+    }
+
+    private void executar() {
+        List<Pedido> lote = new ArrayList<>(tamanhoLote);
+        while (ativo || !fila.isEmpty()) {
+            try {
+                Pedido primeiro = fila.poll(1, TimeUnit.SECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+
+                long limite = System.nanoTime() + esperaMaxima.toNanos();
+                while (lote.size() < tamanhoLote) {
+                    // Esvazia o que já está na fila antes de esperar pelos próximos
+                    if (fila.drainTo(lote, tamanhoLote - lote.size()) > 0) {
+                        continue;
+                    }
+                    long restante = limite - System.nanoTime();
+                    Pedido proximo = restante > 0 ? fila.poll(restante, TimeUnit.NANOSECONDS) : null;
+                    if (proximo == null) {
+                        break;
+                    }
+                    lote.add(proximo);
+                }
+
+                gravarLote(lote);
+            } catch (InterruptedException ex) {
+                // Interrupção só ocorre no desligamento: grava o que já foi coletado e drena a fila
+                if (!lote.isEmpty()) {
+                    gravarLote(lote);
+                }
+            } catch (RuntimeException ex) {
+                logger.error("Erro inesperado no group commit de cadastros: {}", ex.getMessage(), ex);
+                lote.forEach(pedido -> pedido.resultado().completeExceptionally(ex));
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void gravarLote(List<Pedido> coletados) {
+        // Pedidos cujo chamador desistiu (prazo esgotado) não são gravados
+        List<Pedido> lote = coletados.stream().filter(pedido -> !pedido.resultado().isDone()).toList();
+        if (lote.isEmpty()) {
+            return;
+        }
+        List<Pedido> aceitos = new ArrayList<>(lote.size());
+        List<ClienteResponseDTO> gravados = new ArrayList<>(lote.size());
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                aceitos.clear();
+                gravados.clear();
+                Set<String> existentes = cpfsJaCadastrados(lote);
+                Set<String> vistosNoLote = new HashSet<>();
+
+                List<Cliente> entidades = new ArrayList<>(lote.size());
+                for (Pedido pedido : lote) {
+                    String cpf = pedido.request().cpf();
+                    if (existentes.contains(cpf) || !vistosNoLote.add(cpf)) {
+                        continue;
+                    }
+                    aceitos.add(pedido);
+                    entidades.add(ClienteService.convertToEntity(pedido.request()));
+                }
+
+                List<Cliente> salvos = clienteRepository.saveAll(entidades);
+                clienteRepository.flush();
+
+                for (int i = 0; i < salvos.size(); i++) {
+                    ClienteResponseDTO response = ClienteService.convertToResponseDTO(salvos.get(i));
+                    gravados.add(response);
+                    eventPublisher.publishEvent(ClienteAlteradoEvent.cadastro(response, aceitos.get(i).sistemaOrigem()));
+                }
+            });
+        } catch (RuntimeException ex) {
+            // Um conflito concorrente derruba o lote inteiro: regrava um a um para isolar o culpado
+            logger.warn("Falha no lote de {} cadastros, regravando individualmente: {}", lote.size(), ex.getMessage());
+            lote.forEach(this::gravarIndividualmente);
+            return;
+        }
+
+        registrarEscritas(aceitos);
+        for (int i = 0; i < aceitos.size(); i++) {
+            aceitos.get(i).resultado().complete(gravados.get(i));
+        }
+        for (Pedido pedido : lote) {
+            if (!pedido.resultado().isDone()) {
+                pedido.resultado().completeExceptionally(new DuplicateCpfException(
+                        "Já existe um cliente cadastrado com o CPF: " + pedido.request().cpf()));
+            }
+        }
+        logger.debug("Lote de {} cadastros gravado ({} aceitos)", lote.size(), aceitos.size());
+    }
+
+    /**
+     * Read-your-writes: o roteamento só vê o sistema de origem da thread que escreve, e aqui é a do escritor
+     */
+    private void registrarEscritas(List<Pedido> aceitos) {
+        if (escritasRecentes == null) {
+            return;
+        }
+        Set<String> origens = new HashSet<>();
+        for (Pedido pedido : aceitos) {
+            if (pedido.sistemaOrigem() != null && origens.add(pedido.sistemaOrigem())) {
+                escritasRecentes.registrarEscrita(pedido.sistemaOrigem());
+            }
+        }
+    }
+
+    private Set<String> cpfsJaCadastrados(List<Pedido> lote) {
+        List<String> talvezExistentes = new ArrayList<>(lote.size());
+        for (Pedido pedido : lote) {
+            String cpf = pedido.request().cpf();
+            if (cpfBloomFilter == null || !cpfBloomFilter.certamenteAusente(cpf)) {
+                talvezExistentes.add(cpf);
+            }
+        }
+        if (talvezExistentes.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> existentes = new HashSet<>(clienteRepository.findCpfsExistentes(talvezExistentes));
+        if (consultarArquivo) {
+            existentes.addAll(clienteArquivoRepository.findCpfsAtivosExistentes(talvezExistentes));
+        }
+        return existentes;
+    }
+
+    private void gravarIndividualmente(Pedido pedido) {
+        SistemaOrigemContext.set(pedido.sistemaOrigem());
+        try {
+            pedido.resultado().complete(clienteService.cadastrarCliente(pedido.request()));
+        } catch (RuntimeException ex) {
+            pedido.resultado().completeExceptionally(ex);
+        } finally {
+            SistemaOrigemContext.clear();
+        }
+    }
+}
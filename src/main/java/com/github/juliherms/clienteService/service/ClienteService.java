@@ -1,21 +1,38 @@
 package com.github.juliherms.clienteService.service;
 
 
+import com.github.juliherms.clienteService.dto.CampoCliente;
 import com.github.juliherms.clienteService.dto.ClienteRequestDTO;
 import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
 import com.github.juliherms.clienteService.entity.Cliente;
+import com.github.juliherms.clienteService.event.ClienteAlteradoEvent;
 import com.github.juliherms.clienteService.exception.ClienteNotFoundException;
 import com.github.juliherms.clienteService.exception.DuplicateCpfException;
-import com.github.juliherms.clienteService.repository.ClienteRepository;
+import com.github.juliherms.clienteService.exception.RestauracaoConcorrenteException;
+import com.github.juliherms.clienteService.repository.ClienteArquivoRepository;
+import com.github.juliherms.clienteService.repository.RepositorioClientes;
+import com.github.juliherms.clienteService.web.SistemaOrigemContext;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,7 +42,29 @@ public class ClienteService {
     private static final Logger logger = LoggerFactory.getLogger(ClienteService.class);
 
     @Autowired
-    private ClienteRepository clienteRepository;
+    private RepositorioClientes clienteRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ClienteArquivoRepository clienteArquivoRepository;
+
+    /**
+     * Com o arquivamento desligado a tabela de arquivo está vazia e não é consultada; quem o desliga depois de
+     * arquivar clientes mantém {@code cliente.arquivamento.consultar=true}
+     */
+    @Value("${cliente.arquivamento.consultar:${cliente.arquivamento.enabled:false}}")
+    private boolean consultarArquivo;
+
+    @Autowired(required = false)
+    private CpfBloomFilter cpfBloomFilter;
+
+    @Autowired(required = false)
+    private ConsultasEmVoo consultasEmVoo;
+
+    @Autowired(required = false)
+    private SnapshotClientes snapshotClientes;
 
     /**
      * Cadastra um novo cliente
@@ -33,47 +72,81 @@ public class ClienteService {
     public ClienteResponseDTO cadastrarCliente(ClienteRequestDTO clienteRequest) {
         logger.info("Iniciando cadastro de cliente com CPF: {}", clienteRequest.cpf());
 
-        // Verifica se já existe cliente com o CPF
-        if (clienteRepository.existsByCpf(clienteRequest.cpf())) {
+        // Verifica se já existe cliente com o CPF (dispensado quando o filtro garante ausência)
+        if (!cpfCertamenteAusente(clienteRequest.cpf()) && cpfCadastrado(clienteRequest.cpf())) {
             throw new DuplicateCpfException("Já existe um cliente cadastrado com o CPF: " + clienteRequest.cpf());
         }
 
         // Converte DTO para entidade
         Cliente cliente = convertToEntity(clienteRequest);
 
-        // Salva o cliente
-        Cliente clienteSalvo = clienteRepository.save(cliente);
+        // Salva o cliente; a constraint única do banco continua sendo a garantia final
+        Cliente clienteSalvo;
+        try {
+            clienteSalvo = clienteRepository.save(cliente);
+        } catch (DataIntegrityViolationException ex) {
+            throw new DuplicateCpfException("Já existe um cliente cadastrado com o CPF: " + clienteRequest.cpf(), ex);
+        }
 
         logger.info("Cliente cadastrado com sucesso. ID: {}", clienteSalvo.getId());
 
         // Converte entidade para DTO de resposta
-        return convertToResponseDTO(clienteSalvo);
+        ClienteResponseDTO clienteResponse = convertToResponseDTO(clienteSalvo);
+        eventPublisher.publishEvent(ClienteAlteradoEvent.cadastro(clienteResponse, SistemaOrigemContext.get()));
+        return clienteResponse;
     }
 
     /**
-     * Busca cliente por CPF
+     * Busca cliente por CPF, primeiro no snapshot fora do heap (quando habilitado). Buscas concorrentes pelo mesmo
+     * CPF compartilham uma única consulta; por isso o método não abre transação própria (SUPPORTS), e quem espera
+     * não segura conexão do pool.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ClienteResponseDTO buscarPorCpf(String cpf) {
         logger.info("Buscando cliente por CPF: {}", cpf);
 
-        Cliente cliente = clienteRepository.findByCpf(cpf)
-                .orElseThrow(() -> new ClienteNotFoundException("Cliente não encontrado com CPF: " + cpf));
+        ClienteResponseDTO doSnapshot = snapshotClientes == null ? null : snapshotClientes.buscarPorCpf(cpf);
+        if (doSnapshot != null) {
+            return doSnapshot;
+        }
 
-        return convertToResponseDTO(cliente);
+        if (cpfCertamenteAusente(cpf)) {
+            throw new ClienteNotFoundException("Cliente não encontrado com CPF: " + cpf);
+        }
+
+        return emVoo("cpf", cpf, () -> {
+            Cliente cliente = clienteRepository.findByCpf(cpf)
+                    .or(() -> arquivadoPorCpf(cpf))
+                    .orElseThrow(() -> {
+                        if (cpfBloomFilter != null) {
+                            cpfBloomFilter.registrarFalsoPositivo();
+                        }
+                        return new ClienteNotFoundException("Cliente não encontrado com CPF: " + cpf);
+                    });
+
+            return convertToResponseDTO(cliente);
+        });
     }
 
     /**
-     * Busca cliente por ID
+     * Busca cliente por ID, com a mesma coalescência de buscas concorrentes de {@link #buscarPorCpf(String)}
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ClienteResponseDTO buscarPorId(Long id) {
         logger.info("Buscando cliente por ID: {}", id);
 
-        Cliente cliente = clienteRepository.findById(id)
-                .orElseThrow(() -> new ClienteNotFoundException("Cliente não encontrado com ID: " + id));
+        ClienteResponseDTO doSnapshot = snapshotClientes == null ? null : snapshotClientes.buscarPorId(id);
+        if (doSnapshot != null) {
+            return doSnapshot;
+        }
+
+        return emVoo("id", id, () -> {
+            Cliente cliente = clienteRepository.findById(id)
+                    .or(() -> arquivadoPorId(id))
+                    .orElseThrow(() -> new ClienteNotFoundException("Cliente não encontrado com ID: " + id));
 
-        return convertToResponseDTO(cliente);
+            return convertToResponseDTO(cliente);
+        });
     }
 
     /**
@@ -84,7 +157,20 @@ public class ClienteService {
         logger.info("Listando clientes com paginação: {}", pageable);
 
         Page<Cliente> clientes = clienteRepository.findAll(pageable);
-        return clientes.map(this::convertToResponseDTO);
+        return clientes.map(ClienteService::convertToResponseDTO);
+    }
+
+    /**
+     * Lista os clientes seguintes ao ID informado, em ordem de ID. Percorrer a base por chave mantém o custo de
+     * cada página constante, ao contrário do OFFSET, e não esbarra no limite de paginação do sharding.
+     */
+    @Transactional(readOnly = true)
+    public List<ClienteResponseDTO> listarClientesAposId(long ultimoId, int quantidade) {
+        logger.debug("Listando {} clientes após o ID {}", quantidade, ultimoId);
+
+        return clienteRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, Limit.of(quantidade)).stream()
+                .map(ClienteService::convertToResponseDTO)
+                .toList();
     }
 
     /**
@@ -96,22 +182,72 @@ public class ClienteService {
 
         List<Cliente> clientes = clienteRepository.findByNomeContainingIgnoreCase(nome);
         return clientes.stream()
-                .map(this::convertToResponseDTO)
+                .map(ClienteService::convertToResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Busca apenas os campos informados do cliente por CPF
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> buscarPorCpf(String cpf, List<CampoCliente> campos) {
+        logger.info("Buscando campos {} do cliente por CPF: {}", campos, cpf);
+
+        if (cpfCertamenteAusente(cpf)) {
+            throw new ClienteNotFoundException("Cliente não encontrado com CPF: " + cpf);
+        }
+
+        return clienteRepository.findProjetadoByCpf(cpf, campos)
+                .or(() -> arquivadoPorCpf(cpf).map(cliente -> projetar(cliente, campos)))
+                .orElseThrow(() -> new ClienteNotFoundException("Cliente não encontrado com CPF: " + cpf));
+    }
+
+    /**
+     * Busca apenas os campos informados do cliente por ID
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> buscarPorId(Long id, List<CampoCliente> campos) {
+        logger.info("Buscando campos {} do cliente por ID: {}", campos, id);
+
+        return clienteRepository.findProjetadoById(id, campos)
+                .or(() -> arquivadoPorId(id).map(cliente -> projetar(cliente, campos)))
+                .orElseThrow(() -> new ClienteNotFoundException("Cliente não encontrado com ID: " + id));
+    }
+
+    /**
+     * Lista apenas os campos informados de todos os clientes com paginação
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> listarClientes(Pageable pageable, List<CampoCliente> campos) {
+        logger.info("Listando campos {} dos clientes com paginação: {}", campos, pageable);
+
+        return clienteRepository.findAllProjetado(pageable, campos);
+    }
+
+    /**
+     * Busca apenas os campos informados dos clientes por nome
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> buscarPorNome(String nome, List<CampoCliente> campos) {
+        logger.info("Buscando campos {} dos clientes por nome: {}", campos, nome);
+
+        return clienteRepository.findProjetadoByNome(nome, campos);
+    }
+
     /**
      * Atualiza dados do cliente
      */
     public ClienteResponseDTO atualizarCliente(Long id, ClienteRequestDTO clienteRequest) {
         logger.info("Atualizando cliente com ID: {}", id);
 
+        // Um cliente arquivado volta para a tabela principal antes de ser alterado
         Cliente cliente = clienteRepository.findById(id)
+                .or(() -> restaurarArquivado(id))
                 .orElseThrow(() -> new ClienteNotFoundException("Cliente não encontrado com ID: " + id));
 
         // Verifica se o CPF foi alterado e se já existe outro cliente com o novo CPF
         if (!cliente.getCpf().equals(clienteRequest.cpf()) &&
-                clienteRepository.existsByCpf(clienteRequest.cpf())) {
+                cpfCadastrado(clienteRequest.cpf())) {
             throw new DuplicateCpfException("Já existe um cliente cadastrado com o CPF: " + clienteRequest.cpf());
         }
 
@@ -122,7 +258,21 @@ public class ClienteService {
 
         logger.info("Cliente atualizado com sucesso. ID: {}", clienteAtualizado.getId());
 
-        return convertToResponseDTO(clienteAtualizado);
+        ClienteResponseDTO clienteResponse = convertToResponseDTO(clienteAtualizado);
+        eventPublisher.publishEvent(ClienteAlteradoEvent.atualizacao(clienteResponse, SistemaOrigemContext.get()));
+        return clienteResponse;
+    }
+
+    private Optional<Cliente> restaurarArquivado(Long id) {
+        if (!consultarArquivo) {
+            return Optional.empty();
+        }
+        try {
+            return clienteArquivoRepository.restaurar(id) ? clienteRepository.findById(id) : Optional.empty();
+        } catch (ConcurrencyFailureException | DataIntegrityViolationException ex) {
+            throw new RestauracaoConcorrenteException("Cliente com ID " + id
+                    + " foi restaurado ou teve o CPF cadastrado por outra requisição, tente novamente", ex);
+        }
     }
 
     /**
@@ -131,18 +281,52 @@ public class ClienteService {
     public void removerCliente(Long id) {
         logger.info("Removendo cliente com ID: {}", id);
 
-        if (!clienteRepository.existsById(id)) {
+        // Remoção lógica; o arquivador move o registro para clientes_arquivo depois. O cliente carregado é
+        // removido diretamente: deleteById faria um segundo SELECT depois da verificação de existência
+        Optional<Cliente> cliente = clienteRepository.findById(id);
+        if (cliente.isPresent()) {
+            clienteRepository.delete(cliente.get());
+        } else if (!consultarArquivo || !clienteArquivoRepository.remover(id)) {
             throw new ClienteNotFoundException("Cliente não encontrado com ID: " + id);
         }
-
-        clienteRepository.deleteById(id);
+        eventPublisher.publishEvent(ClienteAlteradoEvent.remocao(id, SistemaOrigemContext.get()));
 
         logger.info("Cliente removido com sucesso. ID: {}", id);
     }
 
+    private <T> T emVoo(String operacao, Object chave, Supplier<T> consulta) {
+        return consultasEmVoo == null ? consulta.get() : consultasEmVoo.executar(operacao, chave, consulta);
+    }
+
+    private boolean cpfCertamenteAusente(String cpf) {
+        return cpfBloomFilter != null && cpfBloomFilter.certamenteAusente(cpf);
+    }
+
+    private boolean cpfCadastrado(String cpf) {
+        return clienteRepository.existsByCpf(cpf)
+                || (consultarArquivo && clienteArquivoRepository.existsAtivoByCpf(cpf));
+    }
+
+    private Optional<Cliente> arquivadoPorCpf(String cpf) {
+        return consultarArquivo ? clienteArquivoRepository.findAtivoByCpf(cpf) : Optional.empty();
+    }
+
+    private Optional<Cliente> arquivadoPorId(Long id) {
+        return consultarArquivo ? clienteArquivoRepository.findAtivoById(id) : Optional.empty();
+    }
+
+    private static Map<String, Object> projetar(Cliente cliente, List<CampoCliente> campos) {
+        BeanWrapper wrapper = new BeanWrapperImpl(cliente);
+        Map<String, Object> projetado = new LinkedHashMap<>(campos.size() * 2);
+        for (CampoCliente campo : campos) {
+            projetado.put(campo.atributo(), wrapper.getPropertyValue(campo.atributo()));
+        }
+        return projetado;
+    }
+
     // Métodos auxiliares para conversão
 
-    private Cliente convertToEntity(ClienteRequestDTO dto) {
+    static Cliente convertToEntity(ClienteRequestDTO dto) {
         return new Cliente(
                 dto.cpf(),
                 dto.nome(),
@@ -154,7 +338,7 @@ public class ClienteService {
         );
     }
 
-    private ClienteResponseDTO convertToResponseDTO(Cliente cliente) {
+    static ClienteResponseDTO convertToResponseDTO(Cliente cliente) {
         return new ClienteResponseDTO(
                 cliente.getId(),
                 cliente.getCpf(),
@@ -0,0 +1,217 @@
+package com.github.juliherms.clienteService.service;
+
+import com.github.juliherms.clienteService.datasource.EscritasRecentes;
+import com.github.juliherms.clienteService.datasource.ReadWriteRoutingDataSource.Destino;
+import com.github.juliherms.clienteService.exception.PrazoExpiradoException;
+import com.github.juliherms.clienteService.web.PrazoContext;
+import com.github.juliherms.clienteService.web.SistemaOrigemContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalescência (single-flight) de consultas idênticas concorrentes.
+ *
+ * <p>A primeira chamada para uma chave executa a consulta; as que chegam enquanto ela está em andamento
+ * esperam e recebem o mesmo resultado ou a mesma exceção, sem ir ao banco. Nada é guardado depois que a
+ * consulta termina, então não há cache nem risco de dado antigo além do que a própria consulta já teria.
+ * Chamadas dentro de uma transação ativa não são coalescidas, pois podem depender de escritas ainda não
+ * confirmadas dessa transação.</p>
+ *
+ * <p>Com roteamento de leitura, a chave inclui o destino (primária ou réplica) que a consulta teria, e a origem
+ * que acabou de escrever (read-your-writes, {@link EscritasRecentes}) não coalesce: ela precisa ler da primária
+ * e não pode receber o resultado de uma leitura da réplica iniciada por outra origem.</p>
+ *
+ * <p>Quem espera respeita o próprio prazo ({@link PrazoContext}). Se a consulta de quem executou falha porque
+ * o prazo dele acabou, quem esperava não herda a falha: executa a consulta de novo, com o próprio prazo.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "cliente.consultas.coalescer.enabled", havingValue = "true", matchIfMissing = true)
+public class ConsultasEmVoo implements MeterBinder {
+
+    private final Map<Chave, CompletableFuture<Object>> emVoo = new ConcurrentHashMap<>();
+    private final Map<String, Estatisticas> estatisticas = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    @Autowired(required = false)
+    private EscritasRecentes escritasRecentes;
+
+    @SuppressWarnings("unchecked")
+    public <T> T executar(String operacao, Object chave, Supplier<T> consulta) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return consulta.get();
+        }
+        Destino destino = destino();
+        if (destino == null) {
+            return consulta.get();
+        }
+
+        Estatisticas estatisticasOperacao = estatisticas(operacao);
+        Chave chaveEmVoo = new Chave(operacao, destino, chave);
+        CompletableFuture<Object> nova = new CompletableFuture<>();
+        CompletableFuture<Object> existente = emVoo.putIfAbsent(chaveEmVoo, nova);
+
+        if (existente == null) {
+            estatisticasOperacao.executadas.increment();
+            try {
+                T resultado = consulta.get();
+                nova.complete(resultado);
+                return resultado;
+            } catch (RuntimeException | Error ex) {
+                nova.completeExceptionally(PrazoContext.ativo() && PrazoContext.restanteNanos() <= 0
+                        ? new PrazoDoExecutor(ex)
+                        : ex);
+                throw ex;
+            } finally {
+                emVoo.remove(chaveEmVoo, nova);
+            }
+        }
+
+        estatisticasOperacao.compartilhadas.increment();
+        long inicio = System.nanoTime();
+        try {
+            return (T) aguardar(existente);
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof PrazoDoExecutor) {
+                return executar(operacao, chave, consulta);
+            }
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (ex.getCause() instanceof Error erro) {
+                throw erro;
+            }
+            throw ex;
+        } finally {
+            estatisticasOperacao.registrarEspera(System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Destino que a leitura teria no roteamento primária/réplica, ou {@code null} quando a origem acabou de
+     * escrever e a leitura não deve ser coalescida. Sem roteamento, tudo vai para a primária.
+     */
+    private Destino destino() {
+        if (escritasRecentes == null) {
+            return Destino.PRIMARIA;
+        }
+        return escritasRecentes.escreveuRecentemente(SistemaOrigemContext.get()) ? null : Destino.REPLICA;
+    }
+
+    /**
+     * Espera a consulta em andamento, no máximo até o prazo da requisição que espera
+     */
+    private static Object aguardar(CompletableFuture<Object> consulta) {
+        long restante = PrazoContext.restanteNanos();
+        if (restante == Long.MAX_VALUE) {
+            return consulta.join();
+        }
+        try {
+            return consulta.get(Math.max(0, restante), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new PrazoExpiradoException("Prazo da requisição esgotado aguardando consulta em andamento");
+        } catch (ExecutionException ex) {
+            throw new CompletionException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(ex);
+        }
+    }
+
+    int emAndamento() {
+        return emVoo.size();
+    }
+
+    private Estatisticas estatisticas(String operacao) {
+        Estatisticas existentes = estatisticas.get(operacao);
+        if (existentes != null) {
+            return existentes;
+        }
+        return estatisticas.computeIfAbsent(operacao, nome -> {
+            Estatisticas novas = new Estatisticas();
+            MeterRegistry atual = registry;
+            if (atual != null) {
+                novas.registrar(nome, atual);
+            }
+            return novas;
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("cliente.consultas.em.voo", this, ConsultasEmVoo::emAndamento)
+                .description("Consultas distintas em andamento com espera compartilhada")
+                .register(registry);
+        estatisticas.forEach((operacao, estatisticasOperacao) -> estatisticasOperacao.registrar(operacao, registry));
+    }
+
+    private record Chave(String operacao, Destino destino, Object valor) {}
+
+    /**
+     * Falha da consulta causada pelo prazo de quem a executou; quem esperava executa a consulta de novo
+     */
+    private static final class PrazoDoExecutor extends RuntimeException {
+
+        PrazoDoExecutor(Throwable causa) {
+            super(causa);
+        }
+    }
+
+    private static final class Estatisticas {
+
+        final LongAdder executadas = new LongAdder();
+        final LongAdder compartilhadas = new LongAdder();
+        final LongAdder esperas = new LongAdder();
+        final LongAdder esperaNanos = new LongAdder();
+
+        void registrarEspera(long nanos) {
+            esperas.increment();
+            esperaNanos.add(nanos);
+        }
+
+        double taxaCoalescencia() {
+            long compartilhadasAgora = compartilhadas.sum();
+            long total = compartilhadasAgora + executadas.sum();
+            return total == 0 ? 0.0 : (double) compartilhadasAgora / total;
+        }
+
+        void registrar(String operacao, MeterRegistry registry) {
+            FunctionCounter.builder("cliente.consultas.coalescidas", executadas, LongAdder::sum)
+                    .tag("operacao", operacao)
+                    .tag("resultado", "executada")
+                    .description("Chamadas que foram ao banco ou que reaproveitaram uma consulta em andamento")
+                    .register(registry);
+            FunctionCounter.builder("cliente.consultas.coalescidas", compartilhadas, LongAdder::sum)
+                    .tag("operacao", operacao)
+                    .tag("resultado", "compartilhada")
+                    .register(registry);
+            Gauge.builder("cliente.consultas.coalescidas.taxa", this, Estatisticas::taxaCoalescencia)
+                    .tag("operacao", operacao)
+                    .description("Fração das chamadas atendidas por uma consulta já em andamento")
+                    .register(registry);
+            FunctionTimer.builder("cliente.consultas.coalescidas.espera", this,
+                            estatisticas -> estatisticas.esperas.sum(),
+                            estatisticas -> estatisticas.esperaNanos.sum(), TimeUnit.NANOSECONDS)
+                    .tag("operacao", operacao)
+                    .description("Tempo de espera das chamadas que reaproveitaram uma consulta em andamento")
+                    .register(registry);
+        }
+    }
+}
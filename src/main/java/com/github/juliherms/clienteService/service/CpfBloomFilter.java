@@ -0,0 +1,265 @@
+package com.github.juliherms.clienteService.service;
+
+import com.github.juliherms.clienteService.event.ClienteAlteradoEvent;
+import com.github.juliherms.clienteService.event.ClienteInvalidadoEvent;
+import com.github.juliherms.clienteService.event.TipoAlteracao;
+import com.github.juliherms.clienteService.repository.ClienteArquivoRepository;
+import com.github.juliherms.clienteService.repository.RepositorioClientes;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Filtro de Bloom em memória sobre os CPFs cadastrados.
+ *
+ * <p>Responde "certamente ausente" sem ir ao banco. É construído na subida a partir das tabelas
+ * {@code clientes} e {@code clientes_arquivo}, recebe os CPFs de cada cadastro/atualização confirmados e é reconstruído
+ * periodicamente para descartar CPFs removidos. Enquanto não estiver pronto, nunca afirma ausência.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "cliente.cpf-filtro.enabled", havingValue = "true")
+public class CpfBloomFilter implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CpfBloomFilter.class);
+
+    @Autowired
+    private RepositorioClientes clienteRepository;
+
+    @Autowired
+    private ClienteArquivoRepository clienteArquivoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${cliente.cpf-filtro.capacidade-minima:100000}")
+    private long capacidadeMinima;
+
+    @Value("${cliente.cpf-filtro.taxa-falso-positivo:0.01}")
+    private double taxaFalsoPositivo;
+
+    private volatile Bits atual;
+    private volatile Bits emConstrucao;
+
+    private final AtomicLong ausenciasConfirmadas = new AtomicLong();
+    private final AtomicLong possiveisPresencas = new AtomicLong();
+    private final AtomicLong falsosPositivos = new AtomicLong();
+
+    /**
+     * Indica se o CPF certamente não está cadastrado. {@code false} significa "talvez".
+     */
+    public boolean certamenteAusente(String cpf) {
+        Bits bits = atual;
+        if (bits == null) {
+            return false;
+        }
+        if (bits.contem(chave(cpf))) {
+            possiveisPresencas.incrementAndGet();
+            return false;
+        }
+        ausenciasConfirmadas.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Registra que o filtro respondeu "talvez", mas o banco não tinha o CPF
+     */
+    public void registrarFalsoPositivo() {
+        falsosPositivos.incrementAndGet();
+    }
+
+    public void adicionar(String cpf) {
+        long chave = chave(cpf);
+        // Lê primeiro o filtro em construção para não perder inserções durante a troca
+        Bits novo = emConstrucao;
+        Bits bits = atual;
+        if (novo != null) {
+            novo.adicionar(chave);
+        }
+        if (bits != null) {
+            bits.adicionar(chave);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClienteAlterado(ClienteAlteradoEvent event) {
+        if (event.tipo() != TipoAlteracao.REMOCAO) {
+            adicionar(event.cliente().cpf());
+        }
+    }
+
+    /**
+     * CPFs cadastrados por outras instâncias, recebidos pelo barramento de invalidação
+     */
+    @EventListener
+    public void onClienteInvalidado(ClienteInvalidadoEvent event) {
+        if (event.completa()) {
+            reconstruir();
+        } else if (event.tipo() != TipoAlteracao.REMOCAO && event.cpf() != null) {
+            adicionar(event.cpf());
+        }
+    }
+
+    // Sincronizado porque a descarga do barramento de invalidação também reconstrói, fora do agendador
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${cliente.cpf-filtro.intervalo-reconstrucao:PT1H}",
+            initialDelayString = "${cliente.cpf-filtro.intervalo-reconstrucao:PT1H}")
+    public synchronized void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        long quantidade = clienteRepository.count() + clienteArquivoRepository.countAtivos();
+
+        // Lê da primária (transação de escrita) para não montar o filtro a partir de uma réplica atrasada
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        // Clientes arquivados continuam existindo para as buscas por CPF
+        transactionTemplate.executeWithoutResult(status -> carregar(() -> Stream.concat(
+                clienteRepository.streamAllCpfs(), clienteArquivoRepository.streamCpfsAtivos()), quantidade));
+
+        logger.info("Filtro de CPFs reconstruído com {} registros em {} ms", quantidade,
+                System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Monta um filtro novo e o publica. O filtro em construção passa a receber os cadastros antes de a consulta ser
+     * aberta: um CPF confirmado depois disso entra por {@link #adicionar}, e um confirmado antes aparece na leitura.
+     */
+    void carregar(Supplier<Stream<String>> cpfs, long quantidadeEsperada) {
+        Bits novo = new Bits(Math.max(capacidadeMinima, quantidadeEsperada * 2), taxaFalsoPositivo);
+        emConstrucao = novo;
+        try (Stream<String> lidos = cpfs.get()) {
+            lidos.forEach(cpf -> novo.adicionar(chave(cpf)));
+            atual = novo;
+        } finally {
+            emConstrucao = null;
+        }
+    }
+
+    boolean pronto() {
+        return atual != null;
+    }
+
+    /**
+     * Taxa de falso positivo teórica para a ocupação atual: (1 - e^(-kn/m))^k
+     */
+    double taxaFalsoPositivoEstimada() {
+        Bits bits = atual;
+        return bits == null ? 1.0 : bits.taxaFalsoPositivoEstimada();
+    }
+
+    double taxaFalsoPositivoObservada() {
+        long fp = falsosPositivos.get();
+        long negativos = fp + ausenciasConfirmadas.get();
+        return negativos == 0 ? 0.0 : (double) fp / negativos;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cliente.cpf.filtro.falso.positivo.estimado", this, CpfBloomFilter::taxaFalsoPositivoEstimada)
+                .description("Taxa de falso positivo teórica do filtro de CPFs")
+                .register(registry);
+        Gauge.builder("cliente.cpf.filtro.falso.positivo.observado", this, CpfBloomFilter::taxaFalsoPositivoObservada)
+                .description("Falsos positivos / (falsos positivos + ausências confirmadas)")
+                .register(registry);
+        FunctionCounter.builder("cliente.cpf.filtro.consultas", ausenciasConfirmadas, AtomicLong::get)
+                .tag("resultado", "ausente")
+                .description("Consultas respondidas sem acesso ao banco")
+                .register(registry);
+        FunctionCounter.builder("cliente.cpf.filtro.consultas", possiveisPresencas, AtomicLong::get)
+                .tag("resultado", "talvez")
+                .register(registry);
+        FunctionCounter.builder("cliente.cpf.filtro.falsos.positivos", falsosPositivos, AtomicLong::get)
+                .register(registry);
+    }
+
+    /**
+     * CPFs normalizados (11 dígitos) viram o próprio número; qualquer outro texto usa o hash da String
+     */
+    static long chave(String cpf) {
+        if (cpf.length() <= 18 && !cpf.isEmpty()) {
+            long valor = 0;
+            for (int i = 0; i < cpf.length(); i++) {
+                char c = cpf.charAt(i);
+                if (c < '0' || c > '9') {
+                    return cpf.hashCode() | (1L << 62);
+                }
+                valor = valor * 10 + (c - '0');
+            }
+            return valor;
+        }
+        return cpf.hashCode() | (1L << 62);
+    }
+
+    private static long misturar(long x) {
+        x = (x ^ (x >>> 33)) * 0xff51afd7ed558ccdL;
+        x = (x ^ (x >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return x ^ (x >>> 33);
+    }
+
+    /**
+     * Vetor de bits com double hashing (Kirsch-Mitzenmacher), seguro para escritas concorrentes
+     */
+    static final class Bits {
+
+        private final AtomicLongArray palavras;
+        private final long numeroBits;
+        private final int numeroHashes;
+        private final AtomicLong inseridos = new AtomicLong();
+
+        Bits(long capacidade, double taxaFalsoPositivo) {
+            double ln2 = Math.log(2);
+            long bits = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (ln2 * ln2));
+            int palavrasNecessarias = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64);
+            this.palavras = new AtomicLongArray(palavrasNecessarias);
+            this.numeroBits = (long) palavrasNecessarias * 64;
+            this.numeroHashes = Math.max(1, (int) Math.round((double) numeroBits / capacidade * ln2));
+        }
+
+        void adicionar(long chave) {
+            long h1 = misturar(chave);
+            long h2 = misturar(h1) | 1;
+            for (int i = 0; i < numeroHashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, numeroBits);
+                int indice = (int) (bit >>> 6);
+                long mascara = 1L << bit;
+                if ((palavras.get(indice) & mascara) == 0) {
+                    palavras.getAndAccumulate(indice, mascara, (a, b) -> a | b);
+                }
+            }
+            inseridos.incrementAndGet();
+        }
+
+        boolean contem(long chave) {
+            long h1 = misturar(chave);
+            long h2 = misturar(h1) | 1;
+            for (int i = 0; i < numeroHashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, numeroBits);
+                if ((palavras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double taxaFalsoPositivoEstimada() {
+            double expoente = -(double) numeroHashes * inseridos.get() / numeroBits;
+            return Math.pow(1 - Math.exp(expoente), numeroHashes);
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.github.juliherms.clienteService.service;
+
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.event.ClienteAlteradoEvent;
+import com.github.juliherms.clienteService.event.ClienteInvalidadoEvent;
+import com.github.juliherms.clienteService.event.TipoAlteracao;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snapshot fora do heap dos clientes ativos de {@code clientes}, em um arquivo mapeado em memória
+ * ({@link ArquivoSnapshot}), para atender as buscas por ID e CPF sem acesso ao banco.
+ *
+ * <p>Na subida, o arquivo de {@code cliente.snapshot.arquivo} é reaproveitado se tiver sido fechado corretamente e
+ * for mais novo que {@code cliente.snapshot.intervalo-recarga}; senão é carregado da tabela. A partir daí recebe cada
+ * cadastro, atualização e remoção confirmados (e os scores atualizados em lote) e é recarregado periodicamente, o
+ * que também traz as escritas feitas por outras instâncias. Com o barramento de invalidação, os clientes alterados
+ * por outras instâncias saem do snapshot assim que o aviso chega. A recarga monta um arquivo novo ao lado do atual, que
+ * continua servindo até a troca; alterações durante a carga valem para os dois, e as linhas lidas pela carga não
+ * sobrescrevem clientes alterados depois dela começar.</p>
+ *
+ * <p>Uma busca que não encontra o cliente no snapshot segue para o banco (clientes arquivados, clientes fora do
+ * formato do registro, escritas de outras instâncias ainda não recarregadas).</p>
+ */
+@Component
+@ConditionalOnExpression("${cliente.snapshot.enabled:false} and !${cliente.sharding.enabled:false}")
+public class SnapshotClientes implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotClientes.class);
+
+    private static final String SELECT_CLIENTES = "SELECT id, cpf, nome, data_nascimento, renda_mensal, score_credito, "
+            + "aposentado, profissao FROM clientes WHERE removido_em IS NULL";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${cliente.snapshot.arquivo:snapshot-clientes.dat}")
+    private Path arquivo;
+
+    @Value("${cliente.snapshot.capacidade-minima:100000}")
+    private int capacidadeMinima;
+
+    @Value("${cliente.snapshot.intervalo-recarga:PT30M}")
+    private Duration intervaloRecarga;
+
+    @Value("${cliente.snapshot.tamanho-leitura:1000}")
+    private int tamanhoLeitura;
+
+    private volatile ArquivoSnapshot atual;
+
+    // Protegidos por "escrita"
+    private final Object escrita = new Object();
+    private ArquivoSnapshot emConstrucao;
+    private Set<Long> idsAlteradosNaCarga;
+    private Set<Long> cpfsAlteradosNaCarga;
+
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong faltas = new AtomicLong();
+
+    /**
+     * Cliente com o ID, ou {@code null} se ele não estiver no snapshot
+     */
+    public ClienteResponseDTO buscarPorId(Long id) {
+        ArquivoSnapshot snapshot = atual;
+        return contar(snapshot == null || id == null ? null : snapshot.buscarPorId(id));
+    }
+
+    /**
+     * Cliente com o CPF, ou {@code null} se ele não estiver no snapshot
+     */
+    public ClienteResponseDTO buscarPorCpf(String cpf) {
+        ArquivoSnapshot snapshot = atual;
+        long chave = ArquivoSnapshot.chaveCpf(cpf);
+        return contar(snapshot == null || chave < 0 ? null : snapshot.buscarPorCpf(chave));
+    }
+
+    private ClienteResponseDTO contar(ClienteResponseDTO cliente) {
+        (cliente == null ? faltas : acertos).incrementAndGet();
+        return cliente;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClienteAlterado(ClienteAlteradoEvent event) {
+        synchronized (escrita) {
+            if (emConstrucao != null) {
+                idsAlteradosNaCarga.add(event.id());
+                emConstrucao = aplicar(emConstrucao, event, false);
+            }
+            if (atual != null) {
+                atual = aplicar(atual, event, true);
+            }
+        }
+    }
+
+    /**
+     * Cliente alterado por outra instância: sai do snapshot, e as buscas por ele seguem pelo banco até a próxima
+     * recarga. A descarga completa deixa de servir o snapshot atual e o recarrega.
+     */
+    @EventListener
+    public void onClienteInvalidado(ClienteInvalidadoEvent event) {
+        if (event.completa()) {
+            descarregar();
+            return;
+        }
+        synchronized (escrita) {
+            if (emConstrucao != null) {
+                idsAlteradosNaCarga.add(event.id());
+                emConstrucao.remover(event.id());
+            }
+            if (atual != null) {
+                atual.remover(event.id());
+            }
+        }
+    }
+
+    private void descarregar() {
+        synchronized (escrita) {
+            ArquivoSnapshot anterior = atual;
+            atual = null;
+            if (anterior != null) {
+                descartar(anterior, false);
+            }
+        }
+        recarregar();
+    }
+
+    /**
+     * Aplica um score atualizado fora do ClienteService (atualização em lote, já confirmada)
+     */
+    public void atualizarScore(long cpf, int score) {
+        synchronized (escrita) {
+            if (emConstrucao != null) {
+                cpfsAlteradosNaCarga.add(cpf);
+                emConstrucao.atualizarScore(cpf, score);
+            }
+            if (atual != null) {
+                atual.atualizarScore(cpf, score);
+            }
+        }
+    }
+
+    private ArquivoSnapshot aplicar(ArquivoSnapshot snapshot, ClienteAlteradoEvent event, boolean publicado) {
+        if (event.tipo() == TipoAlteracao.REMOCAO) {
+            snapshot.remover(event.id());
+            return snapshot;
+        }
+        try {
+            return gravar(snapshot, event.cliente(), publicado);
+        } catch (IOException | RuntimeException ex) {
+            // Sem a versão nova, a antiga não pode continuar sendo servida
+            snapshot.remover(event.id());
+            logger.warn("Falha ao gravar o cliente {} no snapshot; a busca segue pelo banco", event.id(), ex);
+            return snapshot;
+        }
+    }
+
+    /**
+     * Grava o cliente, trocando o arquivo por um maior quando falta espaço. Um arquivo publicado é substituído no
+     * caminho definitivo; o que está em construção continua no temporário até o fim da carga.
+     */
+    private ArquivoSnapshot gravar(ArquivoSnapshot snapshot, ClienteResponseDTO cliente, boolean publicado)
+            throws IOException {
+        if (snapshot.gravar(cliente)) {
+            return snapshot;
+        }
+
+        ArquivoSnapshot maior = ArquivoSnapshot.criar(temporario(), capacidade(snapshot.registros() + 1L));
+        try {
+            snapshot.copiarPara(maior);
+            if (!maior.gravar(cliente)) {
+                throw new IllegalStateException("Snapshot sem espaço logo após crescer");
+            }
+            if (publicado) {
+                maior.marcarCarga(snapshot.carregadoEm());
+                maior.mover(arquivo);
+            }
+        } catch (IOException | RuntimeException ex) {
+            descartar(maior, true);
+            throw ex;
+        }
+        descartar(snapshot, !publicado);
+        logger.info("Snapshot de clientes ampliado para {} registros", maior.capacidade());
+        return maior;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        try {
+            ArquivoSnapshot salvo = ArquivoSnapshot.abrir(arquivo);
+            if (salvo != null) {
+                synchronized (escrita) {
+                    atual = salvo;
+                }
+                long idade = System.currentTimeMillis() - salvo.carregadoEm();
+                logger.info("Snapshot de clientes reaberto de {} com {} registros (carregado há {} s)", arquivo,
+                        salvo.registros(), idade / 1000);
+                if (idade < intervaloRecarga.toMillis()) {
+                    return;
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("Snapshot de clientes em {} ilegível; será carregado do banco", arquivo, ex);
+        }
+        recarregar();
+    }
+
+    /**
+     * Monta um snapshot novo a partir da tabela. Uma recarga por vez: a agendada e a pedida pelo barramento de
+     * invalidação disputariam o arquivo em construção.
+     */
+    @Scheduled(fixedDelayString = "${cliente.snapshot.intervalo-recarga:PT30M}",
+            initialDelayString = "${cliente.snapshot.intervalo-recarga:PT30M}")
+    public synchronized void recarregar() {
+        long inicio = System.currentTimeMillis();
+        try {
+            Long quantidade = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM clientes WHERE removido_em IS NULL",
+                    Long.class);
+            synchronized (escrita) {
+                emConstrucao = ArquivoSnapshot.criar(temporario(), capacidade(quantidade == null ? 0 : quantidade));
+                idsAlteradosNaCarga = new HashSet<>();
+                cpfsAlteradosNaCarga = new HashSet<>();
+            }
+
+            // Lê da primária (transação de escrita) para não montar o snapshot a partir de uma réplica atrasada
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_CLIENTES,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(tamanhoLeitura);
+                return statement;
+            }, (RowCallbackHandler) rs -> carregar(new ClienteResponseDTO(
+                    rs.getLong("id"),
+                    rs.getString("cpf"),
+                    rs.getString("nome"),
+                    rs.getObject("data_nascimento", LocalDate.class),
+                    rs.getBigDecimal("renda_mensal"),
+                    rs.getInt("score_credito"),
+                    rs.getBoolean("aposentado"),
+                    rs.getString("profissao")))));
+
+            int registros;
+            synchronized (escrita) {
+                ArquivoSnapshot novo = emConstrucao;
+                novo.marcarCarga(inicio);
+                novo.mover(arquivo);
+                ArquivoSnapshot anterior = atual;
+                atual = novo;
+                encerrarCarga();
+                if (anterior != null) {
+                    descartar(anterior, false);
+                }
+                registros = novo.registros();
+            }
+            logger.info("Snapshot de clientes carregado com {} registros em {} ms", registros,
+                    System.currentTimeMillis() - inicio);
+        } catch (IOException | RuntimeException ex) {
+            synchronized (escrita) {
+                if (emConstrucao != null) {
+                    descartar(emConstrucao, true);
+                }
+                encerrarCarga();
+            }
+            logger.error("Falha ao carregar o snapshot de clientes; as buscas seguem pelo {}",
+                    atual == null ? "banco" : "snapshot anterior", ex);
+        }
+    }
+
+    private void carregar(ClienteResponseDTO cliente) {
+        synchronized (escrita) {
+            // Alterado depois do início da carga: a versão do evento já está no arquivo novo
+            if (idsAlteradosNaCarga.contains(cliente.id())
+                    || cpfsAlteradosNaCarga.contains(ArquivoSnapshot.chaveCpf(cliente.cpf()))) {
+                return;
+            }
+            try {
+                emConstrucao = gravar(emConstrucao, cliente, false);
+            } catch (IOException ex) {
+                throw new IllegalStateException("Falha ao ampliar o snapshot em construção", ex);
+            }
+        }
+    }
+
+    private void encerrarCarga() {
+        emConstrucao = null;
+        idsAlteradosNaCarga = null;
+        cpfsAlteradosNaCarga = null;
+    }
+
+    /**
+     * Grava o arquivo em disco e o marca como íntegro, para a próxima subida reaproveitá-lo
+     */
+    @PreDestroy
+    public void fechar() {
+        synchronized (escrita) {
+            if (emConstrucao != null) {
+                descartar(emConstrucao, true);
+                encerrarCarga();
+            }
+            ArquivoSnapshot snapshot = atual;
+            atual = null;
+            if (snapshot != null) {
+                try {
+                    snapshot.fechar();
+                } catch (IOException ex) {
+                    logger.warn("Falha ao fechar o snapshot de clientes em {}", arquivo, ex);
+                }
+            }
+        }
+    }
+
+    private int capacidade(long quantidade) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(capacidadeMinima, quantidade + quantidade / 4 + 1));
+    }
+
+    private Path temporario() throws IOException {
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        return Files.createTempFile(diretorio, arquivo.getFileName().toString(), ".tmp");
+    }
+
+    private static void descartar(ArquivoSnapshot snapshot, boolean apagar) {
+        try {
+            snapshot.descartar();
+            if (apagar) {
+                Files.deleteIfExists(snapshot.caminho());
+            }
+        } catch (IOException ex) {
+            logger.debug("Falha ao descartar o snapshot em {}", snapshot.caminho(), ex);
+        }
+    }
+
+    int registros() {
+        ArquivoSnapshot snapshot = atual;
+        return snapshot == null ? 0 : snapshot.registros();
+    }
+
+    long tamanhoBytes() {
+        ArquivoSnapshot snapshot = atual;
+        return snapshot == null ? 0 : snapshot.tamanhoBytes();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cliente.snapshot.registros", this, SnapshotClientes::registros)
+                .description("Clientes no snapshot fora do heap")
+                .register(registry);
+        Gauge.builder("cliente.snapshot.bytes", this, SnapshotClientes::tamanhoBytes)
+                .description("Tamanho do arquivo mapeado do snapshot")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("cliente.snapshot.consultas", acertos, AtomicLong::get)
+                .tag("resultado", "acerto")
+                .description("Buscas por ID/CPF atendidas pelo snapshot")
+                .register(registry);
+        FunctionCounter.builder("cliente.snapshot.consultas", faltas, AtomicLong::get)
+                .tag("resultado", "falta")
+                .register(registry);
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.juliherms.clienteService.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.juliherms.clienteService.aquecimento.AquecimentoFilter;
+import com.github.juliherms.clienteService.dto.ErrorResponseDTO;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Executa cada requisição à API de clientes dentro do {@link Compartimento} do seu sistema de origem (header
+ * sistemaOrigem), de modo que um consumidor em rajada esgote só as próprias vagas e conexões.
+ *
+ * <p>O excedente espera na fila do compartimento até {@code espera-maxima} (ou o prazo da requisição) e, com a
+ * fila cheia ou a espera esgotada, é recusado com 429 e {@code Retry-After}. Roda antes do limite de concorrência
+ * global, que só vê as requisições já aceitas pelo compartimento. Ao contrário dele, cobre também a atualização
+ * de scores em lote, que é justamente a carga que mais precisa de isolamento. As requisições sintéticas do
+ * aquecimento ficam de fora.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "cliente.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadFilter.class);
+
+    private static final String PREFIXO_API = "/api/clientes";
+    private static final String HEALTH = PREFIXO_API + "/health";
+
+    @Autowired
+    private CompartimentosOrigem compartimentosOrigem;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        return !caminho.startsWith(PREFIXO_API) || caminho.equals(HEALTH)
+                || AquecimentoFilter.deAquecimento(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Compartimento compartimento =
+                compartimentosOrigem.compartimento(request.getHeader(SistemaOrigemFilter.SISTEMA_ORIGEM_HEADER));
+        boolean entrou;
+        try {
+            entrou = compartimento.entrar();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            entrou = false;
+        }
+        if (!entrou) {
+            logger.debug("Requisição {} {} recusada: compartimento {} saturado",
+                    request.getMethod(), request.getRequestURI(), compartimento.origem());
+            recusar(request, response);
+            return;
+        }
+
+        CompartimentoContext.set(compartimento);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CompartimentoContext.clear();
+            compartimento.sair();
+        }
+    }
+
+    private void recusar(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "Limite de requisições do sistema de origem atingido, tente novamente em instantes",
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.juliherms.clienteService.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.juliherms.clienteService.dto.ClienteJsonCodec;
+import com.github.juliherms.clienteService.dto.ClienteRequestDTO;
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Conversor JSON dos DTOs de cliente com o {@link ClienteJsonCodec}, registrado antes do conversor do Jackson.
+ *
+ * <p>Escreve {@link ClienteResponseDTO} e coleções dele e lê {@link ClienteRequestDTO}; páginas, mapas de
+ * campos parciais, erros e charsets diferentes de UTF-8 continuam com o Jackson. Uma requisição fora do
+ * formato coberto pelo codec é lida pelo {@link ObjectMapper} da aplicação, com o mesmo resultado e os mesmos
+ * erros de antes.</p>
+ */
+public class ClienteJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final ObjectMapper objectMapper;
+
+    public ClienteJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == ClienteRequestDTO.class || clazz == ClienteResponseDTO.class;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return type == ClienteRequestDTO.class && utf8(mediaType) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return (clazz == ClienteResponseDTO.class || colecaoDeClientes(type, clazz))
+                && utf8(mediaType) && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return clazz == ClienteResponseDTO.class && utf8(mediaType) && canWrite(mediaType);
+    }
+
+    private static boolean colecaoDeClientes(@Nullable Type type, Class<?> clazz) {
+        return Collection.class.isAssignableFrom(clazz)
+                && type instanceof ParameterizedType parametrizado
+                && parametrizado.getActualTypeArguments().length == 1
+                && parametrizado.getActualTypeArguments()[0] == ClienteResponseDTO.class;
+    }
+
+    private static boolean utf8(@Nullable MediaType mediaType) {
+        return mediaType == null || mediaType.getCharset() == null
+                || StandardCharsets.UTF_8.equals(mediaType.getCharset());
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException {
+        return readInternal(ClienteRequestDTO.class, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        byte[] corpo = inputMessage.getBody().readAllBytes();
+        ClienteRequestDTO requisicao = ClienteJsonCodec.decodificar(corpo);
+        if (requisicao != null) {
+            return requisicao;
+        }
+        try {
+            return objectMapper.readValue(corpo, ClienteRequestDTO.class);
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + ex.getOriginalMessage(), ex,
+                    inputMessage);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object corpo, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        if (corpo instanceof ClienteResponseDTO cliente) {
+            ClienteJsonCodec.codificar(cliente, outputMessage.getBody());
+        } else {
+            ClienteJsonCodec.codificar((Collection<ClienteResponseDTO>) corpo, outputMessage.getBody());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.github.juliherms.clienteService.web;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulkhead de um sistema de origem: limite de requisições simultâneas com fila de espera limitada e cota de
+ * conexões do pool.
+ *
+ * <p>As esperas (por vaga ou por conexão) respeitam a ordem de chegada e nunca passam do prazo da requisição
+ * ({@link PrazoContext}). Uma cota de conexões zero significa sem cota.</p>
+ */
+public final class Compartimento {
+
+    private final String origem;
+    private final int concorrencia;
+    private final int fila;
+    private final long esperaMaximaNanos;
+    private final int cotaConexoes;
+    private final long esperaConexaoNanos;
+
+    private final Semaphore execucoes;
+    private final Semaphore conexoes;
+    private final AtomicInteger aguardando = new AtomicInteger();
+    private final AtomicLong aceitas = new AtomicLong();
+    private final AtomicLong rejeitadas = new AtomicLong();
+    private final AtomicLong conexoesRecusadas = new AtomicLong();
+
+    Compartimento(String origem, int concorrencia, int fila, Duration esperaMaxima, int cotaConexoes,
+                  Duration esperaConexao) {
+        this.origem = origem;
+        this.concorrencia = concorrencia;
+        this.fila = fila;
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+        this.cotaConexoes = cotaConexoes;
+        this.esperaConexaoNanos = esperaConexao.toNanos();
+        this.execucoes = new Semaphore(concorrencia, true);
+        this.conexoes = cotaConexoes > 0 ? new Semaphore(cotaConexoes, true) : null;
+    }
+
+    /**
+     * Ocupa uma vaga, esperando na fila se houver lugar nela. {@code false} significa recusar a requisição.
+     */
+    public boolean entrar() throws InterruptedException {
+        // tryAcquire(0, ...) respeita a fila, ao contrário de tryAcquire()
+        if (execucoes.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+            aceitas.incrementAndGet();
+            return true;
+        }
+        if (aguardando.incrementAndGet() > fila) {
+            aguardando.decrementAndGet();
+            rejeitadas.incrementAndGet();
+            return false;
+        }
+        try {
+            boolean entrou = execucoes.tryAcquire(espera(esperaMaximaNanos), TimeUnit.NANOSECONDS);
+            (entrou ? aceitas : rejeitadas).incrementAndGet();
+            return entrou;
+        } finally {
+            aguardando.decrementAndGet();
+        }
+    }
+
+    public void sair() {
+        execucoes.release();
+    }
+
+    /**
+     * Reserva uma conexão da cota. {@code false} significa que a cota continuou esgotada até o fim da espera.
+     */
+    public boolean obterConexao() throws InterruptedException {
+        if (conexoes == null || conexoes.tryAcquire(espera(esperaConexaoNanos), TimeUnit.NANOSECONDS)) {
+            return true;
+        }
+        conexoesRecusadas.incrementAndGet();
+        return false;
+    }
+
+    public void devolverConexao() {
+        if (conexoes != null) {
+            conexoes.release();
+        }
+    }
+
+    private static long espera(long esperaConfigurada) {
+        return Math.max(0, Math.min(esperaConfigurada, PrazoContext.restanteNanos()));
+    }
+
+    public String origem() {
+        return origem;
+    }
+
+    int emAndamento() {
+        return concorrencia - execucoes.availablePermits();
+    }
+
+    int aguardando() {
+        return aguardando.get();
+    }
+
+    /**
+     * Fração do limite de concorrência em uso
+     */
+    double saturacao() {
+        return (double) emAndamento() / concorrencia;
+    }
+
+    int conexoesEmUso() {
+        return conexoes == null ? 0 : cotaConexoes - conexoes.availablePermits();
+    }
+
+    long aceitas() {
+        return aceitas.get();
+    }
+
+    long rejeitadas() {
+        return rejeitadas.get();
+    }
+
+    long conexoesRecusadas() {
+        return conexoesRecusadas.get();
+    }
+}
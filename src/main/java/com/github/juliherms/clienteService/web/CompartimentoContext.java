@@ -0,0 +1,26 @@
+package com.github.juliherms.clienteService.web;
+
+/**
+ * Mantém na thread o {@link Compartimento} da requisição corrente, para a cota de conexões do DataSource
+ */
+public final class CompartimentoContext {
+
+    private static final ThreadLocal<Compartimento> COMPARTIMENTO = new ThreadLocal<>();
+
+    private CompartimentoContext() {}
+
+    public static void set(Compartimento compartimento) {
+        COMPARTIMENTO.set(compartimento);
+    }
+
+    /**
+     * Compartimento da requisição, ou {@code null} fora de requisições (tarefas agendadas, relay, carga)
+     */
+    public static Compartimento get() {
+        return COMPARTIMENTO.get();
+    }
+
+    public static void clear() {
+        COMPARTIMENTO.remove();
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.juliherms.clienteService.web;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compartimentos (bulkheads) por sistema de origem.
+ *
+ * <p>Origens configuradas em {@code cliente.bulkhead.origens.<ORIGEM>.*} usam os próprios limites. As demais
+ * dividem um único compartimento {@code (outras)} e as requisições sem o header ficam em {@code (sem origem)}, ambos
+ * com os limites de {@code cliente.bulkhead.padrao.*}; assim o número de compartimentos, e a soma das cotas, é
+ * conhecido na inicialização e pode ser conferido contra as threads do servidor e o pool de conexões
+ * ({@link #validar(int, int)}). O nome da origem não diferencia maiúsculas de minúsculas.</p>
+ */
+public class CompartimentosOrigem implements MeterBinder {
+
+    static final String SEM_ORIGEM = "(sem origem)";
+    static final String OUTRAS = "(outras)";
+
+    private final Limites padrao;
+    private final Map<String, Limites> configuradas = new ConcurrentHashMap<>();
+    private final Map<String, Compartimento> compartimentos = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public CompartimentosOrigem(Limites padrao, Map<String, Limites> origens) {
+        this.padrao = padrao;
+        origens.forEach((origem, limites) -> configuradas.put(normalizar(origem), limites.completar(padrao)));
+        configuradas.keySet().forEach(origem -> compartimentos.computeIfAbsent(origem, this::criar));
+        compartimentos.computeIfAbsent(SEM_ORIGEM, this::criar);
+        compartimentos.computeIfAbsent(OUTRAS, this::criar);
+    }
+
+    /**
+     * Compartimento do sistema de origem (header {@code sistemaOrigem}, possivelmente nulo)
+     */
+    public Compartimento compartimento(String sistemaOrigem) {
+        if (sistemaOrigem == null || sistemaOrigem.isBlank()) {
+            return compartimentos.get(SEM_ORIGEM);
+        }
+        String origem = normalizar(sistemaOrigem);
+        return compartimentos.get(configuradas.containsKey(origem) ? origem : OUTRAS);
+    }
+
+    /**
+     * Confere que as cotas de todos os compartimentos cabem no servidor: a soma de concorrência e fila não passa
+     * das threads do Tomcat (quem espera na fila também ocupa uma thread) e a soma das cotas de conexões não passa
+     * do pool. Do contrário, os compartimentos não isolam nada, pois o recurso compartilhado se esgota antes.
+     */
+    public void validar(int threadsServidor, int conexoesPool) {
+        int vagas = 0;
+        int conexoes = 0;
+        for (Compartimento compartimento : compartimentos.values()) {
+            Limites limites = configuradas.getOrDefault(compartimento.origem(), padrao);
+            vagas += limites.concorrencia() + limites.fila();
+            conexoes += limites.conexoes();
+        }
+        if (vagas > threadsServidor) {
+            throw new IllegalStateException("Soma de concorrência e fila dos bulkheads (" + vagas
+                    + ") excede as threads do servidor (" + threadsServidor + ")");
+        }
+        if (conexoes > conexoesPool) {
+            throw new IllegalStateException("Soma das cotas de conexões dos bulkheads (" + conexoes
+                    + ") excede o pool de conexões (" + conexoesPool + ")");
+        }
+    }
+
+    private Compartimento criar(String origem) {
+        Limites limites = configuradas.getOrDefault(origem, padrao);
+        Compartimento compartimento = new Compartimento(origem, limites.concorrencia(), limites.fila(),
+                limites.esperaMaxima(), limites.conexoes(), limites.esperaConexao());
+        MeterRegistry atual = registry;
+        if (atual != null) {
+            registrar(atual, compartimento);
+        }
+        return compartimento;
+    }
+
+    private static String normalizar(String origem) {
+        return origem.trim().toUpperCase(Locale.ROOT);
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        // Compartimentos criados durante o bind são registrados por criar(); o registro ignora duplicados
+        for (Compartimento compartimento : new ArrayList<>(compartimentos.values())) {
+            registrar(registry, compartimento);
+        }
+    }
+
+    private static void registrar(MeterRegistry registry, Compartimento compartimento) {
+        String origem = compartimento.origem();
+        Gauge.builder("cliente.bulkhead.em.andamento", compartimento, Compartimento::emAndamento)
+                .tag("origem", origem)
+                .description("Requisições em execução no compartimento do sistema de origem")
+                .register(registry);
+        Gauge.builder("cliente.bulkhead.aguardando", compartimento, Compartimento::aguardando)
+                .tag("origem", origem)
+                .description("Requisições na fila do compartimento")
+                .register(registry);
+        Gauge.builder("cliente.bulkhead.saturacao", compartimento, Compartimento::saturacao)
+                .tag("origem", origem)
+                .description("Fração do limite de concorrência do compartimento em uso")
+                .register(registry);
+        Gauge.builder("cliente.bulkhead.conexoes.em.uso", compartimento, Compartimento::conexoesEmUso)
+                .tag("origem", origem)
+                .register(registry);
+        FunctionCounter.builder("cliente.bulkhead.requisicoes", compartimento, Compartimento::aceitas)
+                .tag("origem", origem)
+                .tag("resultado", "aceita")
+                .register(registry);
+        FunctionCounter.builder("cliente.bulkhead.requisicoes", compartimento, Compartimento::rejeitadas)
+                .tag("origem", origem)
+                .tag("resultado", "recusada")
+                .description("Requisições aceitas e recusadas com 429 pelo compartimento")
+                .register(registry);
+        FunctionCounter.builder("cliente.bulkhead.conexoes.recusadas", compartimento,
+                        Compartimento::conexoesRecusadas)
+                .tag("origem", origem)
+                .description("Obtenções de conexão recusadas pela cota do compartimento")
+                .register(registry);
+    }
+
+    List<Compartimento> compartimentos() {
+        return List.copyOf(compartimentos.values());
+    }
+
+    /**
+     * Limites de um compartimento; campos ausentes na configuração de uma origem vêm de
+     * {@code cliente.bulkhead.padrao}
+     */
+    public record Limites(Integer concorrencia, Integer fila, Duration esperaMaxima, Integer conexoes,
+                          Duration esperaConexao) {
+
+        /**
+         * Padrão proporcional à capacidade do servidor: um quinto das threads em execução e um décimo na fila, e
+         * um quinto do pool de conexões, de modo que os compartimentos {@code (sem origem)} e {@code (outras)}
+         * juntos deixem mais da metade livre para as origens configuradas
+         */
+        public static Limites proporcionais(int threadsServidor, int conexoesPool) {
+            return new Limites(Math.max(1, threadsServidor / 5), threadsServidor / 10, Duration.ofSeconds(1),
+                    Math.max(1, conexoesPool / 5), Duration.ofSeconds(1));
+        }
+
+        public Limites completar(Limites base) {
+            return new Limites(
+                    concorrencia != null ? concorrencia : base.concorrencia(),
+                    fila != null ? fila : base.fila(),
+                    esperaMaxima != null ? esperaMaxima : base.esperaMaxima(),
+                    conexoes != null ? conexoes : base.conexoes(),
+                    esperaConexao != null ? esperaConexao : base.esperaConexao());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.juliherms.clienteService.web;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limite de requisições simultâneas ajustado pela latência observada (AIMD).
+ *
+ * <p>Enquanto as respostas ficam abaixo da latência alvo e o limite está sendo usado, ele cresce em
+ * {@code 1/limite} por requisição (cerca de uma unidade por "rodada" de requisições). Uma resposta acima do
+ * alvo, ou sinalizada como sobrecarga, multiplica o limite por {@code fatorReducao}; só requisições iniciadas
+ * depois da última redução podem reduzir de novo, para que uma rajada de respostas lentas da mesma rodada
+ * não derrube o limite ao mínimo.</p>
+ */
+final class LimiteAdaptativo {
+
+    private final int minimo;
+    private final int maximo;
+    private final long latenciaAlvoNanos;
+    private final double fatorReducao;
+
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final LongAdder aceitas = new LongAdder();
+    private final LongAdder rejeitadas = new LongAdder();
+    private volatile double limite;
+    private long ultimaReducaoNanos;
+
+    LimiteAdaptativo(int inicial, int minimo, int maximo, long latenciaAlvoNanos, double fatorReducao) {
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.latenciaAlvoNanos = latenciaAlvoNanos;
+        this.fatorReducao = fatorReducao;
+        this.limite = Math.max(minimo, Math.min(maximo, inicial));
+        this.ultimaReducaoNanos = System.nanoTime();
+    }
+
+    /**
+     * Reserva uma vaga; {@code false} quando o limite atual já está ocupado e a requisição deve ser recusada
+     */
+    boolean adquirir() {
+        if (emAndamento.incrementAndGet() > (int) limite) {
+            emAndamento.decrementAndGet();
+            rejeitadas.increment();
+            return false;
+        }
+        aceitas.increment();
+        return true;
+    }
+
+    /**
+     * Devolve a vaga e ajusta o limite com a latência da requisição
+     */
+    void liberar(long inicioNanos, long fimNanos, boolean sobrecarga) {
+        int ocupadas = emAndamento.getAndDecrement();
+        ajustar(inicioNanos, fimNanos - inicioNanos, ocupadas, sobrecarga);
+    }
+
+    private synchronized void ajustar(long inicioNanos, long latenciaNanos, int ocupadas, boolean sobrecarga) {
+        if (sobrecarga || latenciaNanos > latenciaAlvoNanos) {
+            if (inicioNanos - ultimaReducaoNanos >= 0) {
+                limite = Math.max(minimo, limite * fatorReducao);
+                ultimaReducaoNanos = System.nanoTime();
+            }
+        } else if (ocupadas * 2 >= limite) {
+            limite = Math.min(maximo, limite + 1.0 / limite);
+        }
+    }
+
+    int limite() {
+        return (int) limite;
+    }
+
+    int emAndamento() {
+        return emAndamento.get();
+    }
+
+    long aceitas() {
+        return aceitas.sum();
+    }
+
+    long rejeitadas() {
+        return rejeitadas.sum();
+    }
+}
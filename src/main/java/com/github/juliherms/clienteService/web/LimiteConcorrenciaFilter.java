@@ -0,0 +1,192 @@
+package com.github.juliherms.clienteService.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.juliherms.clienteService.aquecimento.AquecimentoFilter;
+import com.github.juliherms.clienteService.dto.ErrorResponseDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Limita as requisições simultâneas à API de clientes e recusa o excedente com 503 antes de ocupar threads
+ * de negócio e conexões do pool.
+ *
+ * <p>Leituras (GET/HEAD e as consultas por POST, como a elegibilidade) e escritas têm {@link LimiteAdaptativo}
+ * separados, cada um com sua latência alvo:
+ * quando o banco fica lento o limite cai e as requisições a mais falham rápido com {@code Retry-After}, em vez
+ * de esperar na fila do Tomcat até estourar o tempo de quem chamou. O health check e a atualização de scores
+ * em lote, cuja duração depende do tamanho do corpo e não da carga, ficam fora do limite, assim como as requisições
+ * sintéticas do aquecimento, que não devem ajustar o limite antes do tráfego real.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(name = "cliente.limite-concorrencia.enabled", havingValue = "true", matchIfMissing = true)
+public class LimiteConcorrenciaFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimiteConcorrenciaFilter.class);
+
+    private static final String PREFIXO_API = "/api/clientes";
+    private static final String HEALTH = PREFIXO_API + "/health";
+    private static final String SCORES = PREFIXO_API + "/scores";
+
+    // Rotas POST que só consultam: o critério vai no corpo, mas a carga é de leitura
+    private static final Set<String> CONSULTAS_POST = Set.of(PREFIXO_API + "/elegibilidade");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${cliente.limite-concorrencia.fator-reducao:0.9}")
+    private double fatorReducao;
+
+    @Value("${cliente.limite-concorrencia.leitura.inicial:50}")
+    private int leituraInicial;
+
+    @Value("${cliente.limite-concorrencia.leitura.minimo:4}")
+    private int leituraMinimo;
+
+    @Value("${cliente.limite-concorrencia.leitura.maximo:400}")
+    private int leituraMaximo;
+
+    @Value("${cliente.limite-concorrencia.leitura.latencia-alvo:100ms}")
+    private Duration leituraLatenciaAlvo;
+
+    @Value("${cliente.limite-concorrencia.escrita.inicial:20}")
+    private int escritaInicial;
+
+    @Value("${cliente.limite-concorrencia.escrita.minimo:2}")
+    private int escritaMinimo;
+
+    @Value("${cliente.limite-concorrencia.escrita.maximo:100}")
+    private int escritaMaximo;
+
+    @Value("${cliente.limite-concorrencia.escrita.latencia-alvo:250ms}")
+    private Duration escritaLatenciaAlvo;
+
+    private LimiteAdaptativo leituras;
+    private LimiteAdaptativo escritas;
+
+    @PostConstruct
+    void iniciar() {
+        leituras = new LimiteAdaptativo(leituraInicial, leituraMinimo, leituraMaximo,
+                leituraLatenciaAlvo.toNanos(), fatorReducao);
+        escritas = new LimiteAdaptativo(escritaInicial, escritaMinimo, escritaMaximo,
+                escritaLatenciaAlvo.toNanos(), fatorReducao);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String caminho = caminho(request);
+        return !caminho.startsWith(PREFIXO_API) || caminho.equals(HEALTH) || caminho.equals(SCORES)
+                || AquecimentoFilter.deAquecimento(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        LimiteAdaptativo limite = leitura(request) ? leituras : escritas;
+        if (!limite.adquirir()) {
+            logger.debug("Requisição {} {} recusada: limite de {} requisições simultâneas atingido",
+                    request.getMethod(), request.getRequestURI(), limite.limite());
+            recusar(request, response);
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        boolean sobrecarga = true;
+        try {
+            filterChain.doFilter(request, response);
+            sobrecarga = sobrecarga(response.getStatus());
+        } finally {
+            limite.liberar(inicio, System.nanoTime(), sobrecarga);
+        }
+    }
+
+    /**
+     * 503 e 504 por tempo esgotado no servidor sinalizam sobrecarga; um 504 porque o prazo de quem chamou
+     * (header prazoMs) acabou não diz nada sobre a carga, e a latência da requisição já entra na amostra
+     */
+    static boolean sobrecarga(int status) {
+        if (status == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            return true;
+        }
+        return status == HttpStatus.GATEWAY_TIMEOUT.value() && PrazoContext.restanteNanos() > 0;
+    }
+
+    /**
+     * Classifica pela rota: GET/HEAD e os POSTs de {@link #CONSULTAS_POST} são leituras
+     */
+    static boolean leitura(HttpServletRequest request) {
+        String metodo = request.getMethod();
+        if (HttpMethod.GET.matches(metodo) || HttpMethod.HEAD.matches(metodo)) {
+            return true;
+        }
+        return HttpMethod.POST.matches(metodo) && CONSULTAS_POST.contains(caminho(request));
+    }
+
+    private static String caminho(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private void recusar(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "Serviço sobrecarregado, tente novamente em instantes",
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registrar(registry, "leitura", leituras);
+        registrar(registry, "escrita", escritas);
+    }
+
+    private static void registrar(MeterRegistry registry, String tipo, LimiteAdaptativo limite) {
+        Gauge.builder("cliente.concorrencia.limite", limite, LimiteAdaptativo::limite)
+                .tag("tipo", tipo)
+                .description("Requisições simultâneas aceitas no momento")
+                .register(registry);
+        Gauge.builder("cliente.concorrencia.em.andamento", limite, LimiteAdaptativo::emAndamento)
+                .tag("tipo", tipo)
+                .register(registry);
+        FunctionCounter.builder("cliente.concorrencia.requisicoes", limite, LimiteAdaptativo::aceitas)
+                .tag("tipo", tipo)
+                .tag("resultado", "aceita")
+                .register(registry);
+        FunctionCounter.builder("cliente.concorrencia.requisicoes", limite, LimiteAdaptativo::rejeitadas)
+                .tag("tipo", tipo)
+                .tag("resultado", "recusada")
+                .description("Requisições aceitas e recusadas com 503 pelo limite de concorrência")
+                .register(registry);
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.juliherms.clienteService.web;
+
+import com.github.juliherms.clienteService.exception.PrazoExpiradoException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantém o prazo (header prazoMs) da requisição corrente na thread, como instante em {@link System#nanoTime()}
+ */
+public final class PrazoContext {
+
+    private static final ThreadLocal<Long> PRAZO = new ThreadLocal<>();
+
+    // Acima disso o prazo é limitado, para que nanoTime() + prazo não estoure o long
+    static final long PRAZO_MAXIMO_MS = TimeUnit.DAYS.toMillis(1);
+
+    private PrazoContext() {}
+
+    /**
+     * Define o prazo a partir de agora; valores não positivos já nascem expirados e valores acima de um dia valem
+     * como um dia
+     */
+    public static void definir(long prazoMs) {
+        PRAZO.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.min(prazoMs, PRAZO_MAXIMO_MS)));
+    }
+
+    public static boolean ativo() {
+        return PRAZO.get() != null;
+    }
+
+    /**
+     * Tempo restante em nanossegundos (negativo se expirado), ou {@link Long#MAX_VALUE} sem prazo
+     */
+    public static long restanteNanos() {
+        Long prazo = PRAZO.get();
+        return prazo == null ? Long.MAX_VALUE : prazo - System.nanoTime();
+    }
+
+    /**
+     * Lança {@link PrazoExpiradoException} se o prazo da requisição já passou
+     */
+    public static void verificar() {
+        if (restanteNanos() <= 0) {
+            throw new PrazoExpiradoException("Prazo da requisição esgotado");
+        }
+    }
+
+    public static void clear() {
+        PRAZO.remove();
+    }
+}
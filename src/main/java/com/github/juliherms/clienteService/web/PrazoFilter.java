@@ -0,0 +1,74 @@
+package com.github.juliherms.clienteService.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.juliherms.clienteService.dto.ErrorResponseDTO;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Publica o header opcional prazoMs (milissegundos que quem chamou ainda vai esperar) no {@link PrazoContext}.
+ * Valores que não são números inteiros são ignorados, e prazos zerados ou negativos são recusados com 400.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "cliente.prazo.enabled", havingValue = "true", matchIfMissing = true)
+public class PrazoFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrazoFilter.class);
+
+    public static final String PRAZO_HEADER = "prazoMs";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String prazo = request.getHeader(PRAZO_HEADER);
+        if (prazo != null) {
+            try {
+                long prazoMs = Long.parseLong(prazo.trim());
+                if (prazoMs <= 0) {
+                    recusar(request, response);
+                    return;
+                }
+                PrazoContext.definir(prazoMs);
+            } catch (NumberFormatException ex) {
+                logger.debug("Header {} inválido ignorado: {}", PRAZO_HEADER, prazo);
+            }
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PrazoContext.clear();
+        }
+    }
+
+    private void recusar(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "Header '" + PRAZO_HEADER + "' deve ser um número positivo de milissegundos",
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.juliherms.clienteService.web;
+
+/**
+ * Mantém o sistema de origem (header sistemaOrigem) da requisição corrente na thread
+ */
+public final class SistemaOrigemContext {
+
+    /**
+     * Tamanho da coluna sistema_origem nas tabelas de auditoria e outbox
+     */
+    public static final int TAMANHO_MAXIMO = 100;
+
+    private static final ThreadLocal<String> ORIGEM = new ThreadLocal<>();
+
+    private SistemaOrigemContext() {}
+
+    public static String get() {
+        return ORIGEM.get();
+    }
+
+    public static void set(String sistemaOrigem) {
+        if (sistemaOrigem == null || sistemaOrigem.isBlank()) {
+            ORIGEM.remove();
+        } else {
+            ORIGEM.set(sistemaOrigem.trim());
+        }
+    }
+
+    /**
+     * Corta o sistema de origem no tamanho da coluna, para que um header longo não faça a gravação falhar
+     */
+    public static String paraGravacao(String sistemaOrigem) {
+        return sistemaOrigem == null || sistemaOrigem.length() <= TAMANHO_MAXIMO
+                ? sistemaOrigem
+                : sistemaOrigem.substring(0, TAMANHO_MAXIMO);
+    }
+
+    public static void clear() {
+        ORIGEM.remove();
+    }
+}
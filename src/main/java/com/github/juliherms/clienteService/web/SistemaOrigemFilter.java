@@ -0,0 +1,35 @@
+package com.github.juliherms.clienteService.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Publica o header sistemaOrigem (quando informado) no {@link SistemaOrigemContext}
+ * durante todo o processamento da requisição, inclusive em escritas.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SistemaOrigemFilter extends OncePerRequestFilter {
+
+    public static final String SISTEMA_ORIGEM_HEADER = "sistemaOrigem";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        SistemaOrigemContext.set(request.getHeader(SISTEMA_ORIGEM_HEADER));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SistemaOrigemContext.clear();
+        }
+    }
+}
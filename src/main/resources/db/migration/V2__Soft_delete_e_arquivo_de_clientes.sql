@@ -0,0 +1,26 @@
+-- Migration para remoção lógica e tabela de arquivo (clientes inativos ou removidos)
+ALTER TABLE clientes ADD COLUMN removido_em TIMESTAMP NULL;
+ALTER TABLE clientes ADD COLUMN cpf_removido VARCHAR(11) NULL;
+
+-- Na remoção lógica o CPF é movido para cpf_removido, liberando a constraint única
+ALTER TABLE clientes MODIFY cpf VARCHAR(11) NULL;
+
+CREATE TABLE clientes_arquivo (
+    id BIGINT PRIMARY KEY,
+    cpf VARCHAR(11) NOT NULL,
+    nome VARCHAR(100) NOT NULL,
+    data_nascimento DATE NOT NULL,
+    renda_mensal DECIMAL(10,2) NOT NULL,
+    score_credito INTEGER NOT NULL,
+    aposentado BOOLEAN NOT NULL,
+    profissao VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NULL,
+    removido_em TIMESTAMP NULL,
+    arquivado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Índices para a seleção do arquivador e para as buscas de fallback
+CREATE INDEX idx_clientes_updated_at ON clientes(updated_at);
+CREATE INDEX idx_clientes_removido_em ON clientes(removido_em);
+CREATE INDEX idx_clientes_arquivo_cpf ON clientes_arquivo(cpf);
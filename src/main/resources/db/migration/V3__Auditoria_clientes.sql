@@ -0,0 +1,13 @@
+-- Migration para a trilha de auditoria das escritas de clientes (gravada em lote pelo AuditoriaClientes)
+CREATE TABLE auditoria_clientes (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    cliente_id BIGINT NOT NULL,
+    tipo VARCHAR(20) NOT NULL,
+    cpf VARCHAR(11) NULL,
+    sistema_origem VARCHAR(100) NULL,
+    ocorrido_em TIMESTAMP(3) NOT NULL,
+    registrado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_auditoria_clientes_cliente_id ON auditoria_clientes(cliente_id);
+CREATE INDEX idx_auditoria_clientes_ocorrido_em ON auditoria_clientes(ocorrido_em);
@@ -0,0 +1,20 @@
+-- Migration para o outbox transacional de alterações de clientes e o checkpoint do relay
+CREATE TABLE outbox_clientes (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    cliente_id BIGINT NOT NULL,
+    tipo VARCHAR(20) NOT NULL,
+    sistema_origem VARCHAR(100) NULL,
+    payload TEXT NULL,
+    criado_em TIMESTAMP(3) NOT NULL
+);
+
+CREATE INDEX idx_outbox_clientes_criado_em ON outbox_clientes(criado_em);
+
+-- Último ID entregue por relay; a linha é travada durante cada lote para que só uma instância entregue
+CREATE TABLE outbox_checkpoint (
+    relay VARCHAR(50) PRIMARY KEY,
+    ultimo_id BIGINT NOT NULL,
+    atualizado_em TIMESTAMP(3) NULL
+);
+
+INSERT INTO outbox_checkpoint (relay, ultimo_id, atualizado_em) VALUES ('clientes', 0, CURRENT_TIMESTAMP);
@@ -0,0 +1,12 @@
+-- Migration para os avisos de invalidação de caches entre instâncias: cada instância lê a tabela inteira em ordem
+-- de id, a partir de onde parou. cliente_id nulo pede a descarga completa dos caches
+CREATE TABLE invalidacao_clientes (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    cliente_id BIGINT NULL,
+    cpf VARCHAR(11) NULL,
+    tipo VARCHAR(20) NULL,
+    instancia VARCHAR(64) NOT NULL,
+    criado_em TIMESTAMP(3) NOT NULL
+);
+
+CREATE INDEX idx_invalidacao_clientes_criado_em ON invalidacao_clientes(criado_em);
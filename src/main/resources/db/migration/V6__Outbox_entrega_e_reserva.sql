@@ -0,0 +1,12 @@
+-- Migration para o relay do outbox entregar fora da trava do checkpoint e nunca pular eventos: cada evento marca
+-- quando foi entregue, e o checkpoint ganha uma reserva com prazo que substitui o FOR UPDATE durante a entrega
+ALTER TABLE outbox_clientes ADD COLUMN entregue_em TIMESTAMP(3) NULL;
+
+CREATE INDEX idx_outbox_clientes_pendentes ON outbox_clientes(entregue_em, id);
+
+UPDATE outbox_clientes SET entregue_em = criado_em
+WHERE id <= (SELECT ultimo_id FROM outbox_checkpoint WHERE relay = 'clientes');
+
+ALTER TABLE outbox_checkpoint ADD COLUMN reserva VARCHAR(36) NULL;
+
+ALTER TABLE outbox_checkpoint ADD COLUMN reservado_ate TIMESTAMP(3) NULL;
@@ -0,0 +1,160 @@
+package com.github.juliherms.clienteService.aquecimento;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AquecimentoTest {
+
+    private Aquecimento aquecimento;
+    private AquecimentoHealthIndicator healthIndicator;
+
+    @BeforeEach
+    void setUp() {
+        aquecimento = new Aquecimento();
+        ReflectionTestUtils.setField(aquecimento, "tempoMaximo", Duration.ofMinutes(1));
+        healthIndicator = new AquecimentoHealthIndicator();
+        ReflectionTestUtils.setField(healthIndicator, "aquecimento", aquecimento);
+    }
+
+    @Test
+    void deveFicarForaDeServicoAteConcluirAsEtapas() {
+        // Given
+        List<Status> durante = new ArrayList<>();
+        List<String> executadas = new ArrayList<>();
+
+        // When
+        aquecimento.executar(List.of(
+                new Aquecimento.Etapa("conexoes", () -> {
+                    durante.add(healthIndicator.health().getStatus());
+                    executadas.add("conexoes");
+                }),
+                new Aquecimento.Etapa("consultas", () -> executadas.add("consultas"))));
+
+        // Then
+        assertThat(durante).containsExactly(Status.OUT_OF_SERVICE);
+        assertThat(executadas).containsExactly("conexoes", "consultas");
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(healthIndicator.health().getDetails()).doesNotContainKey("interrupcao");
+    }
+
+    @Test
+    void deveFicarProntoMesmoComFalhaEmUmaEtapa() {
+        // When
+        aquecimento.executar(List.of(
+                new Aquecimento.Etapa("conexoes", () -> {
+                    throw new IllegalStateException("banco indisponível");
+                }),
+                new Aquecimento.Etapa("consultas", () -> {
+                    throw new AssertionError("não deveria executar");
+                })));
+
+        // Then
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(healthIndicator.health().getDetails().get("interrupcao"))
+                .isEqualTo("falha na etapa conexoes: banco indisponível");
+    }
+
+    @Test
+    void deveEncerrarQuandoOTempoMaximoEsgota() {
+        // Given
+        ReflectionTestUtils.setField(aquecimento, "tempoMaximo", Duration.ZERO);
+
+        // When
+        aquecimento.executar(List.of(new Aquecimento.Etapa("conexoes", () -> {
+            throw new AssertionError("não deveria executar");
+        })));
+
+        // Then
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(healthIndicator.health().getDetails().get("interrupcao"))
+                .isEqualTo("tempo máximo atingido antes da etapa conexoes");
+    }
+
+    @Test
+    void deveMarcarSoAsRequisicoesComAChaveDaInstanciaEnquantoAquece() throws Exception {
+        // Given
+        AquecimentoFilter filter = new AquecimentoFilter();
+        ReflectionTestUtils.setField(filter, "aquecimento", aquecimento);
+        String chave = (String) ReflectionTestUtils.getField(aquecimento, "chave");
+        MockHttpServletRequest sintetica = requisicao(chave);
+        MockHttpServletRequest forjada = requisicao("outra-chave");
+        List<Boolean> marcadasDurante = new ArrayList<>();
+
+        // When
+        aquecimento.executar(List.of(new Aquecimento.Etapa("requisicoes", () -> {
+            marcadasDurante.add(filtrar(filter, sintetica));
+            marcadasDurante.add(filtrar(filter, forjada));
+        })));
+        boolean marcadaDepois = filtrar(filter, requisicao(chave));
+
+        // Then
+        assertThat(marcadasDurante).containsExactly(true, false);
+        assertThat(marcadaDepois).isFalse();
+    }
+
+    @Test
+    void deveDescartarOsLogsInfoDasRequisicoesSinteticas() throws Exception {
+        // Given
+        AquecimentoFilter filter = new AquecimentoFilter();
+        ReflectionTestUtils.setField(filter, "aquecimento", aquecimento);
+        filter.registrarSilencio();
+        Logger logger = (Logger) LoggerFactory.getLogger("aquecimento.teste");
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        String chave = (String) ReflectionTestUtils.getField(aquecimento, "chave");
+        FilterChain registrar = (request, response) -> {
+            logger.info("consulta {}", ((MockHttpServletRequest) request).getHeader(Aquecimento.AQUECIMENTO_HEADER));
+            logger.warn("aviso");
+        };
+
+        // When
+        try {
+            filter.doFilter(requisicao(chave), new MockHttpServletResponse(), registrar);
+            filter.doFilter(requisicao("outra-chave"), new MockHttpServletResponse(), registrar);
+        } finally {
+            filter.removerSilencio();
+            logger.detachAppender(appender);
+        }
+
+        // Then
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .containsExactly("aviso", "consulta outra-chave", "aviso");
+    }
+
+    @Test
+    void deveFicarProntoComAquecimentoDesligado() {
+        assertThat(new AquecimentoHealthIndicator().health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    private static MockHttpServletRequest requisicao(String chave) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/clientes/1");
+        request.addHeader(Aquecimento.AQUECIMENTO_HEADER, chave);
+        return request;
+    }
+
+    private static boolean filtrar(AquecimentoFilter filter, MockHttpServletRequest request) {
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+        return AquecimentoFilter.deAquecimento(request);
+    }
+}
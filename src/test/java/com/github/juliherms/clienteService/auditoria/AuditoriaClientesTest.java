@@ -0,0 +1,140 @@
+package com.github.juliherms.clienteService.auditoria;
+
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.event.ClienteAlteradoEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditoriaClientesTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private AuditoriaClientes auditoria;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:auditoria-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        auditoria = new AuditoriaClientes();
+        ReflectionTestUtils.setField(auditoria, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(auditoria, "transactionManager", new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(auditoria, "capacidade", 1024);
+        ReflectionTestUtils.setField(auditoria, "tamanhoLote", 32);
+        ReflectionTestUtils.setField(auditoria, "esperaOciosa", Duration.ofMillis(1));
+        auditoria.iniciar();
+        registry = new SimpleMeterRegistry();
+        auditoria.bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        auditoria.parar();
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void deveGravarEmLoteAsEscritasComOSistemaDeOrigem() throws InterruptedException {
+        // Given
+        ClienteResponseDTO cliente = new ClienteResponseDTO(1L, "84957281092", "João Silva", LocalDate.of(1990, 5, 15),
+                new BigDecimal("5000.00"), 750, false, "Desenvolvedor");
+
+        // When
+        auditoria.onClienteAlterado(ClienteAlteradoEvent.cadastro(cliente, "crm"));
+        auditoria.onClienteAlterado(ClienteAlteradoEvent.atualizacao(cliente, "portal"));
+        auditoria.onClienteAlterado(ClienteAlteradoEvent.remocao(1L, "backoffice"));
+        aguardarGravados(3);
+
+        // Then
+        List<Map<String, Object>> registros = jdbcTemplate.queryForList(
+                "SELECT tipo, cpf, sistema_origem FROM auditoria_clientes WHERE cliente_id = 1 ORDER BY id");
+        assertThat(registros).extracting(r -> r.get("TIPO")).containsExactly("CADASTRO", "ATUALIZACAO", "REMOCAO");
+        assertThat(registros).extracting(r -> r.get("SISTEMA_ORIGEM")).containsExactly("crm", "portal", "backoffice");
+        assertThat(registros).extracting(r -> r.get("CPF")).containsExactly("84957281092", "84957281092", null);
+        assertThat(registry.get("cliente.auditoria.gravados").functionCounter().count()).isEqualTo(3);
+        assertThat(registry.get("cliente.auditoria.pendentes").gauge().value()).isZero();
+    }
+
+    @Test
+    void deveRegistrarAtualizacoesEmLoteNaTransacaoCorrente() {
+        // Given
+        List<ClienteResponseDTO> clientes = List.of(
+                new ClienteResponseDTO(1L, "84957281092", "João Silva", LocalDate.of(1990, 5, 15),
+                        new BigDecimal("5000.00"), 610, false, "Desenvolvedor"),
+                new ClienteResponseDTO(2L, "52998224725", "Maria Souza", LocalDate.of(1985, 3, 10),
+                        new BigDecimal("7000.00"), 880, true, "Engenheira"));
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> auditoria.registrarAtualizacoes(clientes, "bureau"));
+        transactionTemplate.executeWithoutResult(status -> {
+            auditoria.registrarAtualizacoes(clientes, "desfeito");
+            status.setRollbackOnly();
+        });
+
+        // Then
+        List<Map<String, Object>> registros = jdbcTemplate.queryForList(
+                "SELECT cliente_id, tipo, cpf, sistema_origem FROM auditoria_clientes ORDER BY id");
+        assertThat(registros).extracting(r -> r.get("CPF")).containsExactly("84957281092", "52998224725");
+        assertThat(registros).extracting(r -> r.get("TIPO")).containsOnly("ATUALIZACAO");
+        assertThat(registros).extracting(r -> r.get("SISTEMA_ORIGEM")).containsOnly("bureau");
+    }
+
+    @Test
+    void deveCortarOSistemaDeOrigemNoTamanhoDaColuna() throws InterruptedException {
+        // When
+        auditoria.onClienteAlterado(ClienteAlteradoEvent.remocao(1L, "x".repeat(300)));
+        aguardarGravados(1);
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT sistema_origem FROM auditoria_clientes", String.class))
+                .hasSize(100);
+    }
+
+    @Test
+    void deveDescartarSoORegistroInvalidoDoLote() throws InterruptedException {
+        // Given: CPF maior que a coluna
+        ClienteResponseDTO invalido = new ClienteResponseDTO(2L, "849572810920000", "Maria Souza",
+                LocalDate.of(1985, 3, 10), new BigDecimal("7000.00"), 880, true, "Engenheira");
+
+        // When
+        auditoria.onClienteAlterado(ClienteAlteradoEvent.remocao(1L, "crm"));
+        auditoria.onClienteAlterado(ClienteAlteradoEvent.cadastro(invalido, "crm"));
+        auditoria.onClienteAlterado(ClienteAlteradoEvent.remocao(3L, "crm"));
+        aguardarGravados(2);
+
+        // Then
+        assertThat(jdbcTemplate.queryForList("SELECT cliente_id FROM auditoria_clientes ORDER BY id", Long.class))
+                .containsExactly(1L, 3L);
+        assertThat(registry.get("cliente.auditoria.descartados").tag("motivo", "falha-gravacao").functionCounter()
+                .count()).isEqualTo(1);
+    }
+
+    private void aguardarGravados(long esperados) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5_000;
+        while (auditoria.gravados() < esperados && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.juliherms.clienteService.auditoria;
+
+import com.github.juliherms.clienteService.event.TipoAlteracao;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferAuditoriaTest {
+
+    @Test
+    void deveEntregarTodosOsRegistrosDeVariosProdutoresSemDuplicar() throws Exception {
+        // Given
+        RingBufferAuditoria anel = new RingBufferAuditoria(64);
+        RingBufferAuditoria.Lote lote = new RingBufferAuditoria.Lote(16);
+        int produtores = 4;
+        int porProdutor = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(produtores);
+        CountDownLatch largada = new CountDownLatch(1);
+
+        // When
+        for (int p = 0; p < produtores; p++) {
+            long base = (long) p * porProdutor;
+            executor.submit(() -> {
+                largada.await();
+                for (long i = base; i < base + porProdutor; i++) {
+                    while (!anel.publicar(TipoAlteracao.CADASTRO, i, null, "sistema-" + base, i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+        largada.countDown();
+
+        Set<Long> recebidos = new HashSet<>();
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (recebidos.size() < produtores * porProdutor && System.nanoTime() < limite) {
+            anel.drenar(lote, lote.capacidade());
+            for (int i = 0; i < lote.tamanho; i++) {
+                assertThat(recebidos.add(lote.clienteIds[i])).isTrue();
+                assertThat(lote.sistemasOrigem[i]).isEqualTo("sistema-" + (lote.clienteIds[i] / porProdutor * porProdutor));
+            }
+            lote.limpar();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(recebidos).hasSize(produtores * porProdutor);
+        assertThat(anel.pendentes()).isZero();
+    }
+
+    @Test
+    void deveDescartarComBufferCheioEReaproveitarAsPosicoesDrenadas() {
+        // Given
+        RingBufferAuditoria anel = new RingBufferAuditoria(4);
+        RingBufferAuditoria.Lote lote = new RingBufferAuditoria.Lote(8);
+        for (long id = 1; id <= 4; id++) {
+            assertThat(anel.publicar(TipoAlteracao.ATUALIZACAO, id, "84957281092", "crm", id)).isTrue();
+        }
+
+        // When
+        boolean aceito = anel.publicar(TipoAlteracao.ATUALIZACAO, 5, "84957281092", "crm", 5);
+        int drenados = anel.drenar(lote, 2);
+
+        // Then
+        assertThat(aceito).isFalse();
+        assertThat(anel.descartados()).isEqualTo(1);
+        assertThat(drenados).isEqualTo(2);
+        assertThat(lote.clienteIds).startsWith(1L, 2L);
+        assertThat(lote.maisAntigo()).isEqualTo(1);
+        assertThat(anel.publicar(TipoAlteracao.REMOCAO, 6, null, "crm", 6)).isTrue();
+        assertThat(anel.pendentes()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,131 @@
+package com.github.juliherms.clienteService.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.github.juliherms.clienteService.config.ContentNegotiationConfig;
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.exception.ClienteNotFoundException;
+import com.github.juliherms.clienteService.service.AtualizadorScores;
+import com.github.juliherms.clienteService.service.ClienteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ClienteController.class)
+@Import(ContentNegotiationConfig.class)
+@ActiveProfiles("test")
+class ClienteControllerContentNegotiationTest {
+
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ClienteService clienteService;
+
+    @MockitoBean
+    private AtualizadorScores atualizadorScores;
+
+    private final ClienteResponseDTO clienteResponseDTO = new ClienteResponseDTO(
+            1L,
+            "05960722445",
+            "João Silva",
+            LocalDate.of(1990, 5, 15),
+            new BigDecimal("5000.00"),
+            750,
+            false,
+            "Desenvolvedor"
+    );
+
+    @Test
+    void deveManterJsonComoPadrao() throws Exception {
+        // Given
+        when(clienteService.buscarPorCpf(anyString())).thenReturn(clienteResponseDTO);
+
+        // When & Then
+        mockMvc.perform(get("/api/clientes/cpf/05960722445")
+                        .header("sistemaOrigem", "SISTEMA_VENDAS"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.nome").value("João Silva"));
+    }
+
+    @Test
+    void deveResponderEmCborQuandoSolicitado() throws Exception {
+        // Given
+        when(clienteService.buscarPorCpf(anyString())).thenReturn(clienteResponseDTO);
+
+        // When
+        byte[] corpo = mockMvc.perform(get("/api/clientes/cpf/05960722445")
+                        .header("sistemaOrigem", "SISTEMA_VENDAS")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode cliente = new CBORMapper().readTree(corpo);
+        assertThat(cliente.get("nome").asText()).isEqualTo("João Silva");
+        assertThat(cliente.get("rendaMensal").decimalValue()).isEqualByComparingTo("5000.00");
+        assertThat(cliente.get("dataNascimento").asText()).isEqualTo("1990-05-15");
+    }
+
+    @Test
+    void deveResponderPaginaEmSmileQuandoSolicitado() throws Exception {
+        // Given
+        when(clienteService.listarClientes(any()))
+                .thenReturn(new PageImpl<>(List.of(clienteResponseDTO), PageRequest.of(0, 20), 1));
+
+        // When
+        byte[] corpo = mockMvc.perform(get("/api/clientes")
+                        .header("sistemaOrigem", "SISTEMA_VENDAS")
+                        .accept(APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode pagina = new SmileMapper().readTree(corpo);
+        assertThat(pagina.get("content").get(0).get("cpf").asText()).isEqualTo("05960722445");
+        assertThat(pagina.get("totalElements").asLong()).isEqualTo(1);
+    }
+
+    @Test
+    void deveResponderErroEmCborQuandoSolicitado() throws Exception {
+        // Given
+        when(clienteService.buscarPorId(anyLong()))
+                .thenThrow(new ClienteNotFoundException("Cliente não encontrado com ID: 99"));
+
+        // When
+        byte[] corpo = mockMvc.perform(get("/api/clientes/99")
+                        .header("sistemaOrigem", "SISTEMA_VENDAS")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotFound())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode erro = new CBORMapper().readTree(corpo);
+        assertThat(erro.get("message").asText()).isEqualTo("Cliente não encontrado com ID: 99");
+        assertThat(erro.get("status").asInt()).isEqualTo(404);
+    }
+}
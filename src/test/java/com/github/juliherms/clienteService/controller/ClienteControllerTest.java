@@ -1,11 +1,14 @@
 package com.github.juliherms.clienteService.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.juliherms.clienteService.dto.CampoCliente;
 import com.github.juliherms.clienteService.dto.ClienteRequestDTO;
 import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.dto.ResultadoAtualizacaoScoresDTO;
 import com.github.juliherms.clienteService.exception.ClienteNotFoundException;
 import com.github.juliherms.clienteService.exception.DuplicateCpfException;
 import com.github.juliherms.clienteService.exception.MissingHeaderException;
+import com.github.juliherms.clienteService.service.AtualizadorScores;
 import com.github.juliherms.clienteService.service.ClienteService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,8 +27,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -41,6 +47,9 @@ class ClienteControllerTest {
     @MockitoBean
     private ClienteService clienteService;
 
+    @MockitoBean
+    private AtualizadorScores atualizadorScores;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -176,6 +185,34 @@ class ClienteControllerTest {
                 .andExpect(jsonPath("$.message").value("Header 'sistemaOrigem' é obrigatório para operações de consulta"));
     }
 
+    @Test
+    void deveBuscarApenasCamposSelecionadosPorId() throws Exception {
+        // Given
+        Map<String, Object> cliente = new LinkedHashMap<>();
+        cliente.put("id", 1L);
+        cliente.put("scoreCredito", 750);
+        when(clienteService.buscarPorId(1L, List.of(CampoCliente.ID, CampoCliente.SCORE_CREDITO))).thenReturn(cliente);
+
+        // When & Then
+        mockMvc.perform(get("/api/clientes/1")
+                        .header("sistemaOrigem", "SISTEMA_VENDAS")
+                        .param("fields", "id,scoreCredito"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1L))
+                .andExpect(jsonPath("$.scoreCredito").value(750))
+                .andExpect(jsonPath("$.nome").doesNotExist());
+    }
+
+    @Test
+    void naoDeveBuscarComCampoInvalido() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/clientes/1")
+                        .header("sistemaOrigem", "SISTEMA_VENDAS")
+                        .param("fields", "id,senha"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(startsWith("Campo inválido em 'fields': senha")));
+    }
+
     @Test
     void deveListarClientesComPaginacao() throws Exception {
         // Given
@@ -270,6 +307,22 @@ class ClienteControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    void deveAtualizarScoresEmLoteAPartirDeCsv() throws Exception {
+        // Given
+        when(atualizadorScores.atualizarCsv(any())).thenReturn(
+                new ResultadoAtualizacaoScoresDTO(3, 2, List.of("04497909085"), List.of()));
+
+        // When & Then
+        mockMvc.perform(post("/api/clientes/scores")
+                        .contentType("text/csv")
+                        .content("cpf,scoreCredito\n05960722445,810\n84957281092,640\n04497909085,700\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recebidos").value(3))
+                .andExpect(jsonPath("$.atualizados").value(2))
+                .andExpect(jsonPath("$.cpfsNaoEncontrados[0]").value("04497909085"));
+    }
+
     @Test
     void deveRetornarHealthCheck() throws Exception {
         // When & Then
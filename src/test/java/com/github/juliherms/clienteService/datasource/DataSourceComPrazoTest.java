@@ -0,0 +1,101 @@
+package com.github.juliherms.clienteService.datasource;
+
+import com.github.juliherms.clienteService.exception.PrazoExpiradoException;
+import com.github.juliherms.clienteService.web.PrazoContext;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DataSourceComPrazoTest {
+
+    private DataSourceComPrazo dataSource;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:prazo;DB_CLOSE_DELAY=-1");
+        h2.setUser("sa");
+        dataSource = new DataSourceComPrazo(h2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        PrazoContext.clear();
+    }
+
+    @Test
+    void naoDeveAlterarTimeoutSemPrazo() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            // When
+            statement.executeQuery().close();
+
+            // Then
+            assertThat(statement.getQueryTimeout()).isZero();
+        }
+    }
+
+    @Test
+    void deveAplicarTempoRestanteComoQueryTimeout() throws SQLException {
+        // Given
+        PrazoContext.definir(2_500);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            // When
+            statement.executeQuery().close();
+
+            // Then: arredondado para cima em segundos
+            assertThat(statement.getQueryTimeout()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void deveManterTimeoutMenorJaDefinido() throws SQLException {
+        // Given
+        PrazoContext.definir(60_000);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            statement.setQueryTimeout(5);
+
+            // When
+            statement.executeQuery().close();
+
+            // Then
+            assertThat(statement.getQueryTimeout()).isEqualTo(5);
+        }
+    }
+
+    @Test
+    void deveRecusarConexaoComPrazoEsgotado() {
+        // Given
+        PrazoContext.definir(0);
+
+        // When & Then
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(PrazoExpiradoException.class);
+    }
+
+    @Test
+    void deveRecusarComandoQuandoPrazoEsgotaDepoisDaConexao() throws Exception {
+        // Given
+        PrazoContext.definir(50);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            Thread.sleep(100);
+
+            // When & Then
+            assertThatThrownBy(statement::executeQuery).isInstanceOf(PrazoExpiradoException.class);
+        }
+    }
+}
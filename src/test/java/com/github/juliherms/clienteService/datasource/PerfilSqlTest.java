@@ -0,0 +1,113 @@
+package com.github.juliherms.clienteService.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PerfilSqlTest {
+
+    private PerfilSql perfil;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:perfil-sql;DB_CLOSE_DELAY=-1");
+        h2.setUser("sa");
+
+        perfil = new PerfilSql(3, Duration.ofSeconds(10));
+        jdbcTemplate = new JdbcTemplate(new DataSourcePerfilado(h2, perfil));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS pessoas");
+        jdbcTemplate.execute("CREATE TABLE pessoas (id BIGINT PRIMARY KEY, cpf VARCHAR(11))");
+        perfil.limpar();
+    }
+
+    @Test
+    void deveNormalizarLiteraisEspacosEListas() {
+        // When
+        String impressaoDigital = PerfilSql.impressaoDigital(
+                "SELECT *\n  FROM clientes c1 WHERE c1.cpf = '123''45' AND id IN (1, 2, 3) LIMIT 20");
+
+        // Then
+        assertThat(impressaoDigital).isEqualTo("SELECT * FROM clientes c1 WHERE c1.cpf = ? AND id IN (?...) LIMIT ?");
+    }
+
+    @Test
+    void deveAgruparExecucoesPorImpressaoDigitalEOrigem() {
+        // Given
+        String anterior = perfil.definirOrigem("ClienteRepository.save");
+        jdbcTemplate.update("INSERT INTO pessoas (id, cpf) VALUES (?, ?)", 1L, "12345678901");
+        jdbcTemplate.update("INSERT INTO pessoas (id, cpf) VALUES (?, ?)", 2L, "12345678902");
+        perfil.restaurarOrigem(anterior);
+
+        perfil.definirOrigem("ClienteRepository.findAll");
+        jdbcTemplate.queryForList("SELECT cpf FROM pessoas WHERE id > 0", String.class);
+        perfil.restaurarOrigem(anterior);
+
+        // When
+        List<PerfilSql.Entrada> relatorio = perfil.relatorio(10, PerfilSql.Ordem.EXECUCOES);
+
+        // Then
+        assertThat(relatorio).hasSize(2);
+        assertThat(relatorio.get(0)).satisfies(entrada -> {
+            assertThat(entrada.sql()).isEqualTo("INSERT INTO pessoas (id, cpf) VALUES (?...)");
+            assertThat(entrada.origem()).isEqualTo("ClienteRepository.save");
+            assertThat(entrada.execucoes()).isEqualTo(2);
+            assertThat(entrada.linhas()).isEqualTo(2);
+        });
+        assertThat(relatorio.get(1)).satisfies(entrada -> {
+            assertThat(entrada.sql()).isEqualTo("SELECT cpf FROM pessoas WHERE id > ?");
+            assertThat(entrada.origem()).isEqualTo("ClienteRepository.findAll");
+            assertThat(entrada.linhas()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    void deveContabilizarErros() {
+        // When
+        assertThatThrownBy(() -> jdbcTemplate.queryForList("SELECT * FROM inexistente"))
+                .isInstanceOf(BadSqlGrammarException.class);
+
+        // Then
+        assertThat(perfil.relatorio(1, PerfilSql.Ordem.TEMPO))
+                .singleElement()
+                .satisfies(entrada -> assertThat(entrada.erros()).isEqualTo(1));
+    }
+
+    @Test
+    void deveSomarComandosAlemDoLimiteEmOutros() {
+        // When
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.queryForList("SELECT id AS coluna_" + i + " FROM pessoas");
+        }
+
+        // Then
+        assertThat(perfil.entradas()).isEqualTo(4);
+        assertThat(perfil.relatorio(10, PerfilSql.Ordem.EXECUCOES))
+                .anySatisfy(entrada -> {
+                    assertThat(entrada.sql()).isEqualTo(PerfilSql.OUTROS);
+                    assertThat(entrada.execucoes()).isEqualTo(2);
+                });
+    }
+
+    @Test
+    void deveRecusarTopMenorQueUm() {
+        // Given
+        PerfilSqlEndpoint endpoint = new PerfilSqlEndpoint(perfil, new SimpleMeterRegistry());
+
+        // When & Then
+        assertThatThrownBy(() -> endpoint.relatorio(0, null)).isInstanceOf(InvalidEndpointRequestException.class);
+        assertThatThrownBy(() -> endpoint.relatorio(-5, null)).isInstanceOf(InvalidEndpointRequestException.class);
+        assertThat(endpoint.relatorio(null, null).comandos()).isEmpty();
+    }
+}
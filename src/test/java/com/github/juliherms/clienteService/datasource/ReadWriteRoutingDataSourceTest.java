@@ -0,0 +1,128 @@
+package com.github.juliherms.clienteService.datasource;
+
+import com.github.juliherms.clienteService.web.SistemaOrigemContext;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ReadWriteRoutingDataSource(
+                criarBancoEmMemoria("primaria"),
+                criarBancoEmMemoria("replica"),
+                new EscritasRecentes(Duration.ofSeconds(5))
+        );
+        dataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SistemaOrigemContext.clear();
+    }
+
+    @Test
+    void deveEnviarEscritasParaPrimaria() throws SQLException {
+        // When & Then
+        assertThat(urlDaConexao()).contains("primaria");
+    }
+
+    @Test
+    void deveEnviarTransacoesSomenteLeituraParaReplica() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When & Then
+        assertThat(urlDaConexao()).contains("replica");
+    }
+
+    @Test
+    void deveLerDaPrimariaLogoAposEscritaDaMesmaOrigem() throws SQLException {
+        // Given
+        SistemaOrigemContext.set("SISTEMA_VENDAS");
+        escrever();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When & Then
+        assertThat(urlDaConexao()).contains("primaria");
+
+        SistemaOrigemContext.set("SISTEMA_COBRANCA");
+        assertThat(urlDaConexao()).contains("replica");
+    }
+
+    @Test
+    void naoDeveRegistrarLeituraForaDeTransacaoComoEscrita() throws SQLException {
+        // Given: leitura sem transação, que vai à primária
+        SistemaOrigemContext.set("SISTEMA_VENDAS");
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeQuery("SELECT 1").close();
+        }
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When & Then
+        assertThat(urlDaConexao()).contains("replica");
+    }
+
+    @Test
+    void deveRegistrarEscritaSoDepoisDoCommit() throws SQLException {
+        // Given
+        SistemaOrigemContext.set("SISTEMA_VENDAS");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            escrever();
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            assertThat(urlDaConexao()).contains("replica");
+
+            // When
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertThat(urlDaConexao()).contains("primaria");
+    }
+
+    private void escrever() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS escritas (id INT)");
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO escritas VALUES (?)")) {
+                insert.setInt(1, 1);
+                insert.executeUpdate();
+            }
+        }
+    }
+
+    private String urlDaConexao() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getURL();
+        }
+    }
+
+    private static DataSource criarBancoEmMemoria(String nome) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1");
+        h2.setUser("sa");
+        return h2;
+    }
+}
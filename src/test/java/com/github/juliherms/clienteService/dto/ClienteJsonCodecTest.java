@@ -0,0 +1,139 @@
+package com.github.juliherms.clienteService.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Equivalência do {@link ClienteJsonCodec} com o Jackson configurado como no Spring Boot
+ */
+class ClienteJsonCodecTest {
+
+    private final ObjectMapper jackson = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void deveEscreverOsMesmosBytesQueOJackson() throws IOException {
+        for (ClienteResponseDTO cliente : clientes()) {
+            assertThat(codificar(cliente))
+                    .as("cliente %s", cliente)
+                    .isEqualTo(jackson.writeValueAsString(cliente));
+        }
+    }
+
+    @Test
+    void deveEscreverListasComoOJackson() throws IOException {
+        // Given: mais de um buffer de saída
+        List<ClienteResponseDTO> clientes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            clientes.addAll(clientes());
+        }
+
+        // When
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ClienteJsonCodec.codificar(clientes, saida);
+
+        // Then
+        assertThat(saida.toString(StandardCharsets.UTF_8)).isEqualTo(jackson.writeValueAsString(clientes));
+        assertThat(codificarLista(List.of())).isEqualTo("[]");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"cpf\":\"05960722445\",\"nome\":\"João Silva\",\"dataNascimento\":\"1990-05-15\","
+                    + "\"rendaMensal\":5000.00,\"scoreCredito\":750,\"aposentado\":false,\"profissao\":\"Desenvolvedor\"}",
+            " {\n  \"profissao\" : \"Médica\", \"aposentado\": true, \"scoreCredito\": 0,\n  \"rendaMensal\": 0,"
+                    + " \"dataNascimento\": \"1960-02-29\", \"nome\": \"Ana \\\"Tota\\\" d\\u00e9 \\ud83d\\ude00\","
+                    + " \"cpf\": \"12345678909\" }\t",
+            "{\"cpf\":null,\"nome\":null,\"dataNascimento\":null,\"rendaMensal\":null,\"scoreCredito\":null,"
+                    + "\"aposentado\":null,\"profissao\":null}",
+            "{\"rendaMensal\":-12.5,\"scoreCredito\":-1,\"nome\":\"a\\/b\\\\c\\n\\t\"}",
+            "{}"
+    })
+    void deveLerComoOJackson(String json) throws IOException {
+        // When
+        ClienteRequestDTO lido = ClienteJsonCodec.decodificar(json.getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertThat(lido).isNotNull();
+        // BigDecimal.equals compara também a escala
+        assertThat(lido).isEqualTo(jackson.readValue(json, ClienteRequestDTO.class));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"cpf\":\"05960722445\",\"extra\":1}",
+            "{\"rendaMensal\":\"5000.00\"}",
+            "{\"rendaMensal\":5E3}",
+            "{\"rendaMensal\":0123}",
+            "{\"scoreCredito\":750.0}",
+            "{\"scoreCredito\":\"750\"}",
+            "{\"aposentado\":\"true\"}",
+            "{\"dataNascimento\":[1990,5,15]}",
+            "{\"dataNascimento\":\"1990-02-30\"}",
+            "{\"cpf\":123}",
+            "{\"nome\":\"sem fim}",
+            "{\"nome\":\"a\"} {}",
+            "[]",
+            "null",
+            ""
+    })
+    void deveRecorrerAoJacksonForaDoFormatoCoberto(String json) {
+        assertThat(ClienteJsonCodec.decodificar(json.getBytes(StandardCharsets.UTF_8))).isNull();
+    }
+
+    @Test
+    void deveRecorrerAoJacksonComUtf8Invalido() {
+        byte[] json = {'{', '"', 'n', 'o', 'm', 'e', '"', ':', '"', (byte) 0xC3, '"', '}'};
+
+        assertThat(ClienteJsonCodec.decodificar(json)).isNull();
+    }
+
+    private static String codificar(ClienteResponseDTO cliente) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ClienteJsonCodec.codificar(cliente, saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String codificarLista(List<ClienteResponseDTO> clientes) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ClienteJsonCodec.codificar(clientes, saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    private static List<ClienteResponseDTO> clientes() {
+        return List.of(
+                new ClienteResponseDTO(1L, "05960722445", "João Silva", LocalDate.of(1990, 5, 15),
+                        new BigDecimal("5000.00"), 750, false, "Desenvolvedor"),
+                new ClienteResponseDTO(Long.MAX_VALUE, "00000000191", "Ana \"Tota\" \\ d'Ávila 😀 €",
+                        LocalDate.of(1, 1, 1), new BigDecimal("-0.05"), 0, true, "Linha\nTab\tCR\rBS\bFF\f\u0001\u001F\u007F"),
+                new ClienteResponseDTO(null, null, null, null, null, null, null, null),
+                new ClienteResponseDTO(-7L, "1", "", LocalDate.of(9999, 12, 31), new BigDecimal("12.5"), -1000,
+                        false, "x"),
+                new ClienteResponseDTO(2L, "2", "Renda sem casas", LocalDate.of(2000, 2, 29), new BigDecimal("1500"),
+                        1000, true, "y"),
+                new ClienteResponseDTO(3L, "3", "Renda grande", LocalDate.of(2000, 1, 1),
+                        new BigDecimal("123456789012345678901234.567"), 1, true, "z"),
+                new ClienteResponseDTO(4L, "4", "Renda científica", LocalDate.of(2000, 1, 1),
+                        new BigDecimal("1E+3"), 1, true, "w"),
+                new ClienteResponseDTO(5L, "5", "Renda miúda", LocalDate.of(2000, 1, 1),
+                        new BigDecimal("0.0000001"), 1, true, "v"),
+                new ClienteResponseDTO(Long.MIN_VALUE, "6", "Ano longo", LocalDate.of(12345, 6, 7),
+                        new BigDecimal("999999999999999999"), Integer.MIN_VALUE, null, "u")
+        );
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.juliherms.clienteService.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara o tamanho de uma lista de clientes em JSON, CBOR e Smile e confere que cada formato a lê de volta igual
+ */
+class PayloadFormatTest {
+
+    private static final int CLIENTES = 1_000;
+
+    @Test
+    void formatosBinariosDevemSerMenoresQueJson() throws Exception {
+        List<ClienteResponseDTO> clientes = gerarClientes();
+
+        int json = codificar(JsonMapper.builder().addModule(new JavaTimeModule()).build(), clientes);
+        int cbor = codificar(CBORMapper.builder().addModule(new JavaTimeModule()).build(), clientes);
+        int smile = codificar(SmileMapper.builder().addModule(new JavaTimeModule()).build(), clientes);
+
+        assertThat(cbor).isLessThan(json);
+        assertThat(smile).isLessThan(json);
+    }
+
+    private static int codificar(ObjectMapper mapper, List<ClienteResponseDTO> clientes) throws Exception {
+        byte[] bytes = mapper.writeValueAsBytes(clientes);
+        ClienteResponseDTO[] lidos = mapper.readValue(bytes, ClienteResponseDTO[].class);
+        assertThat(lidos).containsExactlyElementsOf(clientes);
+        return bytes.length;
+    }
+
+    private static List<ClienteResponseDTO> gerarClientes() {
+        List<ClienteResponseDTO> clientes = new ArrayList<>(CLIENTES);
+        for (int i = 0; i < CLIENTES; i++) {
+            clientes.add(new ClienteResponseDTO(
+                    (long) i + 1,
+                    String.format("%011d", 10_000_000_000L + i),
+                    "Cliente " + i,
+                    LocalDate.of(1960 + i % 40, 1 + i % 12, 1 + i % 28),
+                    new BigDecimal(1_000 + i * 7).movePointLeft(2).add(new BigDecimal("1500.00")),
+                    i % 1_001,
+                    i % 5 == 0,
+                    "Profissão " + i % 30
+            ));
+        }
+        return clientes;
+    }
+}
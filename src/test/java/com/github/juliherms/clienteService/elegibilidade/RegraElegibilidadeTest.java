@@ -0,0 +1,150 @@
+package com.github.juliherms.clienteService.elegibilidade;
+
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.exception.CampoInvalidoException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RegraElegibilidadeTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2025, 6, 1);
+    private static final String[] PROFISSOES = {"Médico", "Dentista", "Professor", "Vendedor", "Engenheiro"};
+
+    private static ForkJoinPool pool;
+    private static List<ClienteResponseDTO> clientes;
+    private static BaseColunar base;
+
+    @BeforeAll
+    static void setUp() {
+        pool = new ForkJoinPool(4);
+        Random random = new Random(42);
+        clientes = new ArrayList<>();
+        // Mais de um bloco de avaliação, com o último incompleto
+        BaseColunar.Construtor construtor = new BaseColunar.Construtor(16);
+        for (long id = 1; id <= BaseColunar.BLOCO * 2L + 1234; id++) {
+            ClienteResponseDTO cliente = new ClienteResponseDTO(id, null, "Cliente " + id,
+                    HOJE.minusDays(random.nextInt(80 * 365) + 18 * 365),
+                    BigDecimal.valueOf(random.nextInt(2_000_000), 2), random.nextInt(1001), random.nextBoolean(),
+                    PROFISSOES[random.nextInt(PROFISSOES.length)]);
+            clientes.add(cliente);
+            construtor.adicionar(id, cliente.scoreCredito(), cliente.rendaMensal(), cliente.dataNascimento(),
+                    cliente.aposentado(), cliente.profissao());
+        }
+        base = construtor.construir(0, 16);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void deveContarComoAvaliacaoLinhaALinha() {
+        assertElegiveis("score >= 700 e renda >= 5000 e nao aposentado e idade entre 25 e 55",
+                c -> c.scoreCredito() >= 700 && c.rendaMensal().compareTo(new BigDecimal("5000")) >= 0
+                        && !c.aposentado() && idade(c) >= 25 && idade(c) <= 55);
+        assertElegiveis("(profissao em ('médico', 'DENTISTA') ou renda > 15000.50) and score < 300",
+                c -> (c.profissao().equals("Médico") || c.profissao().equals("Dentista")
+                        || c.rendaMensal().compareTo(new BigDecimal("15000.50")) > 0) && c.scoreCredito() < 300);
+        assertElegiveis("aposentado = true ou idade >= 90", c -> c.aposentado() || idade(c) >= 90);
+        assertElegiveis("profissao != 'Vendedor' e score = 500", c -> !c.profissao().equals("Vendedor")
+                && c.scoreCredito() == 500);
+        assertElegiveis("renda <= 0.01 ou idade < 19", c -> c.rendaMensal().compareTo(new BigDecimal("0.01")) <= 0
+                || idade(c) < 19);
+    }
+
+    @Test
+    void deveAplicarCadastrosAtualizacoesERemocoes() {
+        // Given
+        BaseColunar alterada = construirPequena();
+        ClienteResponseDTO novo = new ClienteResponseDTO(10L, null, "Novo", HOJE.minusYears(30),
+                new BigDecimal("9000.00"), 900, false, "Arquiteto");
+
+        // When
+        alterada = alterada.gravar(novo);
+        alterada = alterada.gravar(new ClienteResponseDTO(1L, null, "Um", HOJE.minusYears(40),
+                new BigDecimal("100.00"), 950, false, "Arquiteto"));
+        alterada.remover(2L);
+
+        // Then: gravados depois da carga vêm no fim, na ordem em que foram gravados
+        assertThat(ids(alterada, "score >= 900")).containsExactly(10L, 1L);
+        assertThat(ids(alterada, "profissao = 'arquiteto'")).containsExactly(10L, 1L);
+        assertThat(ids(alterada, "score >= 0")).containsExactly(3L, 10L, 1L);
+    }
+
+    @Test
+    void deveGravarAtualizacaoEmLinhaNovaSemMexerNaLinhaPublicada() {
+        // Given
+        BaseColunar antes = construirPequena();
+
+        // When
+        BaseColunar depois = antes.gravar(new ClienteResponseDTO(2L, null, "Dois", HOJE.minusYears(40),
+                new BigDecimal("100.00"), 950, true, "Arquiteto"));
+        depois = depois.gravar(new ClienteResponseDTO(2L, null, "Dois", HOJE.minusYears(40),
+                new BigDecimal("100.00"), 960, true, "Arquiteto"));
+
+        // Then: a visão anterior não enxerga a linha nova, e a linha antiga continua inteira
+        assertThat(antes.tamanho()).isEqualTo(3);
+        assertThat(antes.score(1)).isEqualTo((short) 500);
+        assertThat(ids(antes, "score >= 900")).isEmpty();
+        assertThat(depois.tamanho()).isEqualTo(5);
+        assertThat(ids(depois, "score >= 0")).containsExactly(1L, 3L, 2L);
+        assertThat(ids(depois, "score >= 900 e aposentado")).containsExactly(2L);
+        assertThat(ids(depois, "score = 950")).isEmpty();
+    }
+
+    @Test
+    void deveRecusarRegrasInvalidas() {
+        assertThatThrownBy(() -> RegraElegibilidade.compilar("salario > 10", base, HOJE))
+                .isInstanceOf(CampoInvalidoException.class)
+                .hasMessageContaining("campo desconhecido 'salario'");
+        assertThatThrownBy(() -> RegraElegibilidade.compilar("score >= 7.5", base, HOJE))
+                .isInstanceOf(CampoInvalidoException.class);
+        assertThatThrownBy(() -> RegraElegibilidade.compilar("(score > 1", base, HOJE))
+                .isInstanceOf(CampoInvalidoException.class);
+        assertThatThrownBy(() -> RegraElegibilidade.compilar("profissao = 'Médico", base, HOJE))
+                .isInstanceOf(CampoInvalidoException.class)
+                .hasMessageContaining("aspas");
+    }
+
+    private static BaseColunar construirPequena() {
+        BaseColunar.Construtor construtor = new BaseColunar.Construtor(1);
+        for (long id = 1; id <= 3; id++) {
+            construtor.adicionar(id, 500, new BigDecimal("1000.00"), HOJE.minusYears(20), false, "Vendedor");
+        }
+        return construtor.construir(0, 0);
+    }
+
+    private static List<Long> ids(BaseColunar alvo, String regra) {
+        long[] bits = alvo.avaliar(RegraElegibilidade.compilar(regra, alvo, HOJE), pool);
+        List<Long> ids = new ArrayList<>();
+        for (int linha = 0; linha < alvo.tamanho(); linha++) {
+            if ((bits[linha >>> 6] & 1L << linha) != 0) {
+                ids.add(alvo.id(linha));
+            }
+        }
+        return ids;
+    }
+
+    private static void assertElegiveis(String regra, Predicate<ClienteResponseDTO> esperado) {
+        List<Long> esperados = clientes.stream().filter(esperado).map(ClienteResponseDTO::id).toList();
+        assertThat(ids(base, regra)).as(regra).isNotEmpty().isEqualTo(esperados);
+    }
+
+    private static int idade(ClienteResponseDTO cliente) {
+        return Period.between(cliente.dataNascimento(), HOJE).getYears();
+    }
+}
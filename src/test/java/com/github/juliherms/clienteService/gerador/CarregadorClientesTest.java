@@ -0,0 +1,74 @@
+package com.github.juliherms.clienteService.gerador;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.juliherms.clienteService.dto.ClienteRequestDTO;
+import com.github.juliherms.clienteService.repository.ClienteRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles({"test", "gerador"})
+@Import(CarregadorClientes.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class CarregadorClientesTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2025, 6, 1);
+
+    @Autowired
+    private CarregadorClientes carregadorClientes;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void deveCarregarEmMassaPeloCsvreadNoH2() {
+        // When
+        CarregadorClientes.Resultado resultado = carregadorClientes.carregar(new GeradorClientes(42, 0, HOJE), 50_000);
+
+        // Then
+        ClienteRequestDTO primeiro = new GeradorClientes(42, 0, HOJE).proximo();
+        assertThat(resultado.metodo()).isEqualTo(CarregadorClientes.Metodo.CSVREAD);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM clientes", Long.class)).isEqualTo(50_000L);
+        assertThat(clienteRepository.findByCpf(primeiro.cpf())).hasValueSatisfying(cliente -> {
+            assertThat(cliente.getNome()).isEqualTo(primeiro.nome());
+            assertThat(cliente.getDataNascimento()).isEqualTo(primeiro.dataNascimento());
+            assertThat(cliente.getRendaMensal()).isEqualByComparingTo(primeiro.rendaMensal());
+            assertThat(cliente.getAposentado()).isEqualTo(primeiro.aposentado());
+        });
+    }
+
+    @Test
+    void deveGravarNdjsonComUmaRequisicaoPorLinha(@TempDir Path diretorio) throws Exception {
+        // Given
+        Path arquivo = diretorio.resolve("clientes.ndjson");
+
+        // When
+        carregadorClientes.gravarNdjson(new GeradorClientes(42, 0, HOJE), 1_000, arquivo);
+
+        // Then
+        List<String> linhas = Files.readAllLines(arquivo);
+        assertThat(linhas).hasSize(1_000);
+        assertThat(objectMapper.readValue(linhas.get(0), ClienteRequestDTO.class))
+                .isEqualTo(new GeradorClientes(42, 0, HOJE).proximo());
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.juliherms.clienteService.gerador;
+
+import com.github.juliherms.clienteService.dto.ClienteRequestDTO;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeradorClientesTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2025, 6, 1);
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUpValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void tearDownValidator() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void deveCalcularDigitosVerificadores() {
+        assertThat(GeradorClientes.cpf(849572810L)).isEqualTo("84957281092");
+        assertThat(GeradorClientes.cpf(44979090L)).isEqualTo("04497909085");
+    }
+
+    @Test
+    void deveGerarClientesValidosSemRepetirCpf() {
+        // Given
+        GeradorClientes gerador = new GeradorClientes(42, 0, HOJE);
+        Set<String> cpfs = new HashSet<>();
+
+        // When & Then
+        for (int i = 0; i < 20_000; i++) {
+            ClienteRequestDTO cliente = gerador.proximo();
+            if (i < 2_000) {
+                assertThat(validator.validate(cliente)).as("cliente %s", cliente).isEmpty();
+            }
+            assertThat(cpfs.add(cliente.cpf())).as("CPF repetido %s", cliente.cpf()).isTrue();
+        }
+    }
+
+    @Test
+    void deveContinuarASequenciaSemRepetirCpf() {
+        // Given
+        GeradorClientes primeiraCarga = new GeradorClientes(42, 0, HOJE);
+        Set<String> cpfs = new HashSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            cpfs.add(primeiraCarga.proximo().cpf());
+        }
+
+        // When
+        GeradorClientes segundaCarga = new GeradorClientes(42, primeiraCarga.posicao(), HOJE);
+
+        // Then
+        for (int i = 0; i < 5_000; i++) {
+            assertThat(cpfs.add(segundaCarga.proximo().cpf())).isTrue();
+        }
+    }
+
+    @Test
+    void deveSerDeterministicoPelaSemente() {
+        assertThat(gerar(7, 100)).isEqualTo(gerar(7, 100));
+        assertThat(gerar(7, 100)).isNotEqualTo(gerar(8, 100));
+    }
+
+    @Test
+    void deveProduzirDistribuicoesPlausiveis() {
+        // Given
+        List<ClienteRequestDTO> clientes = gerar(42, 20_000);
+
+        // When
+        double scoreMedio = clientes.stream().mapToInt(ClienteRequestDTO::scoreCredito).average().orElseThrow();
+        long aposentados = clientes.stream().filter(ClienteRequestDTO::aposentado).count();
+        long profissoes = clientes.stream().map(ClienteRequestDTO::profissao).distinct().count();
+
+        // Then
+        assertThat(scoreMedio).isBetween(500.0, 700.0);
+        assertThat(aposentados).isBetween(1_000L, 8_000L);
+        assertThat(profissoes).isGreaterThan(20);
+        assertThat(clientes).allSatisfy(cliente -> {
+            assertThat(cliente.scoreCredito()).isBetween(0, 1000);
+            assertThat(cliente.dataNascimento()).isBeforeOrEqualTo(HOJE.minusYears(18));
+        });
+    }
+
+    private static List<ClienteRequestDTO> gerar(long semente, int quantidade) {
+        GeradorClientes gerador = new GeradorClientes(semente, 0, HOJE);
+        List<ClienteRequestDTO> clientes = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            clientes.add(gerador.proximo());
+        }
+        return clientes;
+    }
+}
@@ -0,0 +1,237 @@
+package com.github.juliherms.clienteService.grpc;
+
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.exception.ClienteNotFoundException;
+import com.github.juliherms.clienteService.grpc.proto.BuscarPorCpfRequest;
+import com.github.juliherms.clienteService.grpc.proto.BuscarPorCpfResponse;
+import com.github.juliherms.clienteService.grpc.proto.BuscarPorIdRequest;
+import com.github.juliherms.clienteService.grpc.proto.Cliente;
+import com.github.juliherms.clienteService.grpc.proto.ClienteRequest;
+import com.github.juliherms.clienteService.grpc.proto.ClientesGrpc;
+import com.github.juliherms.clienteService.grpc.proto.ListarRequest;
+import com.github.juliherms.clienteService.service.ClienteService;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes ponta a ponta do serviço gRPC usando transporte in-process (sem abrir portas de rede)
+ */
+@ExtendWith(MockitoExtension.class)
+class ClienteGrpcServiceTest {
+
+    @Mock
+    private ClienteService clienteService;
+
+    private Server server;
+    private ManagedChannel channel;
+    private ClientesGrpc.ClientesBlockingStub blockingStub;
+    private ClientesGrpc.ClientesStub asyncStub;
+
+    private final ClienteResponseDTO clienteResponseDTO = new ClienteResponseDTO(
+            1L,
+            "05960722445",
+            "João Silva",
+            LocalDate.of(1990, 5, 15),
+            new BigDecimal("5000.00"),
+            750,
+            false,
+            "Desenvolvedor"
+    );
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ClienteGrpcService service = new ClienteGrpcService();
+        ReflectionTestUtils.setField(service, "clienteService", clienteService);
+        ReflectionTestUtils.setField(service, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+
+        String nome = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(nome)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(service, new SistemaOrigemServerInterceptor()))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(nome).directExecutor().build();
+
+        Metadata metadata = new Metadata();
+        metadata.put(SistemaOrigemServerInterceptor.SISTEMA_ORIGEM_METADATA, "SISTEMA_VENDAS");
+        blockingStub = ClientesGrpc.newBlockingStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata));
+        asyncStub = ClientesGrpc.newStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata));
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void deveBuscarClientePorId() {
+        // Given
+        when(clienteService.buscarPorId(1L)).thenReturn(clienteResponseDTO);
+
+        // When
+        Cliente cliente = blockingStub.buscarPorId(BuscarPorIdRequest.newBuilder().setId(1L).build());
+
+        // Then
+        assertThat(cliente.getNome()).isEqualTo("João Silva");
+        assertThat(cliente.getRendaMensalCentavos()).isEqualTo(500_000L);
+        assertThat(LocalDate.ofEpochDay(cliente.getDataNascimentoEpochDay())).isEqualTo(LocalDate.of(1990, 5, 15));
+    }
+
+    @Test
+    void deveMapearClienteNaoEncontradoParaNotFound() {
+        // Given
+        when(clienteService.buscarPorId(99L))
+                .thenThrow(new ClienteNotFoundException("Cliente não encontrado com ID: 99"));
+
+        // When & Then
+        assertThatThrownBy(() -> blockingStub.buscarPorId(BuscarPorIdRequest.newBuilder().setId(99L).build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, ex -> {
+                    assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND);
+                    assertThat(ex.getStatus().getDescription()).isEqualTo("Cliente não encontrado com ID: 99");
+                });
+    }
+
+    @Test
+    void deveExigirSistemaOrigemNasConsultas() {
+        // Given
+        ClientesGrpc.ClientesBlockingStub semHeader = ClientesGrpc.newBlockingStub(channel);
+
+        // When & Then
+        assertThatThrownBy(() -> semHeader.buscarPorId(BuscarPorIdRequest.newBuilder().setId(1L).build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, ex ->
+                        assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+        verify(clienteService, never()).buscarPorId(any());
+    }
+
+    @Test
+    void deveRejeitarCadastroInvalido() {
+        // When & Then
+        assertThatThrownBy(() -> blockingStub.cadastrar(ClienteRequest.newBuilder().setCpf("123").build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, ex ->
+                        assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+        verify(clienteService, never()).cadastrarCliente(any());
+    }
+
+    @Test
+    void deveRejeitarCadastroSemDataDeNascimentoOuAposentado() {
+        // Given: sem presença explícita esses campos seriam lidos como 1970-01-01 e false
+        ClienteRequest incompleto = ClienteRequest.newBuilder()
+                .setCpf("05960722445")
+                .setNome("João Silva")
+                .setRendaMensalCentavos(500_000)
+                .setScoreCredito(750)
+                .setProfissao("Desenvolvedor")
+                .build();
+
+        // When & Then
+        assertThatThrownBy(() -> blockingStub.cadastrar(incompleto))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, ex ->
+                        assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+        verify(clienteService, never()).cadastrarCliente(any());
+    }
+
+    @Test
+    void deveCadastrarComAposentadoFalseInformadoExplicitamente() {
+        // Given
+        when(clienteService.cadastrarCliente(any())).thenReturn(clienteResponseDTO);
+        ClienteRequest request = ClienteRequest.newBuilder()
+                .setCpf("05960722445")
+                .setNome("João Silva")
+                .setDataNascimentoEpochDay((int) LocalDate.of(1990, 5, 15).toEpochDay())
+                .setRendaMensalCentavos(500_000)
+                .setScoreCredito(750)
+                .setAposentado(false)
+                .setProfissao("Desenvolvedor")
+                .build();
+
+        // When
+        Cliente cliente = blockingStub.cadastrar(request);
+
+        // Then
+        assertThat(cliente.getId()).isEqualTo(1L);
+        verify(clienteService).cadastrarCliente(argThat(dto -> Boolean.FALSE.equals(dto.aposentado())
+                && LocalDate.of(1990, 5, 15).equals(dto.dataNascimento())
+                && new BigDecimal("5000.00").equals(dto.rendaMensal())));
+    }
+
+    @Test
+    void deveResponderCadaCpfDoStreamBidirecional() throws InterruptedException {
+        // Given
+        when(clienteService.buscarPorCpf("05960722445")).thenReturn(clienteResponseDTO);
+        when(clienteService.buscarPorCpf("00000000000"))
+                .thenThrow(new ClienteNotFoundException("Cliente não encontrado com CPF: 00000000000"));
+
+        List<BuscarPorCpfResponse> respostas = new ArrayList<>();
+        CountDownLatch fim = new CountDownLatch(1);
+
+        // When
+        StreamObserver<BuscarPorCpfRequest> requests = asyncStub.buscarPorCpf(new StreamObserver<>() {
+            @Override public void onNext(BuscarPorCpfResponse value) { respostas.add(value); }
+            @Override public void onError(Throwable t) { fim.countDown(); }
+            @Override public void onCompleted() { fim.countDown(); }
+        });
+        requests.onNext(BuscarPorCpfRequest.newBuilder().setCpf("05960722445").build());
+        requests.onNext(BuscarPorCpfRequest.newBuilder().setCpf("00000000000").build());
+        requests.onCompleted();
+
+        // Then
+        assertThat(fim.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(respostas).hasSize(2);
+        assertThat(respostas.get(0).getCliente().getNome()).isEqualTo("João Silva");
+        assertThat(respostas.get(1).getErro().getCodigo()).isEqualTo(Status.Code.NOT_FOUND.value());
+        assertThat(respostas.get(1).getErro().getMensagem()).isEqualTo("Cliente não encontrado com CPF: 00000000000");
+    }
+
+    @Test
+    void deveListarTodasAsPaginasPorChaveEmStream() {
+        // Given
+        ClienteResponseDTO outroCliente = new ClienteResponseDTO(2L, "04497909085", "Maria Santos",
+                LocalDate.of(1985, 12, 20), new BigDecimal("7500.00"), 850, true, "Gerente");
+        when(clienteService.listarClientesAposId(0L, 1)).thenReturn(List.of(clienteResponseDTO));
+        when(clienteService.listarClientesAposId(1L, 1)).thenReturn(List.of(outroCliente));
+        when(clienteService.listarClientesAposId(2L, 1)).thenReturn(List.of());
+
+        // When
+        Iterator<Cliente> clientes = blockingStub.listar(ListarRequest.newBuilder().setTamanhoPagina(1).build());
+        List<String> nomes = new ArrayList<>();
+        clientes.forEachRemaining(cliente -> nomes.add(cliente.getNome()));
+
+        // Then
+        assertThat(nomes).containsExactly("João Silva", "Maria Santos");
+    }
+}
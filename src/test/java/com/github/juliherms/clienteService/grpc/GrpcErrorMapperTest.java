@@ -0,0 +1,73 @@
+package com.github.juliherms.clienteService.grpc;
+
+import com.github.juliherms.clienteService.exception.CotaConexoesEsgotadaException;
+import com.github.juliherms.clienteService.exception.GlobalExceptionHandler;
+import com.github.juliherms.clienteService.exception.PrazoExpiradoException;
+import com.github.juliherms.clienteService.exception.RestauracaoConcorrenteException;
+import com.github.juliherms.clienteService.exception.StatusErro;
+import io.grpc.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GrpcErrorMapperTest {
+
+    @Test
+    void deveTraduzirOsErrosDeConcorrenciaPrazoECotaComoNaApiRest() {
+        assertThat(GrpcErrorMapper.toStatus(new RestauracaoConcorrenteException("restaurado", null)).getCode())
+                .isEqualTo(Status.Code.ABORTED);
+        assertThat(GrpcErrorMapper.toStatus(new PrazoExpiradoException("prazo")).getCode())
+                .isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+        assertThat(GrpcErrorMapper.toStatus(new QueryTimeoutException("consulta")).getCode())
+                .isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+        assertThat(GrpcErrorMapper.toStatus(new CotaConexoesEsgotadaException("cota")).getCode())
+                .isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+        assertThat(GrpcErrorMapper.toStatus(new CannotCreateTransactionException("conexão",
+                new PrazoExpiradoException("prazo"))).getCode())
+                .isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+        assertThat(GrpcErrorMapper.toStatus(new IllegalStateException("inesperado")).getCode())
+                .isEqualTo(Status.Code.INTERNAL);
+    }
+
+    @Test
+    void todaExcecaoComStatusProprioNaApiRestDeveEstarNaTabela() {
+        // Given: os tratadores genéricos não têm status próprio
+        Set<Class<?>> genericas = Set.of(Exception.class, MethodArgumentNotValidException.class,
+                CannotCreateTransactionException.class);
+
+        // When
+        List<Class<? extends Throwable>> tratadas = Arrays.stream(GlobalExceptionHandler.class.getMethods())
+                .map(metodo -> metodo.getAnnotation(ExceptionHandler.class))
+                .filter(anotacao -> anotacao != null)
+                .flatMap(anotacao -> Arrays.stream(anotacao.value()))
+                .filter(excecao -> !genericas.contains(excecao))
+                .toList();
+        List<Class<? extends Throwable>> naTabela = Arrays.stream(StatusErro.values())
+                .<Class<? extends Throwable>>map(StatusErro::excecao)
+                .toList();
+
+        // Then
+        assertThat(tratadas).isNotEmpty();
+        assertThat(naTabela).containsAll(tratadas);
+    }
+
+    @Test
+    void todaEntradaDaTabelaDeveTerTratadorNaApiRestEStatusProprioNoGrpc() {
+        for (StatusErro statusErro : StatusErro.values()) {
+            boolean tratada = Arrays.stream(GlobalExceptionHandler.class.getMethods())
+                    .filter(metodo -> metodo.isAnnotationPresent(ExceptionHandler.class))
+                    .anyMatch(metodo -> Arrays.asList(metodo.getAnnotation(ExceptionHandler.class).value())
+                            .contains(statusErro.excecao()));
+            assertThat(tratada).as(statusErro.name()).isTrue();
+            assertThat(statusErro.grpc()).as(statusErro.name()).isNotEqualTo(Status.Code.INTERNAL);
+        }
+    }
+}
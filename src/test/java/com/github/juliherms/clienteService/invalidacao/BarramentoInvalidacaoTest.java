@@ -0,0 +1,238 @@
+package com.github.juliherms.clienteService.invalidacao;
+
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.entity.Cliente;
+import com.github.juliherms.clienteService.event.ClienteAlteradoEvent;
+import com.github.juliherms.clienteService.event.ClienteInvalidadoEvent;
+import com.github.juliherms.clienteService.event.TipoAlteracao;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BarramentoInvalidacaoTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTransporteInvalidacao transporte;
+    private BarramentoInvalidacao instanciaA;
+    private BarramentoInvalidacao instanciaB;
+    private final List<Object> eventosB = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:invalidacao-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transporte = new JdbcTransporteInvalidacao(jdbcTemplate);
+
+        instanciaA = novaInstancia("a", evento -> {});
+        instanciaB = novaInstancia("b", eventosB::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        instanciaA.parar();
+        instanciaB.parar();
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void deveAplicarAvisosConfirmadosDeOutrasInstancias() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> instanciaB.onClienteAlterado(
+                ClienteAlteradoEvent.remocao(3L, "crm")));
+        transactionTemplate.executeWithoutResult(status -> instanciaA.onClienteAlterado(
+                ClienteAlteradoEvent.atualizacao(cliente(1L), "crm")));
+        transactionTemplate.executeWithoutResult(status -> {
+            instanciaA.onClienteAlterado(ClienteAlteradoEvent.remocao(2L, "crm"));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(instanciaB.sondar()).isEqualTo(2);
+        assertThat(eventosB).containsExactly(
+                new ClienteInvalidadoEvent(1L, "84957281092", TipoAlteracao.ATUALIZACAO));
+    }
+
+    @Test
+    void deveAplicarAvisoConfirmadoDepoisDeOutrosPosteriores() {
+        // Given: o aviso 2 é de uma transação ainda aberta
+        transactionTemplate.executeWithoutResult(status -> instanciaA.onClienteAlterado(
+                ClienteAlteradoEvent.atualizacao(cliente(1L), "crm")));
+        inserirAviso(3, 5L, Instant.now());
+        int lidosAntes = instanciaB.sondar();
+
+        // When: confirmada depois que a leitura passou por ela, com o relógio da outra instância atrasado
+        inserirAviso(2, 4L, Instant.now().minusSeconds(3600));
+        int lidosDepois = instanciaB.sondar();
+
+        // Then
+        assertThat(lidosAntes).isEqualTo(2);
+        assertThat(lidosDepois).isEqualTo(1);
+        assertThat(eventosB).containsExactly(
+                new ClienteInvalidadoEvent(1L, "84957281092", TipoAlteracao.ATUALIZACAO),
+                new ClienteInvalidadoEvent(5L, null, TipoAlteracao.REMOCAO),
+                new ClienteInvalidadoEvent(4L, null, TipoAlteracao.REMOCAO));
+        assertThat(instanciaB.buracos()).isZero();
+        assertThat(instanciaB.descargas(BarramentoInvalidacao.Motivo.BURACO)).isZero();
+    }
+
+    @Test
+    void deveDescarregarQuandoUmAvisoFoiExpurgadoAntesDeSerLido() throws InterruptedException {
+        // Given: a instância B não leu os avisos 1 e 2 antes do expurgo
+        ReflectionTestUtils.setField(instanciaB, "estabilizacao", Duration.ofMillis(50));
+        transactionTemplate.executeWithoutResult(status -> instanciaA.onClienteAlterado(
+                ClienteAlteradoEvent.atualizacao(cliente(1L), "crm")));
+        inserirAviso(2, 4L, Instant.now().minus(Duration.ofHours(2)));
+        inserirAviso(3, 5L, Instant.now());
+        assertThat(transporte.expurgar(Instant.now().minus(Duration.ofHours(1)))).isEqualTo(2);
+        instanciaB.sondar();
+
+        // When
+        Thread.sleep(100);
+        instanciaB.sondar();
+
+        // Then
+        aguardarEventos(2);
+        assertThat(eventosB).containsExactly(
+                new ClienteInvalidadoEvent(5L, null, TipoAlteracao.REMOCAO),
+                ClienteInvalidadoEvent.todos());
+        assertThat(instanciaB.buracos()).isZero();
+        assertThat(instanciaB.desfeitos()).isZero();
+        assertThat(instanciaB.descargas(BarramentoInvalidacao.Motivo.BURACO)).isEqualTo(1);
+    }
+
+    @Test
+    void naoDeveDescarregarPorBuracoDeTransacaoDesfeita() throws InterruptedException {
+        // Given: a transação desfeita consumiu a sequência 2
+        ReflectionTestUtils.setField(instanciaB, "estabilizacao", Duration.ofMillis(50));
+        transactionTemplate.executeWithoutResult(status -> instanciaA.onClienteAlterado(
+                ClienteAlteradoEvent.atualizacao(cliente(1L), "crm")));
+        transactionTemplate.executeWithoutResult(status -> {
+            instanciaA.onClienteAlterado(ClienteAlteradoEvent.remocao(2L, "crm"));
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> instanciaA.onClienteAlterado(
+                ClienteAlteradoEvent.remocao(3L, "crm")));
+        instanciaB.sondar();
+        assertThat(instanciaB.buracos()).isEqualTo(1);
+
+        // When
+        Thread.sleep(100);
+        instanciaB.sondar();
+
+        // Then
+        assertThat(eventosB).containsExactly(
+                new ClienteInvalidadoEvent(1L, "84957281092", TipoAlteracao.ATUALIZACAO),
+                new ClienteInvalidadoEvent(3L, null, TipoAlteracao.REMOCAO));
+        assertThat(instanciaB.buracos()).isZero();
+        assertThat(instanciaB.desfeitos()).isEqualTo(1);
+        assertThat(instanciaB.descargas(BarramentoInvalidacao.Motivo.BURACO)).isZero();
+    }
+
+    @Test
+    void deveDescarregarAPedidoDeOutraInstancia() throws InterruptedException {
+        // When
+        transactionTemplate.executeWithoutResult(status -> instanciaA.publicarDescarga());
+        instanciaB.sondar();
+
+        // Then
+        aguardarEventos(1);
+        assertThat(eventosB).containsExactly(ClienteInvalidadoEvent.todos());
+        assertThat(instanciaB.descargas(BarramentoInvalidacao.Motivo.AVISO)).isEqualTo(1);
+    }
+
+    @Test
+    void deveAvisarCadaClienteComScoreAtualizadoEmLote() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> instanciaA.publicarAtualizacoes(List.of(
+                entidade(1L, "84957281092"), entidade(2L, "04497909085"))));
+        int lidos = instanciaB.sondar();
+
+        // Then
+        assertThat(lidos).isEqualTo(2);
+        assertThat(eventosB).containsExactly(
+                new ClienteInvalidadoEvent(1L, "84957281092", TipoAlteracao.ATUALIZACAO),
+                new ClienteInvalidadoEvent(2L, "04497909085", TipoAlteracao.ATUALIZACAO));
+        assertThat(instanciaB.descargas(BarramentoInvalidacao.Motivo.AVISO)).isZero();
+    }
+
+    @Test
+    void deveExpurgarAvisosAntigosMantendoOUltimo() {
+        // Given
+        for (long id = 1; id <= 3; id++) {
+            long clienteId = id;
+            transactionTemplate.executeWithoutResult(status -> instanciaA.onClienteAlterado(
+                    ClienteAlteradoEvent.remocao(clienteId, "crm")));
+        }
+
+        // When
+        int expurgados = transporte.expurgar(Instant.now().plusSeconds(1));
+
+        // Then
+        assertThat(expurgados).isEqualTo(2);
+        assertThat(transporte.ultimaSequencia()).isEqualTo(3);
+        assertThat(transporte.primeiraSequencia()).isEqualTo(3);
+        assertThat(transporte.ler(0, 10)).singleElement()
+                .satisfies(aviso -> assertThat(aviso.clienteId()).isEqualTo(3L));
+    }
+
+    private BarramentoInvalidacao novaInstancia(String instancia, ApplicationEventPublisher publisher) {
+        BarramentoInvalidacao barramento = new BarramentoInvalidacao();
+        ReflectionTestUtils.setField(barramento, "transporte", transporte);
+        ReflectionTestUtils.setField(barramento, "eventPublisher", publisher);
+        ReflectionTestUtils.setField(barramento, "instancia", instancia);
+        ReflectionTestUtils.setField(barramento, "tamanhoLote", 100);
+        ReflectionTestUtils.setField(barramento, "estabilizacao", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(barramento, "retencao", Duration.ofHours(1));
+        barramento.iniciarDescargas();
+        barramento.iniciar();
+        return barramento;
+    }
+
+    private void inserirAviso(long sequencia, Long clienteId, Instant criadoEm) {
+        jdbcTemplate.update("INSERT INTO invalidacao_clientes (id, cliente_id, cpf, tipo, instancia, criado_em) "
+                + "VALUES (?, ?, NULL, 'REMOCAO', 'a', ?)", sequencia, clienteId, Timestamp.from(criadoEm));
+    }
+
+    private void aguardarEventos(int esperados) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5_000;
+        while (eventosB.size() < esperados && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static Cliente entidade(Long id, String cpf) {
+        Cliente cliente = new Cliente(cpf, "Maria Silva", LocalDate.of(1985, 3, 10), new BigDecimal("5200.00"), 720,
+                false, "Engenheira");
+        cliente.setId(id);
+        return cliente;
+    }
+
+    private static ClienteResponseDTO cliente(Long id) {
+        return new ClienteResponseDTO(id, "84957281092", "Maria Silva", LocalDate.of(1985, 3, 10),
+                new BigDecimal("5200.00"), 720, false, "Engenheira");
+    }
+}
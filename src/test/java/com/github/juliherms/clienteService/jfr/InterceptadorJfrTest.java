@@ -0,0 +1,156 @@
+package com.github.juliherms.clienteService.jfr;
+
+import com.github.juliherms.clienteService.exception.ClienteNotFoundException;
+import com.github.juliherms.clienteService.web.SistemaOrigemContext;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InterceptadorJfrTest {
+
+    @AfterEach
+    void tearDown() {
+        SistemaOrigemContext.clear();
+    }
+
+    @Test
+    void deveEmitirEventosComOrigemLinhasEResultado() throws Exception {
+        // Given
+        EventosJfrPostProcessor postProcessor =
+                new EventosJfrPostProcessor(ControllerFalso.class, ServicoFalso.class);
+        ServicoFalso servico = (ServicoFalso) postProcessor.postProcessAfterInitialization(new ServicoFalso(), "servico");
+        ControllerFalso controller = (ControllerFalso) postProcessor.postProcessAfterInitialization(
+                new ControllerFalso(servico), "controller");
+        SistemaOrigemContext.set("SISTEMA_VENDAS");
+
+        // When
+        List<RecordedEvent> eventos = gravar(() -> {
+            controller.listar();
+            assertThatThrownBy(() -> servico.buscar(42L)).isInstanceOf(ClienteNotFoundException.class);
+        });
+
+        // Then
+        assertThat(eventos).hasSize(3);
+        RecordedEvent listarServico = eventos.stream()
+                .filter(evento -> evento.getString("operacao").equals("ServicoFalso.listar")).findFirst().orElseThrow();
+        assertThat(listarServico.getString("camada")).isEqualTo("service");
+        assertThat(listarServico.getString("sistemaOrigem")).isEqualTo("SISTEMA_VENDAS");
+        assertThat(listarServico.getLong("linhas")).isEqualTo(2);
+        assertThat(listarServico.getString("resultado")).isEqualTo(InterceptadorJfr.SUCESSO);
+
+        RecordedEvent listarController = eventos.stream()
+                .filter(evento -> evento.getString("operacao").equals("ControllerFalso.listar")).findFirst().orElseThrow();
+        assertThat(listarController.getString("camada")).isEqualTo("controller");
+        assertThat(listarController.getLong("linhas")).isEqualTo(2);
+        // O evento do controller envolve o do serviço
+        assertThat(listarController.getDuration()).isGreaterThanOrEqualTo(listarServico.getDuration());
+
+        RecordedEvent buscar = eventos.stream()
+                .filter(evento -> evento.getString("operacao").equals("ServicoFalso.buscar")).findFirst().orElseThrow();
+        assertThat(buscar.getLong("linhas")).isZero();
+        assertThat(buscar.getString("resultado")).isEqualTo("ClienteNotFoundException");
+    }
+
+    @Test
+    void deveInterceptarAntesDosAdvisorsExistentes() {
+        // Given
+        ProxyFactory proxyFactory = new ProxyFactory(new ServicoFalso());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> invocation.proceed());
+        Object proxyExistente = proxyFactory.getProxy();
+
+        // When
+        Object proxy = new EventosJfrPostProcessor(ServicoFalso.class)
+                .postProcessAfterInitialization(proxyExistente, "servico");
+
+        // Then
+        assertThat(proxy).isSameAs(proxyExistente);
+        assertThat(((Advised) proxy).getAdvisors()[0].getAdvice())
+                .isInstanceOf(InterceptadorJfr.class);
+    }
+
+    @Test
+    void deveContarLinhasPeloRetorno() {
+        Page<String> pagina = new PageImpl<>(List.of("a", "b", "c"), PageRequest.of(0, 3), 10);
+
+        assertThat(InterceptadorJfr.linhas(null)).isZero();
+        assertThat(InterceptadorJfr.linhas(List.of("a"))).isEqualTo(1);
+        assertThat(InterceptadorJfr.linhas(pagina)).isEqualTo(3);
+        assertThat(InterceptadorJfr.linhas(ResponseEntity.ok(pagina))).isEqualTo(3);
+        assertThat(InterceptadorJfr.linhas(ResponseEntity.noContent().build())).isZero();
+        assertThat(InterceptadorJfr.linhas("cliente")).isEqualTo(1);
+    }
+
+    @Test
+    void deveRejeitarDuracaoForaDoLimite() {
+        GravacaoJfrEndpoint endpoint = new GravacaoJfrEndpoint(Duration.ofSeconds(30), Duration.ofMinutes(5));
+
+        assertThatThrownBy(() -> endpoint.gravar(0, null)).isInstanceOf(InvalidEndpointRequestException.class);
+        assertThatThrownBy(() -> endpoint.gravar(301, null)).isInstanceOf(InvalidEndpointRequestException.class);
+        assertThatThrownBy(() -> endpoint.gravar(1, "continuo")).isInstanceOf(InvalidEndpointRequestException.class);
+    }
+
+    private static List<RecordedEvent> gravar(Runnable acao) throws Exception {
+        Path arquivo = Files.createTempFile("interceptador-jfr-", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(OperacaoClienteEvent.class);
+            recording.start();
+            acao.run();
+            recording.stop();
+            recording.dump(arquivo);
+            return RecordingFile.readAllEvents(arquivo).stream()
+                    .filter(evento -> evento.getEventType().getName().equals(OperacaoClienteEvent.NOME))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    static class ServicoFalso {
+
+        public List<String> listar() {
+            return List.of("Ana", "José");
+        }
+
+        public String buscar(Long id) {
+            throw new ClienteNotFoundException("Cliente não encontrado com ID: " + id);
+        }
+    }
+
+    @RestController
+    static class ControllerFalso {
+
+        private final ServicoFalso servico;
+
+        ControllerFalso() {
+            this(null);
+        }
+
+        ControllerFalso(ServicoFalso servico) {
+            this.servico = servico;
+        }
+
+        public ResponseEntity<List<String>> listar() {
+            return ResponseEntity.ok(servico.listar());
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.github.juliherms.clienteService.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.event.ClienteAlteradoEvent;
+import com.github.juliherms.clienteService.event.TipoAlteracao;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RelayOutboxTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private OutboxClientes outboxClientes;
+    private MemoriaOutboxSink sink;
+    private RelayOutbox relay;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:outbox-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        dataSource.setUser("sa");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        outboxClientes = new OutboxClientes();
+        ReflectionTestUtils.setField(outboxClientes, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(outboxClientes, "objectMapper", new ObjectMapper().findAndRegisterModules());
+
+        sink = new MemoriaOutboxSink();
+        relay = novoRelay(sink);
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.parar();
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void deveGravarNoOutboxApenasAlteracoesConfirmadas() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> outboxClientes.onClienteAlterado(
+                ClienteAlteradoEvent.cadastro(cliente(1L), "crm")));
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxClientes.onClienteAlterado(ClienteAlteradoEvent.atualizacao(cliente(2L), "crm"));
+            status.setRollbackOnly();
+        });
+        relay.drenar();
+
+        // Then
+        assertThat(sink.entregues()).singleElement().satisfies(evento -> {
+            assertThat(evento.clienteId()).isEqualTo(1L);
+            assertThat(evento.tipo()).isEqualTo(TipoAlteracao.CADASTRO);
+            assertThat(evento.sistemaOrigem()).isEqualTo("crm");
+            assertThat(evento.payload()).contains("\"cpf\":\"84957281092\"");
+        });
+    }
+
+    @Test
+    void deveEntregarEmLotesPreservandoAOrdemPorClienteEAvancarOCheckpoint() {
+        // Given
+        for (int rodada = 0; rodada < 5; rodada++) {
+            for (long clienteId = 1; clienteId <= 20; clienteId++) {
+                long id = clienteId;
+                transactionTemplate.executeWithoutResult(status -> outboxClientes.onClienteAlterado(
+                        ClienteAlteradoEvent.atualizacao(cliente(id), "portal")));
+            }
+        }
+
+        // When
+        int entregues = relay.drenar();
+
+        // Then
+        assertThat(entregues).isEqualTo(100);
+        assertThat(checkpoint()).isEqualTo(100);
+        for (long clienteId = 1; clienteId <= 20; clienteId++) {
+            long id = clienteId;
+            List<Long> ids = sink.entregues().stream().filter(e -> e.clienteId() == id).map(EventoOutbox::id).toList();
+            assertThat(ids).hasSize(5).isSorted();
+        }
+        assertThat(relay.drenar()).isZero();
+    }
+
+    @Test
+    void deveReentregarAPartirDaFaixaQueFalhou() {
+        // Given
+        AtomicBoolean falhou = new AtomicBoolean();
+        relay.parar();
+        relay = novoRelay(eventos -> {
+            if (eventos.stream().anyMatch(e -> e.clienteId() == 3L) && falhou.compareAndSet(false, true)) {
+                throw new IllegalStateException("destino indisponível");
+            }
+            sink.entregar(eventos);
+        });
+        for (long clienteId = 1; clienteId <= 8; clienteId++) {
+            long id = clienteId;
+            transactionTemplate.executeWithoutResult(status -> outboxClientes.onClienteAlterado(
+                    ClienteAlteradoEvent.remocao(id, "backoffice")));
+        }
+
+        // When
+        int primeiraRodada = relay.drenar();
+        int segundaRodada = relay.drenar();
+
+        // Then
+        assertThat(primeiraRodada).isEqualTo(2);
+        assertThat(segundaRodada).isEqualTo(6);
+        assertThat(checkpoint()).isEqualTo(8);
+        assertThat(sink.entregues()).extracting(EventoOutbox::clienteId).contains(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+    }
+
+    @Test
+    void deveAguardarBuracoRecenteNaSequenciaDeIds() {
+        // Given
+        inserir(1, System.currentTimeMillis());
+        inserir(3, System.currentTimeMillis());
+
+        // When
+        int entregues = relay.drenar();
+
+        // Then
+        assertThat(entregues).isEqualTo(1);
+        assertThat(checkpoint()).isEqualTo(1);
+
+        // Given: o evento após o buraco sai da janela de estabilização
+        jdbcTemplate.update("UPDATE outbox_clientes SET criado_em = ? WHERE id = 3",
+                new Timestamp(System.currentTimeMillis() - 60_000));
+
+        // Then
+        assertThat(relay.drenar()).isEqualTo(1);
+        assertThat(checkpoint()).isEqualTo(3);
+    }
+
+    @Test
+    void deveEntregarEventoConfirmadoDepoisQueOCheckpointPassouPeloBuraco() {
+        // Given: o buraco no ID 2 já saiu da janela de estabilização
+        long antigo = System.currentTimeMillis() - 60_000;
+        inserir(1, antigo);
+        inserir(3, antigo);
+        assertThat(relay.drenar()).isEqualTo(2);
+        assertThat(checkpoint()).isEqualTo(3);
+
+        // When: a transação do ID 2 é confirmada depois
+        inserir(2, antigo);
+        int entregues = relay.drenar();
+
+        // Then
+        assertThat(entregues).isEqualTo(1);
+        assertThat(sink.entregues()).extracting(EventoOutbox::id).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(relay.drenar()).isZero();
+    }
+
+    @Test
+    void deveManterAOrdemDoClienteQuandoOCheckpointPassaPorUmaTransacaoAberta() throws Exception {
+        // Given: a transação A grava o evento 1 do cliente 1 e fica aberta
+        ReflectionTestUtils.setField(relay, "estabilizacao", Duration.ZERO);
+        jdbcTemplate.update("INSERT INTO clientes (id, cpf, nome, data_nascimento, renda_mensal, score_credito, "
+                + "aposentado, profissao) VALUES (1, '84957281092', 'João Silva', DATE '1990-05-15', 5000.00, 750, "
+                + "FALSE, 'Desenvolvedor')");
+        CountDownLatch gravouA = new CountDownLatch(1);
+        CountDownLatch confirmarA = new CountDownLatch(1);
+        ExecutorService transacoes = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> transacaoA = transacoes.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                outboxClientes.onClienteAlterado(ClienteAlteradoEvent.atualizacao(cliente(1L), "crm"));
+                gravouA.countDown();
+                aguardar(confirmarA);
+            }));
+            assertThat(gravouA.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Given: outro cliente confirma depois do buraco, e o checkpoint passa por ele
+            transactionTemplate.executeWithoutResult(status -> outboxClientes.onClienteAlterado(
+                    ClienteAlteradoEvent.remocao(2L, "crm")));
+            assertThat(relay.drenar()).isEqualTo(1);
+
+            // When: a transação B altera o mesmo cliente enquanto A está aberta, e A confirma depois
+            Future<?> transacaoB = transacoes.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                    outboxClientes.onClienteAlterado(ClienteAlteradoEvent.remocao(1L, "crm"))));
+            Thread.sleep(200);
+            int entreguesComAAberta = relay.drenar();
+            confirmarA.countDown();
+            transacaoA.get(5, TimeUnit.SECONDS);
+            transacaoB.get(5, TimeUnit.SECONDS);
+            relay.drenar();
+
+            // Then: B esperou A, e o cliente 1 recebe os eventos na ordem em que foram confirmados
+            assertThat(entreguesComAAberta).isZero();
+            assertThat(sink.entregues().stream().filter(e -> e.clienteId() == 1L).map(EventoOutbox::tipo).toList())
+                    .containsExactly(TipoAlteracao.ATUALIZACAO, TipoAlteracao.REMOCAO);
+        } finally {
+            confirmarA.countDown();
+            transacoes.shutdownNow();
+        }
+    }
+
+    @Test
+    void naoDeveTravarOCheckpointDuranteAEntrega() {
+        // Given: durante a entrega, outra instância tenta drenar
+        RelayOutbox outraInstancia = novoRelay(sink);
+        AtomicInteger daOutraInstancia = new AtomicInteger(-1);
+        relay.parar();
+        relay = novoRelay(eventos -> {
+            daOutraInstancia.set(outraInstancia.drenar());
+            sink.entregar(eventos);
+        });
+        transactionTemplate.executeWithoutResult(status -> outboxClientes.onClienteAlterado(
+                ClienteAlteradoEvent.remocao(1L, "backoffice")));
+
+        // When
+        int entregues = relay.drenar();
+        outraInstancia.parar();
+
+        // Then: a outra instância encontra a reserva e desiste, sem esperar pela trava da linha
+        assertThat(entregues).isEqualTo(1);
+        assertThat(daOutraInstancia).hasValue(0);
+        assertThat(sink.entregues()).hasSize(1);
+    }
+
+    private RelayOutbox novoRelay(OutboxSink destino) {
+        RelayOutbox novo = new RelayOutbox();
+        ReflectionTestUtils.setField(novo, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(novo, "transactionManager", transactionTemplate.getTransactionManager());
+        ReflectionTestUtils.setField(novo, "sink", destino);
+        ReflectionTestUtils.setField(novo, "tamanhoLote", 32);
+        ReflectionTestUtils.setField(novo, "paralelismo", 4);
+        ReflectionTestUtils.setField(novo, "estabilizacao", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(novo, "retencao", Duration.ofDays(7));
+        ReflectionTestUtils.setField(novo, "reserva", Duration.ofMinutes(1));
+        novo.iniciar();
+        return novo;
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void inserir(long id, long criadoEm) {
+        jdbcTemplate.update("INSERT INTO outbox_clientes (id, cliente_id, tipo, criado_em) VALUES (?, ?, 'REMOCAO', ?)",
+                id, id, new Timestamp(criadoEm));
+    }
+
+    private long checkpoint() {
+        return jdbcTemplate.queryForObject("SELECT ultimo_id FROM outbox_checkpoint WHERE relay = ?", Long.class,
+                RelayOutbox.RELAY);
+    }
+
+    private static ClienteResponseDTO cliente(Long id) {
+        return new ClienteResponseDTO(id, "84957281092", "João Silva", LocalDate.of(1990, 5, 15),
+                new BigDecimal("5000.00"), 750, false, "Desenvolvedor");
+    }
+}
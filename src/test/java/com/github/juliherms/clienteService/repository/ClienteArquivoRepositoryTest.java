@@ -0,0 +1,137 @@
+package com.github.juliherms.clienteService.repository;
+
+import com.github.juliherms.clienteService.entity.Cliente;
+import com.github.juliherms.clienteService.service.ArquivadorClientes;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "cliente.arquivamento.enabled=true")
+@ActiveProfiles("test")
+@Import({ClienteArquivoRepository.class, ArquivadorClientes.class})
+class ClienteArquivoRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ClienteArquivoRepository clienteArquivoRepository;
+
+    @Autowired
+    private ArquivadorClientes arquivadorClientes;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deveRemoverLogicamenteLiberandoOCpf() {
+        // Given
+        Long id = entityManager.persistAndFlush(cliente("84957281092", "João Silva")).getId();
+
+        // When
+        clienteRepository.deleteById(id);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertThat(clienteRepository.findById(id)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT cpf_removido FROM clientes WHERE id = ?", String.class, id))
+                .isEqualTo("84957281092");
+        assertThat(clienteRepository.saveAndFlush(cliente("84957281092", "João Silva")).getId()).isNotEqualTo(id);
+    }
+
+    @Test
+    void deveArquivarRemovidosEInativosMantendoBuscasNoArquivo() {
+        // Given
+        entityManager.persistAndFlush(cliente("84957281092", "João Silva"));
+        Long inativo = entityManager.persistAndFlush(cliente("04497909085", "Maria Santos")).getId();
+        Long removido = entityManager.persistAndFlush(cliente("05960722445", "Pedro Souza")).getId();
+        envelhecer(inativo);
+        clienteRepository.deleteById(removido);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        int arquivados = arquivadorClientes.arquivar();
+
+        // Then
+        assertThat(arquivados).isEqualTo(2);
+        assertThat(clienteRepository.count()).isEqualTo(1);
+        assertThat(clienteArquivoRepository.findAtivoById(inativo).map(Cliente::getNome)).contains("Maria Santos");
+        assertThat(clienteArquivoRepository.findAtivoByCpf("04497909085").map(Cliente::getId)).contains(inativo);
+        assertThat(clienteArquivoRepository.findAtivoById(removido)).isEmpty();
+        assertThat(clienteArquivoRepository.existsAtivoByCpf("05960722445")).isFalse();
+        assertThat(clienteArquivoRepository.countAtivos()).isEqualTo(1);
+    }
+
+    @Test
+    void deveRestaurarClienteArquivadoComOMesmoId() {
+        // Given
+        Long id = entityManager.persistAndFlush(cliente("52998224725", "Ana Lima")).getId();
+        envelhecer(id);
+        entityManager.clear();
+        arquivadorClientes.arquivar();
+
+        // When
+        boolean restaurado = clienteArquivoRepository.restaurar(id);
+
+        // Then
+        assertThat(restaurado).isTrue();
+        assertThat(clienteRepository.findById(id).map(Cliente::getCpf)).contains("52998224725");
+        assertThat(clienteArquivoRepository.findAtivoById(id)).isEmpty();
+    }
+
+    @Test
+    void deveSinalizarRestauracaoFeitaPorOutraTransacao() {
+        // Given
+        Long id = entityManager.persistAndFlush(cliente("52998224725", "Ana Lima")).getId();
+        envelhecer(id);
+        entityManager.clear();
+        arquivadorClientes.arquivar();
+        clienteArquivoRepository.restaurar(id);
+
+        // When & Then
+        assertThatThrownBy(() -> clienteArquivoRepository.restaurar(id))
+                .isInstanceOf(ConcurrencyFailureException.class);
+    }
+
+    @Test
+    void naoDeveRestaurarClienteCujoCpfFoiCadastradoDeNovo() {
+        // Given
+        Long id = entityManager.persistAndFlush(cliente("52998224725", "Ana Lima")).getId();
+        envelhecer(id);
+        entityManager.clear();
+        arquivadorClientes.arquivar();
+        jdbcTemplate.update("INSERT INTO clientes (cpf, nome, data_nascimento, renda_mensal, score_credito, "
+                + "aposentado, profissao, created_at) VALUES ('52998224725', 'Ana Lima', '1990-05-15', 5000, 750, "
+                + "FALSE, 'Desenvolvedora', CURRENT_TIMESTAMP)");
+
+        // When & Then
+        assertThatThrownBy(() -> clienteArquivoRepository.restaurar(id))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private void envelhecer(Long id) {
+        jdbcTemplate.update("UPDATE clientes SET updated_at = ? WHERE id = ?", LocalDateTime.now().minusYears(3), id);
+    }
+
+    private static Cliente cliente(String cpf, String nome) {
+        return new Cliente(cpf, nome, LocalDate.of(1990, 5, 15), new BigDecimal("5000.00"), 750, false, "Desenvolvedor");
+    }
+}
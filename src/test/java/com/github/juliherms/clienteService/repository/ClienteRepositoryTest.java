@@ -1,23 +1,34 @@
 package com.github.juliherms.clienteService.repository;
 
 
+import com.github.juliherms.clienteService.dto.CampoCliente;
 import com.github.juliherms.clienteService.entity.Cliente;
+import com.github.juliherms.clienteService.suporte.OrcamentoDeRecursos;
+import com.github.juliherms.clienteService.suporte.OrcamentoDeRecursos.Medicao;
+import com.github.juliherms.clienteService.suporte.OrcamentoDeRecursosConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 @DataJpaTest
 @ActiveProfiles("test")
+@Import(OrcamentoDeRecursosConfig.class)
 class ClienteRepositoryTest {
 
     @Autowired
@@ -208,4 +219,83 @@ class ClienteRepositoryTest {
         assertThat(clienteAtualizado.getNome()).isEqualTo("João Silva Santos");
         assertThat(clienteAtualizado.getRendaMensal()).isEqualTo(new BigDecimal("6000.00"));
     }
+
+    @Test
+    void deveBuscarApenasCamposSelecionadosPorCpf() {
+        // Given
+        Cliente clienteSalvo = entityManager.persistAndFlush(cliente1);
+
+        // When
+        Optional<Map<String, Object>> cliente = clienteRepository.findProjetadoByCpf(
+                "84957281092", List.of(CampoCliente.NOME, CampoCliente.ID));
+
+        // Then
+        assertThat(cliente).isPresent();
+        assertThat(cliente.get()).containsExactly(
+                entry("nome", "João Silva"),
+                entry("id", clienteSalvo.getId()));
+    }
+
+    @Test
+    void deveListarApenasCamposSelecionadosComPaginacao() {
+        // Given
+        entityManager.persistAndFlush(cliente1);
+        entityManager.persistAndFlush(cliente2);
+
+        // When
+        Page<Map<String, Object>> pagina = clienteRepository.findAllProjetado(
+                PageRequest.of(0, 1, Sort.by("nome").descending()), List.of(CampoCliente.SCORE_CREDITO));
+
+        // Then
+        assertThat(pagina.getTotalElements()).isEqualTo(2);
+        assertThat(pagina.getContent()).containsExactly(Map.of("scoreCredito", 850));
+    }
+
+    @Test
+    void deveAtualizarScoresEmLotePeloCpf() {
+        // Given
+        Long id1 = entityManager.persistAndFlush(cliente1).getId();
+        Long id2 = entityManager.persistAndFlush(cliente2).getId();
+        entityManager.clear();
+
+        // When
+        int[] linhas = clienteRepository.atualizarScores(
+                new long[] {84957281092L, 4497909085L, 11144477735L, 0L}, new int[] {610, 420, 900, 0}, 3);
+        entityManager.clear();
+
+        // Then
+        assertThat(linhas).containsExactly(1, 1, 0);
+        assertThat(clienteRepository.findById(id1).map(Cliente::getScoreCredito)).contains(610);
+        assertThat(clienteRepository.findById(id2).map(Cliente::getScoreCredito)).contains(420);
+    }
+
+    @Test
+    void deveBuscarPorCpfEmUmaConsulta() {
+        // Given
+        entityManager.persistAndFlush(cliente1);
+
+        // When
+        Medicao medicao = OrcamentoDeRecursos.medir(entityManager.getEntityManager(),
+                () -> clienteRepository.findByCpf("84957281092"));
+
+        // Then
+        assertThat(medicao.comandos()).isEqualTo(1);
+        assertThat(medicao.entidadesCarregadas()).isEqualTo(1);
+    }
+
+    @Test
+    void deveAtualizarScoresEmUmUnicoBatch() {
+        // Given
+        entityManager.persistAndFlush(cliente1);
+        entityManager.persistAndFlush(cliente2);
+
+        // When
+        Medicao medicao = OrcamentoDeRecursos.medir(entityManager.getEntityManager(),
+                () -> clienteRepository.atualizarScores(new long[] {84957281092L, 4497909085L}, new int[] {610, 420}, 2));
+
+        // Then
+        assertThat(medicao.updates()).isEqualTo(1);
+        assertThat(medicao.selects()).isZero();
+        assertThat(medicao.entidadesCarregadas()).isZero();
+    }
 }
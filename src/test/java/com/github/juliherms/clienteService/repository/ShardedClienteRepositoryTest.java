@@ -0,0 +1,268 @@
+package com.github.juliherms.clienteService.repository;
+
+import com.github.juliherms.clienteService.datasource.ClienteShards;
+import com.github.juliherms.clienteService.dto.CampoCliente;
+import com.github.juliherms.clienteService.entity.Cliente;
+import com.github.juliherms.clienteService.exception.CpfImutavelException;
+import com.github.juliherms.clienteService.exception.PaginaForaDoLimiteException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardedClienteRepositoryTest {
+
+    private static final int QUANTIDADE_SHARDS = 3;
+
+    private ClienteShards shards;
+    private ShardedClienteRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        List<DataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_SHARDS; i++) {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:shard-" + i + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+            dataSource.setUser("sa");
+            dataSources.add(dataSource);
+        }
+        shards = new ClienteShards(dataSources);
+        shards.migrar("classpath:db/migration");
+        repository = new ShardedClienteRepository(shards, 20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+        for (int i = 0; i < QUANTIDADE_SHARDS; i++) {
+            new JdbcTemplate(shards.dataSource(i)).execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void deveGravarCadaClienteNoShardDoCpf() {
+        // Given
+        List<Cliente> salvos = IntStream.range(0, 30).mapToObj(i -> repository.save(cliente(i))).toList();
+
+        // Then
+        for (Cliente salvo : salvos) {
+            int shard = shards.shardDoCpf(salvo.getCpf());
+            assertThat(shards.shardDoId(salvo.getId())).isEqualTo(shard);
+            assertThat(contarNoShard(shard, salvo.getCpf())).isEqualTo(1);
+            assertThat(repository.findById(salvo.getId())).contains(salvo);
+            assertThat(repository.findByCpf(salvo.getCpf()).map(Cliente::getId)).contains(salvo.getId());
+        }
+        assertThat(salvos).extracting(salvo -> shards.shardDoId(salvo.getId())).containsOnly(0, 1, 2);
+        assertThat(repository.count()).isEqualTo(30);
+    }
+
+    @Test
+    void deveListarPaginaOrdenadaJuntandoTodosOsShards() {
+        // Given
+        IntStream.range(0, 10).forEach(i -> repository.save(cliente(i)));
+
+        // When
+        Page<Cliente> pagina = repository.findAll(PageRequest.of(1, 3, Sort.by("nome")));
+
+        // Then
+        assertThat(pagina.getTotalElements()).isEqualTo(10);
+        assertThat(pagina.getContent()).extracting(Cliente::getNome)
+                .containsExactly("Cliente 03", "Cliente 04", "Cliente 05");
+    }
+
+    @Test
+    void deveProjetarCamposNaListagemEntreShards() {
+        // Given
+        IntStream.range(0, 10).forEach(i -> repository.save(cliente(i)));
+
+        // When
+        Page<Map<String, Object>> pagina = repository.findAllProjetado(
+                PageRequest.of(0, 2, Sort.by("scoreCredito").descending()), List.of(CampoCliente.NOME));
+
+        // Then
+        assertThat(pagina.getContent()).containsExactly(Map.of("nome", "Cliente 09"), Map.of("nome", "Cliente 08"));
+    }
+
+    @Test
+    void deveBuscarPorNomeEmTodosOsShards() {
+        // Given
+        IntStream.range(0, 12).forEach(i -> repository.save(cliente(i)));
+
+        // When
+        List<Cliente> clientes = repository.findByNomeContainingIgnoreCase("cliente 1");
+
+        // Then
+        assertThat(clientes).extracting(Cliente::getNome)
+                .containsExactlyInAnyOrder("Cliente 10", "Cliente 11");
+    }
+
+    @Test
+    void deveRecusarPaginaAlemDoLimite() {
+        // Given
+        IntStream.range(0, 30).forEach(i -> repository.save(cliente(i)));
+
+        // When & Then
+        assertThat(repository.findAll(PageRequest.of(3, 5, Sort.by("nome"))).getContent())
+                .extracting(Cliente::getNome)
+                .containsExactly("Cliente 15", "Cliente 16", "Cliente 17", "Cliente 18", "Cliente 19");
+        assertThatThrownBy(() -> repository.findAll(PageRequest.of(4, 5)))
+                .isInstanceOf(PaginaForaDoLimiteException.class);
+    }
+
+    @Test
+    void devePercorrerTodosOsShardsPorChaveAlemDoLimiteDePaginacao() {
+        // Given: 30 clientes, acima do limite de 20 linhas da paginação por OFFSET
+        List<Long> ids = IntStream.range(0, 30).mapToObj(i -> repository.save(cliente(i)).getId()).sorted().toList();
+
+        // When
+        List<Long> lidos = new ArrayList<>();
+        List<Cliente> pagina;
+        long ultimoId = 0;
+        do {
+            pagina = repository.findByIdGreaterThanOrderByIdAsc(ultimoId, Limit.of(7));
+            pagina.forEach(cliente -> lidos.add(cliente.getId()));
+            ultimoId = pagina.isEmpty() ? ultimoId : pagina.get(pagina.size() - 1).getId();
+        } while (pagina.size() == 7);
+
+        // Then
+        assertThat(lidos).containsExactlyElementsOf(ids);
+        assertThat(repository.findByIdGreaterThanOrderByIdAsc(((long) QUANTIDADE_SHARDS << 48) | 1, Limit.of(7)))
+                .isEmpty();
+    }
+
+    @Test
+    void deveRecusarAlteracaoDeCpfMantendoOId() {
+        // Given
+        Cliente cliente = repository.save(cliente(0));
+        long id = cliente.getId();
+
+        // When
+        cliente.setCpf(cliente(100).getCpf());
+
+        // Then
+        assertThatThrownBy(() -> repository.save(cliente)).isInstanceOf(CpfImutavelException.class);
+        assertThat(repository.findById(id).map(Cliente::getCpf)).contains(cliente(0).getCpf());
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void deveDesfazerEscritasNosShardsComATransacao() {
+        // Given
+        TransactionTemplate transactionTemplate = transacaoPrincipal();
+        Cliente existente = repository.save(cliente(0));
+        List<Cliente> lote = IntStream.range(1, 10).mapToObj(ShardedClienteRepositoryTest::cliente).toList();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            repository.saveAll(lote);
+            existente.setNome("Alterado");
+            repository.save(existente);
+            repository.atualizarScores(new long[] {Long.parseLong(existente.getCpf())}, new int[] {900}, 1);
+            assertThat(repository.findById(existente.getId()).map(Cliente::getNome)).contains("Alterado");
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(repository.count()).isEqualTo(1);
+        assertThat(repository.findById(existente.getId()))
+                .hasValueSatisfying(cliente -> {
+                    assertThat(cliente.getNome()).isEqualTo("Cliente 00");
+                    assertThat(cliente.getScoreCredito()).isEqualTo(500);
+                });
+    }
+
+    @Test
+    void deveConfirmarEscritasNosShardsComATransacao() {
+        // Given
+        TransactionTemplate transactionTemplate = transacaoPrincipal();
+
+        // When
+        transactionTemplate.executeWithoutResult(status ->
+                repository.saveAll(IntStream.range(0, 10).mapToObj(ShardedClienteRepositoryTest::cliente).toList()));
+
+        // Then
+        assertThat(repository.count()).isEqualTo(10);
+    }
+
+    @Test
+    void deveDesfazerLoteEmTodosOsShardsQuandoUmFalha() {
+        // Given
+        Cliente existente = repository.save(cliente(0));
+        List<Cliente> lote = new ArrayList<>(IntStream.range(1, 10).mapToObj(ShardedClienteRepositoryTest::cliente).toList());
+        lote.add(new Cliente(existente.getCpf(), "Duplicado", LocalDate.of(1990, 1, 1),
+                new BigDecimal("1000.00"), 500, false, "Analista"));
+
+        // When & Then
+        assertThatThrownBy(() -> repository.saveAll(lote)).isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(repository.count()).isEqualTo(1);
+        assertThat(lote).allMatch(cliente -> cliente.getId() == null);
+    }
+
+    @Test
+    void deveRetornarCpfsExistentesDeTodosOsShards() {
+        // Given
+        IntStream.range(0, 6).forEach(i -> repository.save(cliente(i)));
+        List<String> consultados = Stream.of(cliente(1), cliente(4), cliente(50)).map(Cliente::getCpf).toList();
+
+        // When & Then
+        assertThat(repository.findCpfsExistentes(consultados))
+                .containsExactlyInAnyOrder(cliente(1).getCpf(), cliente(4).getCpf());
+        try (Stream<String> cpfs = repository.streamAllCpfs()) {
+            assertThat(cpfs).hasSize(6);
+        }
+    }
+
+    @Test
+    void naoDeveEncontrarIdDeShardInexistente() {
+        // When & Then
+        assertThat(repository.findById(((long) QUANTIDADE_SHARDS << 48) | 1)).isEmpty();
+    }
+
+    /**
+     * Transação num banco à parte, como a do JPA sobre o banco principal
+     */
+    private static TransactionTemplate transacaoPrincipal() {
+        JdbcDataSource principal = new JdbcDataSource();
+        principal.setURL("jdbc:h2:mem:principal-" + UUID.randomUUID());
+        principal.setUser("sa");
+        return new TransactionTemplate(new DataSourceTransactionManager(principal));
+    }
+
+    private int contarNoShard(int shard, String cpf) {
+        return new JdbcTemplate(shards.dataSource(shard))
+                .queryForObject("SELECT COUNT(*) FROM clientes WHERE cpf = ?", Integer.class, cpf);
+    }
+
+    private static Cliente cliente(int i) {
+        return new Cliente(
+                String.format("%011d", 10_000_000_000L + i * 7_919L),
+                String.format("Cliente %02d", i),
+                LocalDate.of(1980, 1, 1).plusDays(i),
+                new BigDecimal("3000.00").add(BigDecimal.valueOf(i)),
+                500 + i,
+                i % 2 == 0,
+                "Analista"
+        );
+    }
+}
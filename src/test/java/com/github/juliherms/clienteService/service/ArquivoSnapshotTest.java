@@ -0,0 +1,138 @@
+package com.github.juliherms.clienteService.service;
+
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArquivoSnapshotTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void deveBuscarPorIdECpfComOsMesmosDadosDoBanco() throws IOException {
+        // Given: renda sem casas, como chega no DTO do cadastro
+        ArquivoSnapshot snapshot = ArquivoSnapshot.criar(diretorio.resolve("snapshot.dat"), 10);
+        snapshot.gravar(cliente(1L, "05960722445", "João d'Ávila 😀", new BigDecimal("5000")));
+
+        // When
+        ClienteResponseDTO porId = snapshot.buscarPorId(1L);
+        ClienteResponseDTO porCpf = snapshot.buscarPorCpf(ArquivoSnapshot.chaveCpf("05960722445"));
+
+        // Then: DECIMAL(10,2) volta do banco com duas casas
+        assertThat(porId).isEqualTo(cliente(1L, "05960722445", "João d'Ávila 😀", new BigDecimal("5000.00")));
+        assertThat(porCpf).isEqualTo(porId);
+        assertThat(snapshot.buscarPorId(2L)).isNull();
+    }
+
+    @Test
+    void deveTrocarAChaveDeCpfNaAtualizacaoERemoverPorId() throws IOException {
+        // Given
+        ArquivoSnapshot snapshot = ArquivoSnapshot.criar(diretorio.resolve("snapshot.dat"), 10);
+        snapshot.gravar(cliente(1L, "05960722445", "Maria", new BigDecimal("10.50")));
+
+        // When
+        snapshot.gravar(cliente(1L, "84957281092", "Maria", new BigDecimal("10.50")));
+
+        // Then
+        assertThat(snapshot.buscarPorCpf(ArquivoSnapshot.chaveCpf("05960722445"))).isNull();
+        assertThat(snapshot.buscarPorCpf(ArquivoSnapshot.chaveCpf("84957281092")).id()).isEqualTo(1L);
+
+        // When
+        snapshot.remover(1L);
+
+        // Then
+        assertThat(snapshot.buscarPorId(1L)).isNull();
+        assertThat(snapshot.buscarPorCpf(ArquivoSnapshot.chaveCpf("84957281092"))).isNull();
+        assertThat(snapshot.registros()).isZero();
+    }
+
+    @Test
+    void naoDeveGuardarClienteForaDoFormato() throws IOException {
+        // Given
+        ArquivoSnapshot snapshot = ArquivoSnapshot.criar(diretorio.resolve("snapshot.dat"), 10);
+        snapshot.gravar(cliente(1L, "05960722445", "Curto", new BigDecimal("1.00")));
+
+        // When: a nova versão não cabe no registro
+        snapshot.gravar(cliente(1L, "05960722445", "É".repeat(100), new BigDecimal("1.00")));
+        snapshot.gravar(cliente(2L, "84957281092", "Renda", new BigDecimal("1.005")));
+
+        // Then: a versão anterior também deixa de ser servida
+        assertThat(snapshot.buscarPorId(1L)).isNull();
+        assertThat(snapshot.buscarPorId(2L)).isNull();
+    }
+
+    @Test
+    void deveRecusarGravacaoSemEspacoECopiarParaUmMaior() throws IOException {
+        // Given
+        ArquivoSnapshot pequeno = ArquivoSnapshot.criar(diretorio.resolve("pequeno.dat"), 2);
+        assertThat(pequeno.gravar(cliente(1L, "00000000001", "A", BigDecimal.ONE))).isTrue();
+        assertThat(pequeno.gravar(cliente(2L, "00000000002", "B", BigDecimal.ONE))).isTrue();
+
+        // When
+        boolean gravado = pequeno.gravar(cliente(3L, "00000000003", "C", BigDecimal.ONE));
+        ArquivoSnapshot maior = ArquivoSnapshot.criar(diretorio.resolve("maior.dat"), 8);
+        pequeno.copiarPara(maior);
+
+        // Then
+        assertThat(gravado).isFalse();
+        assertThat(pequeno.buscarPorId(3L)).isNull();
+        assertThat(maior.gravar(cliente(3L, "00000000003", "C", BigDecimal.ONE))).isTrue();
+        assertThat(maior.registros()).isEqualTo(3);
+        assertThat(maior.buscarPorCpf(1L).nome()).isEqualTo("A");
+    }
+
+    @Test
+    void deveAtualizarScorePeloCpf() throws IOException {
+        // Given
+        ArquivoSnapshot snapshot = ArquivoSnapshot.criar(diretorio.resolve("snapshot.dat"), 10);
+        snapshot.gravar(cliente(1L, "05960722445", "Maria", BigDecimal.TEN));
+
+        // When
+        snapshot.atualizarScore(5960722445L, 999);
+
+        // Then
+        assertThat(snapshot.buscarPorId(1L).scoreCredito()).isEqualTo(999);
+    }
+
+    @Test
+    void deveReabrirSoArquivoFechadoCorretamente() throws IOException {
+        // Given
+        Path caminho = diretorio.resolve("snapshot.dat");
+        ArquivoSnapshot snapshot = ArquivoSnapshot.criar(caminho, 10);
+        snapshot.gravar(cliente(1L, "05960722445", "Maria", BigDecimal.TEN));
+        snapshot.gravar(cliente(2L, "84957281092", "José", BigDecimal.TEN));
+        snapshot.remover(1L);
+        snapshot.marcarCarga(1234L);
+        snapshot.fechar();
+
+        // When
+        ArquivoSnapshot reaberto = ArquivoSnapshot.abrir(caminho);
+
+        // Then
+        assertThat(reaberto).isNotNull();
+        assertThat(reaberto.carregadoEm()).isEqualTo(1234L);
+        assertThat(reaberto.registros()).isEqualTo(1);
+        assertThat(reaberto.buscarPorId(2L).nome()).isEqualTo("José");
+        assertThat(reaberto.buscarPorId(1L)).isNull();
+        // O registro liberado volta a ser usado
+        assertThat(reaberto.gravar(cliente(3L, "00000000003", "C", BigDecimal.ONE))).isTrue();
+        assertThat(reaberto.registros()).isEqualTo(2);
+
+        // Sem novo fechamento, uma queda deixa o arquivo inválido
+        reaberto.descartar();
+        assertThat(ArquivoSnapshot.abrir(caminho)).isNull();
+        assertThat(ArquivoSnapshot.abrir(diretorio.resolve("inexistente.dat"))).isNull();
+    }
+
+    private static ClienteResponseDTO cliente(Long id, String cpf, String nome, BigDecimal renda) {
+        return new ClienteResponseDTO(id, cpf, nome, LocalDate.of(1990, 5, 15), renda, 750, false, "Desenvolvedor");
+    }
+}
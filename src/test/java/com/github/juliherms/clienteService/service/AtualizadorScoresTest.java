@@ -0,0 +1,168 @@
+package com.github.juliherms.clienteService.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.juliherms.clienteService.auditoria.AuditoriaClientes;
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.dto.ResultadoAtualizacaoScoresDTO;
+import com.github.juliherms.clienteService.entity.Cliente;
+import com.github.juliherms.clienteService.exception.CampoInvalidoException;
+import com.github.juliherms.clienteService.outbox.OutboxClientes;
+import com.github.juliherms.clienteService.repository.ClienteArquivoRepository;
+import com.github.juliherms.clienteService.repository.RepositorioClientes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AtualizadorScoresTest {
+
+    @Mock
+    private RepositorioClientes clienteRepository;
+
+    @Mock
+    private ClienteArquivoRepository clienteArquivoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private OutboxClientes outboxClientes;
+
+    @Mock
+    private AuditoriaClientes auditoriaClientes;
+
+    @InjectMocks
+    private AtualizadorScores atualizadorScores;
+
+    private final List<Long> cpfsAplicados = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(atualizadorScores, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(atualizadorScores, "tamanhoLote", 2);
+    }
+
+    @Test
+    void deveAplicarCsvEmLotesEReportarCpfsDesconhecidosEInvalidos() throws Exception {
+        // Given: 04497909085 não existe na tabela principal nem no arquivo
+        when(clienteRepository.atualizarScores(any(), any(), anyInt())).thenAnswer(invocacao -> {
+            long[] cpfs = invocacao.getArgument(0);
+            int quantidade = invocacao.getArgument(2);
+            int[] linhas = new int[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                cpfsAplicados.add(cpfs[i]);
+                linhas[i] = cpfs[i] == 4497909085L ? 0 : 1;
+            }
+            return linhas;
+        });
+        when(clienteArquivoRepository.atualizarScores(any(), any(), anyInt())).thenReturn(new int[] {0});
+
+        // When
+        ResultadoAtualizacaoScoresDTO resultado = atualizadorScores.atualizarCsv(corpo("""
+                cpf,scoreCredito
+                84957281092,610
+                04497909085,420
+                0596072244,700
+                05960722445,1500
+                52998224725, 880
+                """));
+
+        // Then
+        assertThat(resultado.recebidos()).isEqualTo(5);
+        assertThat(resultado.atualizados()).isEqualTo(2);
+        assertThat(resultado.cpfsNaoEncontrados()).containsExactly("04497909085");
+        assertThat(resultado.linhasInvalidas()).containsExactly(4L, 5L);
+        assertThat(cpfsAplicados).containsExactly(84957281092L, 4497909085L, 52998224725L);
+        verify(clienteRepository, times(2)).atualizarScores(any(), any(), anyInt());
+    }
+
+    @Test
+    void deveAtualizarNoArquivoCpfsAusentesDaTabelaPrincipal() throws Exception {
+        // Given
+        when(clienteRepository.atualizarScores(any(), any(), anyInt())).thenReturn(new int[] {0});
+        when(clienteArquivoRepository.atualizarScores(any(), any(), anyInt())).thenAnswer(invocacao -> {
+            long[] cpfs = invocacao.getArgument(0);
+            int[] scores = invocacao.getArgument(1);
+            assertThat(Arrays.copyOf(cpfs, 1)).containsExactly(84957281092L);
+            assertThat(Arrays.copyOf(scores, 1)).containsExactly(720);
+            return new int[] {1};
+        });
+
+        // When
+        ResultadoAtualizacaoScoresDTO resultado = atualizadorScores.atualizarNdjson(corpo("""
+                {"cpf": "84957281092", "scoreCredito": 720, "origem": {"bureau": "serasa"}}
+                """));
+
+        // Then
+        assertThat(resultado.atualizados()).isEqualTo(1);
+        assertThat(resultado.cpfsNaoEncontrados()).isEmpty();
+    }
+
+    @Test
+    void deveRegistrarOutboxEAuditoriaDeCadaClienteAtualizadoNoLote() throws Exception {
+        // Given: 84957281092 está na tabela principal, 52998224725 no arquivo e 04497909085 em nenhuma
+        Cliente principal = cliente(1L, "84957281092", 610);
+        Cliente arquivado = cliente(2L, "52998224725", 880);
+        when(clienteRepository.atualizarScores(any(), any(), anyInt())).thenReturn(new int[] {1, 0, 0});
+        when(clienteArquivoRepository.atualizarScores(any(), any(), anyInt())).thenReturn(new int[] {0, 1});
+        when(clienteRepository.findByCpfIn(List.of("84957281092"))).thenReturn(List.of(principal));
+        when(clienteArquivoRepository.findAtivosByCpfIn(List.of("52998224725"))).thenReturn(List.of(arquivado));
+        ReflectionTestUtils.setField(atualizadorScores, "tamanhoLote", 3);
+
+        // When
+        atualizadorScores.atualizarCsv(corpo("""
+                84957281092,610
+                04497909085,420
+                52998224725,880
+                """));
+
+        // Then: um batch de cada, na transação do lote
+        List<ClienteResponseDTO> esperados = List.of(
+                ClienteService.convertToResponseDTO(principal), ClienteService.convertToResponseDTO(arquivado));
+        verify(outboxClientes).registrarAtualizacoes(eq(esperados), any());
+        verify(auditoriaClientes).registrarAtualizacoes(eq(esperados), any());
+    }
+
+    @Test
+    void deveRejeitarNdjsonMalformado() {
+        // When & Then
+        assertThatThrownBy(() -> atualizadorScores.atualizarNdjson(corpo("{\"cpf\": \"84957281092\", \n")))
+                .isInstanceOf(CampoInvalidoException.class);
+        verify(clienteRepository, never()).atualizarScores(any(), any(), anyInt());
+    }
+
+    private static Cliente cliente(Long id, String cpf, int score) {
+        Cliente cliente = new Cliente(cpf, "Maria Silva", LocalDate.of(1985, 3, 10), new BigDecimal("5200.00"), score,
+                false, "Engenheira");
+        cliente.setId(id);
+        return cliente;
+    }
+
+    private static InputStream corpo(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+}
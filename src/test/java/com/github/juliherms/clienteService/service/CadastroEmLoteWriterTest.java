@@ -0,0 +1,174 @@
+package com.github.juliherms.clienteService.service;
+
+import com.github.juliherms.clienteService.datasource.EscritasRecentes;
+import com.github.juliherms.clienteService.dto.ClienteRequestDTO;
+import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
+import com.github.juliherms.clienteService.entity.Cliente;
+import com.github.juliherms.clienteService.exception.DuplicateCpfException;
+import com.github.juliherms.clienteService.exception.PrazoExpiradoException;
+import com.github.juliherms.clienteService.repository.ClienteArquivoRepository;
+import com.github.juliherms.clienteService.repository.RepositorioClientes;
+import com.github.juliherms.clienteService.web.SistemaOrigemContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CadastroEmLoteWriterTest {
+
+    @Mock
+    private ClienteService clienteService;
+
+    @Mock
+    private RepositorioClientes clienteRepository;
+
+    @Mock
+    private ClienteArquivoRepository clienteArquivoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private CadastroEmLoteWriter writer;
+
+    private final ExecutorService chamadores = Executors.newFixedThreadPool(4);
+
+    @BeforeEach
+    void setUp() {
+        // O lote fecha ao chegar ao segundo pedido, sem depender de uma janela de tempo
+        ReflectionTestUtils.setField(writer, "tamanhoLote", 2);
+        ReflectionTestUtils.setField(writer, "esperaMaxima", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(writer, "capacidadeFila", 64);
+        ReflectionTestUtils.setField(writer, "esperaResultado", Duration.ofSeconds(30));
+
+        AtomicLong ids = new AtomicLong();
+        lenient().when(clienteRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Cliente> salvos = new ArrayList<>(invocation.<List<Cliente>>getArgument(0));
+            salvos.forEach(cliente -> cliente.setId(ids.incrementAndGet()));
+            return salvos;
+        });
+
+        writer.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.parar();
+        chamadores.shutdownNow();
+    }
+
+    @Test
+    void deveGravarCadastrosConcorrentesEmUmUnicoLote() {
+        // Given
+        when(clienteRepository.findCpfsExistentes(anyList())).thenReturn(List.of());
+
+        // When
+        CompletableFuture<ClienteResponseDTO> primeiro = cadastrarAssincrono("84957281092");
+        CompletableFuture<ClienteResponseDTO> segundo = cadastrarAssincrono("04497909085");
+
+        // Then
+        assertThat(primeiro.join().cpf()).isEqualTo("84957281092");
+        assertThat(segundo.join().cpf()).isEqualTo("04497909085");
+        verify(clienteRepository, times(1)).saveAll(anyList());
+        verify(transactionManager, times(1)).commit(any());
+        verify(clienteService, never()).cadastrarCliente(any());
+    }
+
+    @Test
+    void deveDevolverErroDeCpfDuplicadoApenasAoChamadorAfetado() {
+        // Given
+        when(clienteRepository.findCpfsExistentes(anyList())).thenReturn(List.of("05960722445"));
+
+        // When
+        CompletableFuture<ClienteResponseDTO> duplicado = cadastrarAssincrono("05960722445");
+        CompletableFuture<ClienteResponseDTO> novo = cadastrarAssincrono("84957281092");
+
+        // Then
+        assertThat(novo.join().cpf()).isEqualTo("84957281092");
+        assertThatThrownBy(duplicado::join)
+                .hasCauseInstanceOf(DuplicateCpfException.class)
+                .hasMessageContaining("05960722445");
+    }
+
+    @Test
+    void naoDeveGravarPedidoAbandonadoPorPrazoEsgotado() throws InterruptedException {
+        // Given: sozinho, o pedido espera o lote completar
+        ReflectionTestUtils.setField(writer, "esperaResultado", Duration.ofMillis(50));
+
+        // When
+        CompletableFuture<ClienteResponseDTO> abandonado = cadastrarAssincrono("84957281092");
+
+        // Then
+        assertThatThrownBy(abandonado::join).hasCauseInstanceOf(PrazoExpiradoException.class);
+        writer.parar();
+        verify(clienteRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void deveRegistrarAEscritaDeCadaOrigemParaLeituraNaPrimaria() {
+        // Given
+        EscritasRecentes escritasRecentes = new EscritasRecentes(Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(writer, "escritasRecentes", escritasRecentes);
+        when(clienteRepository.findCpfsExistentes(anyList())).thenReturn(List.of());
+
+        // When
+        CompletableFuture<ClienteResponseDTO> crm = cadastrarAssincrono("84957281092", "crm");
+        CompletableFuture<ClienteResponseDTO> portal = cadastrarAssincrono("04497909085", "portal");
+        crm.join();
+        portal.join();
+
+        // Then
+        assertThat(escritasRecentes.escreveuRecentemente("crm")).isTrue();
+        assertThat(escritasRecentes.escreveuRecentemente("portal")).isTrue();
+        assertThat(escritasRecentes.escreveuRecentemente("backoffice")).isFalse();
+    }
+
+    private CompletableFuture<ClienteResponseDTO> cadastrarAssincrono(String cpf) {
+        return cadastrarAssincrono(cpf, null);
+    }
+
+    private CompletableFuture<ClienteResponseDTO> cadastrarAssincrono(String cpf, String sistemaOrigem) {
+        ClienteRequestDTO request = new ClienteRequestDTO(
+                cpf,
+                "João Silva",
+                LocalDate.of(1990, 5, 15),
+                new BigDecimal("5000.00"),
+                750,
+                false,
+                "Desenvolvedor"
+        );
+        return CompletableFuture.supplyAsync(() -> {
+            SistemaOrigemContext.set(sistemaOrigem);
+            try {
+                return writer.cadastrar(request);
+            } finally {
+                SistemaOrigemContext.clear();
+            }
+        }, chamadores);
+    }
+}
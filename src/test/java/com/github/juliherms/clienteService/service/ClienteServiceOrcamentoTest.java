@@ -0,0 +1,148 @@
+package com.github.juliherms.clienteService.service;
+
+import com.github.juliherms.clienteService.dto.ClienteRequestDTO;
+import com.github.juliherms.clienteService.entity.Cliente;
+import com.github.juliherms.clienteService.exception.ClienteNotFoundException;
+import com.github.juliherms.clienteService.repository.ClienteArquivoRepository;
+import com.github.juliherms.clienteService.suporte.OrcamentoDeRecursos;
+import com.github.juliherms.clienteService.suporte.OrcamentoDeRecursos.Medicao;
+import com.github.juliherms.clienteService.suporte.OrcamentoDeRecursosConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Orçamentos de idas ao banco por operação do ClienteService: uma verificação de existência ou um
+ * recarregamento de entidade a mais quebra o build
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ClienteService.class, ClienteArquivoRepository.class, OrcamentoDeRecursosConfig.class})
+class ClienteServiceOrcamentoTest {
+
+    private static final long ALOCACAO_MAXIMA_BUSCA = 4L * 1024 * 1024;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        id = entityManager.persistAndFlush(new Cliente("84957281092", "João Silva", LocalDate.of(1990, 5, 15),
+                new BigDecimal("5000.00"), 750, false, "Desenvolvedor")).getId();
+    }
+
+    @Test
+    void buscarPorCpfDeveFazerUmaConsulta() {
+        // When
+        Medicao medicao = medir(() -> clienteService.buscarPorCpf("84957281092"));
+
+        // Then
+        assertThat(medicao.comandos()).isEqualTo(1);
+        assertThat(medicao.selects()).isEqualTo(1);
+        assertThat(medicao.entidadesCarregadas()).isEqualTo(1);
+    }
+
+    @Test
+    void buscarPorCpfInexistenteDeveConsultarApenasATabela() {
+        // When
+        Medicao medicao = medir(() -> assertThatThrownBy(() -> clienteService.buscarPorCpf("04497909085"))
+                .isInstanceOf(ClienteNotFoundException.class));
+
+        // Then
+        assertThat(medicao.selects()).isEqualTo(1);
+        assertThat(medicao.comandos()).isEqualTo(1);
+    }
+
+    @Test
+    void buscarPorIdDeveFazerUmaConsulta() {
+        // When
+        Medicao medicao = medir(() -> clienteService.buscarPorId(id));
+
+        // Then
+        assertThat(medicao.comandos()).isEqualTo(1);
+        assertThat(medicao.entidadesCarregadas()).isEqualTo(1);
+    }
+
+    @Test
+    void listarClientesNaPrimeiraPaginaIncompletaNaoDeveContar() {
+        // When
+        Medicao medicao = medir(() -> clienteService.listarClientes(PageRequest.of(0, 20)));
+
+        // Then
+        assertThat(medicao.selects()).isEqualTo(1);
+    }
+
+    @Test
+    void cadastrarClienteDeveVerificarCpfEInserirUmaVez() {
+        // When
+        Medicao medicao = medir(() -> clienteService.cadastrarCliente(request("04497909085")));
+
+        // Then: existência na tabela principal (com o arquivamento desligado, o arquivo não é consultado), depois
+        // o INSERT
+        assertThat(medicao.inserts()).isLessThanOrEqualTo(1);
+        assertThat(medicao.selects()).isLessThanOrEqualTo(1);
+        assertThat(medicao.comandos()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void atualizarClienteSemTrocarCpfDeveCarregarEAtualizarUmaVez() {
+        // When
+        Medicao medicao = medir(() -> clienteService.atualizarCliente(id, request("84957281092")));
+
+        // Then
+        assertThat(medicao.selects()).isEqualTo(1);
+        assertThat(medicao.updates()).isEqualTo(1);
+        assertThat(medicao.comandos()).isEqualTo(2);
+        assertThat(medicao.flushes()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void removerClienteDeveCarregarUmaVezEMarcarRemocao() {
+        // When
+        Medicao medicao = medir(() -> clienteService.removerCliente(id));
+
+        // Then
+        assertThat(medicao.selects()).isEqualTo(1);
+        assertThat(medicao.updates()).isEqualTo(1);
+        assertThat(medicao.deletes()).isZero();
+    }
+
+    @Test
+    void buscarPorCpfDeveRespeitarOrcamentoDeAlocacao() {
+        // Given: a primeira execução compila consultas e aquece caches do Hibernate
+        medir(() -> clienteService.buscarPorCpf("84957281092"));
+
+        // When
+        Medicao medicao = medir(() -> clienteService.buscarPorCpf("84957281092"));
+
+        // Then
+        if (medicao.bytesAlocados() >= 0) {
+            assertThat(medicao.bytesAlocados()).isLessThan(ALOCACAO_MAXIMA_BUSCA);
+        }
+    }
+
+    private Medicao medir(Runnable operacao) {
+        return OrcamentoDeRecursos.medir(entityManager.getEntityManager(), operacao);
+    }
+
+    private static ClienteRequestDTO request(String cpf) {
+        return new ClienteRequestDTO(cpf, "Maria Santos", LocalDate.of(1985, 12, 20), new BigDecimal("7500.00"),
+                850, true, "Gerente");
+    }
+}
@@ -1,30 +1,39 @@
 package com.github.juliherms.clienteService.service;
 
+import com.github.juliherms.clienteService.dto.CampoCliente;
 import com.github.juliherms.clienteService.dto.ClienteRequestDTO;
 import com.github.juliherms.clienteService.dto.ClienteResponseDTO;
 import com.github.juliherms.clienteService.entity.Cliente;
 import com.github.juliherms.clienteService.exception.ClienteNotFoundException;
 import com.github.juliherms.clienteService.exception.DuplicateCpfException;
-import com.github.juliherms.clienteService.repository.ClienteRepository;
+import com.github.juliherms.clienteService.exception.RestauracaoConcorrenteException;
+import com.github.juliherms.clienteService.repository.ClienteArquivoRepository;
+import com.github.juliherms.clienteService.repository.RepositorioClientes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import org.springframework.test.util.ReflectionTestUtils;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -33,7 +42,16 @@ import static org.mockito.Mockito.*;
 class ClienteServiceTest {
 
     @Mock
-    private ClienteRepository clienteRepository;
+    private RepositorioClientes clienteRepository;
+
+    @Mock
+    private ClienteArquivoRepository clienteArquivoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CpfBloomFilter cpfBloomFilter;
 
     @InjectMocks
     private ClienteService clienteService;
@@ -138,6 +156,34 @@ class ClienteServiceTest {
         verify(clienteRepository).findByCpf("00000000000");
     }
 
+    @Test
+    void naoDeveConsultarBancoQuandoFiltroGaranteCpfAusente() {
+        // Given
+        when(cpfBloomFilter.certamenteAusente("00000000000")).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> clienteService.buscarPorCpf("00000000000"))
+                .isInstanceOf(ClienteNotFoundException.class)
+                .hasMessage("Cliente não encontrado com CPF: 00000000000");
+
+        verify(clienteRepository, never()).findByCpf(anyString());
+    }
+
+    @Test
+    void deveCadastrarSemVerificarExistenciaQuandoFiltroGaranteCpfAusente() {
+        // Given
+        when(cpfBloomFilter.certamenteAusente("12345678901")).thenReturn(true);
+        when(clienteRepository.save(any(Cliente.class))).thenReturn(clienteSalvo);
+
+        // When
+        ClienteResponseDTO resultado = clienteService.cadastrarCliente(clienteRequestDTO);
+
+        // Then
+        assertThat(resultado.id()).isEqualTo(1L);
+        verify(clienteRepository, never()).existsByCpf(anyString());
+        verify(eventPublisher).publishEvent(any(Object.class));
+    }
+
     @Test
     void deveBuscarClientePorIdComSucesso() {
         // Given
@@ -154,6 +200,63 @@ class ClienteServiceTest {
         verify(clienteRepository).findById(1L);
     }
 
+    @Test
+    void deveBuscarApenasCamposSelecionadosPorId() {
+        // Given
+        List<CampoCliente> campos = List.of(CampoCliente.NOME);
+        when(clienteRepository.findProjetadoById(1L, campos)).thenReturn(Optional.of(Map.of("nome", "João Silva")));
+
+        // When
+        Map<String, Object> resultado = clienteService.buscarPorId(1L, campos);
+
+        // Then
+        assertThat(resultado).containsOnly(entry("nome", "João Silva"));
+        verify(clienteRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void deveBuscarClienteArquivadoQuandoNaoEstaNaTabelaPrincipal() {
+        // Given
+        ReflectionTestUtils.setField(clienteService, "consultarArquivo", true);
+        when(clienteRepository.findById(1L)).thenReturn(Optional.empty());
+        when(clienteArquivoRepository.findAtivoById(1L)).thenReturn(Optional.of(clienteSalvo));
+
+        // When
+        ClienteResponseDTO resultado = clienteService.buscarPorId(1L);
+
+        // Then
+        assertThat(resultado.id()).isEqualTo(1L);
+        assertThat(resultado.nome()).isEqualTo("João Silva");
+    }
+
+    @Test
+    void naoDeveConsultarOArquivoComArquivamentoDesligado() {
+        // Given
+        when(clienteRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> clienteService.buscarPorId(1L))
+                .isInstanceOf(ClienteNotFoundException.class);
+        assertThatThrownBy(() -> clienteService.removerCliente(1L))
+                .isInstanceOf(ClienteNotFoundException.class);
+        verifyNoInteractions(clienteArquivoRepository);
+    }
+
+    @Test
+    void deveRemoverLogicamenteClienteArquivado() {
+        // Given
+        ReflectionTestUtils.setField(clienteService, "consultarArquivo", true);
+        when(clienteRepository.findById(1L)).thenReturn(Optional.empty());
+        when(clienteArquivoRepository.remover(1L)).thenReturn(true);
+
+        // When
+        clienteService.removerCliente(1L);
+
+        // Then
+        verify(clienteRepository, never()).delete(any(Cliente.class));
+        verify(eventPublisher).publishEvent(any(Object.class));
+    }
+
     @Test
     void naoDeveBuscarClientePorIdInexistente() {
         // Given
@@ -243,6 +346,20 @@ class ClienteServiceTest {
         verify(clienteRepository, never()).save(any(Cliente.class));
     }
 
+    @Test
+    void deveSinalizarConflitoQuandoOutraRequisicaoRestauraOCliente() {
+        // Given
+        ReflectionTestUtils.setField(clienteService, "consultarArquivo", true);
+        when(clienteRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(clienteArquivoRepository.restaurar(1L)).thenThrow(new ConcurrencyFailureException("restaurado"));
+
+        // When & Then
+        assertThatThrownBy(() -> clienteService.atualizarCliente(1L, clienteRequestDTO))
+                .isInstanceOf(RestauracaoConcorrenteException.class);
+
+        verify(clienteRepository, never()).save(any(Cliente.class));
+    }
+
     @Test
     void naoDeveAtualizarClienteComCpfDuplicado() {
         // Given
@@ -272,28 +389,28 @@ class ClienteServiceTest {
     @Test
     void deveRemoverClienteComSucesso() {
         // Given
-        when(clienteRepository.existsById(anyLong())).thenReturn(true);
+        when(clienteRepository.findById(anyLong())).thenReturn(Optional.of(cliente));
 
         // When
         clienteService.removerCliente(1L);
 
         // Then
-        verify(clienteRepository).existsById(1L);
-        verify(clienteRepository).deleteById(1L);
+        verify(clienteRepository).findById(1L);
+        verify(clienteRepository).delete(cliente);
     }
 
     @Test
     void naoDeveRemoverClienteInexistente() {
         // Given
-        when(clienteRepository.existsById(anyLong())).thenReturn(false);
+        when(clienteRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> clienteService.removerCliente(999L))
                 .isInstanceOf(ClienteNotFoundException.class)
                 .hasMessage("Cliente não encontrado com ID: 999");
 
-        verify(clienteRepository).existsById(999L);
-        verify(clienteRepository, never()).deleteById(anyLong());
+        verify(clienteRepository).findById(999L);
+        verify(clienteRepository, never()).delete(any(Cliente.class));
     }
 }
 
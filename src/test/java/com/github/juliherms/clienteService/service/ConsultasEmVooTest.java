@@ -0,0 +1,191 @@
+package com.github.juliherms.clienteService.service;
+
+import com.github.juliherms.clienteService.datasource.EscritasRecentes;
+import com.github.juliherms.clienteService.exception.ClienteNotFoundException;
+import com.github.juliherms.clienteService.exception.PrazoExpiradoException;
+import com.github.juliherms.clienteService.web.PrazoContext;
+import com.github.juliherms.clienteService.web.SistemaOrigemContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsultasEmVooTest {
+
+    private static final int CHAMADAS = 8;
+
+    private ConsultasEmVoo consultasEmVoo;
+    private SimpleMeterRegistry registry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        consultasEmVoo = new ConsultasEmVoo();
+        registry = new SimpleMeterRegistry();
+        consultasEmVoo.bindTo(registry);
+        executor = Executors.newFixedThreadPool(CHAMADAS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void deveExecutarUmaUnicaConsultaParaChamadasConcorrentesComAMesmaChave() throws Exception {
+        // Given
+        AtomicInteger execucoes = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+        Supplier<String> consulta = () -> {
+            execucoes.incrementAndGet();
+            aguardar(liberar);
+            return "João Silva";
+        };
+
+        // When
+        List<Future<String>> resultados = new ArrayList<>();
+        for (int i = 0; i < CHAMADAS; i++) {
+            resultados.add(executor.submit(() -> consultasEmVoo.executar("cpf", "84957281092", consulta)));
+        }
+        aguardarCompartilhadas(CHAMADAS - 1);
+        liberar.countDown();
+
+        // Then
+        for (Future<String> resultado : resultados) {
+            assertThat(resultado.get(5, TimeUnit.SECONDS)).isEqualTo("João Silva");
+        }
+        assertThat(execucoes).hasValue(1);
+        assertThat(consultasEmVoo.emAndamento()).isZero();
+        assertThat(registry.get("cliente.consultas.coalescidas.taxa").tag("operacao", "cpf").gauge().value())
+                .isEqualTo((double) (CHAMADAS - 1) / CHAMADAS);
+        assertThat(registry.get("cliente.consultas.coalescidas.espera").functionTimer().count())
+                .isEqualTo(CHAMADAS - 1);
+    }
+
+    @Test
+    void deveRepassarAExcecaoDaConsultaATodosQueEsperavam() throws Exception {
+        // Given
+        CountDownLatch liberar = new CountDownLatch(1);
+        Supplier<String> consulta = () -> {
+            aguardar(liberar);
+            throw new ClienteNotFoundException("Cliente não encontrado com ID: 42");
+        };
+
+        // When
+        List<Future<String>> resultados = new ArrayList<>();
+        for (int i = 0; i < CHAMADAS; i++) {
+            resultados.add(executor.submit(() -> consultasEmVoo.executar("id", 42L, consulta)));
+        }
+        aguardarCompartilhadas(CHAMADAS - 1);
+        liberar.countDown();
+
+        // Then
+        for (Future<String> resultado : resultados) {
+            assertThatThrownBy(() -> resultado.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(ClienteNotFoundException.class);
+        }
+        assertThat(consultasEmVoo.executar("id", 42L, () -> "nova consulta")).isEqualTo("nova consulta");
+    }
+
+    @Test
+    void deveExecutarDeNovoQuandoAConsultaFalhaPeloPrazoDeQuemExecutou() throws Exception {
+        // Given: quem executa chega com o prazo já esgotado; quem espera não tem prazo
+        AtomicInteger execucoes = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+        Supplier<String> consulta = () -> {
+            execucoes.incrementAndGet();
+            aguardar(liberar);
+            PrazoContext.verificar();
+            return "João Silva";
+        };
+        Future<String> executor1 = executor.submit(() -> {
+            PrazoContext.definir(0);
+            try {
+                return consultasEmVoo.executar("cpf", "84957281092", consulta);
+            } finally {
+                PrazoContext.clear();
+            }
+        });
+        while (execucoes.get() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // When
+        Future<String> quemEspera = executor.submit(() -> consultasEmVoo.executar("cpf", "84957281092", consulta));
+        aguardarCompartilhadas(1);
+        liberar.countDown();
+
+        // Then
+        assertThatThrownBy(() -> executor1.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(PrazoExpiradoException.class);
+        assertThat(quemEspera.get(5, TimeUnit.SECONDS)).isEqualTo("João Silva");
+        assertThat(execucoes).hasValue(2);
+    }
+
+    @Test
+    void naoDeveCoalescerLeiturasDeQuemAcabouDeEscrever() throws Exception {
+        // Given
+        EscritasRecentes escritasRecentes = new EscritasRecentes(Duration.ofMinutes(1));
+        escritasRecentes.registrarEscrita("crm");
+        ReflectionTestUtils.setField(consultasEmVoo, "escritasRecentes", escritasRecentes);
+        CountDownLatch liberar = new CountDownLatch(1);
+        consultasEmVoo.executar("cpf", "84957281092", () -> "antes");
+        Future<String> daReplica = executor.submit(() -> consultasEmVoo.executar("cpf", "84957281092", () -> {
+            aguardar(liberar);
+            return "réplica";
+        }));
+        while (consultasEmVoo.emAndamento() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // When: a origem que escreveu busca enquanto outra leitura da réplica está em andamento
+        String daPrimaria;
+        SistemaOrigemContext.set("crm");
+        try {
+            daPrimaria = consultasEmVoo.executar("cpf", "84957281092", () -> "primária");
+        } finally {
+            SistemaOrigemContext.clear();
+        }
+        liberar.countDown();
+
+        // Then
+        assertThat(daPrimaria).isEqualTo("primária");
+        assertThat(daReplica.get(5, TimeUnit.SECONDS)).isEqualTo("réplica");
+        assertThat(compartilhadas()).isZero();
+    }
+
+    private void aguardarCompartilhadas(long esperadas) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5_000;
+        while (compartilhadas() < esperadas && System.currentTimeMillis() < limite) {
+            Thread.sleep(5);
+        }
+    }
+
+    private double compartilhadas() {
+        return registry.find("cliente.consultas.coalescidas").tag("resultado", "compartilhada")
+                .functionCounters().stream().mapToDouble(counter -> counter.count()).sum();
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.juliherms.clienteService.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CpfBloomFilterTest {
+
+    private CpfBloomFilter filtro;
+
+    @BeforeEach
+    void setUp() {
+        filtro = new CpfBloomFilter();
+        ReflectionTestUtils.setField(filtro, "capacidadeMinima", 1_000L);
+        ReflectionTestUtils.setField(filtro, "taxaFalsoPositivo", 0.01);
+    }
+
+    @Test
+    void naoDeveAfirmarAusenciaAntesDeSerConstruido() {
+        // When & Then
+        assertThat(filtro.certamenteAusente("12345678901")).isFalse();
+    }
+
+    @Test
+    void naoDeveTerFalsoNegativoParaCpfsCarregadosOuAdicionados() {
+        // Given
+        filtro.carregar(() -> Stream.of("84957281092", "04497909085"), 2);
+        filtro.adicionar("05960722445");
+
+        // When & Then
+        assertThat(filtro.certamenteAusente("84957281092")).isFalse();
+        assertThat(filtro.certamenteAusente("04497909085")).isFalse();
+        assertThat(filtro.certamenteAusente("05960722445")).isFalse();
+    }
+
+    @Test
+    void naoDevePerderCpfsCadastradosEnquantoALeituraEAberta() {
+        // Given
+        filtro.carregar(() -> Stream.of("84957281092"), 1);
+
+        // When: cadastro confirmado depois do snapshot lido pela reconstrução
+        filtro.carregar(() -> {
+            filtro.adicionar("05960722445");
+            return Stream.of("84957281092");
+        }, 1);
+
+        // Then
+        assertThat(filtro.certamenteAusente("05960722445")).isFalse();
+    }
+
+    @Test
+    void deveManterTaxaDeFalsoPositivoProximaDaConfigurada() {
+        // Given
+        filtro.carregar(() -> LongStream.range(0, 10_000).mapToObj(i -> String.format("%011d", i)), 10_000);
+
+        // When
+        long falsosPositivos = LongStream.range(50_000_000_000L, 50_000_100_000L)
+                .filter(i -> !filtro.certamenteAusente(String.format("%011d", i)))
+                .count();
+
+        // Then
+        assertThat(falsosPositivos / 100_000.0).isLessThan(0.02);
+        assertThat(filtro.taxaFalsoPositivoEstimada()).isLessThan(0.02);
+    }
+}
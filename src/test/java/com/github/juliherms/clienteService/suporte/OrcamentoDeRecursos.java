@@ -0,0 +1,167 @@
+package com.github.juliherms.clienteService.suporte;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Mede os recursos gastos por uma operação para que os testes afirmem orçamentos: comandos SQL por tipo
+ * (contados no JDBC, então incluem as consultas do JdbcTemplate), carregamentos de entidade e flushes do
+ * Hibernate e, quando a JVM suporta, bytes alocados pela thread do teste.
+ *
+ * <p>A contagem depende do DataSource estar embrulhado por {@link #contar(DataSource)}, o que o
+ * {@link OrcamentoDeRecursosConfig} faz ao ser importado. Só a thread que chama {@link #medir} é contada.</p>
+ */
+public final class OrcamentoDeRecursos {
+
+    private static final ThreadLocal<Contagem> CONTAGEM_ATUAL = new ThreadLocal<>();
+
+    private OrcamentoDeRecursos() {
+    }
+
+    /**
+     * Recursos gastos pela operação. {@code bytesAlocados} é -1 quando a JVM não mede alocação por thread.
+     */
+    public record Medicao(int selects, int inserts, int updates, int deletes, int outros,
+                          long entidadesCarregadas, long flushes, long bytesAlocados) {
+
+        public int comandos() {
+            return selects + inserts + updates + deletes + outros;
+        }
+    }
+
+    /**
+     * Executa a operação com o contexto de persistência vazio, como em uma requisição nova, e sincroniza as
+     * escritas pendentes ao final para que entrem na medição
+     */
+    public static Medicao medir(EntityManager entityManager, Runnable operacao) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics estatisticas = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        estatisticas.clear();
+
+        Contagem contagem = new Contagem();
+        CONTAGEM_ATUAL.set(contagem);
+        long alocadosAntes = bytesAlocadosPelaThread();
+        try {
+            operacao.run();
+            entityManager.flush();
+        } finally {
+            CONTAGEM_ATUAL.remove();
+        }
+        long alocadosDepois = bytesAlocadosPelaThread();
+
+        return new Medicao(contagem.selects, contagem.inserts, contagem.updates, contagem.deletes, contagem.outros,
+                estatisticas.getEntityLoadCount(), estatisticas.getFlushCount(),
+                alocadosAntes < 0 || alocadosDepois < 0 ? -1 : alocadosDepois - alocadosAntes);
+    }
+
+    /**
+     * Embrulha o DataSource para contar os comandos executados pela thread em medição
+     */
+    public static DataSource contar(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return contar(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return contar(super.getConnection(username, password));
+            }
+        };
+    }
+
+    private static Connection contar(Connection connection) {
+        return proxy(Connection.class, connection, (metodo, argumentos) -> {
+            if (metodo.startsWith("prepare") && argumentos != null && argumentos[0] instanceof String sql) {
+                registrar(sql);
+            }
+        }, resultado -> resultado instanceof Statement statement && !(resultado instanceof PreparedStatement)
+                ? contar(statement)
+                : resultado);
+    }
+
+    /**
+     * Statements simples recebem o SQL só na execução (ex.: JdbcTemplate sem parâmetros)
+     */
+    private static Statement contar(Statement statement) {
+        return proxy(Statement.class, statement, (metodo, argumentos) -> {
+            if (metodo.startsWith("execute") && argumentos != null && argumentos[0] instanceof String sql) {
+                registrar(sql);
+            }
+        }, resultado -> resultado);
+    }
+
+    private interface Observador {
+        void antes(String metodo, Object[] argumentos);
+    }
+
+    private interface Transformacao {
+        Object aplicar(Object resultado);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, T alvo, Observador observador, Transformacao transformacao) {
+        InvocationHandler handler = (proxy, metodo, argumentos) -> {
+            observador.antes(metodo.getName(), argumentos);
+            try {
+                return transformacao.aplicar(metodo.invoke(alvo, argumentos));
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(OrcamentoDeRecursos.class.getClassLoader(), new Class<?>[] {tipo}, handler);
+    }
+
+    private static void registrar(String sql) {
+        Contagem contagem = CONTAGEM_ATUAL.get();
+        if (contagem == null) {
+            return;
+        }
+        String comando = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (comando.startsWith("select") || comando.startsWith("with")) {
+            contagem.selects++;
+        } else if (comando.startsWith("insert")) {
+            contagem.inserts++;
+        } else if (comando.startsWith("update")) {
+            contagem.updates++;
+        } else if (comando.startsWith("delete")) {
+            contagem.deletes++;
+        } else {
+            contagem.outros++;
+        }
+    }
+
+    private static long bytesAlocadosPelaThread() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean hotspot && hotspot.isThreadAllocatedMemorySupported()
+                && hotspot.isThreadAllocatedMemoryEnabled()) {
+            return hotspot.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private static final class Contagem {
+        int selects;
+        int inserts;
+        int updates;
+        int deletes;
+        int outros;
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.juliherms.clienteService.suporte;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Importado pelos testes de orçamento: embrulha o DataSource para que {@link OrcamentoDeRecursos} conte os comandos
+ */
+@TestConfiguration
+public class OrcamentoDeRecursosConfig {
+
+    @Bean
+    static BeanPostProcessor contadorDeComandosSql() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? OrcamentoDeRecursos.contar(dataSource) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.juliherms.clienteService.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompartimentosOrigemTest {
+
+    private static final CompartimentosOrigem.Limites PADRAO =
+            new CompartimentosOrigem.Limites(2, 0, Duration.ZERO, 1, Duration.ZERO);
+
+    @AfterEach
+    void tearDown() {
+        PrazoContext.clear();
+    }
+
+    @Test
+    void deveIsolarAsVagasDeCadaOrigem() throws Exception {
+        // Given
+        CompartimentosOrigem compartimentos = new CompartimentosOrigem(PADRAO,
+                Map.of("SISTEMA_LOTE", PADRAO, "SISTEMA_VENDAS", PADRAO));
+        Compartimento lote = compartimentos.compartimento("SISTEMA_LOTE");
+        Compartimento vendas = compartimentos.compartimento("SISTEMA_VENDAS");
+
+        // When
+        lote.entrar();
+        lote.entrar();
+
+        // Then
+        assertThat(lote.entrar()).isFalse();
+        assertThat(vendas.entrar()).isTrue();
+        assertThat(lote.saturacao()).isEqualTo(1.0);
+        assertThat(lote.rejeitadas()).isEqualTo(1);
+        assertThat(vendas.rejeitadas()).isZero();
+    }
+
+    @Test
+    void deveAplicarLimitesDaOrigemSobreOPadrao() throws Exception {
+        // Given
+        CompartimentosOrigem compartimentos = new CompartimentosOrigem(PADRAO,
+                Map.of("sistema_lote", new CompartimentosOrigem.Limites(1, null, null, null, null)));
+
+        // When
+        Compartimento lote = compartimentos.compartimento("SISTEMA_LOTE");
+        lote.entrar();
+
+        // Then
+        assertThat(lote.entrar()).isFalse();
+        assertThat(lote.obterConexao()).isTrue();
+        assertThat(lote.obterConexao()).isFalse();
+        assertThat(lote.conexoesRecusadas()).isEqualTo(1);
+    }
+
+    @Test
+    void deveEsperarNaFilaAteAVagaSerLiberada() throws Exception {
+        // Given
+        CompartimentosOrigem compartimentos = new CompartimentosOrigem(
+                new CompartimentosOrigem.Limites(1, 1, Duration.ofSeconds(5), 0, Duration.ZERO), Map.of());
+        Compartimento compartimento = compartimentos.compartimento("SISTEMA_VENDAS");
+        compartimento.entrar();
+
+        // When
+        CompletableFuture<Boolean> aguardando = CompletableFuture.supplyAsync(() -> {
+            try {
+                return compartimento.entrar();
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        while (compartimento.aguardando() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // Then: a fila comporta só uma requisição
+        assertThat(compartimento.entrar()).isFalse();
+
+        compartimento.sair();
+        assertThat(aguardando.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(compartimento.aceitas()).isEqualTo(2);
+    }
+
+    @Test
+    void naoDeveEsperarAlemDoPrazoDaRequisicao() throws Exception {
+        // Given
+        CompartimentosOrigem compartimentos = new CompartimentosOrigem(
+                new CompartimentosOrigem.Limites(1, 1, Duration.ofMinutes(1), 0, Duration.ZERO), Map.of());
+        Compartimento compartimento = compartimentos.compartimento("SISTEMA_VENDAS");
+        compartimento.entrar();
+        PrazoContext.definir(50);
+
+        // When
+        long inicio = System.nanoTime();
+        boolean entrou = compartimento.entrar();
+
+        // Then
+        assertThat(entrou).isFalse();
+        assertThat(System.nanoTime() - inicio).isLessThan(TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    void deveAgruparOrigensSemConfiguracaoPropria() {
+        // Given
+        CompartimentosOrigem compartimentos = new CompartimentosOrigem(PADRAO, Map.of("SISTEMA_A", PADRAO));
+
+        // When
+        Compartimento primeira = compartimentos.compartimento("sistema_a");
+        Compartimento segunda = compartimentos.compartimento("SISTEMA_B");
+        Compartimento terceira = compartimentos.compartimento("SISTEMA_C");
+
+        // Then
+        assertThat(primeira.origem()).isEqualTo("SISTEMA_A");
+        assertThat(compartimentos.compartimento(null).origem()).isEqualTo(CompartimentosOrigem.SEM_ORIGEM);
+        assertThat(segunda.origem()).isEqualTo(CompartimentosOrigem.OUTRAS);
+        assertThat(terceira).isSameAs(segunda);
+        assertThat(compartimentos.compartimentos()).hasSize(3);
+    }
+
+    @Test
+    void deveDimensionarOPadraoPelaCapacidadeDoServidor() {
+        // When
+        CompartimentosOrigem.Limites padrao = CompartimentosOrigem.Limites.proporcionais(200, 10);
+        CompartimentosOrigem compartimentos = new CompartimentosOrigem(padrao,
+                Map.of("SISTEMA_LOTE", new CompartimentosOrigem.Limites(4, 0, null, 2, null)));
+
+        // Then
+        assertThat(padrao.concorrencia()).isEqualTo(40);
+        assertThat(padrao.fila()).isEqualTo(20);
+        assertThat(padrao.conexoes()).isEqualTo(2);
+        assertThatCode(() -> compartimentos.validar(200, 10)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void deveRecusarCotasQueExcedemOPool() {
+        // Given
+        CompartimentosOrigem compartimentos = new CompartimentosOrigem(PADRAO,
+                Map.of("SISTEMA_LOTE", new CompartimentosOrigem.Limites(4, 0, null, 9, null)));
+
+        // When / Then
+        assertThatThrownBy(() -> compartimentos.validar(200, 10))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("pool");
+        assertThatThrownBy(() -> compartimentos.validar(5, 20))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("threads");
+    }
+
+    @Test
+    void deveRegistrarMetricasPorOrigem() throws Exception {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CompartimentosOrigem compartimentos = new CompartimentosOrigem(PADRAO, Map.of("SISTEMA_VENDAS", PADRAO));
+        compartimentos.bindTo(registry);
+
+        // When
+        compartimentos.compartimento("SISTEMA_VENDAS").entrar();
+        compartimentos.compartimento("SISTEMA_DESCONHECIDO").entrar();
+
+        // Then
+        assertThat(registry.get("cliente.bulkhead.em.andamento").tag("origem", "SISTEMA_VENDAS").gauge().value())
+                .isEqualTo(1.0);
+        assertThat(registry.get("cliente.bulkhead.requisicoes").tag("origem", "SISTEMA_VENDAS")
+                .tag("resultado", "aceita").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("cliente.bulkhead.em.andamento").tag("origem", CompartimentosOrigem.OUTRAS).gauge()
+                .value()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.juliherms.clienteService.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LimiteAdaptativoTest {
+
+    private static final long ALVO = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void deveRecusarAcimaDoLimite() {
+        // Given
+        LimiteAdaptativo limite = new LimiteAdaptativo(2, 1, 10, ALVO, 0.5);
+
+        // When & Then
+        assertThat(limite.adquirir()).isTrue();
+        assertThat(limite.adquirir()).isTrue();
+        assertThat(limite.adquirir()).isFalse();
+        assertThat(limite.emAndamento()).isEqualTo(2);
+        assertThat(limite.rejeitadas()).isEqualTo(1);
+    }
+
+    @Test
+    void deveReduzirUmaVezPorRodadaDeRespostasLentas() {
+        // Given
+        LimiteAdaptativo limite = new LimiteAdaptativo(8, 1, 10, ALVO, 0.5);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            limite.adquirir();
+        }
+
+        // When: quatro respostas lentas iniciadas antes da redução
+        for (int i = 0; i < 4; i++) {
+            limite.liberar(inicio, inicio + ALVO * 2, false);
+        }
+
+        // Then
+        assertThat(limite.limite()).isEqualTo(4);
+
+        // When: uma requisição iniciada depois da redução também lenta
+        limite.adquirir();
+        long depois = System.nanoTime();
+        limite.liberar(depois, depois + ALVO * 2, false);
+
+        // Then
+        assertThat(limite.limite()).isEqualTo(2);
+    }
+
+    @Test
+    void deveReduzirQuandoRespostaSinalizaSobrecarga() {
+        // Given
+        LimiteAdaptativo limite = new LimiteAdaptativo(8, 3, 10, ALVO, 0.5);
+        limite.adquirir();
+        long inicio = System.nanoTime();
+
+        // When
+        limite.liberar(inicio, inicio + 1, true);
+
+        // Then
+        assertThat(limite.limite()).isEqualTo(4);
+    }
+
+    @Test
+    void deveCrescerSoQuandoOLimiteEstaSendoUsado() {
+        // Given
+        LimiteAdaptativo limite = new LimiteAdaptativo(1, 1, 10, ALVO, 0.5);
+
+        // When: uma requisição por vez, rápida
+        for (int i = 0; i < 20; i++) {
+            limite.adquirir();
+            long inicio = System.nanoTime();
+            limite.liberar(inicio, inicio + 1, false);
+        }
+
+        // Then: cresce enquanto uma requisição ocupa ao menos metade do limite e para depois disso
+        assertThat(limite.limite()).isEqualTo(2);
+    }
+}
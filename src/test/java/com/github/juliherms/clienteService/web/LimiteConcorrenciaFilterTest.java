@@ -0,0 +1,46 @@
+package com.github.juliherms.clienteService.web;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LimiteConcorrenciaFilterTest {
+
+    @AfterEach
+    void tearDown() {
+        PrazoContext.clear();
+    }
+
+    @Test
+    void deveContarComoSobrecargaOTempoEsgotadoNoServidor() {
+        // Given: sem prazo, ou com prazo ainda em aberto
+        PrazoContext.definir(60_000);
+
+        // When & Then
+        assertThat(LimiteConcorrenciaFilter.sobrecarga(503)).isTrue();
+        assertThat(LimiteConcorrenciaFilter.sobrecarga(504)).isTrue();
+        assertThat(LimiteConcorrenciaFilter.sobrecarga(200)).isFalse();
+    }
+
+    @Test
+    void naoDeveContarComoSobrecargaOPrazoEsgotadoDeQuemChamou() {
+        // Given
+        PrazoContext.definir(0);
+
+        // When & Then
+        assertThat(LimiteConcorrenciaFilter.sobrecarga(504)).isFalse();
+        assertThat(LimiteConcorrenciaFilter.sobrecarga(503)).isTrue();
+    }
+
+    @Test
+    void deveClassificarLeiturasPelaRota() {
+        // When & Then
+        assertThat(LimiteConcorrenciaFilter.leitura(new MockHttpServletRequest("GET", "/api/clientes/1"))).isTrue();
+        assertThat(LimiteConcorrenciaFilter.leitura(
+                new MockHttpServletRequest("POST", "/api/clientes/elegibilidade"))).isTrue();
+        assertThat(LimiteConcorrenciaFilter.leitura(new MockHttpServletRequest("POST", "/api/clientes"))).isFalse();
+        assertThat(LimiteConcorrenciaFilter.leitura(new MockHttpServletRequest("PUT", "/api/clientes/1"))).isFalse();
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.juliherms.clienteService.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrazoFilterTest {
+
+    private PrazoFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new PrazoFilter();
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        PrazoContext.clear();
+    }
+
+    @Test
+    void deveRecusarPrazoZeradoOuNegativo() throws Exception {
+        for (String prazo : new String[] {"0", "-5"}) {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/clientes/1");
+            request.addHeader(PrazoFilter.PRAZO_HEADER, prazo);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+
+            // When
+            filter.doFilter(request, response, chain);
+
+            // Then
+            assertThat(response.getStatus()).as(prazo).isEqualTo(400);
+            assertThat(response.getContentAsString()).contains(PrazoFilter.PRAZO_HEADER);
+            assertThat(chain.getRequest()).isNull();
+        }
+    }
+
+    @Test
+    void deveLimitarPrazoMuitoGrandeSemEstourar() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/clientes/1");
+        request.addHeader(PrazoFilter.PRAZO_HEADER, String.valueOf(Long.MAX_VALUE));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicLong restante = new AtomicLong();
+
+        // When
+        filter.doFilter(request, response, (req, res) -> {
+            restante.set(PrazoContext.restanteNanos());
+            PrazoContext.verificar();
+        });
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(restante.get()).isPositive()
+                .isLessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(PrazoContext.PRAZO_MAXIMO_MS));
+        assertThat(PrazoContext.ativo()).isFalse();
+    }
+}